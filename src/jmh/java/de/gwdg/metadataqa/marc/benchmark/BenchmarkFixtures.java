@@ -0,0 +1,106 @@
+package de.gwdg.metadataqa.marc.benchmark;
+
+import de.gwdg.metadataqa.marc.MarcFactory;
+import de.gwdg.metadataqa.marc.dao.MarcRecord;
+import de.gwdg.metadataqa.marc.definition.MarcFormat;
+import de.gwdg.metadataqa.marc.utils.ReadMarc;
+import de.gwdg.metadataqa.marc.utils.pica.PicaFieldDefinition;
+import de.gwdg.metadataqa.marc.utils.pica.PicaReader;
+import de.gwdg.metadataqa.marc.utils.pica.PicaSchemaReader;
+import org.marc4j.MarcReader;
+import org.marc4j.MarcXmlWriter;
+import org.marc4j.marc.Record;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The test resources the benchmarks run on. The benchmarks are run from the project's root
+ * directory, so the paths are relative to it. There is no MARCXML file among the test resources,
+ * so the MARCXML input is created from the ISO 2709 records.
+ */
+final class BenchmarkFixtures {
+
+  enum Format {
+    ISO,
+    ALEPHSEQ,
+    MARCXML,
+    PICA
+  }
+
+  static final String ISO = "src/test/resources/general/BooksAll.2014.part01-0001.mrc";
+  static final String ALEPHSEQ = "src/test/resources/alephseq/alephseq-example2.txt";
+  static final String PICA = "src/test/resources/pica/picaplus-sample.txt";
+  static final String PICA_SCHEMA = "src/test/resources/pica/k10plus.json";
+
+  private BenchmarkFixtures() {}
+
+  /**
+   * @param format The format
+   * @return The content of the input file of the format
+   */
+  static byte[] content(Format format) throws Exception {
+    switch (format) {
+      case ALEPHSEQ: return Files.readAllBytes(Paths.get(ALEPHSEQ));
+      case PICA: return Files.readAllBytes(Paths.get(PICA));
+      case MARCXML: return toMarcxml(ReadMarc.read(ISO));
+      case ISO:
+      default: return Files.readAllBytes(Paths.get(ISO));
+    }
+  }
+
+  /**
+   * @param format The format
+   * @param content The content returned by content()
+   * @return A reader over the in-memory content
+   */
+  static MarcReader reader(Format format, byte[] content) throws Exception {
+    ByteArrayInputStream stream = new ByteArrayInputStream(content);
+    switch (format) {
+      case ALEPHSEQ: return ReadMarc.getStreamReader(MarcFormat.ALEPHSEQ, stream);
+      case MARCXML: return ReadMarc.getStreamReader(MarcFormat.XML, stream);
+      case PICA: return new PicaReader(new InputStreamReader(stream));
+      case ISO:
+      default: return ReadMarc.getStreamReader(MarcFormat.ISO, stream);
+    }
+  }
+
+  static List<Record> records(Format format) throws Exception {
+    List<Record> records = new ArrayList<>();
+    MarcReader reader = reader(format, content(format));
+    while (reader.hasNext())
+      records.add(reader.next());
+    return records;
+  }
+
+  static Map<String, PicaFieldDefinition> picaSchema() {
+    return PicaSchemaReader.create(PICA_SCHEMA);
+  }
+
+  /**
+   * Creates the MarcRecord objects of the MARC21 fixtures (ISO and Alephseq).
+   * @return The records
+   */
+  static List<MarcRecord> marcRecords() throws Exception {
+    List<MarcRecord> marcRecords = new ArrayList<>();
+    for (Format format : new Format[]{Format.ISO, Format.ALEPHSEQ})
+      for (Record record : records(format))
+        marcRecords.add(MarcFactory.createFromMarc4j(record));
+    return marcRecords;
+  }
+
+  private static byte[] toMarcxml(List<Record> records) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    MarcXmlWriter writer = new MarcXmlWriter(out, "UTF-8");
+    for (Record record : records)
+      writer.write(record);
+    writer.close();
+    return out.toByteArray();
+  }
+}
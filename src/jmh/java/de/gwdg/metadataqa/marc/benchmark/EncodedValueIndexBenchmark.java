@@ -0,0 +1,107 @@
+package de.gwdg.metadataqa.marc.benchmark;
+
+import de.gwdg.metadataqa.marc.EncodedValue;
+import de.gwdg.metadataqa.marc.EncodedValueIndex;
+import de.gwdg.metadataqa.marc.definition.MarcVersion;
+import de.gwdg.metadataqa.marc.definition.TagDefinitionLoader;
+import de.gwdg.metadataqa.marc.definition.controlpositions.Control006Positions;
+import de.gwdg.metadataqa.marc.definition.controlpositions.Control007Positions;
+import de.gwdg.metadataqa.marc.definition.controlpositions.Control008Positions;
+import de.gwdg.metadataqa.marc.definition.controlpositions.ControlfieldPositionList;
+import de.gwdg.metadataqa.marc.definition.controlpositions.LeaderPositions;
+import de.gwdg.metadataqa.marc.definition.structure.ControlfieldPositionDefinition;
+import de.gwdg.metadataqa.marc.definition.structure.DataFieldDefinition;
+import de.gwdg.metadataqa.marc.definition.structure.SubfieldDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up every code of the MARC21 subfield definitions and of the Leader/006/007/008 positions,
+ * plus an invalid value for each code list. <code>linear</code> walks through the code list (the
+ * former behaviour of SubfieldDefinition and ControlfieldPositionDefinition), <code>index</code>
+ * uses EncodedValueIndex.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodedValueIndexBenchmark {
+
+  private static final String INVALID = "invalid";
+
+  private List<List<EncodedValue>> codeLists;
+  private List<EncodedValueIndex> indexes;
+  private List<String[]> values;
+
+  @Setup
+  public void setup() {
+    codeLists = new ArrayList<>();
+    for (DataFieldDefinition definition : TagDefinitionLoader.findPatterns("...", MarcVersion.MARC21))
+      for (SubfieldDefinition subfield : definition.getSubfields())
+        addCodes(subfield.getCodes());
+    for (ControlfieldPositionList list : Arrays.asList(LeaderPositions.getInstance(),
+        Control006Positions.getInstance(), Control007Positions.getInstance(), Control008Positions.getInstance()))
+      for (List<ControlfieldPositionDefinition> positions : list.getPositions().values())
+        for (ControlfieldPositionDefinition position : positions)
+          addCodes(position.getCodes());
+
+    indexes = new ArrayList<>();
+    values = new ArrayList<>();
+    for (List<EncodedValue> codes : codeLists) {
+      indexes.add(new EncodedValueIndex(codes));
+      String[] listValues = new String[codes.size() + 1];
+      for (int i = 0; i < codes.size(); i++)
+        listValues[i] = codes.get(i).getCode();
+      listValues[codes.size()] = INVALID;
+      values.add(listValues);
+    }
+  }
+
+  private void addCodes(List<EncodedValue> codes) {
+    if (codes != null && !codes.isEmpty())
+      codeLists.add(codes);
+  }
+
+  @Benchmark
+  public void linear(Blackhole blackhole) {
+    for (int i = 0; i < codeLists.size(); i++) {
+      List<EncodedValue> codes = codeLists.get(i);
+      for (String value : values.get(i))
+        blackhole.consume(scan(codes, value));
+    }
+  }
+
+  @Benchmark
+  public void index(Blackhole blackhole) {
+    for (int i = 0; i < indexes.size(); i++) {
+      EncodedValueIndex index = indexes.get(i);
+      for (String value : values.get(i))
+        blackhole.consume(index.getCode(value));
+    }
+  }
+
+  private static EncodedValue scan(List<EncodedValue> codes, String value) {
+    for (EncodedValue code : codes)
+      if (code.getCode().equals(value))
+        return code;
+      else if (code.isRange() && code.getRange().isValid(value))
+        return code;
+    return null;
+  }
+}
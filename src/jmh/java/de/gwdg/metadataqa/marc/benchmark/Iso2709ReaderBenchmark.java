@@ -0,0 +1,88 @@
+package de.gwdg.metadataqa.marc.benchmark;
+
+import de.gwdg.metadataqa.marc.MarcFactory;
+import de.gwdg.metadataqa.marc.definition.MarcVersion;
+import de.gwdg.metadataqa.marc.utils.marcreader.Iso2709Reader;
+import de.gwdg.metadataqa.marc.utils.marcreader.MappedMarcFile;
+import org.marc4j.MarcReader;
+import org.marc4j.MarcStreamReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the ISO 2709 fixture into MarcRecord objects with marc4j (MarcStreamReader and
+ * createFromMarc4j()) and with the native reader (Iso2709Reader and createFromIso2709()), from
+ * memory and from a memory mapped file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Iso2709ReaderBenchmark {
+
+  private byte[] content;
+  private MappedMarcFile mappedFile;
+
+  @Setup
+  public void setup() throws Exception {
+    content = BenchmarkFixtures.content(BenchmarkFixtures.Format.ISO);
+    mappedFile = new MappedMarcFile(Paths.get(BenchmarkFixtures.ISO), false);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    mappedFile.close();
+  }
+
+  @Benchmark
+  public void marc4j(Blackhole blackhole) {
+    MarcReader reader = new MarcStreamReader(new ByteArrayInputStream(content));
+    while (reader.hasNext())
+      blackhole.consume(MarcFactory.createFromMarc4j(reader.next(), null, MarcVersion.MARC21, null));
+  }
+
+  @Benchmark
+  public void nativeReader(Blackhole blackhole) {
+    Iso2709Reader reader = new Iso2709Reader(new ByteArrayInputStream(content));
+    while (reader.hasNext())
+      blackhole.consume(MarcFactory.createFromIso2709(reader.next(), null, MarcVersion.MARC21, null));
+  }
+
+  @Benchmark
+  public void memoryMapped(Blackhole blackhole) {
+    Iso2709Reader reader = new Iso2709Reader(mappedFile, null);
+    while (reader.hasNext())
+      blackhole.consume(MarcFactory.createFromIso2709(reader.next(), null, MarcVersion.MARC21, null));
+  }
+
+  @Benchmark
+  public void indexMappedFile(Blackhole blackhole) throws IOException {
+    try (MappedMarcFile file = new MappedMarcFile(Paths.get(BenchmarkFixtures.ISO), false)) {
+      blackhole.consume(file.getNumberOfRecords());
+    }
+  }
+
+  @Benchmark
+  public void nativeReaderControlNumber(Blackhole blackhole) {
+    Iso2709Reader reader = new Iso2709Reader(new ByteArrayInputStream(content));
+    while (reader.hasNext())
+      blackhole.consume(reader.next().getControlNumber());
+  }
+}
@@ -0,0 +1,60 @@
+package de.gwdg.metadataqa.marc.benchmark;
+
+import de.gwdg.metadataqa.marc.dao.MarcRecord;
+import de.gwdg.metadataqa.marc.datastore.SolrDocumentBuilder;
+import de.gwdg.metadataqa.marc.definition.MarcVersion;
+import de.gwdg.metadataqa.marc.model.SolrFieldType;
+import org.apache.solr.common.SolrInputDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the Solr document (the key-value pairs) of the MARC21 test records, as MarcToSolr does.
+ * Note: getKeyValuePairs() caches the map in the record, so it measures the first call only in the
+ * first invocation; solrDocument() creates the document every time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyValuePairsBenchmark {
+
+  @Param({"MARC", "HUMAN", "MIXED"})
+  private SolrFieldType solrFieldType;
+
+  private List<MarcRecord> marcRecords;
+  private SolrDocumentBuilder documentBuilder;
+
+  @Setup
+  public void setup() throws Exception {
+    marcRecords = BenchmarkFixtures.marcRecords();
+    documentBuilder = new SolrDocumentBuilder(solrFieldType, MarcVersion.MARC21, true);
+  }
+
+  @Benchmark
+  public void getKeyValuePairs(Blackhole blackhole) {
+    for (MarcRecord marcRecord : marcRecords)
+      blackhole.consume(marcRecord.getKeyValuePairs(solrFieldType, true, MarcVersion.MARC21));
+  }
+
+  @Benchmark
+  public void solrDocument(Blackhole blackhole) {
+    for (MarcRecord marcRecord : marcRecords)
+      blackhole.consume(documentBuilder.build(marcRecord, new SolrInputDocument()));
+  }
+}
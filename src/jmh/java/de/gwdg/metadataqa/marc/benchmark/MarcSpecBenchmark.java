@@ -0,0 +1,100 @@
+package de.gwdg.metadataqa.marc.benchmark;
+
+import de.gwdg.metadataqa.marc.analysis.ShelfReadyFieldsBooks;
+import de.gwdg.metadataqa.marc.dao.MarcRecord;
+import de.gwdg.metadataqa.marc.utils.marcspec.legacy.MarcSpec;
+import de.gwdg.metadataqa.marc.utils.marcspec.legacy.SelectorPlan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selects values from the MARC21 test records with MARCspec selectors of the kind the
+ * ShelfReady completeness and the Formatter use. Parsing the selectors is measured separately.
+ * The *Plan benchmarks run the same selectors compiled into a SelectorPlan, the *Many ones all the
+ * selectors of the ShelfReady completeness.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarcSpecBenchmark {
+
+  private static final String[] SELECTORS = {
+    "LDR~6", "001", "008~7-10", "020$a", "100$a", "245$a", "245$c", "260$c", "650$a", "700$a"
+  };
+
+  private List<MarcRecord> marcRecords;
+  private List<MarcSpec> marcSpecs;
+  private SelectorPlan plan;
+  private SelectorPlan.Selection selection;
+  private List<MarcSpec> manySpecs;
+  private SelectorPlan manyPlan;
+  private SelectorPlan.Selection manySelection;
+
+  @Setup
+  public void setup() throws Exception {
+    marcRecords = BenchmarkFixtures.marcRecords();
+    marcSpecs = parse();
+    plan = SelectorPlan.compile(marcSpecs);
+    selection = plan.newSelection();
+
+    manySpecs = new ArrayList<>();
+    for (ShelfReadyFieldsBooks field : ShelfReadyFieldsBooks.values())
+      manySpecs.addAll(field.getSelectors());
+    manyPlan = SelectorPlan.compile(manySpecs);
+    manySelection = manyPlan.newSelection();
+  }
+
+  @Benchmark
+  public List<MarcSpec> parse() {
+    List<MarcSpec> specs = new ArrayList<>();
+    for (String selector : SELECTORS)
+      specs.add(new MarcSpec(selector));
+    return specs;
+  }
+
+  @Benchmark
+  public void select(Blackhole blackhole) {
+    for (MarcRecord marcRecord : marcRecords)
+      for (MarcSpec marcSpec : marcSpecs)
+        blackhole.consume(marcRecord.select(marcSpec));
+  }
+
+  @Benchmark
+  public void selectPlan(Blackhole blackhole) {
+    for (MarcRecord marcRecord : marcRecords) {
+      plan.select(marcRecord, selection);
+      blackhole.consume(selection);
+    }
+  }
+
+  @Benchmark
+  public void selectMany(Blackhole blackhole) {
+    for (MarcRecord marcRecord : marcRecords)
+      for (MarcSpec marcSpec : manySpecs)
+        blackhole.consume(marcRecord.select(marcSpec));
+  }
+
+  @Benchmark
+  public void selectManyPlan(Blackhole blackhole) {
+    for (MarcRecord marcRecord : marcRecords) {
+      manyPlan.select(marcRecord, manySelection);
+      blackhole.consume(manySelection);
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package de.gwdg.metadataqa.marc.benchmark;
+
+import org.marc4j.MarcReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads every record of an input file. The file is read into memory in the setup, so the
+ * benchmark measures the parsing, not the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadingBenchmark {
+
+  @Param({"ISO", "ALEPHSEQ", "MARCXML", "PICA"})
+  private BenchmarkFixtures.Format format;
+
+  private byte[] content;
+
+  @Setup
+  public void setup() throws Exception {
+    content = BenchmarkFixtures.content(format);
+  }
+
+  @Benchmark
+  public void read(Blackhole blackhole) throws Exception {
+    MarcReader reader = BenchmarkFixtures.reader(format, content);
+    while (reader.hasNext())
+      blackhole.consume(reader.next());
+  }
+}
@@ -0,0 +1,55 @@
+package de.gwdg.metadataqa.marc.benchmark;
+
+import de.gwdg.metadataqa.marc.MarcFactory;
+import de.gwdg.metadataqa.marc.utils.pica.PicaFieldDefinition;
+import org.marc4j.marc.Record;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates MarcRecord objects from the marc4j records of an input file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordCreationBenchmark {
+
+  @Param({"ISO", "ALEPHSEQ", "MARCXML", "PICA"})
+  private BenchmarkFixtures.Format format;
+
+  private List<Record> records;
+  private Map<String, PicaFieldDefinition> picaSchema;
+
+  @Setup
+  public void setup() throws Exception {
+    records = BenchmarkFixtures.records(format);
+    if (format == BenchmarkFixtures.Format.PICA)
+      picaSchema = BenchmarkFixtures.picaSchema();
+  }
+
+  @Benchmark
+  public void create(Blackhole blackhole) {
+    for (Record record : records)
+      if (format == BenchmarkFixtures.Format.PICA)
+        blackhole.consume(MarcFactory.createPicaFromMarc4j(record, picaSchema));
+      else
+        blackhole.consume(MarcFactory.createFromMarc4j(record));
+  }
+}
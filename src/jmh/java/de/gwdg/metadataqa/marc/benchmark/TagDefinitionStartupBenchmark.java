@@ -0,0 +1,59 @@
+package de.gwdg.metadataqa.marc.benchmark;
+
+import de.gwdg.metadataqa.marc.definition.MarcVersion;
+import de.gwdg.metadataqa.marc.definition.TagDefinitionLoader;
+import de.gwdg.metadataqa.marc.definition.structure.DataFieldDefinition;
+import de.gwdg.metadataqa.marc.utils.MarcTagLister;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the startup cost of the two ways of getting the data field definitions:
+ * <ul>
+ *   <li><code>reflection</code>: scanning the classpath with MarcTagLister and calling getInstance()
+ *   of every definition class via reflection (the former behaviour of TagDefinitionLoader)</li>
+ *   <li><code>indexAll</code>: loading every definition via TagDefinitionLoader</li>
+ *   <li><code>indexOne</code>: loading a single definition via TagDefinitionLoader (a typical short
+ *   command line run)</li>
+ * </ul>
+ * The cost is paid only once per JVM, so every measurement is a single call in a fresh fork.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class TagDefinitionStartupBenchmark {
+
+  @Benchmark
+  public int reflection() throws ReflectiveOperationException {
+    int count = 0;
+    for (Class<? extends DataFieldDefinition> tagClass : MarcTagLister.listTags())
+      if (tagClass.getMethod("getInstance").invoke(tagClass) != null)
+        count++;
+    return count;
+  }
+
+  @Benchmark
+  public int indexAll() {
+    Set<DataFieldDefinition> definitions = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (MarcVersion version : MarcVersion.values())
+      definitions.addAll(TagDefinitionLoader.findPatterns("...", version));
+    return definitions.size();
+  }
+
+  @Benchmark
+  public DataFieldDefinition indexOne() {
+    return TagDefinitionLoader.load("245");
+  }
+}
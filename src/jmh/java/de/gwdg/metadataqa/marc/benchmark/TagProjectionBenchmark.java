@@ -0,0 +1,60 @@
+package de.gwdg.metadataqa.marc.benchmark;
+
+import de.gwdg.metadataqa.marc.MarcFactory;
+import de.gwdg.metadataqa.marc.analysis.ClassificationAnalyzer;
+import de.gwdg.metadataqa.marc.analysis.ShelfReadyAnalysis;
+import de.gwdg.metadataqa.marc.analysis.ThompsonTraillAnalysis;
+import de.gwdg.metadataqa.marc.definition.MarcVersion;
+import de.gwdg.metadataqa.marc.utils.TagProjection;
+import org.marc4j.marc.Record;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates MarcRecord objects from the marc4j records of the ISO 2709 test file with the fields
+ * the analyses declare (ALL is the full record).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TagProjectionBenchmark {
+
+  @Param({"ALL", "THOMPSON_TRAILL", "SHELF_READY", "CLASSIFICATION"})
+  private String analysis;
+
+  private List<Record> records;
+  private TagProjection projection;
+
+  @Setup
+  public void setup() throws Exception {
+    records = BenchmarkFixtures.records(BenchmarkFixtures.Format.ISO);
+    switch (analysis) {
+      case "THOMPSON_TRAILL": projection = ThompsonTraillAnalysis.getTagProjection(); break;
+      case "SHELF_READY": projection = ShelfReadyAnalysis.getTagProjection(); break;
+      case "CLASSIFICATION": projection = ClassificationAnalyzer.getTagProjection(); break;
+      default: projection = TagProjection.ALL; break;
+    }
+  }
+
+  @Benchmark
+  public void create(Blackhole blackhole) {
+    for (Record record : records)
+      blackhole.consume(MarcFactory.createFromMarc4j(record, null, MarcVersion.MARC21, null, projection));
+  }
+}
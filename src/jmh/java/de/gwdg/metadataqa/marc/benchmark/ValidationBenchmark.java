@@ -0,0 +1,53 @@
+package de.gwdg.metadataqa.marc.benchmark;
+
+import de.gwdg.metadataqa.marc.dao.MarcRecord;
+import de.gwdg.metadataqa.marc.definition.MarcVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validates the MARC21 test records against the definitions of a MARC version. The records
+ * are created once, validate() resets their list of errors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+  @Param({"MARC21", "DNB", "GENT"})
+  private MarcVersion marcVersion;
+
+  @Param({"false", "true"})
+  private boolean isSummary;
+
+  private List<MarcRecord> marcRecords;
+
+  @Setup
+  public void setup() throws Exception {
+    marcRecords = BenchmarkFixtures.marcRecords();
+  }
+
+  @Benchmark
+  public void validate(Blackhole blackhole) {
+    for (MarcRecord marcRecord : marcRecords) {
+      blackhole.consume(marcRecord.validate(marcVersion, isSummary));
+      blackhole.consume(marcRecord.getValidationErrors());
+    }
+  }
+}
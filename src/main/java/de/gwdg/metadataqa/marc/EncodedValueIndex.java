@@ -0,0 +1,73 @@
+package de.gwdg.metadataqa.marc;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A lookup table over a list of encoded values. It returns the same value as walking through the
+ * list and returning the first code which equals the input or, as a range, contains it, but the
+ * exact matches are found by a hash lookup, and only the codes having a range form are checked
+ * one by one.
+ *
+ * The range flag of a code is set after the code list has been created (getCode("1-9").setRange(true)),
+ * so the index checks the flag at the time of the lookup.
+ */
+public class EncodedValueIndex implements Serializable {
+
+  private static final Pattern RANGE_FORM = Pattern.compile("^\\d+-\\d+$");
+
+  private final List<EncodedValue> codes;
+  private final int size;
+  private final Map<String, Integer> positions;
+  private final int[] rangePositions;
+
+  public EncodedValueIndex(List<EncodedValue> codes) {
+    this.codes = codes;
+    size = codes.size();
+    positions = new HashMap<>(size * 2);
+    List<Integer> ranges = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      String code = codes.get(i).getCode();
+      positions.putIfAbsent(code, i);
+      if (code != null && RANGE_FORM.matcher(code).matches())
+        ranges.add(i);
+    }
+    rangePositions = new int[ranges.size()];
+    for (int i = 0; i < rangePositions.length; i++)
+      rangePositions[i] = ranges.get(i);
+  }
+
+  /**
+   * @param codes A list of codes
+   * @return true if the index has been created from this list and the list has not been extended since
+   */
+  public boolean isIndexOf(List<EncodedValue> codes) {
+    return this.codes == codes && size == codes.size();
+  }
+
+  public EncodedValue getCode(String code) {
+    Integer exact = positions.get(code);
+    int limit = exact == null ? size : exact;
+    for (int position : rangePositions) {
+      if (position >= limit)
+        break;
+      EncodedValue value = codes.get(position);
+      if (value.isRange() && value.getRange().isValid(code))
+        return value;
+    }
+    return exact == null ? null : codes.get(exact);
+  }
+
+  /**
+   * @param code The code
+   * @return The first value which equals the code, without checking the ranges
+   */
+  public EncodedValue getExactCode(String code) {
+    Integer exact = positions.get(code);
+    return exact == null ? null : codes.get(exact);
+  }
+}
@@ -25,6 +25,8 @@ import de.gwdg.metadataqa.marc.utils.MapToDatafield;
 
 import de.gwdg.metadataqa.marc.utils.alephseq.MarcMakerLine;
 import de.gwdg.metadataqa.marc.utils.alephseq.MarclineLine;
+import de.gwdg.metadataqa.marc.utils.TagProjection;
+import de.gwdg.metadataqa.marc.utils.marcreader.Iso2709Record;
 import de.gwdg.metadataqa.marc.utils.pica.PicaFieldDefinition;
 import de.gwdg.metadataqa.marc.utils.pica.PicaLine;
 import de.gwdg.metadataqa.marc.utils.pica.PicaSubfield;
@@ -140,31 +142,120 @@ public class MarcFactory {
                                             Leader.Type defaultType,
                                             MarcVersion marcVersion,
                                             String replecementInControlFields) {
+    return createFromMarc4j(marc4jRecord, defaultType, marcVersion, replecementInControlFields, TagProjection.ALL);
+  }
+
+  /**
+   * Create a MarcRecord object from Marc4j object with the fields of the projection only
+   * @param marc4jRecord The Marc4j record
+   * @param defaultType The defauld document type
+   * @param marcVersion The MARC version
+   * @param replecementInControlFields A ^ or # character which sould be replaced with space in control fields
+   * @param projection The tags of the fields to create
+   * @return
+   */
+  public static MarcRecord createFromMarc4j(Record marc4jRecord,
+                                            Leader.Type defaultType,
+                                            MarcVersion marcVersion,
+                                            String replecementInControlFields,
+                                            TagProjection projection) {
     var marcRecord = new MarcRecord();
 
-    if (marc4jRecord.getLeader() != null) {
-      String data = marc4jRecord.getLeader().marshal();
-      if (replecementInControlFields != null)
-        data = data.replace(replecementInControlFields, " ");
-      marcRecord.setLeader(new Leader(data, defaultType));
-
-      if (marcRecord.getType() == null) {
-        throw new InvalidParameterException(
-          String.format(
-            "Error in '%s': no type has been detected. Leader: '%s'.",
-            marc4jRecord.getControlNumberField(), marcRecord.getLeader().getLeaderString()
-          )
-        );
-      }
-    }
+    if (marc4jRecord.getLeader() != null)
+      importLeader(marcRecord, marc4jRecord.getLeader().marshal(), defaultType,
+        replecementInControlFields, String.valueOf(marc4jRecord.getControlNumberField()));
 
-    importMarc4jControlFields(marc4jRecord, marcRecord, replecementInControlFields);
+    for (ControlField controlField : marc4jRecord.getControlFields())
+      if (projection.contains(controlField.getTag()))
+        importControlField(marcRecord, controlField.getTag(), controlField.getData(), replecementInControlFields);
 
-    importMarc4jDataFields(marc4jRecord, marcRecord, marcVersion);
+    for (org.marc4j.marc.DataField dataField : marc4jRecord.getDataFields())
+      if (projection.contains(dataField.getTag()))
+        importMarc4jDataField(dataField, marcRecord, marcVersion);
 
     return marcRecord;
   }
 
+  /**
+   * Create a MarcRecord object from a record read by Iso2709Reader. The result is the same as
+   * reading the record with marc4j and calling createFromMarc4j(), without creating the marc4j
+   * objects.
+   * @param isoRecord The ISO 2709 record
+   * @param defaultType The defauld document type
+   * @param marcVersion The MARC version
+   * @param replecementInControlFields A ^ or # character which sould be replaced with space in control fields
+   * @return
+   */
+  public static MarcRecord createFromIso2709(Iso2709Record isoRecord,
+                                             Leader.Type defaultType,
+                                             MarcVersion marcVersion,
+                                             String replecementInControlFields) {
+    return createFromIso2709(isoRecord, defaultType, marcVersion, replecementInControlFields, TagProjection.ALL);
+  }
+
+  /**
+   * Create a MarcRecord object from a record read by Iso2709Reader with the fields of the projection
+   * only. The content of the other fields is not decoded.
+   * @param isoRecord The ISO 2709 record
+   * @param defaultType The defauld document type
+   * @param marcVersion The MARC version
+   * @param replecementInControlFields A ^ or # character which sould be replaced with space in control fields
+   * @param projection The tags of the fields to create
+   * @return
+   */
+  public static MarcRecord createFromIso2709(Iso2709Record isoRecord,
+                                             Leader.Type defaultType,
+                                             MarcVersion marcVersion,
+                                             String replecementInControlFields,
+                                             TagProjection projection) {
+    var marcRecord = new MarcRecord();
+
+    importLeader(marcRecord, isoRecord.getLeader(), defaultType,
+      replecementInControlFields, isoRecord.getControlNumber());
+
+    for (int i = 0; i < isoRecord.getNumberOfFields(); i++)
+      if (isoRecord.isControlField(i) && projection.contains(isoRecord.getTag(i)))
+        importControlField(marcRecord, isoRecord.getTag(i), isoRecord.getControlFieldData(i), replecementInControlFields);
+
+    for (int i = 0; i < isoRecord.getNumberOfFields(); i++) {
+      if (isoRecord.isControlField(i))
+        continue;
+      String tag = isoRecord.getTag(i);
+      if (!projection.contains(tag))
+        continue;
+      var definition = getDataFieldDefinition(tag, marcVersion);
+      if (definition == null) {
+        marcRecord.addUnhandledTags(tag);
+      }
+      var field = createDataField(tag, definition,
+        isoRecord.getIndicator1(i), isoRecord.getIndicator2(i), marcVersion);
+      isoRecord.forEachSubfield(i, (code, data) -> addSubfield(field, definition, code, data));
+      field.indexSubfields();
+      marcRecord.addDataField(field);
+    }
+
+    return marcRecord;
+  }
+
+  private static void importLeader(MarcRecord marcRecord,
+                                   String data,
+                                   Leader.Type defaultType,
+                                   String replecementInControlFields,
+                                   String controlNumber) {
+    if (replecementInControlFields != null)
+      data = data.replace(replecementInControlFields, " ");
+    marcRecord.setLeader(new Leader(data, defaultType));
+
+    if (marcRecord.getType() == null) {
+      throw new InvalidParameterException(
+        String.format(
+          "Error in '%s': no type has been detected. Leader: '%s'.",
+          controlNumber, marcRecord.getLeader().getLeaderString()
+        )
+      );
+    }
+  }
+
   public static MarcRecord createPicaFromMarc4j(Record marc4jRecord, Map<String, PicaFieldDefinition> schemaDirectory) {
     var marcRecord = new MarcRecord();
     marcRecord.setSchemaType(SchemaType.PICA);
@@ -179,26 +270,31 @@ public class MarcFactory {
   private static void importMarc4jControlFields(Record marc4jRecord,
                                                 MarcRecord marcRecord,
                                                 String replecementInControlFields) {
-    for (ControlField controlField : marc4jRecord.getControlFields()) {
-      String data = controlField.getData();
-      if (replecementInControlFields != null && isFixable(controlField.getTag()))
-        data = data.replace(replecementInControlFields, " ");
-      switch (controlField.getTag()) {
-        case "001":
-          marcRecord.setControl001(new Control001(data)); break;
-        case "003":
-          marcRecord.setControl003(new Control003(data)); break;
-        case "005":
-          marcRecord.setControl005(new Control005(data, marcRecord)); break;
-        case "006":
-          marcRecord.setControl006(new Control006(data, marcRecord)); break;
-        case "007":
-          marcRecord.setControl007(new Control007(data, marcRecord)); break;
-        case "008":
-          marcRecord.setControl008(new Control008(data, marcRecord)); break;
-        default:
-          break;
-      }
+    for (ControlField controlField : marc4jRecord.getControlFields())
+      importControlField(marcRecord, controlField.getTag(), controlField.getData(), replecementInControlFields);
+  }
+
+  private static void importControlField(MarcRecord marcRecord,
+                                         String tag,
+                                         String data,
+                                         String replecementInControlFields) {
+    if (replecementInControlFields != null && isFixable(tag))
+      data = data.replace(replecementInControlFields, " ");
+    switch (tag) {
+      case "001":
+        marcRecord.setControl001(new Control001(data)); break;
+      case "003":
+        marcRecord.setControl003(new Control003(data)); break;
+      case "005":
+        marcRecord.setControl005(new Control005(data, marcRecord)); break;
+      case "006":
+        marcRecord.setControl006(new Control006(data, marcRecord)); break;
+      case "007":
+        marcRecord.setControl007(new Control007(data, marcRecord)); break;
+      case "008":
+        marcRecord.setControl008(new Control008(data, marcRecord)); break;
+      default:
+        break;
     }
   }
 
@@ -206,17 +302,15 @@ public class MarcFactory {
     return fixableControlFields.contains(tag);
   }
 
-  private static void importMarc4jDataFields(Record marc4jRecord,
-                                             MarcRecord marcRecord,
-                                             MarcVersion marcVersion) {
-    for (org.marc4j.marc.DataField dataField : marc4jRecord.getDataFields()) {
-      var definition = getDataFieldDefinition(dataField, marcVersion);
-      if (definition == null) {
-        marcRecord.addUnhandledTags(dataField.getTag());
-      }
-      var field = extractDataField(dataField, definition, marcVersion);
-      marcRecord.addDataField(field);
+  private static void importMarc4jDataField(org.marc4j.marc.DataField dataField,
+                                            MarcRecord marcRecord,
+                                            MarcVersion marcVersion) {
+    var definition = getDataFieldDefinition(dataField, marcVersion);
+    if (definition == null) {
+      marcRecord.addUnhandledTags(dataField.getTag());
     }
+    var field = extractDataField(dataField, definition, marcVersion);
+    marcRecord.addDataField(field);
   }
 
   private static void importMarc4jDataFields(Record marc4jRecord,
@@ -244,36 +338,33 @@ public class MarcFactory {
   private static DataField extractDataField(org.marc4j.marc.DataField dataField,
                                             DataFieldDefinition definition,
                                             MarcVersion marcVersion) {
-    DataField field;
-    if (definition == null) {
-      field = new DataField(dataField.getTag(),
-              Character.toString(dataField.getIndicator1()),
-              Character.toString(dataField.getIndicator2()),
-              marcVersion
-      );
-    } else {
-      field = new DataField(
-              definition,
-              Character.toString(dataField.getIndicator1()),
-              Character.toString(dataField.getIndicator2())
-      );
-    }
-    for (Subfield subfield : dataField.getSubfields()) {
-      var code = Character.toString(subfield.getCode());
-      SubfieldDefinition subfieldDefinition = definition == null ? null : definition.getSubfield(code);
-      MarcSubfield marcSubfield = null;
-      if (subfieldDefinition == null) {
-        marcSubfield = new MarcSubfield(null, code, subfield.getData());
-      } else {
-        marcSubfield = new MarcSubfield(subfieldDefinition, code, subfield.getData());
-      }
-      marcSubfield.setField(field);
-      field.getSubfields().add(marcSubfield);
-    }
+    DataField field = createDataField(dataField.getTag(), definition,
+      dataField.getIndicator1(), dataField.getIndicator2(), marcVersion);
+    for (Subfield subfield : dataField.getSubfields())
+      addSubfield(field, definition, subfield.getCode(), subfield.getData());
     field.indexSubfields();
     return field;
   }
 
+  private static DataField createDataField(String tag,
+                                           DataFieldDefinition definition,
+                                           char ind1,
+                                           char ind2,
+                                           MarcVersion marcVersion) {
+    if (definition == null)
+      return new DataField(tag, Character.toString(ind1), Character.toString(ind2), marcVersion);
+    else
+      return new DataField(definition, Character.toString(ind1), Character.toString(ind2));
+  }
+
+  private static void addSubfield(DataField field, DataFieldDefinition definition, char subfieldCode, String data) {
+    var code = Character.toString(subfieldCode);
+    SubfieldDefinition subfieldDefinition = definition == null ? null : definition.getSubfield(code);
+    var marcSubfield = new MarcSubfield(subfieldDefinition, code, data);
+    marcSubfield.setField(field);
+    field.getSubfields().add(marcSubfield);
+  }
+
   private static DataField extractPicaDataField(org.marc4j.marc.DataField dataField,
                                                 PicaFieldDefinition definition,
                                                 MarcVersion marcVersion) {
@@ -12,6 +12,7 @@ import de.gwdg.metadataqa.marc.model.validation.ErrorsCollector;
 import de.gwdg.metadataqa.marc.model.validation.ValidationError;
 import de.gwdg.metadataqa.marc.model.validation.ValidationErrorType;
 import de.gwdg.metadataqa.marc.utils.keygenerator.DataFieldKeyGenerator;
+import de.gwdg.metadataqa.marc.utils.keygenerator.FieldKeyValuePairs;
 
 import java.io.Serializable;
 import java.util.*;
@@ -127,37 +128,40 @@ public class MarcSubfield implements Validatable, Serializable {
   }
 
   public Map<String, List<String>> getKeyValuePairs(DataFieldKeyGenerator keyGenerator) {
-    Map<String, List<String>> pairs = new HashMap<>();
+    FieldKeyValuePairs pairs = new FieldKeyValuePairs();
+    writeKeyValuePairs(keyGenerator, pairs);
+    return pairs.toMap();
+  }
+
+  /**
+   * Puts the field names and values of the subfield into the buffer of the data field.
+   */
+  public void writeKeyValuePairs(DataFieldKeyGenerator keyGenerator, FieldKeyValuePairs pairs) {
     String prefix = keyGenerator.forSubfield(this);
 
-    pairs.put(prefix, Collections.singletonList(resolve()));
+    pairs.put(prefix, resolve());
     if (getDefinition() != null) {
       getKeyValuePairsForPositionalSubfields(pairs, prefix);
       getKeyValuePairsFromContentParser(keyGenerator, pairs);
     }
-
-    return pairs;
   }
 
-  private void getKeyValuePairsFromContentParser(DataFieldKeyGenerator keyGenerator, Map<String, List<String>> pairs) {
+  private void getKeyValuePairsFromContentParser(DataFieldKeyGenerator keyGenerator, FieldKeyValuePairs pairs) {
     if (getDefinition().hasContentParser()) {
       Map<String, String> extra = parseContent();
       if (extra != null) {
         for (Map.Entry<String, String> entry : extra.entrySet()) {
-          pairs.put(
-            keyGenerator.forSubfield(this, entry.getKey()),
-            Collections.singletonList(entry.getValue())
-          );
+          pairs.put(keyGenerator.forSubfield(this, entry.getKey()), entry.getValue());
         }
       }
     }
   }
 
-  private void getKeyValuePairsForPositionalSubfields(Map<String, List<String>> pairs, String prefix) {
+  private void getKeyValuePairsForPositionalSubfields(FieldKeyValuePairs pairs, String prefix) {
     if (getDefinition().hasPositions()) {
       Map<String, String> extra = getDefinition().resolvePositional(getValue());
       for (Map.Entry<String, String> entry : extra.entrySet()) {
-        pairs.put(prefix + "_" + entry.getKey(), Collections.singletonList(entry.getValue()));
+        pairs.put(prefix + "_" + entry.getKey(), entry.getValue());
       }
     }
   }
@@ -101,13 +101,35 @@ public class Utils {
    * @param <T>
    */
   public static <T extends Object> void count(T key, Map<T, Integer> counter) {
-    counter.computeIfAbsent(key, s -> 0);
-    counter.put(key, counter.get(key) + 1);
+    counter.merge(key, 1, Integer::sum);
   }
 
   public static <T extends Object> void add(T key, Map<T, Integer> counter, int i) {
-    counter.computeIfAbsent(key, s -> 0);
-    counter.put(key, counter.get(key) + i);
+    counter.merge(key, i, Integer::sum);
+  }
+
+  /**
+   * Add all the values of a counter to another counter.
+   * @param source (the counter to read from)
+   * @param target (the counter to add to)
+   * @param <T>
+   */
+  public static <T extends Object> void merge(Map<T, Integer> source, Map<T, Integer> target) {
+    for (Map.Entry<T, Integer> entry : source.entrySet())
+      add(entry.getKey(), target, entry.getValue());
+  }
+
+  /**
+   * Keeps the lowest value of a key, so the result does not depend on the order of the calls.
+   * @param key (any kind of object)
+   * @param value (the value to compare with the current one, null is ignored)
+   * @param map (a map where the key type equals to the key parameter)
+   * @param <T>
+   * @param <V>
+   */
+  public static <T extends Object, V extends Comparable<V>> void keepLowest(T key, V value, Map<T, V> map) {
+    if (value != null)
+      map.merge(key, value, (a, b) -> a.compareTo(b) <= 0 ? a : b);
   }
 
   public static <T extends Object> List<String> counterToList(Map<T, Integer> counter) {
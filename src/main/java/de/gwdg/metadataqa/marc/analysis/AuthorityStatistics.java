@@ -1,9 +1,11 @@
 package de.gwdg.metadataqa.marc.analysis;
 
+import de.gwdg.metadataqa.marc.Utils;
 import de.gwdg.metadataqa.marc.cli.utils.Schema;
 import de.gwdg.metadataqa.marc.utils.Counter;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,4 +41,28 @@ public class AuthorityStatistics implements Serializable {
   public Counter<AuthorityCategory> getRecordsPerCategories() {
     return recordsPerCategories;
   }
+
+  /**
+   * Adds the statistics of an other analysis (e.g. a parallel worker). The result does not depend
+   * on the order of the merges.
+   * @param other The statistics of the other analysis
+   */
+  public void merge(AuthorityStatistics other) {
+    Utils.merge(other.instances, instances);
+    Utils.merge(other.records, records);
+    for (Map.Entry<Schema, Map<List<String>, Integer>> entry : other.subfields.entrySet())
+      Utils.merge(entry.getValue(), subfields.computeIfAbsent(entry.getKey(), s -> new HashMap<>()));
+    Utils.merge(other.instancesPerCategories.getMap(), instancesPerCategories.getMap());
+    Utils.merge(other.recordsPerCategories.getMap(), recordsPerCategories.getMap());
+  }
+
+  /**
+   * Assigns the schema identifiers in a canonical order, see Schema.renumber().
+   */
+  public void renumberSchemas() {
+    List<Schema> schemas = new ArrayList<>(instances.keySet());
+    schemas.addAll(records.keySet());
+    schemas.addAll(subfields.keySet());
+    Schema.renumber(schemas);
+  }
 }
@@ -1,13 +1,14 @@
 package de.gwdg.metadataqa.marc.analysis;
 
-import de.gwdg.metadataqa.marc.MarcSubfield;
 import de.gwdg.metadataqa.marc.analysis.bl.UseCase;
 import de.gwdg.metadataqa.marc.analysis.bl.Element;
-import de.gwdg.metadataqa.marc.dao.DataField;
 import de.gwdg.metadataqa.marc.dao.MarcRecord;
+import de.gwdg.metadataqa.marc.utils.marcspec.legacy.SelectorPlan;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 import static de.gwdg.metadataqa.marc.analysis.bl.Band.BASIC;
@@ -22,8 +23,13 @@ public class BLClassifier implements Classifier {
   private List<UseCase> basicUseCases = new ArrayList<>();
   private List<UseCase> satisfactoryUseCases = new ArrayList<>();
   private List<UseCase> effectiveUseCases = new ArrayList<>();
+  // the elements of all use cases are checked in a single pass over the record
+  private final SelectorPlan plan;
+  private final SelectorPlan.Selection selection;
+  private final Map<UseCase, int[]> elementSlots = new EnumMap<>(UseCase.class);
 
   public BLClassifier() {
+    SelectorPlan.Builder builder = SelectorPlan.builder();
     for (UseCase useCase : UseCase.values()) {
       if (useCase.getBand().equals(BASIC))
         basicUseCases.add(useCase);
@@ -31,44 +37,44 @@ public class BLClassifier implements Classifier {
         satisfactoryUseCases.add(useCase);
       else if (useCase.getBand().equals(EFFECTIVE))
         effectiveUseCases.add(useCase);
+
+      int[] slots = new int[useCase.getElements().size()];
+      for (int i = 0; i < slots.length; i++) {
+        Element element = useCase.getElements().get(i);
+        slots[i] = builder.addDataField(element.getTag(), element.getSubfield());
+      }
+      elementSlots.put(useCase, slots);
     }
+    plan = builder.build();
+    selection = plan.newSelection();
   }
 
   @Override
   public String classify(MarcRecord marcRecord) {
+    plan.select(marcRecord, selection);
     String level = DEFICIENT.name();
 
     for (UseCase useCase : basicUseCases)
-      if (useCase.getStatus().equals("Mandatory") && !useCase.getElements().isEmpty() && !satisfy(marcRecord, useCase))
+      if (useCase.getStatus().equals("Mandatory") && !useCase.getElements().isEmpty() && !satisfy(useCase))
         return level;
     level = BASIC.name();
 
     for (UseCase useCase : satisfactoryUseCases)
-      if (!useCase.getElements().isEmpty() && !satisfy(marcRecord, useCase))
+      if (!useCase.getElements().isEmpty() && !satisfy(useCase))
         return level;
     level = SATISFACTORY.name();
 
     for (UseCase useCase : effectiveUseCases)
-      if (!useCase.getElements().isEmpty() && !satisfy(marcRecord, useCase))
+      if (!useCase.getElements().isEmpty() && !satisfy(useCase))
         return level;
     level = EFFECTIVE.name();
     return level;
   }
 
-  private boolean satisfy(MarcRecord marcRecord, UseCase useCase) {
-    for (Element element : useCase.getElements()) {
-      if (marcRecord.hasDatafield(element.getTag())) {
-        if (element.getSubfield() == null) {
-          return true;
-        } else {
-          for (DataField field : marcRecord.getDatafield(element.getTag())) {
-            List<MarcSubfield> subfields = field.getSubfield(element.getSubfield());
-            if (subfields != null && !subfields.isEmpty())
-              return true;
-          }
-        }
-      }
-    }
+  private boolean satisfy(UseCase useCase) {
+    for (int slot : elementSlots.get(useCase))
+      if (!selection.isEmpty(slot))
+        return true;
     logger.info(String.format("failed for %s (%s -- %s -- %s)", useCase.name(), useCase.getUseCase(), useCase.getEncoding(), useCase.getDataElelemntsNormalized()));
     return false;
   }
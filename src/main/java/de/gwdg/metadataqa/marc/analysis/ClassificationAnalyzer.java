@@ -6,6 +6,7 @@ import de.gwdg.metadataqa.marc.dao.MarcRecord;
 import de.gwdg.metadataqa.marc.MarcSubfield;
 import de.gwdg.metadataqa.marc.cli.utils.Schema;
 import de.gwdg.metadataqa.marc.definition.general.indexer.subject.ClassificationSchemes;
+import de.gwdg.metadataqa.marc.utils.TagProjection;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -79,11 +80,31 @@ public class ClassificationAnalyzer {
     // new FieldWithScheme("086", "Government Document Classification");
   );
 
+  private static final TagProjection tagProjection = createTagProjection();
+
   public ClassificationAnalyzer(MarcRecord marcRecord, ClassificationStatistics statistics) {
     this.marcRecord = marcRecord;
     this.statistics = statistics;
   }
 
+  /**
+   * @return The fields the classifications are extracted from
+   */
+  public static TagProjection getTagProjection() {
+    return tagProjection;
+  }
+
+  private static TagProjection createTagProjection() {
+    List<String> tags = new ArrayList<>();
+    tags.addAll(fieldsWithIndicator1AndSubfield2);
+    tags.addAll(fieldsWithIndicator2AndSubfield2);
+    tags.addAll(fieldsWithSubfield2);
+    tags.addAll(fieldsWithoutSource);
+    for (FieldWithScheme fieldWithScheme : fieldsWithScheme)
+      tags.add(fieldWithScheme.getTag());
+    return TagProjection.of(tags);
+  }
+
   public int process() {
     var total = 0;
     schemasInRecord = new ArrayList<>();
@@ -107,7 +128,7 @@ public class ClassificationAnalyzer {
      */
     count((total > 0), statistics.getHasClassifications());
     count(total, statistics.getSchemaHistogram());
-    statistics.getFrequencyExamples().computeIfAbsent(total, s -> marcRecord.getId(true));
+    Utils.keepLowest(total, marcRecord.getId(true), statistics.getFrequencyExamples());
 
     List<String> collocation = getCollocationInRecord();
     if (!collocation.isEmpty())
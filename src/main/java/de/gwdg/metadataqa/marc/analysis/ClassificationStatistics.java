@@ -1,13 +1,16 @@
 package de.gwdg.metadataqa.marc.analysis;
 
+import de.gwdg.metadataqa.marc.Utils;
 import de.gwdg.metadataqa.marc.cli.utils.Schema;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
-public class ClassificationStatistics {
+public class ClassificationStatistics implements Serializable {
   private Map<Schema, Integer> instances = new HashMap<>();
   private Map<Schema, Integer> records = new HashMap<>();
   private Map<Schema, Map<List<String>, Integer>> subfields = new HashMap<>();
@@ -67,4 +70,34 @@ public class ClassificationStatistics {
   public Map<Integer, String> getFrequencyExamples() {
     return frequencyExamples;
   }
+
+  /**
+   * Adds the statistics of an other analysis (e.g. a parallel worker). The result does not depend
+   * on the order of the merges.
+   * @param other The statistics of the other analysis
+   */
+  public void merge(ClassificationStatistics other) {
+    Utils.merge(other.instances, instances);
+    Utils.merge(other.records, records);
+    for (Map.Entry<Schema, Map<List<String>, Integer>> entry : other.subfields.entrySet())
+      Utils.merge(entry.getValue(), subfields.computeIfAbsent(entry.getKey(), s -> new HashMap<>()));
+    Utils.merge(other.fieldInRecords, fieldInRecords);
+    for (Map.Entry<String, Map<String[], Integer>> entry : other.fieldInstances.entrySet())
+      Utils.merge(entry.getValue(), fieldInstances.computeIfAbsent(entry.getKey(), s -> new HashMap<>()));
+    Utils.merge(other.hasClassifications, hasClassifications);
+    Utils.merge(other.schemaHistogram, schemaHistogram);
+    Utils.merge(other.collocationHistogram, collocationHistogram);
+    for (Map.Entry<Integer, String> entry : other.frequencyExamples.entrySet())
+      Utils.keepLowest(entry.getKey(), entry.getValue(), frequencyExamples);
+  }
+
+  /**
+   * Assigns the schema identifiers in a canonical order, see Schema.renumber().
+   */
+  public void renumberSchemas() {
+    List<Schema> schemas = new ArrayList<>(instances.keySet());
+    schemas.addAll(records.keySet());
+    schemas.addAll(subfields.keySet());
+    Schema.renumber(schemas);
+  }
 }
@@ -12,7 +12,8 @@ public class NetworkAnalyzer {
 
   public NetworkAnalyzer(MarcRecord marcRecord) {
     this.marcRecord = marcRecord;
-    collector = new HashSet<>();
+    // in the order of the fields, so the concepts get their identifiers in a reproducible order
+    collector = new LinkedHashSet<>();
   }
 
   public Set<DataField> process(int recordNumber) {
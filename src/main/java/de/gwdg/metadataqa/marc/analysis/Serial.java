@@ -3,6 +3,7 @@ package de.gwdg.metadataqa.marc.analysis;
 import de.gwdg.metadataqa.marc.dao.Control006;
 import de.gwdg.metadataqa.marc.dao.DataField;
 import de.gwdg.metadataqa.marc.dao.MarcRecord;
+import de.gwdg.metadataqa.marc.utils.TagProjection;
 
 import java.util.LinkedList;
 import java.util.List;
@@ -18,6 +19,11 @@ public class Serial {
   private SerialScores scores;
 
   private static List<String> headers = new LinkedList<>();
+  // the fields the score is calculated from, the subjects are those of MarcRecord.getSubjects()
+  private static final TagProjection tagProjection = TagProjection.of(
+    "006", "008", "022", "042", "260", "264", "310", "336", "362", "588", "936",
+    "052", "055", "072", "080", "082", "083", "084", "085", "086", "6XX"
+  );
   static {
     for (SerialFields field : SerialFields.values()) {
       headers.add(field.getMachine());
@@ -33,6 +39,10 @@ public class Serial {
     return headers;
   }
 
+  public static TagProjection getTagProjection() {
+    return tagProjection;
+  }
+
   @Override
   public int hashCode() {
     final var prime = 31;
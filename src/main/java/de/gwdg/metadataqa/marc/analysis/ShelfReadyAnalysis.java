@@ -1,7 +1,9 @@
 package de.gwdg.metadataqa.marc.analysis;
 
 import de.gwdg.metadataqa.marc.dao.MarcRecord;
+import de.gwdg.metadataqa.marc.utils.TagProjection;
 import de.gwdg.metadataqa.marc.utils.marcspec.legacy.MarcSpec;
+import de.gwdg.metadataqa.marc.utils.marcspec.legacy.SelectorPlan;
 
 import java.util.ArrayList;
 import java.util.LinkedList;
@@ -14,22 +16,43 @@ public class ShelfReadyAnalysis {
   }
 
   private static List<String> headers = new LinkedList<>();
+  private static final SelectorPlan plan;
+  // the slot of the first selector of the entries
+  private static final int[] firstSlots = new int[ShelfReadyFieldsBooks.values().length];
+  private static final ThreadLocal<SelectorPlan.Selection> selection;
+  private static final TagProjection tagProjection;
   static {
+    SelectorPlan.Builder builder = SelectorPlan.builder();
+    List<String> tags = new ArrayList<>();
     for (ShelfReadyFieldsBooks field : ShelfReadyFieldsBooks.values()) {
       headers.add(field.name());
+      firstSlots[field.ordinal()] = -1;
+      for (MarcSpec selector : field.getSelectors()) {
+        int slot = builder.add(selector);
+        if (!selector.getFieldTag().equals("LDR"))
+          tags.add(selector.getFieldTag());
+        if (firstSlots[field.ordinal()] == -1)
+          firstSlots[field.ordinal()] = slot;
+      }
     }
+    plan = builder.build();
+    selection = ThreadLocal.withInitial(plan::newSelection);
+    tagProjection = TagProjection.of(tags);
   }
 
   public static List<Double> getScores(MarcRecord marcRecord) {
     List<Double> scores = new ArrayList<>();
 
+    SelectorPlan.Selection values = selection.get();
+    plan.select(marcRecord, values);
+
     var total = 0.0;
     for (ShelfReadyFieldsBooks fieldEntry : ShelfReadyFieldsBooks.values()) {
       var score = 0.0;
       double count = (double) fieldEntry.getSelectors().size();
-      for (MarcSpec selector : fieldEntry.getSelectors()) {
-        List<String> values = marcRecord.select(selector);
-        if (!values.isEmpty()) {
+      int firstSlot = firstSlots[fieldEntry.ordinal()];
+      for (int slot = firstSlot; slot < firstSlot + count; slot++) {
+        if (!values.isEmpty(slot)) {
           score += 1.0;
           if (fieldEntry.isOneOf())
             break;
@@ -52,4 +75,11 @@ public class ShelfReadyAnalysis {
   public static List<String> getHeaders() {
     return headers;
   }
+
+  /**
+   * @return The fields of the selectors
+   */
+  public static TagProjection getTagProjection() {
+    return tagProjection;
+  }
 }
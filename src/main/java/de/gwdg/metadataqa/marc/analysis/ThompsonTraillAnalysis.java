@@ -6,6 +6,7 @@ import de.gwdg.metadataqa.marc.dao.MarcRecord;
 import de.gwdg.metadataqa.marc.MarcSubfield;
 import de.gwdg.metadataqa.marc.definition.general.codelist.CountryCodes;
 import de.gwdg.metadataqa.marc.definition.general.codelist.LanguageCodes;
+import de.gwdg.metadataqa.marc.utils.TagProjection;
 
 import java.util.*;
 import java.util.logging.Logger;
@@ -25,6 +26,12 @@ public class ThompsonTraillAnalysis {
     "^(14[5-9]\\d|1[5-9]\\d\\d|200\\d|201[0-7])$"
   );
 
+  private static final TagProjection tagProjection = TagProjection.of(
+    "008", "020", "040", "050", "060", "090", "100", "110", "111", "246", "250", "260", "264", "300",
+    "440", "490", "505", "520", "600", "610", "611", "630", "650", "651", "653",
+    "700", "710", "711", "720", "800", "810", "830"
+  );
+
   private static List<String> headers = new LinkedList<>();
   static {
     for (ThompsonTraillFields field : ThompsonTraillFields.values()) {
@@ -40,6 +47,13 @@ public class ThompsonTraillAnalysis {
     return headers;
   }
 
+  /**
+   * @return The fields the scores are calculated from
+   */
+  public static TagProjection getTagProjection() {
+    return tagProjection;
+  }
+
   public static List<Integer> getScores(MarcRecord marcRecord) {
     var ttScores = new ThompsonTraillScores();
 
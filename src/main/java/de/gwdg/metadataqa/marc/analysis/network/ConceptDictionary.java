@@ -0,0 +1,171 @@
+package de.gwdg.metadataqa.marc.analysis.network;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Assigns dense sequential identifiers (0, 1, 2, ...) to the concepts, identified by their normalized
+ * keys (see ConceptNormalizer). The keys are looked up by a 64 bit fingerprint in an open addressing
+ * table, and a matching fingerprint is verified by comparing the keys, so two different concepts never
+ * get the same identifier, not even if their fingerprints collide.
+ *
+ * The dictionary is saved as a CSV file (id, concept), so the identifiers of network.csv can be
+ * resolved later.
+ */
+public class ConceptDictionary {
+
+  public static final String FILE_NAME = "network-concepts.csv";
+
+  private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final ToLongFunction<CharSequence> fingerprinter;
+  private final List<String> keys = new ArrayList<>();
+  private long[] fingerprints = new long[1024];
+  private int[] slots = emptySlots(1024);
+
+  public ConceptDictionary() {
+    this(ConceptDictionary::fingerprint);
+  }
+
+  ConceptDictionary(ToLongFunction<CharSequence> fingerprinter) {
+    this.fingerprinter = fingerprinter;
+  }
+
+  /**
+   * Returns the identifier of the concept, registering it if it is new.
+   */
+  public int getId(CharSequence key) {
+    long fingerprint = fingerprinter.applyAsLong(key);
+    int mask = slots.length - 1;
+    int slot = (int) mix(fingerprint) & mask;
+    while (slots[slot] != -1) {
+      int id = slots[slot];
+      if (fingerprints[slot] == fingerprint && keys.get(id).contentEquals(key))
+        return id;
+      slot = (slot + 1) & mask;
+    }
+
+    int id = keys.size();
+    keys.add(key.toString());
+    fingerprints[slot] = fingerprint;
+    slots[slot] = id;
+    if (keys.size() * 2 > slots.length)
+      resize();
+    return id;
+  }
+
+  /**
+   * @return The identifier of the concept, or -1 if it is not registered
+   */
+  public int find(CharSequence key) {
+    long fingerprint = fingerprinter.applyAsLong(key);
+    int mask = slots.length - 1;
+    for (int slot = (int) mix(fingerprint) & mask; slots[slot] != -1; slot = (slot + 1) & mask)
+      if (fingerprints[slot] == fingerprint && keys.get(slots[slot]).contentEquals(key))
+        return slots[slot];
+    return -1;
+  }
+
+  public String getKey(int id) {
+    return keys.get(id);
+  }
+
+  public int size() {
+    return keys.size();
+  }
+
+  private void resize() {
+    long[] oldFingerprints = fingerprints;
+    int[] oldSlots = slots;
+    fingerprints = new long[oldSlots.length * 2];
+    slots = emptySlots(oldSlots.length * 2);
+    int mask = slots.length - 1;
+    for (int i = 0; i < oldSlots.length; i++) {
+      if (oldSlots[i] != -1) {
+        int slot = (int) mix(oldFingerprints[i]) & mask;
+        while (slots[slot] != -1)
+          slot = (slot + 1) & mask;
+        fingerprints[slot] = oldFingerprints[i];
+        slots[slot] = oldSlots[i];
+      }
+    }
+  }
+
+  public void write(Path path) throws IOException {
+    try (Writer writer = Files.newBufferedWriter(path);
+         CSVWriter csvWriter = new CSVWriter(writer, ',', '"', CSVWriter.DEFAULT_ESCAPE_CHARACTER, "\n")) {
+      csvWriter.writeNext(new String[]{"id", "concept"}, false);
+      for (int id = 0; id < keys.size(); id++)
+        csvWriter.writeNext(new String[]{Integer.toString(id), keys.get(id)}, false);
+    }
+  }
+
+  /**
+   * Reads a dictionary written by write(). The identifiers should be in sequential order.
+   */
+  public static ConceptDictionary read(Path path) throws IOException {
+    ConceptDictionary dictionary = new ConceptDictionary();
+    try (Reader reader = Files.newBufferedReader(path);
+         CSVReader csvReader = new CSVReader(reader)) {
+      String[] row;
+      boolean isHeader = true;
+      while ((row = csvReader.readNext()) != null) {
+        if (isHeader) {
+          isHeader = false;
+          continue;
+        }
+        int id = dictionary.getId(row[1]);
+        if (id != Integer.parseInt(row[0]))
+          throw new IOException(String.format("%s: unexpected concept id %s (expected: %d)", path, row[0], id));
+      }
+    } catch (CsvValidationException e) {
+      throw new IOException(e);
+    }
+    return dictionary;
+  }
+
+  /**
+   * The 64 bit FNV-1a hash of the characters.
+   */
+  public static long fingerprint(CharSequence key) {
+    long hash = FNV_OFFSET;
+    for (int i = 0; i < key.length(); i++) {
+      char c = key.charAt(i);
+      hash ^= c & 0xff;
+      hash *= FNV_PRIME;
+      hash ^= c >>> 8;
+      hash *= FNV_PRIME;
+    }
+    return hash;
+  }
+
+  /**
+   * Spreads the bits of the fingerprint (the finalizer of MurmurHash3), so the low bits select the slot.
+   */
+  private static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xff51afd7ed558ccdL;
+    value ^= value >>> 33;
+    value *= 0xc4ceb9fe1a85ec53L;
+    value ^= value >>> 33;
+    return value;
+  }
+
+  private static int[] emptySlots(int size) {
+    int[] empty = new int[size];
+    Arrays.fill(empty, -1);
+    return empty;
+  }
+}
@@ -0,0 +1,95 @@
+package de.gwdg.metadataqa.marc.analysis.network;
+
+import de.gwdg.metadataqa.marc.MarcSubfield;
+import de.gwdg.metadataqa.marc.dao.DataField;
+
+import java.text.Normalizer;
+
+/**
+ * Creates the key of the concept (authority name, subject heading or classification) of a data field,
+ * so the same concept gets the same key in every record:
+ * <ul>
+ *   <li>the key starts with the tag; the subject headings (6XX) add the second indicator, which is the
+ *   source of the heading (e.g. "650#0")</li>
+ *   <li>only the subfields describing the concept are used: the identifiers ($0, $1), the relator
+ *   terms and codes ($4, $e of X00, X10 and X30, $j of X11), the materials specified ($3),
+ *   and the institution, provenance, linkage and local subfields ($5, $6, $7, $8, $9) are skipped</li>
+ *   <li>the values are in Unicode NFC, in lower case, with collapsed white spaces, and without
+ *   trailing punctuation; a dollar sign of the value is doubled, since it separates the subfields</li>
+ * </ul>
+ * The key is built in a reused buffer, so the normalizer is not thread safe.
+ */
+public class ConceptNormalizer {
+
+  private static final String IGNORABLE_SUBFIELDS = "013456789";
+  private static final String TRAILING_PUNCTUATION = " .,;:/=";
+
+  private final StringBuilder key = new StringBuilder();
+
+  /**
+   * @return The key of the field in a buffer, which is overwritten by the next call, or null if the field
+   * does not have relevant subfields
+   */
+  public CharSequence normalize(DataField field) {
+    String tag = field.getTag();
+    key.setLength(0);
+    key.append(tag);
+    if (tag.startsWith("6"))
+      key.append('#').append(field.getInd2() == null ? ' ' : field.getInd2().charAt(0));
+    int prefixLength = key.length();
+
+    for (MarcSubfield subfield : field.getSubfields()) {
+      String code = subfield.getCode();
+      if (code == null || code.length() != 1 || isIgnorable(tag, code.charAt(0)))
+        continue;
+      int start = key.length();
+      key.append('$').append(code);
+      if (!appendValue(subfield.getValue()))
+        key.setLength(start);
+    }
+    return key.length() == prefixLength ? null : key;
+  }
+
+  private static boolean isIgnorable(String tag, char code) {
+    if (IGNORABLE_SUBFIELDS.indexOf(code) > -1)
+      return true;
+    if (tag.length() == 3 && tag.charAt(0) != '0') {
+      String type = tag.substring(1);
+      return (code == 'e' && (type.equals("00") || type.equals("10") || type.equals("30")))
+          || (code == 'j' && type.equals("11"));
+    }
+    return false;
+  }
+
+  /**
+   * Appends the normalized value to the key.
+   * @return false if the value is empty after normalization
+   */
+  private boolean appendValue(String value) {
+    if (value == null)
+      return false;
+    if (!Normalizer.isNormalized(value, Normalizer.Form.NFC))
+      value = Normalizer.normalize(value, Normalizer.Form.NFC);
+
+    int start = key.length();
+    boolean inSpace = true;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (Character.isWhitespace(c)) {
+        if (!inSpace)
+          key.append(' ');
+        inSpace = true;
+      } else {
+        key.append(Character.toLowerCase(c));
+        if (c == '$')
+          key.append('$');
+        inSpace = false;
+      }
+    }
+    int end = key.length();
+    while (end > start && TRAILING_PUNCTUATION.indexOf(key.charAt(end - 1)) > -1)
+      end--;
+    key.setLength(end);
+    return end > start;
+  }
+}
@@ -0,0 +1,152 @@
+package de.gwdg.metadataqa.marc.analysis.network;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * An undirected graph of records in compressed sparse row (CSR) format: the neighbours of the node i
+ * are neighbours[offsets[i] .. offsets[i + 1]), sorted. The nodes are numbered from 0, ordered by the
+ * record identifiers (see getNodeId()). The graph is created by CsrGraphBuilder.
+ *
+ * The graph algorithms run on the common fork-join pool, so they use all the processors.
+ */
+public class CsrGraph {
+
+  public static final double DEFAULT_RESET_PROBABILITY = 0.15;
+  public static final double DEFAULT_TOLERANCE = 0.001;
+  public static final int DEFAULT_MAX_ITERATIONS = 100;
+
+  private final int[] nodeIds;
+  private final int[] offsets;
+  private final int[] neighbours;
+
+  CsrGraph(int[] nodeIds, int[] offsets, int[] neighbours) {
+    this.nodeIds = nodeIds;
+    this.offsets = offsets;
+    this.neighbours = neighbours;
+  }
+
+  public int getNumberOfNodes() {
+    return nodeIds.length;
+  }
+
+  public long getNumberOfEdges() {
+    return neighbours.length / 2;
+  }
+
+  /**
+   * @return The record identifier of the node
+   */
+  public int getNodeId(int node) {
+    return nodeIds[node];
+  }
+
+  public int getDegree(int node) {
+    return offsets[node + 1] - offsets[node];
+  }
+
+  public int[] getNeighbours(int node) {
+    return Arrays.copyOfRange(neighbours, offsets[node], offsets[node + 1]);
+  }
+
+  public int[] degrees() {
+    int[] degrees = new int[nodeIds.length];
+    for (int i = 0; i < degrees.length; i++)
+      degrees[i] = getDegree(i);
+    return degrees;
+  }
+
+  /**
+   * The density of the graph: the ratio of the edges and the possible edges.
+   */
+  public double density() {
+    long n = nodeIds.length;
+    return n < 2 ? 0.0 : (2.0 * getNumberOfEdges()) / (n * (n - 1));
+  }
+
+  public double averageDegree() {
+    return nodeIds.length == 0 ? 0.0 : (2.0 * getNumberOfEdges()) / nodeIds.length;
+  }
+
+  /**
+   * Finds the connected components with union-find.
+   * @return The component of every node, identified by its smallest record identifier
+   */
+  public int[] connectedComponents() {
+    int n = nodeIds.length;
+    int[] parent = new int[n];
+    for (int i = 0; i < n; i++)
+      parent[i] = i;
+
+    for (int i = 0; i < n; i++) {
+      for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+        int j = neighbours[k];
+        if (j > i) {
+          int rootI = find(parent, i);
+          int rootJ = find(parent, j);
+          // the smaller node becomes the root, so the root is the smallest node of the component
+          if (rootI < rootJ)
+            parent[rootJ] = rootI;
+          else if (rootJ < rootI)
+            parent[rootI] = rootJ;
+        }
+      }
+    }
+
+    int[] components = new int[n];
+    for (int i = 0; i < n; i++)
+      components[i] = nodeIds[find(parent, i)];
+    return components;
+  }
+
+  private static int find(int[] parent, int node) {
+    while (parent[node] != node) {
+      parent[node] = parent[parent[node]];
+      node = parent[node];
+    }
+    return node;
+  }
+
+  public double[] pageRank() {
+    return pageRank(DEFAULT_RESET_PROBABILITY, DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS);
+  }
+
+  /**
+   * Calculates the PageRank of the nodes with the same (not normalized) formula as GraphX:
+   * rank(i) = resetProbability + (1 - resetProbability) * sum(rank(j) / degree(j)) for the neighbours j.
+   * Every rank starts from 1.0.
+   * @param resetProbability The probability of the random jump
+   * @param tolerance The iteration stops when no rank changes more than this
+   * @param maxIterations The maximal number of iterations
+   * @return The ranks of the nodes
+   */
+  public double[] pageRank(double resetProbability, double tolerance, int maxIterations) {
+    int n = nodeIds.length;
+    double[] rank = new double[n];
+    Arrays.fill(rank, 1.0);
+    double[] next = new double[n];
+    double[] contribution = new double[n];
+
+    for (int iteration = 0; iteration < maxIterations; iteration++) {
+      final double[] current = rank;
+      final double[] updated = next;
+      IntStream.range(0, n).parallel().forEach(i -> {
+        int degree = getDegree(i);
+        contribution[i] = degree == 0 ? 0.0 : current[i] / degree;
+      });
+      double delta = IntStream.range(0, n).parallel().mapToDouble(i -> {
+        double sum = 0.0;
+        for (int k = offsets[i]; k < offsets[i + 1]; k++)
+          sum += contribution[neighbours[k]];
+        updated[i] = resetProbability + (1.0 - resetProbability) * sum;
+        return Math.abs(updated[i] - current[i]);
+      }).max().orElse(0.0);
+
+      rank = updated;
+      next = current;
+      if (delta < tolerance)
+        break;
+    }
+    return rank;
+  }
+}
@@ -0,0 +1,182 @@
+package de.gwdg.metadataqa.marc.analysis.network;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the graph of the records from the concepts (e.g. subject headings, authority names) they
+ * share: two records are connected if they have at least one concept in common. The concept-record
+ * assignments are stored in a single long array, the graph is built from them without creating the
+ * pairs of the records, and a pair is an edge only once, even if the records share several concepts.
+ */
+public class CsrGraphBuilder {
+
+  private long[] assignments = new long[1024];
+  private int size = 0;
+
+  /**
+   * Assigns a concept to a record.
+   * @param concept The concept identifier
+   * @param recordId The record identifier (not negative)
+   */
+  public void add(int concept, int recordId) {
+    if (recordId < 0)
+      throw new IllegalArgumentException("The record identifier should not be negative: " + recordId);
+    if (size == assignments.length)
+      assignments = Arrays.copyOf(assignments, assignments.length * 2);
+    assignments[size++] = ((long) concept << 32) | recordId;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Builds the graph. Only the concepts of at least two records create edges, and only the records
+   * of those concepts become nodes.
+   * @param groupLimit The maximal number of records of a concept, the records above the limit
+   *                   (with the largest identifiers) are skipped, since a concept creates n * (n - 1) / 2 edges
+   */
+  public CsrGraph build(int groupLimit) {
+    long[] sorted = Arrays.copyOf(assignments, size);
+    Arrays.parallelSort(sorted);
+
+    // the records of the concepts, one group per concept
+    int[] groupOffsets = new int[16];
+    int numberOfGroups = 0;
+    int[] members = new int[Math.max(16, size)];
+    int numberOfMembers = 0;
+    int i = 0;
+    while (i < sorted.length) {
+      int concept = (int) (sorted[i] >> 32);
+      int start = numberOfMembers;
+      int previous = -1;
+      for (; i < sorted.length && (int) (sorted[i] >> 32) == concept; i++) {
+        int recordId = (int) sorted[i];
+        if (recordId != previous && numberOfMembers - start < groupLimit)
+          members[numberOfMembers++] = recordId;
+        previous = recordId;
+      }
+      if (numberOfMembers - start < 2) {
+        numberOfMembers = start;
+      } else {
+        if (numberOfGroups + 2 > groupOffsets.length)
+          groupOffsets = Arrays.copyOf(groupOffsets, groupOffsets.length * 2);
+        groupOffsets[numberOfGroups++] = start;
+      }
+    }
+    groupOffsets[numberOfGroups] = numberOfMembers;
+
+    int[] nodeIds = unique(Arrays.copyOf(members, numberOfMembers));
+    final int[] groupMembers = members;
+    IntStream.range(0, numberOfMembers).parallel()
+      .forEach(k -> groupMembers[k] = Arrays.binarySearch(nodeIds, groupMembers[k]));
+
+    int[][] incidence = createIncidence(nodeIds.length, groupOffsets, numberOfGroups, groupMembers);
+    return createAdjacency(nodeIds, groupOffsets, groupMembers, incidence[0], incidence[1]);
+  }
+
+  private static int[] unique(int[] values) {
+    Arrays.parallelSort(values);
+    int length = 0;
+    for (int k = 0; k < values.length; k++)
+      if (k == 0 || values[k] != values[k - 1])
+        values[length++] = values[k];
+    return Arrays.copyOf(values, length);
+  }
+
+  /**
+   * The groups of the nodes in CSR format.
+   */
+  private static int[][] createIncidence(int numberOfNodes, int[] groupOffsets, int numberOfGroups,
+                                         int[] members) {
+    int[] offsets = new int[numberOfNodes + 1];
+    for (int k = 0; k < groupOffsets[numberOfGroups]; k++)
+      offsets[members[k] + 1]++;
+    for (int node = 0; node < numberOfNodes; node++)
+      offsets[node + 1] += offsets[node];
+
+    int[] groups = new int[groupOffsets[numberOfGroups]];
+    int[] position = Arrays.copyOf(offsets, numberOfNodes);
+    for (int group = 0; group < numberOfGroups; group++)
+      for (int k = groupOffsets[group]; k < groupOffsets[group + 1]; k++)
+        groups[position[members[k]]++] = group;
+    return new int[][]{offsets, groups};
+  }
+
+  /**
+   * The neighbours of a node are the other members of its groups. Every node is processed
+   * independently: first counted, then filled in, marking the already visited neighbours.
+   * A task borrows a mark array from a pool of this build and gives it back, so there are only as
+   * many arrays as tasks running at the same time, and the threads of the common pool don't keep them.
+   */
+  private static CsrGraph createAdjacency(int[] nodeIds, int[] groupOffsets, int[] members,
+                                          int[] nodeGroupOffsets, int[] nodeGroups) {
+    int n = nodeIds.length;
+    Queue<int[]> marks = new ConcurrentLinkedQueue<>();
+
+    int[] degrees = new int[n];
+    IntStream.range(0, n).parallel().forEach(node -> {
+      int[] mark = borrowMark(marks, n);
+      int degree = 0;
+      for (int g = nodeGroupOffsets[node]; g < nodeGroupOffsets[node + 1]; g++) {
+        int group = nodeGroups[g];
+        for (int k = groupOffsets[group]; k < groupOffsets[group + 1]; k++) {
+          int neighbour = members[k];
+          if (neighbour != node && mark[neighbour] != node) {
+            mark[neighbour] = node;
+            degree++;
+          }
+        }
+      }
+      marks.add(mark);
+      degrees[node] = degree;
+    });
+
+    int[] offsets = new int[n + 1];
+    long total = 0;
+    for (int node = 0; node < n; node++) {
+      total += degrees[node];
+      if (total > Integer.MAX_VALUE - 8)
+        throw new IllegalStateException(
+          "The graph is too large (more than " + (Integer.MAX_VALUE / 2) + " edges), decrease the group limit");
+      offsets[node + 1] = (int) total;
+    }
+
+    int[] neighbours = new int[(int) total];
+    // the marks of the counting phase are node numbers, the filling phase uses -2 - node
+    IntStream.range(0, n).parallel().forEach(node -> {
+      int[] mark = borrowMark(marks, n);
+      int stamp = -2 - node;
+      int position = offsets[node];
+      for (int g = nodeGroupOffsets[node]; g < nodeGroupOffsets[node + 1]; g++) {
+        int group = nodeGroups[g];
+        for (int k = groupOffsets[group]; k < groupOffsets[group + 1]; k++) {
+          int neighbour = members[k];
+          if (neighbour != node && mark[neighbour] != stamp) {
+            mark[neighbour] = stamp;
+            neighbours[position++] = neighbour;
+          }
+        }
+      }
+      marks.add(mark);
+      Arrays.sort(neighbours, offsets[node], position);
+    });
+
+    return new CsrGraph(nodeIds, offsets, neighbours);
+  }
+
+  /**
+   * A mark array of the pool, or a new one (filled with -1) if all of them are in use.
+   */
+  private static int[] borrowMark(Queue<int[]> marks, int n) {
+    int[] mark = marks.poll();
+    if (mark == null) {
+      mark = new int[n];
+      Arrays.fill(mark, -1);
+    }
+    return mark;
+  }
+}
@@ -0,0 +1,172 @@
+package de.gwdg.metadataqa.marc.cli;
+
+import de.gwdg.metadataqa.marc.cli.parameters.AllAnalysesParameters;
+import de.gwdg.metadataqa.marc.cli.parameters.AnalysisType;
+import de.gwdg.metadataqa.marc.cli.processor.MarcFileProcessor;
+import de.gwdg.metadataqa.marc.cli.utils.RecordIterator;
+import de.gwdg.metadataqa.marc.dao.MarcRecord;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.marc4j.marc.Record;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs several analyses in a single iteration: every record is read and parsed only once, and
+ * is passed to all the selected analyses. Each analysis creates the same output files as if it
+ * were run individually.
+ *
+ * usage:
+ * java -cp target/metadata-qa-marc-0.1-SNAPSHOT-jar-with-dependencies.jar \
+ * de.gwdg.metadataqa.marc.cli.AllAnalyses --analyses completeness,tt-completeness [MARC21 file]
+ */
+public class AllAnalyses implements MarcFileProcessor, Serializable {
+
+  private static final Logger logger = Logger.getLogger(AllAnalyses.class.getCanonicalName());
+
+  private final Options options;
+  private final AllAnalysesParameters parameters;
+  private final Map<AnalysisType, MarcFileProcessor> processors = new LinkedHashMap<>();
+
+  public AllAnalyses(String[] args) throws ParseException {
+    parameters = new AllAnalysesParameters(args);
+    options = parameters.getOptions();
+    for (AnalysisType type : parameters.getAnalyses())
+      processors.put(type, createProcessor(type, parameters.getArguments(type)));
+  }
+
+  public static void main(String[] args) {
+    MarcFileProcessor processor = null;
+    try {
+      processor = new AllAnalyses(args);
+    } catch (ParseException e) {
+      System.err.println("ERROR. " + e.getLocalizedMessage());
+      System.exit(0);
+    }
+    if (processor.getParameters().getArgs().length < 1) {
+      System.err.println("Please provide a MARC file name!");
+      processor.printHelp(processor.getParameters().getOptions());
+      System.exit(0);
+    }
+    if (processor.getParameters().doHelp()) {
+      processor.printHelp(processor.getParameters().getOptions());
+      System.exit(0);
+    }
+    RecordIterator iterator = new RecordIterator(processor);
+    iterator.start();
+  }
+
+  private static MarcFileProcessor createProcessor(AnalysisType type, String[] args) throws ParseException {
+    switch (type) {
+      case VALIDATE:                 return new Validator(args);
+      case COMPLETENESS:             return new Completeness(args);
+      case CLASSIFICATIONS:          return new ClassificationAnalysis(args);
+      case AUTHORITIES:              return new AuthorityAnalysis(args);
+      case TT_COMPLETENESS:          return new ThompsonTraillCompleteness(args);
+      case SHELF_READY_COMPLETENESS: return new ShelfReadyCompleteness(args);
+      case SERIAL_SCORE:             return new SerialScore(args);
+      case FUNCTIONAL_ANALYSIS:      return new FunctionalAnalysis(args);
+      default:
+        throw new IllegalArgumentException("Unhandled analysis: " + type);
+    }
+  }
+
+  @Override
+  public AllAnalysesParameters getParameters() {
+    return parameters;
+  }
+
+  public Map<AnalysisType, MarcFileProcessor> getProcessors() {
+    return processors;
+  }
+
+  @Override
+  public void processRecord(Record marc4jRecord, int recordNumber) throws IOException {
+    for (Map.Entry<AnalysisType, MarcFileProcessor> entry : processors.entrySet()) {
+      if (!entry.getValue().readyToProcess())
+        continue;
+      try {
+        entry.getValue().processRecord(marc4jRecord, recordNumber);
+      } catch (Exception e) {
+        logger.log(Level.SEVERE, entry.getKey().getLabel(), e);
+      }
+    }
+  }
+
+  @Override
+  public boolean needsMarc4jRecord() {
+    for (MarcFileProcessor processor : processors.values())
+      if (processor.needsMarc4jRecord())
+        return true;
+    return false;
+  }
+
+  @Override
+  public void processRecord(MarcRecord marcRecord, int recordNumber) throws IOException {
+    for (Map.Entry<AnalysisType, MarcFileProcessor> entry : processors.entrySet()) {
+      if (!entry.getValue().readyToProcess())
+        continue;
+      try {
+        entry.getValue().processRecord(marcRecord, recordNumber);
+      } catch (Exception e) {
+        logger.log(Level.SEVERE, entry.getKey().getLabel(), e);
+      }
+    }
+  }
+
+  @Override
+  public void beforeIteration() {
+    logger.info(parameters.formatParameters());
+    for (MarcFileProcessor processor : processors.values())
+      processor.beforeIteration();
+  }
+
+  @Override
+  public void fileOpened(Path path) {
+    for (MarcFileProcessor processor : processors.values())
+      processor.fileOpened(path);
+  }
+
+  @Override
+  public void fileProcessed() {
+    for (MarcFileProcessor processor : processors.values())
+      processor.fileProcessed();
+  }
+
+  @Override
+  public void afterIteration(int numberOfprocessedRecords) {
+    for (Map.Entry<AnalysisType, MarcFileProcessor> entry : processors.entrySet()) {
+      logger.info("finishing " + entry.getKey().getLabel());
+      try {
+        entry.getValue().afterIteration(numberOfprocessedRecords);
+      } catch (Exception e) {
+        logger.log(Level.SEVERE, entry.getKey().getLabel(), e);
+      }
+    }
+  }
+
+  @Override
+  public void printHelp(Options options) {
+    HelpFormatter formatter = new HelpFormatter();
+    String message = String.format("java -cp metadata-qa-marc.jar %s [options] [file]", this.getClass().getCanonicalName());
+    formatter.printHelp(message, options);
+  }
+
+  /**
+   * @return true while at least one of the analyses is ready to process records
+   */
+  @Override
+  public boolean readyToProcess() {
+    for (MarcFileProcessor processor : processors.values())
+      if (processor.readyToProcess())
+        return true;
+    return false;
+  }
+}
@@ -8,6 +8,7 @@ import de.gwdg.metadataqa.marc.analysis.AuthorityStatistics;
 import de.gwdg.metadataqa.marc.cli.parameters.CommonParameters;
 import de.gwdg.metadataqa.marc.cli.parameters.ValidatorParameters;
 import de.gwdg.metadataqa.marc.cli.processor.MarcFileProcessor;
+import de.gwdg.metadataqa.marc.cli.processor.ParallelizableProcessor;
 import de.gwdg.metadataqa.marc.cli.utils.RecordIterator;
 import de.gwdg.metadataqa.marc.cli.utils.Schema;
 import org.apache.commons.cli.Options;
@@ -31,7 +32,7 @@ import java.util.logging.Logger;
 import static de.gwdg.metadataqa.marc.Utils.count;
 import static de.gwdg.metadataqa.marc.Utils.quote;
 
-public class AuthorityAnalysis implements MarcFileProcessor, Serializable {
+public class AuthorityAnalysis implements ParallelizableProcessor<AuthorityAnalysis>, Serializable {
 
   private static final Logger logger = Logger.getLogger(AuthorityAnalysis.class.getCanonicalName());
 
@@ -44,7 +45,11 @@ public class AuthorityAnalysis implements MarcFileProcessor, Serializable {
   AuthorityStatistics statistics = new AuthorityStatistics();
 
   public AuthorityAnalysis(String[] args) throws ParseException {
-    parameters = new ValidatorParameters(args);
+    this(new ValidatorParameters(args));
+  }
+
+  private AuthorityAnalysis(CommonParameters parameters) {
+    this.parameters = parameters;
     readyToProcess = true;
   }
 
@@ -90,7 +95,7 @@ public class AuthorityAnalysis implements MarcFileProcessor, Serializable {
     count((count > 0), hasClassifications);
     count(count, histogram);
 
-    frequencyExamples.computeIfAbsent(count, s -> marcRecord.getId(true));
+    Utils.keepLowest(count, marcRecord.getId(true), frequencyExamples);
   }
 
   @Override
@@ -98,6 +103,20 @@ public class AuthorityAnalysis implements MarcFileProcessor, Serializable {
 
   }
 
+  @Override
+  public AuthorityAnalysis createWorker() {
+    return new AuthorityAnalysis(parameters);
+  }
+
+  @Override
+  public void merge(AuthorityAnalysis worker) {
+    statistics.merge(worker.statistics);
+    Utils.merge(worker.histogram, histogram);
+    Utils.merge(worker.hasClassifications, hasClassifications);
+    for (Map.Entry<Integer, String> entry : worker.frequencyExamples.entrySet())
+      Utils.keepLowest(entry.getKey(), entry.getValue(), frequencyExamples);
+  }
+
   @Override
   public void fileOpened(Path path) {
 
@@ -110,6 +129,7 @@ public class AuthorityAnalysis implements MarcFileProcessor, Serializable {
 
   @Override
   public void afterIteration(int numberOfprocessedRecords) {
+    statistics.renumberSchemas();
     printAuthoritiesByCategories();
     printAuthoritiesBySchema();
     printAuthoritiesByRecords();
@@ -125,6 +145,7 @@ public class AuthorityAnalysis implements MarcFileProcessor, Serializable {
       statistics.getRecordsPerCategories()
         .entrySet()
         .stream()
+        .sorted(Map.Entry.comparingByKey())
         .forEach(
           entry -> {
             AuthorityCategory category = entry.getKey();
@@ -160,10 +181,13 @@ public class AuthorityAnalysis implements MarcFileProcessor, Serializable {
               return i;
             else {
               i = e1.getKey().getLocation().compareTo(e2.getKey().getLocation());
+              if (i != 0)
+                return i;
+              i = e2.getValue().compareTo(e1.getValue());
               if (i != 0)
                 return i;
               else
-                return e2.getValue().compareTo(e1.getValue());
+                return Integer.compare(e1.getKey().getId(), e2.getKey().getId());
             }
           }
         )
@@ -273,8 +297,10 @@ public class AuthorityAnalysis implements MarcFileProcessor, Serializable {
       statistics.getSubfields()
         .entrySet()
         .stream()
-        .sorted((e1, e2) ->
-          e1.getKey().getField().compareTo(e2.getKey().getField()))
+        .sorted((e1, e2) -> {
+          int i = e1.getKey().getField().compareTo(e2.getKey().getField());
+          return i != 0 ? i : Integer.compare(e1.getKey().getId(), e2.getKey().getId());
+        })
         .forEach(
           schemaEntry -> printSingleSchemaSubfieldsStatistics(writer, schemaEntry)
         );
@@ -289,7 +315,13 @@ public class AuthorityAnalysis implements MarcFileProcessor, Serializable {
     val
       .entrySet()
       .stream()
-      .sorted((count1, count2) -> count2.getValue().compareTo(count1.getValue()))
+      .sorted((count1, count2) -> {
+        int i = count2.getValue().compareTo(count1.getValue());
+        if (i == 0)
+          // the order of the equal counts should not depend on the order of processing
+          i = StringUtils.join(count1.getKey(), ';').compareTo(StringUtils.join(count2.getKey(), ';'));
+        return i;
+      })
       .forEach(
         countEntry -> {
           List<String> subfields = countEntry.getKey();
@@ -7,9 +7,11 @@ import de.gwdg.metadataqa.marc.analysis.ClassificationStatistics;
 import de.gwdg.metadataqa.marc.cli.parameters.CommonParameters;
 import de.gwdg.metadataqa.marc.cli.parameters.ValidatorParameters;
 import de.gwdg.metadataqa.marc.cli.processor.MarcFileProcessor;
+import de.gwdg.metadataqa.marc.cli.processor.ParallelizableProcessor;
 import de.gwdg.metadataqa.marc.cli.utils.Collocation;
 import de.gwdg.metadataqa.marc.cli.utils.RecordIterator;
 import de.gwdg.metadataqa.marc.cli.utils.Schema;
+import de.gwdg.metadataqa.marc.utils.TagProjection;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.io.FileUtils;
@@ -30,7 +32,7 @@ import java.util.logging.Logger;
 
 import static de.gwdg.metadataqa.marc.Utils.createRow;
 
-public class ClassificationAnalysis implements MarcFileProcessor, Serializable {
+public class ClassificationAnalysis implements ParallelizableProcessor<ClassificationAnalysis>, Serializable {
 
   private static final Logger logger = Logger.getLogger(ClassificationAnalysis.class.getCanonicalName());
 
@@ -48,6 +50,12 @@ public class ClassificationAnalysis implements MarcFileProcessor, Serializable {
     Schema.reset();
   }
 
+  private ClassificationAnalysis(CommonParameters parameters) {
+    this.parameters = parameters;
+    options = parameters.getOptions();
+    readyToProcess = true;
+  }
+
   public static void main(String[] args) {
     MarcFileProcessor processor = null;
     try {
@@ -139,6 +147,17 @@ public class ClassificationAnalysis implements MarcFileProcessor, Serializable {
      */
   }
 
+  @Override
+  public ClassificationAnalysis createWorker() {
+    return new ClassificationAnalysis(parameters);
+  }
+
+  @Override
+  public void merge(ClassificationAnalysis worker) {
+    statistics.merge(worker.statistics);
+    readyToProcess = readyToProcess && worker.readyToProcess;
+  }
+
   @Override
   public void fileOpened(Path path) {
 
@@ -151,6 +170,7 @@ public class ClassificationAnalysis implements MarcFileProcessor, Serializable {
 
   @Override
   public void afterIteration(int numberOfprocessedRecords) {
+    statistics.renumberSchemas();
     printClassificationsBySchema();
     printClassificationsByRecords();
     printClassificationsHistogram();
@@ -209,10 +229,13 @@ public class ClassificationAnalysis implements MarcFileProcessor, Serializable {
               return i;
             else {
               i = e1.getKey().getLocation().compareTo(e2.getKey().getLocation());
+              if (i != 0)
+                return i;
+              i = e2.getValue().compareTo(e1.getValue());
               if (i != 0)
                 return i;
               else
-                return e2.getValue().compareTo(e1.getValue());
+                return Integer.compare(e1.getKey().getId(), e2.getKey().getId());
             }
           }
         )
@@ -325,8 +348,10 @@ public class ClassificationAnalysis implements MarcFileProcessor, Serializable {
       statistics.getSubfields()
         .entrySet()
         .stream()
-        .sorted((e1, e2) ->
-          e1.getKey().getField().compareTo(e2.getKey().getField()))
+        .sorted((e1, e2) -> {
+          int i = e1.getKey().getField().compareTo(e2.getKey().getField());
+          return i != 0 ? i : Integer.compare(e1.getKey().getId(), e2.getKey().getId());
+        })
         .forEach(
           schemaEntry -> printSingleSchemaSubfieldsStatistics(writer, schemaEntry)
         );
@@ -341,7 +366,13 @@ public class ClassificationAnalysis implements MarcFileProcessor, Serializable {
     val
       .entrySet()
       .stream()
-      .sorted((count1, count2) -> count2.getValue().compareTo(count1.getValue()))
+      .sorted((count1, count2) -> {
+        int i = count2.getValue().compareTo(count1.getValue());
+        if (i == 0)
+          // the order of the equal counts should not depend on the order of processing
+          i = StringUtils.join(count1.getKey(), ';').compareTo(StringUtils.join(count2.getKey(), ';'));
+        return i;
+      })
       .forEach(
         countEntry -> {
           List<String> subfields = countEntry.getKey();
@@ -378,6 +409,11 @@ public class ClassificationAnalysis implements MarcFileProcessor, Serializable {
 
   }
 
+  @Override
+  public TagProjection getTagProjection() {
+    return ClassificationAnalyzer.getTagProjection();
+  }
+
   @Override
   public boolean readyToProcess() {
     return readyToProcess;
@@ -4,6 +4,8 @@ import de.gwdg.metadataqa.marc.*;
 import de.gwdg.metadataqa.marc.cli.parameters.CommonParameters;
 import de.gwdg.metadataqa.marc.cli.parameters.CompletenessParameters;
 import de.gwdg.metadataqa.marc.cli.processor.MarcFileProcessor;
+import de.gwdg.metadataqa.marc.cli.processor.ParallelizableProcessor;
+import de.gwdg.metadataqa.marc.cli.utils.ParquetReportWriter;
 import de.gwdg.metadataqa.marc.cli.utils.RecordIterator;
 import de.gwdg.metadataqa.marc.dao.DataField;
 import de.gwdg.metadataqa.marc.dao.MarcControlField;
@@ -13,6 +15,8 @@ import de.gwdg.metadataqa.marc.definition.ControlValue;
 import de.gwdg.metadataqa.marc.definition.tags.TagCategory;
 import de.gwdg.metadataqa.marc.model.validation.ValidationErrorFormat;
 import de.gwdg.metadataqa.marc.utils.BasicStatistics;
+import de.gwdg.metadataqa.marc.utils.IntCounter;
+import de.gwdg.metadataqa.marc.utils.MarcPathDictionary;
 import de.gwdg.metadataqa.marc.utils.TagHierarchy;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Options;
@@ -20,6 +24,7 @@ import org.apache.commons.cli.ParseException;
 import org.apache.commons.lang3.StringUtils;
 import org.marc4j.marc.Record;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
 import java.nio.file.Files;
@@ -27,9 +32,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -38,27 +45,33 @@ import java.util.regex.Pattern;
 import static de.gwdg.metadataqa.marc.Utils.createRow;
 import static de.gwdg.metadataqa.marc.Utils.quote;
 
-public class Completeness implements MarcFileProcessor, Serializable {
+public class Completeness implements ParallelizableProcessor<Completeness>, Serializable {
 
   private static final Logger logger = Logger.getLogger(Completeness.class.getCanonicalName());
   private static final Pattern dataFieldPattern = Pattern.compile("^(\\d\\d\\d)\\$(.*)$");
   private static final Pattern numericalPattern = Pattern.compile("^(\\d)$");
+  private static final String IND1 = "!ind1";
+  private static final String IND2 = "!ind2";
 
   private final Options options;
   private CompletenessParameters parameters;
   private Map<String, Integer> library003Counter = new TreeMap<>();
   private Map<String, Integer> libraryCounter = new TreeMap<>();
   private Map<String, Map<String, Integer>> packageCounter = new TreeMap<>();
-  private Map<String, Map<String, Integer>> elementCardinality = new TreeMap<>();
-  private Map<String, Map<String, Integer>> elementFrequency = new TreeMap<>();
-  // private Map<String, String> tagCache = new HashMap<>();
-  // private Map<String, Integer> libraryMap = new HashMap<>();
-  // private Map<String, Integer> fieldMap = new HashMap<>();
-  private Map<String, Map<Integer, Integer>> fieldHistogram = new HashMap<>();
+  private MarcPathDictionary marcPaths = new MarcPathDictionary(Completeness::formatDataFieldPath);
+  private Map<String, IntCounter> elementCardinality = new TreeMap<>();
+  private Map<String, IntCounter> elementFrequency = new TreeMap<>();
+  private List<Map<Integer, Integer>> fieldHistogram = new ArrayList<>();
+  private IntCounter recordFrequency = new IntCounter();
+  private Set<String> recordPackages = new HashSet<>();
   private boolean readyToProcess;
 
   public Completeness(String[] args) throws ParseException {
-    parameters = new CompletenessParameters(args);
+    this(new CompletenessParameters(args));
+  }
+
+  public Completeness(CompletenessParameters parameters) {
+    this.parameters = parameters;
     options = parameters.getOptions();
     readyToProcess = true;
   }
@@ -99,13 +112,12 @@ public class Completeness implements MarcFileProcessor, Serializable {
     if (parameters.getIgnorableRecords().isIgnorable(marcRecord))
       return;
 
-    Map<String, Integer> recordFrequency = new TreeMap<>();
-    Map<String, Integer> recordPackageCounter = new TreeMap<>();
-    // private Map<String, Map<String, Integer>>
+    recordFrequency.clear();
+    recordPackages.clear();
 
     String documentType = marcRecord.getType().getValue();
-    elementCardinality.computeIfAbsent(documentType, s -> new TreeMap<>());
-    elementFrequency.computeIfAbsent(documentType, s -> new TreeMap<>());
+    IntCounter cardinality = elementCardinality.computeIfAbsent(documentType, s -> new IntCounter());
+    IntCounter allCardinality = elementCardinality.get("all");
 
     if (marcRecord.getControl003() != null)
       count(marcRecord.getControl003().getContent(), library003Counter);
@@ -114,98 +126,99 @@ public class Completeness implements MarcFileProcessor, Serializable {
       count(library, libraryCounter);
     }
 
-    processLeader(marcRecord, recordFrequency, recordPackageCounter, documentType);
-    processSimpleControlfields(marcRecord, recordFrequency, recordPackageCounter, documentType);
-    processPositionalControlFields(marcRecord, recordFrequency, recordPackageCounter, documentType);
-    processDataFields(marcRecord, recordFrequency, recordPackageCounter, documentType);
-
-    for (String key : recordFrequency.keySet()) {
-      count(key, elementFrequency.get(documentType));
-      count(key, elementFrequency.get("all"));
-
-      fieldHistogram.computeIfAbsent(key, s -> new TreeMap<>());
-      count(recordFrequency.get(key), fieldHistogram.get(key));
+    processLeader(marcRecord, cardinality, allCardinality);
+    processSimpleControlfields(marcRecord, cardinality, allCardinality);
+    processPositionalControlFields(marcRecord, cardinality, allCardinality);
+    processDataFields(marcRecord, cardinality, allCardinality);
+
+    IntCounter frequency = elementFrequency.computeIfAbsent(documentType, s -> new IntCounter());
+    IntCounter allFrequency = elementFrequency.get("all");
+    for (int i = 0; i < recordFrequency.numberOfKeys(); i++) {
+      int id = recordFrequency.keyAt(i);
+      frequency.count(id);
+      allFrequency.count(id);
+      count(recordFrequency.get(id), getFieldHistogram(id));
     }
 
-    for (String key : recordPackageCounter.keySet()) {
+    for (String key : recordPackages) {
       packageCounter.computeIfAbsent(documentType, s -> new TreeMap<>());
       count(key, packageCounter.get(documentType));
       count(key, packageCounter.get("all"));
     }
   }
 
-  private void processLeader(MarcRecord marcRecord, Map<String, Integer> recordFrequency, Map<String, Integer> recordPackageCounter, String documentType) {
+  private void processLeader(MarcRecord marcRecord, IntCounter cardinality, IntCounter allCardinality) {
     if (marcRecord.getLeader() != null) {
       for (ControlValue position : marcRecord.getLeader().getValuesList()) {
-        String marcPath = position.getDefinition().getId();
-        count(marcPath, elementCardinality.get(documentType));
-        count(marcPath, elementCardinality.get("all"));
-        count(marcPath, recordFrequency);
-        count(TagCategory.tags00x.getPackageName(), recordPackageCounter);
+        countPath(marcPaths.getId(position.getDefinition().getId()), cardinality, allCardinality);
+        recordPackages.add(TagCategory.tags00x.getPackageName());
       }
     }
   }
 
-  private void processSimpleControlfields(MarcRecord marcRecord, Map<String, Integer> recordFrequency, Map<String, Integer> recordPackageCounter, String documentType) {
+  private void processSimpleControlfields(MarcRecord marcRecord, IntCounter cardinality, IntCounter allCardinality) {
     for (MarcControlField field : marcRecord.getSimpleControlfields()) {
       if (field != null) {
-        String marcPath = field.getDefinition().getTag();
-        count(marcPath, elementCardinality.get(documentType));
-        count(marcPath, elementCardinality.get("all"));
-        count(marcPath, recordFrequency);
-        count(TagCategory.tags00x.getPackageName(), recordPackageCounter);
+        countPath(marcPaths.getId(field.getDefinition().getTag()), cardinality, allCardinality);
+        recordPackages.add(TagCategory.tags00x.getPackageName());
       }
     }
   }
 
-  private void processPositionalControlFields(MarcRecord marcRecord, Map<String, Integer> recordFrequency, Map<String, Integer> recordPackageCounter, String documentType) {
+  private void processPositionalControlFields(MarcRecord marcRecord, IntCounter cardinality, IntCounter allCardinality) {
     for (MarcPositionalControlField field : marcRecord.getPositionalControlfields()) {
       if (field != null) {
         for (ControlValue position : field.getValuesList()) {
-          String marcPath = position.getDefinition().getId();
-          count(marcPath, elementCardinality.get(documentType));
-          count(marcPath, elementCardinality.get("all"));
-          count(marcPath, recordFrequency);
-          count(TagCategory.tags00x.getPackageName(), recordPackageCounter);
+          countPath(marcPaths.getId(position.getDefinition().getId()), cardinality, allCardinality);
+          recordPackages.add(TagCategory.tags00x.getPackageName());
         }
       }
     }
   }
 
-  private void processDataFields(MarcRecord marcRecord, Map<String, Integer> recordFrequency, Map<String, Integer> recordPackageCounter, String documentType) {
+  private void processDataFields(MarcRecord marcRecord, IntCounter cardinality, IntCounter allCardinality) {
     for (DataField field : marcRecord.getDatafields()) {
       if (parameters.getIgnorableFields().contains(field.getTag()))
         continue;
 
-      count(getPackageName(field), recordPackageCounter);
+      recordPackages.add(getPackageName(field));
 
-      List<String> marcPaths = getMarcPaths(field);
-      for (String marcPath : marcPaths) {
-        count(marcPath, elementCardinality.get(documentType));
-        count(marcPath, elementCardinality.get("all"));
-        count(marcPath, recordFrequency);
-      }
-    }
-  }
+      String tag = field.getTag();
+      if (field.getInd1() != null)
+        if (field.getDefinition() != null && field.getDefinition().getInd1().exists() || !field.getInd1().equals(" "))
+          countPath(marcPaths.getId(tag, IND1), cardinality, allCardinality);
 
-  private List<String> getMarcPaths(DataField field) {
-    List<String> marcPaths = new ArrayList<>();
+      if (field.getInd2() != null)
+        if (field.getDefinition() != null && field.getDefinition().getInd2().exists() || !field.getInd2().equals(" "))
+          countPath(marcPaths.getId(tag, IND2), cardinality, allCardinality);
 
-    if (field.getInd1() != null)
-      if (field.getDefinition() != null && field.getDefinition().getInd1().exists() || !field.getInd1().equals(" "))
-        marcPaths.add(String.format("%s$!ind1", field.getTag()));
+      for (MarcSubfield subfield : field.getSubfields())
+        countPath(marcPaths.getId(tag, subfield.getCode()), cardinality, allCardinality);
+    }
+  }
 
-    if (field.getInd2() != null)
-      if (field.getDefinition() != null && field.getDefinition().getInd2().exists() || !field.getInd2().equals(" "))
-        marcPaths.add(String.format("%s$!ind2", field.getTag()));
+  private void countPath(int id, IntCounter cardinality, IntCounter allCardinality) {
+    cardinality.count(id);
+    allCardinality.count(id);
+    recordFrequency.count(id);
+  }
 
-    for (MarcSubfield subfield : field.getSubfields())
-      if (numericalPattern.matcher(subfield.getCode()).matches())
-        marcPaths.add(String.format("%s$|%s", field.getTag(), subfield.getCode()));
-      else
-        marcPaths.add(String.format("%s$%s", field.getTag(), subfield.getCode()));
+  /**
+   * Creates the path of a data field element. The numerical subfield codes are prefixed with '|',
+   * so they are sorted after the alphabetical codes.
+   */
+  private static String formatDataFieldPath(String tag, String code) {
+    if (numericalPattern.matcher(code).matches())
+      return String.format("%s$|%s", tag, code);
+    return String.format("%s$%s", tag, code);
+  }
 
-    return marcPaths;
+  private Map<Integer, Integer> getFieldHistogram(int id) {
+    while (fieldHistogram.size() <= id)
+      fieldHistogram.add(null);
+    if (fieldHistogram.get(id) == null)
+      fieldHistogram.set(id, new TreeMap<>());
+    return fieldHistogram.get(id);
   }
 
   private String getPackageName(DataField field) {
@@ -239,18 +252,57 @@ public class Completeness implements MarcFileProcessor, Serializable {
   }
 
   private <T extends Object> void count(T key, Map<T, Integer> counter) {
-    counter.computeIfAbsent(key, s -> 0);
-    counter.put(key, counter.get(key) + 1);
+    counter.merge(key, 1, Integer::sum);
   }
 
   @Override
   public void beforeIteration() {
     logger.info(parameters.formatParameters());
-    elementCardinality.put("all", new TreeMap<>());
-    elementFrequency.put("all", new TreeMap<>());
+    initializeCounters();
+  }
+
+  private void initializeCounters() {
+    elementCardinality.put("all", new IntCounter());
+    elementFrequency.put("all", new IntCounter());
     packageCounter.put("all", new TreeMap<>());
   }
 
+  @Override
+  public Completeness createWorker() {
+    Completeness worker = new Completeness(parameters);
+    worker.initializeCounters();
+    return worker;
+  }
+
+  @Override
+  public void merge(Completeness worker) {
+    Utils.merge(worker.library003Counter, library003Counter);
+    Utils.merge(worker.libraryCounter, libraryCounter);
+    for (Map.Entry<String, Map<String, Integer>> entry : worker.packageCounter.entrySet())
+      Utils.merge(entry.getValue(), packageCounter.computeIfAbsent(entry.getKey(), s -> new TreeMap<>()));
+
+    // the workers have their own dictionaries, so the paths should be mapped to the local identifiers
+    int[] idMap = new int[worker.marcPaths.size()];
+    for (int id = 0; id < idMap.length; id++)
+      idMap[id] = marcPaths.getId(worker.marcPaths.getPath(id));
+    mergePathCounters(worker.elementCardinality, elementCardinality, idMap);
+    mergePathCounters(worker.elementFrequency, elementFrequency, idMap);
+    for (int id = 0; id < worker.fieldHistogram.size(); id++)
+      if (worker.fieldHistogram.get(id) != null)
+        Utils.merge(worker.fieldHistogram.get(id), getFieldHistogram(idMap[id]));
+  }
+
+  private void mergePathCounters(Map<String, IntCounter> source, Map<String, IntCounter> target, int[] idMap) {
+    for (Map.Entry<String, IntCounter> entry : source.entrySet()) {
+      IntCounter sourceCounter = entry.getValue();
+      IntCounter targetCounter = target.computeIfAbsent(entry.getKey(), s -> new IntCounter());
+      for (int i = 0; i < sourceCounter.numberOfKeys(); i++) {
+        int id = sourceCounter.keyAt(i);
+        targetCounter.add(idMap[id], sourceCounter.get(id));
+      }
+    }
+  }
+
   @Override
   public void fileOpened(Path file) {
     // do nothing
@@ -272,7 +324,10 @@ public class Completeness implements MarcFileProcessor, Serializable {
     saveLibraries003(fileExtension, separator);
     saveLibraries(fileExtension, separator);
     savePackages(fileExtension, separator);
-    saveMarcElements(fileExtension, separator);
+    if (parameters.doParquet())
+      saveMarcElementsAsParquet();
+    else
+      saveMarcElements(fileExtension, separator);
   }
 
   private void saveLibraries003(String fileExtension, char separator) {
@@ -307,26 +362,49 @@ public class Completeness implements MarcFileProcessor, Serializable {
       elementCardinality
         .keySet()
         .stream()
-        .forEach(documentType ->
-          elementCardinality
-            .get(documentType)
-            .entrySet()
-            .stream()
-            .forEach(entry -> {
+        .forEach(documentType -> {
+          IntCounter cardinalities = elementCardinality.get(documentType);
+          Arrays.stream(cardinalities.keys())
+            .boxed()
+            .sorted(Comparator.comparing(marcPaths::getPath))
+            .forEach(id -> {
               try {
-                String marcPath = entry.getKey();
-                int cardinality = entry.getValue();
-                writer.write(formatCardinality(separator, marcPath, cardinality, documentType));
+                writer.write(formatCardinality(separator, id, cardinalities.get(id), documentType));
               } catch (IOException e) {
                 logger.log(Level.SEVERE, "saveMarcElements", e);
               }
-            })
-        );
+            });
+        });
     } catch (IOException e) {
       logger.log(Level.SEVERE, "saveMarcElements", e);
     }
   }
 
+  private void saveMarcElementsAsParquet() {
+    logger.info("Saving MARC elements as Parquet");
+    File file = new File(parameters.getOutputDir(), "marc-elements" + ParquetReportWriter.EXTENSION);
+    var schema = ParquetReportWriter.schemaBuilder()
+      .string("documenttype").string("path").integer("packageid").string("package").string("tag").string("subfield")
+      .integer("number-of-record").integer("number-of-instances")
+      .integer("min").integer("max").decimal("mean").decimal("stddev").string("histogram")
+      .build();
+    try (var writer = new ParquetReportWriter(file, schema)) {
+      for (Map.Entry<String, IntCounter> entry : elementCardinality.entrySet()) {
+        String documentType = entry.getKey();
+        IntCounter cardinalities = entry.getValue();
+        int[] ids = Arrays.stream(cardinalities.keys())
+          .boxed()
+          .sorted(Comparator.comparing(marcPaths::getPath))
+          .mapToInt(Integer::intValue)
+          .toArray();
+        for (int id : ids)
+          writer.write(getCardinalityValues(id, cardinalities.get(id), documentType).toArray());
+      }
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "saveMarcElementsAsParquet", e);
+    }
+  }
+
   private void savePackages(String fileExtension, char separator) {
     logger.info("saving Packages...");
     var path = Paths.get(parameters.getOutputDir(), "packages" + fileExtension);
@@ -383,9 +461,14 @@ public class Completeness implements MarcFileProcessor, Serializable {
   }
 
   private String formatCardinality(char separator,
-                                   String marcPath,
+                                   int id,
                                    int cardinality,
                                    String documentType) {
+    return StringUtils.join(quote(getCardinalityValues(id, cardinality, documentType)), separator) + "\n";
+  }
+
+  private List<Serializable> getCardinalityValues(int id, int cardinality, String documentType) {
+    String marcPath = marcPaths.getPath(id);
     if (marcPath.equals("")) {
       logger.severe("Empty key from " + marcPath);
     }
@@ -408,23 +491,20 @@ public class Completeness implements MarcFileProcessor, Serializable {
     }
 
     // Integer cardinality = entry.getValue();
-    Integer frequency = elementFrequency.get(documentType).get(marcPath);
-    BasicStatistics statistics = new BasicStatistics(fieldHistogram.get(marcPath));
-    if (!fieldHistogram.containsKey(marcPath)) {
+    Integer frequency = elementFrequency.get(documentType).get(id);
+    Map<Integer, Integer> histogram = id < fieldHistogram.size() ? fieldHistogram.get(id) : null;
+    BasicStatistics statistics = new BasicStatistics(histogram);
+    if (histogram == null) {
       logger.warning(String.format("Field %s is not registered in histogram", marcPath));
     }
 
-    List<Object> values = quote(
-      Arrays.asList(
-        documentType, marcPathLabel, packageId, packageLabel, tagLabel, subfieldLabel,
-        frequency, cardinality,
-        statistics.getMin(), statistics.getMax(),
-        statistics.getMean(), statistics.getStdDev(),
-        statistics.formatHistogram()
-      )
+    return Arrays.asList(
+      documentType, marcPathLabel, packageId, packageLabel, tagLabel, subfieldLabel,
+      frequency, cardinality,
+      statistics.getMin(), statistics.getMax(),
+      statistics.getMean(), statistics.getStdDev(),
+      statistics.formatHistogram()
     );
-
-    return StringUtils.join(values, separator) + "\n";
   }
 
   private char getSeparator(ValidationErrorFormat format) {
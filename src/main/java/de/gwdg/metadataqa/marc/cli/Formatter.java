@@ -6,6 +6,7 @@ import de.gwdg.metadataqa.marc.cli.parameters.FormatterParameters;
 import de.gwdg.metadataqa.marc.cli.processor.MarcFileProcessor;
 import de.gwdg.metadataqa.marc.cli.utils.RecordIterator;
 import de.gwdg.metadataqa.marc.utils.marcspec.legacy.MarcSpec;
+import de.gwdg.metadataqa.marc.utils.marcspec.legacy.SelectorPlan;
 import org.apache.commons.cli.*;
 import org.apache.commons.lang3.StringUtils;
 import org.marc4j.marc.Record;
@@ -33,9 +34,15 @@ public class Formatter implements MarcFileProcessor {
   private FormatterParameters parameters;
   private boolean readyToProcess;
   private BufferedWriter writer;
+  private SelectorPlan selectorPlan;
+  private SelectorPlan.Selection selection;
 
   public Formatter(String[] args) throws ParseException {
     parameters = new FormatterParameters(args);
+    if (parameters.hasSelector()) {
+      selectorPlan = SelectorPlan.compile(parameters.getSelector());
+      selection = selectorPlan.newSelection();
+    }
     readyToProcess = true;
   }
 
@@ -102,10 +109,7 @@ public class Formatter implements MarcFileProcessor {
   @Override
   public void processRecord(Record marc4jRecord, int recordNumber) throws IOException {
     if (
-      (parameters.hasId()
-        && marc4jRecord.getControlNumber() != null
-        && marc4jRecord.getControlNumber().trim().equals(parameters.getId())
-      )
+      (parameters.hasId() && parameters.isSelectedId(marc4jRecord.getControlNumber()))
         ||
         (
           parameters.getCountNr() > -1
@@ -114,9 +118,14 @@ public class Formatter implements MarcFileProcessor {
     }
   }
 
+  @Override
+  public boolean needsMarc4jRecord() {
+    return parameters.hasId() || parameters.getCountNr() > -1;
+  }
+
   @Override
   public void processRecord(MarcRecord marcRecord, int recordNumber) throws IOException {
-    if (parameters.hasId() && marcRecord.getId().trim().equals(parameters.getId())) {
+    if (parameters.hasId() && parameters.isSelectedId(marcRecord.getId())) {
       for (DataField field : marcRecord.getDatafields()) {
         System.err.println(field.getTag());
       }
@@ -133,8 +142,9 @@ public class Formatter implements MarcFileProcessor {
       List<String> values = new ArrayList<>();
       if (parameters.withId())
         values.add(marcRecord.getId());
-      for (MarcSpec marcSpec : parameters.getSelector()) {
-        List<String> results = marcRecord.select(marcSpec);
+      selectorPlan.select(marcRecord, selection);
+      for (int slot = 0; slot < selectorPlan.getNumberOfSlots(); slot++) {
+        List<String> results = selection.get(slot);
         values.add(results.isEmpty() ? "" : StringUtils.join(results, "||"));
       }
       // System.out.println(StringUtils.join(values, parameters.getSeparator()));
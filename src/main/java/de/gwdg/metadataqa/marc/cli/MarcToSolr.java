@@ -6,12 +6,14 @@ import de.gwdg.metadataqa.marc.cli.parameters.MarcToSolrParameters;
 import de.gwdg.metadataqa.marc.cli.processor.MarcFileProcessor;
 import de.gwdg.metadataqa.marc.cli.utils.RecordIterator;
 import de.gwdg.metadataqa.marc.datastore.MarcSolrClient;
+import de.gwdg.metadataqa.marc.datastore.SolrDocumentBuilder;
 import de.gwdg.metadataqa.marc.definition.MarcVersion;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
 import org.marc4j.marc.Record;
 
 import java.io.IOException;
@@ -19,8 +21,6 @@ import java.io.Serializable;
 import java.nio.file.Path;
 import java.text.DecimalFormat;
 import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -39,6 +39,7 @@ public class MarcToSolr implements MarcFileProcessor, Serializable {
   private final MarcVersion version;
   private MarcToSolrParameters parameters;
   private MarcSolrClient client;
+  private SolrDocumentBuilder documentBuilder;
   private Path currentFile;
   private boolean readyToProcess;
   private DecimalFormat decimalFormat = new DecimalFormat();
@@ -48,8 +49,13 @@ public class MarcToSolr implements MarcFileProcessor, Serializable {
     options = parameters.getOptions();
     client = new MarcSolrClient(parameters.getSolrUrl());
     client.setTrimId(parameters.getTrimId());
+    client.setBatchSize(parameters.getBatchSize());
+    client.setConnections(parameters.getConnections());
+    if (parameters.doCommit())
+      client.setCommitWithin(parameters.getCommitWithin());
     readyToProcess = true;
     version = parameters.getMarcVersion();
+    documentBuilder = new SolrDocumentBuilder(parameters.getSolrFieldType(), version, true);
   }
 
   public static void main(String[] args) throws ParseException {
@@ -82,21 +88,16 @@ public class MarcToSolr implements MarcFileProcessor, Serializable {
       return;
 
     try {
-      Map<String, List<String>> map = marcRecord.getKeyValuePairs(
-        parameters.getSolrFieldType(), true, parameters.getMarcVersion()
-      );
-      map.put("record_sni", Arrays.asList(marcRecord.asJson()));
-      client.indexMap(marcRecord.getId(), map);
+      SolrInputDocument document = documentBuilder.build(marcRecord, client.createDocument(marcRecord.getId()));
+      document.setField("record_sni", Arrays.asList(marcRecord.asJson()));
+      client.index(document);
     } catch (SolrServerException e) {
-      if (e.getMessage().contains("Server refused connection at")) {
-        // end process;
-        readyToProcess = false;
-      }
+      // the client failed to send the documents even after the retries, and it would refuse
+      // all the further documents, so end the process
+      readyToProcess = false;
       logger.log(Level.SEVERE, "processRecord", e);
     }
     if (recordNumber % 5000 == 0) {
-      if (parameters.doCommit())
-        client.commit();
       logger.info(
         String.format(
           "%s/%s (%s)",
@@ -126,6 +127,14 @@ public class MarcToSolr implements MarcFileProcessor, Serializable {
   @Override
   public void afterIteration(int numberOfprocessedRecords) {
     client.commit();
+    try {
+      client.close();
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "afterIteration", e);
+    }
+    logger.info(String.format("indexed documents: %s, failed documents: %s",
+      decimalFormat.format(client.getNumberOfIndexedDocuments()),
+      decimalFormat.format(client.getNumberOfFailedDocuments())));
   }
 
   @Override
@@ -135,6 +144,10 @@ public class MarcToSolr implements MarcFileProcessor, Serializable {
     formatter.printHelp(message, options);
   }
 
+  void setClient(MarcSolrClient client) {
+    this.client = client;
+  }
+
   @Override
   public boolean readyToProcess() {
     return readyToProcess;
@@ -3,6 +3,8 @@ package de.gwdg.metadataqa.marc.cli;
 import de.gwdg.metadataqa.marc.dao.DataField;
 import de.gwdg.metadataqa.marc.dao.MarcRecord;
 import de.gwdg.metadataqa.marc.analysis.NetworkAnalyzer;
+import de.gwdg.metadataqa.marc.analysis.network.ConceptDictionary;
+import de.gwdg.metadataqa.marc.analysis.network.ConceptNormalizer;
 import de.gwdg.metadataqa.marc.cli.parameters.CommonParameters;
 import de.gwdg.metadataqa.marc.cli.parameters.NetworkAction;
 import de.gwdg.metadataqa.marc.cli.parameters.NetworkParameters;
@@ -32,6 +34,9 @@ public class NetworkAnalysis implements MarcFileProcessor, Serializable {
   private final boolean readyToProcess;
   private final List<String> orphans = new ArrayList<>();
   private BufferedWriter networkWriter;
+  private final ConceptDictionary dictionary = new ConceptDictionary();
+  private final ConceptNormalizer normalizer = new ConceptNormalizer();
+  private int[] recordConcepts = new int[16];
 
   public NetworkAnalysis(String[] args) throws ParseException {
     parameters = new NetworkParameters(args);
@@ -51,8 +56,12 @@ public class NetworkAnalysis implements MarcFileProcessor, Serializable {
     NetworkAction action = params.getAction();
     logger.info("Action: " + ((NetworkParameters)processor.getParameters()).getAction());
     if (action.equals(NetworkAction.PAIRING)) {
-      PairGenerator generator = new PairGenerator(params.getOutputDir(), params.getGroupLimit(),false);
+      PairGenerator generator = new PairGenerator(params.getOutputDir(), params.getGroupLimit(), false,
+        params.isBinary());
       generator.generatePairs();
+    } else if (action.equals(NetworkAction.SCORES)) {
+      NetworkScoreCalculator calculator = new NetworkScoreCalculator(params.getOutputDir(), params.getGroupLimit());
+      calculator.calculate();
     } else {
       if (params.getArgs().length < 1) {
         System.err.println("Please provide a MARC file name!");
@@ -85,10 +94,18 @@ public class NetworkAnalysis implements MarcFileProcessor, Serializable {
 
     NetworkAnalyzer analyzer = new NetworkAnalyzer(marcRecord);
     Set<DataField> collector = analyzer.process(recordNumber);
-    if (!collector.isEmpty()) {
-      for (DataField field : collector) {
+    int numberOfConcepts = 0;
+    for (DataField field : collector) {
+      CharSequence key = normalizer.normalize(field);
+      if (key == null)
+        continue;
+      int concept = dictionary.getId(key);
+      if (isNewConcept(concept, numberOfConcepts)) {
+        if (numberOfConcepts == recordConcepts.length)
+          recordConcepts = Arrays.copyOf(recordConcepts, numberOfConcepts * 2);
+        recordConcepts[numberOfConcepts++] = concept;
         networkWriter.write(createRow(
-          field.toString().hashCode(),
+          concept,
           field.getDefinition().getTag(),
           recordNumber
         ));
@@ -97,6 +114,16 @@ public class NetworkAnalysis implements MarcFileProcessor, Serializable {
     orphans.add(marcRecord.getId(true));
   }
 
+  /**
+   * Whether the concept is not among the concepts of the record written so far.
+   */
+  private boolean isNewConcept(int concept, int numberOfConcepts) {
+    for (int i = 0; i < numberOfConcepts; i++)
+      if (recordConcepts[i] == concept)
+        return false;
+    return true;
+  }
+
   @Override
   public void beforeIteration() {
     var path = Paths.get(parameters.getOutputDir(), "network.csv");
@@ -127,6 +154,12 @@ public class NetworkAnalysis implements MarcFileProcessor, Serializable {
       logger.severe("Failed to close networkWriter. " + e.getLocalizedMessage());
       logger.log(Level.SEVERE, "afterIteration", e);
     }
+    try {
+      dictionary.write(Paths.get(parameters.getOutputDir(), ConceptDictionary.FILE_NAME));
+      logger.info(String.format("%d concepts", dictionary.size()));
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "afterIteration", e);
+    }
   }
 
   @Override
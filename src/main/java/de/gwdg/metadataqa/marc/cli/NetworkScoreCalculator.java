@@ -0,0 +1,241 @@
+package de.gwdg.metadataqa.marc.cli;
+
+import de.gwdg.metadataqa.marc.analysis.network.CsrGraph;
+import de.gwdg.metadataqa.marc.analysis.network.CsrGraphBuilder;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntToDoubleFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static de.gwdg.metadataqa.marc.Utils.createRow;
+
+/**
+ * Calculates the scores of the record network from network.csv (concept, tag, id) in memory: the
+ * graph of all the concepts and the graphs of the individual tags. The output files are the same as
+ * the ones of the Spark job (scala/.../Network.scala), but it does not need the pairs of the records
+ * (see PairGenerator), and the graph is built directly from the concepts.
+ *
+ * network-scores-{tag}-density.csv (records, links, density, avgDegree)
+ * network-scores-{tag}-degrees.csv (id, degree, qlink, qlinkAbs), -degrees-stat, -degrees-histogram,
+ *   -qlink-stat, -qlink-histogram, -qlinkabs-stat, -qlinkabs-histogram
+ * network-scores-{tag}-components.csv (componentId, size), -components-stat, -components-histogram
+ * network-scores-{tag}-pagerank.csv (id, score), -pagerank-stat, -pagerank-histogram
+ *
+ * where the tag of all the concepts is "all".
+ */
+public class NetworkScoreCalculator {
+  private static final Logger logger = Logger.getLogger(NetworkScoreCalculator.class.getCanonicalName());
+
+  private static final String ALL = "all";
+  private static final String PREFIX = "network-scores-";
+  private static final String[] STATISTICS = {"count", "mean", "stddev", "min", "25%", "50%", "75%", "max"};
+
+  private final String outputDir;
+  private final int groupLimit;
+  private int absMaxDegree = 0;
+
+  public NetworkScoreCalculator(String outputDir, int groupLimit) {
+    this.outputDir = outputDir;
+    this.groupLimit = groupLimit;
+  }
+
+  protected void calculate() {
+    Map<String, CsrGraphBuilder> builders = new TreeMap<>();
+    CsrGraphBuilder all = new CsrGraphBuilder();
+    try {
+      read(all, builders);
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "calculate", e);
+      return;
+    }
+
+    analyseGraph(ALL, all);
+    for (Map.Entry<String, CsrGraphBuilder> entry : builders.entrySet())
+      analyseGraph(entry.getKey(), entry.getValue());
+  }
+
+  private void read(CsrGraphBuilder all, Map<String, CsrGraphBuilder> builders) throws IOException {
+    Path path = Paths.get(outputDir, "network.csv");
+    try (BufferedReader reader = Files.newBufferedReader(path)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] parts = line.split(",");
+        if (parts.length < 3 || parts[0].equals("concept"))
+          continue;
+        int concept = Integer.parseInt(parts[0]);
+        int recordId = Integer.parseInt(parts[2]);
+        all.add(concept, recordId);
+        builders.computeIfAbsent(parts[1], tag -> new CsrGraphBuilder()).add(concept, recordId);
+      }
+    }
+  }
+
+  private void analyseGraph(String tag, CsrGraphBuilder builder) {
+    logger.info(String.format("%s: %d concept assignments", tag, builder.size()));
+    CsrGraph graph = builder.build(groupLimit);
+    logger.info(String.format("%s: %d records, %d links", tag, graph.getNumberOfNodes(), graph.getNumberOfEdges()));
+    String prefix = PREFIX + tag;
+
+    write(prefix + "-density", Arrays.asList(
+      createRow("records", "links", "density", "avgDegree"),
+      createRow(graph.getNumberOfNodes(), graph.getNumberOfEdges(), graph.density(), graph.averageDegree())
+    ));
+    degrees(prefix, tag, graph);
+    components(prefix, graph);
+    pageRank(prefix, graph);
+  }
+
+  private void degrees(String prefix, String tag, CsrGraph graph) {
+    int n = graph.getNumberOfNodes();
+    int[] degrees = graph.degrees();
+    int maxDegree = Arrays.stream(degrees).max().orElse(0);
+    if (tag.equals(ALL))
+      absMaxDegree = maxDegree;
+    IntToDoubleFunction qlink = i -> maxDegree == 0 ? 0.0 : (double) degrees[i] / maxDegree;
+    IntToDoubleFunction qlinkAbs = i -> absMaxDegree == 0 ? 0.0 : (double) degrees[i] / absMaxDegree;
+
+    int[] order = orderByDesc(degrees);
+    write(prefix + "-degrees", writer -> {
+      writer.write(createRow("id", "degree", "qlink", "qlinkAbs"));
+      for (int i : order)
+        writer.write(createRow(graph.getNodeId(i), degrees[i], qlink.applyAsDouble(i), qlinkAbs.applyAsDouble(i)));
+    });
+
+    write(prefix + "-degrees-stat", summary(n, i -> degrees[i]));
+    write(prefix + "-qlink-stat", summary(n, qlink));
+    write(prefix + "-qlinkabs-stat", summary(n, qlinkAbs));
+    write(prefix + "-degrees-histogram", histogram("degree", n, i -> degrees[i]));
+    write(prefix + "-qlink-histogram", histogram("qlink", n, i -> qlink.applyAsDouble(i)));
+    write(prefix + "-qlinkabs-histogram", histogram("qlinkAbs", n, i -> qlinkAbs.applyAsDouble(i)));
+  }
+
+  private void components(String prefix, CsrGraph graph) {
+    int[] components = graph.connectedComponents();
+    Map<Integer, Integer> sizes = new HashMap<>();
+    for (int component : components)
+      sizes.merge(component, 1, Integer::sum);
+
+    int[] ids = sizes.keySet().stream().mapToInt(Integer::intValue).toArray();
+    int[] componentSizes = Arrays.stream(ids).map(sizes::get).toArray();
+    int[] order = orderByDesc(componentSizes);
+    write(prefix + "-components", writer -> {
+      writer.write(createRow("componentId", "size"));
+      for (int i : order)
+        writer.write(createRow(ids[i], componentSizes[i]));
+    });
+
+    write(prefix + "-components-stat", summary(ids.length, i -> componentSizes[i]));
+    write(prefix + "-components-histogram", histogram("size", ids.length, i -> componentSizes[i]));
+  }
+
+  private void pageRank(String prefix, CsrGraph graph) {
+    int n = graph.getNumberOfNodes();
+    double[] ranks = graph.pageRank();
+    write(prefix + "-pagerank", writer -> {
+      writer.write(createRow("id", "score"));
+      for (int i = 0; i < n; i++)
+        writer.write(createRow(graph.getNodeId(i), ranks[i]));
+    });
+
+    write(prefix + "-pagerank-stat", summary(n, i -> ranks[i]));
+    write(prefix + "-pagerank-histogram", histogram("score", n, i -> (int) Math.round(ranks[i])));
+  }
+
+  /**
+   * The indices of the (not negative) values in descending order of the values.
+   */
+  private static int[] orderByDesc(int[] values) {
+    long[] packed = new long[values.length];
+    for (int i = 0; i < values.length; i++)
+      packed[i] = ((long) (Integer.MAX_VALUE - values[i]) << 32) | i;
+    Arrays.parallelSort(packed);
+    int[] order = new int[values.length];
+    for (int i = 0; i < values.length; i++)
+      order[i] = (int) packed[i];
+    return order;
+  }
+
+  /**
+   * The same statistics as Spark's summary(). The percentiles are the nearest ranks.
+   */
+  private static List<String> summary(int n, IntToDoubleFunction value) {
+    double[] values = new double[n];
+    for (int i = 0; i < n; i++)
+      values[i] = value.applyAsDouble(i);
+    Arrays.parallelSort(values);
+
+    double mean = Arrays.stream(values).average().orElse(Double.NaN);
+    double sumOfSquares = 0.0;
+    for (double v : values)
+      sumOfSquares += (v - mean) * (v - mean);
+    double stddev = n > 1 ? Math.sqrt(sumOfSquares / (n - 1)) : Double.NaN;
+
+    List<String> rows = new ArrayList<>();
+    rows.add(createRow("statistic", "value"));
+    Object[] statistics = n == 0
+      ? new Object[]{0, "", "", "", "", "", "", ""}
+      : new Object[]{n, mean, stddev, values[0], percentile(values, 0.25), percentile(values, 0.5),
+          percentile(values, 0.75), values[n - 1]};
+    for (int i = 0; i < STATISTICS.length; i++)
+      rows.add(createRow(STATISTICS[i], statistics[i]));
+    return rows;
+  }
+
+  private static double percentile(double[] sorted, double p) {
+    int index = (int) Math.ceil(p * sorted.length) - 1;
+    return sorted[Math.max(0, index)];
+  }
+
+  private static List<String> histogram(String name, int n, IntToDoubleFunction value) {
+    Map<Double, Integer> counts = new TreeMap<>();
+    for (int i = 0; i < n; i++)
+      counts.merge(value.applyAsDouble(i), 1, Integer::sum);
+
+    List<String> rows = new ArrayList<>(counts.size() + 1);
+    rows.add(createRow(name, "count"));
+    for (Map.Entry<Double, Integer> entry : counts.entrySet())
+      rows.add(createRow(format(entry.getKey()), entry.getValue()));
+    return rows;
+  }
+
+  /**
+   * Integers without fraction, the other numbers as they are.
+   */
+  private static Object format(double value) {
+    if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < Long.MAX_VALUE)
+      return (long) value;
+    return value;
+  }
+
+  private void write(String fileName, List<String> rows) {
+    write(fileName, writer -> {
+      for (String row : rows)
+        writer.write(row);
+    });
+  }
+
+  private void write(String fileName, RowWriter rowWriter) {
+    Path path = Paths.get(outputDir, fileName + ".csv");
+    try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+      rowWriter.write(writer);
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "write", e);
+    }
+  }
+
+  private interface RowWriter {
+    void write(BufferedWriter writer) throws IOException;
+  }
+}
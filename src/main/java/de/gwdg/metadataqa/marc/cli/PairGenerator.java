@@ -2,29 +2,46 @@ package de.gwdg.metadataqa.marc.cli;
 
 import de.gwdg.metadataqa.marc.Utils;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
 import static de.gwdg.metadataqa.marc.Utils.createRow;
-import static de.gwdg.metadataqa.marc.Utils.createRowWithSep;
 
+/**
+ * Creates the pairs of the records sharing a concept (network-pairs*.csv) and the list of the records
+ * having at least one pair (network-nodes*.csv) from network-by-concepts*.csv (concept, count, ids).
+ * The files are read twice: first the number of the pairs and nodes are counted and reported, then
+ * the pairs are written directly into the output, group by group.
+ *
+ * In binary mode the files are network-pairs*.bin and network-nodes*.bin: the pairs are two, the nodes
+ * are one 32 bit big-endian integer(s), without header, which is about a third of the text size.
+ *
+ * Note: the pairs of a concept grow quadratically with the number of its records. If the graph fits into
+ * the memory, the scores action (NetworkScoreCalculator) builds it directly from the concepts instead.
+ */
 public class PairGenerator {
   private static final Logger logger = Logger.getLogger(NetworkAnalysis.class.getCanonicalName());
 
   private String outputDir;
   private final int groupLimit;
   private boolean asBase36 = false;
+  private boolean binary = false;
 
-  private BufferedWriter pairWriter;
-  private BufferedWriter nodeWriter;
+  private PairWriter pairWriter;
+  private int[] ids = new int[16];
+  private boolean truncated;
 
   public PairGenerator(String outputDir, int groupLimit, boolean asBase36) {
     this.asBase36 = asBase36;
@@ -32,6 +49,11 @@ public class PairGenerator {
     this.groupLimit = groupLimit;
   }
 
+  public PairGenerator(String outputDir, int groupLimit, boolean asBase36, boolean binary) {
+    this(outputDir, groupLimit, asBase36);
+    this.binary = binary;
+  }
+
   protected void generatePairs() {
     logger.info("pairIds");
 
@@ -56,132 +78,239 @@ public class PairGenerator {
     if (!tag.equals(""))
       tag = "-" + tag;
 
-    initializePairWriter("network-pairs" + tag + ".csv");
-    initializeNodeWriter("network-nodes" + tag + ".csv");
-    processConcepts( "network-by-concepts" + tag + ".csv");
+    Path inputPath = Paths.get(outputDir, "network-by-concepts" + tag + ".csv");
     try {
-      pairWriter.close();
-    } catch (IOException e) {
-      logger.log(Level.SEVERE, "createPairs", e);
-    }
-    try {
-      nodeWriter.close();
+      processConcepts(inputPath, countPairs(inputPath), "network-pairs" + tag, "network-nodes" + tag);
     } catch (IOException e) {
       logger.log(Level.SEVERE, "createPairs", e);
     }
   }
 
-  private void initializePairWriter(String fileName) {
-    Path outputPath = Paths.get(outputDir, fileName);
-    try {
-      pairWriter = Files.newBufferedWriter(outputPath);
-      if (asBase36)
-        pairWriter.write(createRow("id1", "id2"));
-    } catch (IOException e) {
-      logger.log(Level.SEVERE, "initializePairWriter", e);
+  /**
+   * Counts the pairs and the nodes of a concept file without creating them.
+   */
+  private PairCount countPairs(Path inputPath) throws IOException {
+    PairCount count = new PairCount();
+    BitSet nodes = new BitSet();
+    try (BufferedReader reader = Files.newBufferedReader(inputPath)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        int length = parseIds(line);
+        if (length > 1) {
+          count.groups++;
+          count.pairs += countPairs(length);
+          for (int i = 0; i < length; i++)
+            nodes.set(ids[i]);
+        }
+      }
     }
+    count.nodes = nodes.cardinality();
+    logger.info(String.format("%s: %d groups, %d pairs, %d nodes",
+      inputPath.getFileName(), count.groups, count.pairs, count.nodes));
+    return count;
   }
 
-  private void initializeNodeWriter(String fileName) {
-    Path nodePath = Paths.get(outputDir, fileName);
-    try {
-      nodeWriter = Files.newBufferedWriter(nodePath);
-      if (asBase36)
-        nodeWriter.write(createRow("id1", "id2"));
-    } catch (IOException e) {
-      logger.log(Level.SEVERE, "initializeNodeWriter", e);
+  /**
+   * The number of the pairs of the ids[0..length), the same ids are not paired.
+   */
+  private long countPairs(int length) {
+    long pairs = (long) length * (length - 1) / 2;
+    int[] sorted = Arrays.copyOf(ids, length);
+    Arrays.sort(sorted);
+    int run = 1;
+    for (int i = 1; i <= length; i++) {
+      if (i < length && sorted[i] == sorted[i - 1]) {
+        run++;
+      } else {
+        pairs -= (long) run * (run - 1) / 2;
+        run = 1;
+      }
     }
+    return pairs;
   }
 
-  private void processConcepts(String fileName) {
-    Map<Object, Boolean> nodeTrack = new HashMap<>();
-    AtomicInteger lineNr = new AtomicInteger();
-
-    Path inputPath = Paths.get(outputDir, fileName);
-    try (Stream<String> stream = Files.lines(Paths.get(inputPath.toString()))) {
-      stream.forEach(
-        line -> {
-          lineNr.getAndIncrement();
-          if (lineNr.get() % 100 == 0)
-            logger.info("" + lineNr.get());
-          String[] parts = line.split(",");
-          String[] ids = parts[2].split(";");
-          if (ids.length > 1) {
-            if (ids.length > groupLimit) {
-              logger.info(String.format(
-                "%d is greater than %d. The array will will truncated.",
-                ids.length, groupLimit));
-              ids = Arrays.copyOfRange(ids, 0, groupLimit);
-            }
-
-            Object[] encoded = asBase36 ? stringToBase36(ids) : stringToInteger(ids);
-            List<String> pairs = makePairs(encoded);
-            try {
-              for (String pair : pairs) {
-                pairWriter.write(pair);
-              }
-            } catch (IOException e) {
-              logger.log(Level.SEVERE, "processConcepts", e);
-            }
-
-            for (Object id : encoded) {
-              try {
-                if (!nodeTrack.containsKey(id)) {
-                  nodeWriter.write(createRow(id, id));
-                  nodeTrack.put(id, true);
-                }
-              } catch (IOException e) {
-                logger.log(Level.SEVERE, "processConcepts", e);
-              }
+  private void processConcepts(Path inputPath, PairCount count, String pairFile, String nodeFile) throws IOException {
+    BitSet nodeTrack = new BitSet();
+    long lineNr = 0;
+    long pairs = 0;
+    try (BufferedReader reader = Files.newBufferedReader(inputPath);
+         PairWriter writer = createWriter(pairFile, nodeFile)) {
+      pairWriter = writer;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lineNr++;
+        if (lineNr % 100 == 0)
+          logger.info(String.format("%d/%d groups, %d/%d pairs", lineNr, count.groups, pairs, count.pairs));
+        int length = parseIds(line);
+        if (truncated)
+          logger.info(String.format(
+            "The group of line %d is greater than %d. The array will be truncated.", lineNr, groupLimit));
+        if (length > 1) {
+          pairs += writePairs(length);
+          for (int i = 0; i < length; i++) {
+            int id = ids[i];
+            if (!nodeTrack.get(id)) {
+              writer.writeNode(id);
+              nodeTrack.set(id);
             }
           }
         }
-      );
-    } catch (IOException e) {
-      logger.log(Level.SEVERE, "processConcepts", e);
-    }
-    try {
-      pairWriter.close();
-    } catch (IOException e) {
-      logger.log(Level.SEVERE, "processConcepts", e);
+      }
+    } finally {
+      pairWriter = null;
     }
   }
 
-  private Object[] stringToBase36(String[] ids) {
-    Object[] encoded;
-    encoded = new String[ids.length];
-    for (int i = 0; i < ids.length; i++) {
-      encoded[i] = Utils.base36Encode(ids[i]);
+  private PairWriter createWriter(String pairFile, String nodeFile) throws IOException {
+    if (binary)
+      return new BinaryPairWriter(Paths.get(outputDir, pairFile + ".bin"), Paths.get(outputDir, nodeFile + ".bin"));
+    return new TextPairWriter(Paths.get(outputDir, pairFile + ".csv"), Paths.get(outputDir, nodeFile + ".csv"),
+      asBase36);
+  }
+
+  /**
+   * Parses the ids (the third column, separated by semicolons) into the ids buffer.
+   * @return The number of the ids, truncated at the group limit (see the truncated flag), or 0 if the
+   * line has no ids
+   */
+  private int parseIds(String line) {
+    truncated = false;
+    int start = line.indexOf(',');
+    if (start > -1)
+      start = line.indexOf(',', start + 1);
+    if (start == -1 || line.indexOf(';', start) == -1)
+      return 0;
+    start++;
+
+    int length = 0;
+    while (start <= line.length()) {
+      int end = line.indexOf(';', start);
+      if (end == -1)
+        end = line.length();
+      if (length == groupLimit) {
+        truncated = true;
+        break;
+      }
+      if (end > start) {
+        if (length == ids.length)
+          ids = Arrays.copyOf(ids, ids.length * 2);
+        ids[length++] = parseId(line, start, end);
+      }
+      start = end + 1;
     }
-    return encoded;
+    return length;
   }
 
-  private Object[] stringToInteger(String[] ids) {
-    Object[] encoded = new Integer[ids.length];
-    for (int i = 0; i < ids.length; i++) {
-      encoded[i] = Utils.parseId(ids[i]);
+  private static int parseId(String line, int start, int end) {
+    for (int i = start; i < end; i++) {
+      char c = line.charAt(i);
+      if (c < '0' || c > '9')
+        return Utils.parseId(line.substring(start, end));
     }
-    return encoded;
+    return Integer.parseInt(line, start, end, 10);
   }
 
-  private List<String> makePairs(Object[] elements) {
-    List<String> pairs = new ArrayList<>(elements.length);
-    int len = elements.length;
-    for (int i = 0; i < (len - 1); i++) {
-      for (int j = (i + 1); j < len; j++) {
-        if (asBase36) {
-          String a = (String) elements[i];
-          String b = (String) elements[j];
-          if (!a.equals(b))
-            pairs.add(createRow(elements[i], elements[j]));
-        } else {
-          int a = (int) elements[i];
-          int b = (int) elements[j];
-          if (a != b)
-            pairs.add(createRowWithSep(' ', a, b));
+  /**
+   * Writes the pairs of the ids[0..length).
+   * @return The number of pairs
+   */
+  private long writePairs(int length) throws IOException {
+    long pairs = 0;
+    for (int i = 0; i < (length - 1); i++) {
+      int a = ids[i];
+      for (int j = (i + 1); j < length; j++) {
+        int b = ids[j];
+        if (a != b) {
+          pairWriter.writePair(a, b);
+          pairs++;
         }
       }
     }
     return pairs;
   }
+
+  private static class PairCount {
+    private long groups = 0;
+    private long pairs = 0;
+    private int nodes = 0;
+  }
+
+  private interface PairWriter extends Closeable {
+    void writePair(int a, int b) throws IOException;
+
+    void writeNode(int id) throws IOException;
+  }
+
+  private static class TextPairWriter implements PairWriter {
+    private final BufferedWriter pairWriter;
+    private final BufferedWriter nodeWriter;
+    private final boolean asBase36;
+
+    TextPairWriter(Path pairPath, Path nodePath, boolean asBase36) throws IOException {
+      this.asBase36 = asBase36;
+      pairWriter = Files.newBufferedWriter(pairPath);
+      nodeWriter = Files.newBufferedWriter(nodePath);
+      if (asBase36) {
+        pairWriter.write(createRow("id1", "id2"));
+        nodeWriter.write(createRow("id1", "id2"));
+      }
+    }
+
+    @Override
+    public void writePair(int a, int b) throws IOException {
+      if (asBase36) {
+        pairWriter.write(createRow(Utils.base36Encode(a), Utils.base36Encode(b)));
+      } else {
+        pairWriter.write(Integer.toString(a));
+        pairWriter.write(' ');
+        pairWriter.write(Integer.toString(b));
+        pairWriter.write('\n');
+      }
+    }
+
+    @Override
+    public void writeNode(int id) throws IOException {
+      Object encoded = asBase36 ? Utils.base36Encode(id) : id;
+      nodeWriter.write(createRow(encoded, encoded));
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        pairWriter.close();
+      } finally {
+        nodeWriter.close();
+      }
+    }
+  }
+
+  private static class BinaryPairWriter implements PairWriter {
+    private final DataOutputStream pairStream;
+    private final DataOutputStream nodeStream;
+
+    BinaryPairWriter(Path pairPath, Path nodePath) throws IOException {
+      pairStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(pairPath), 64 * 1024));
+      nodeStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(nodePath), 64 * 1024));
+    }
+
+    @Override
+    public void writePair(int a, int b) throws IOException {
+      pairStream.writeInt(a);
+      pairStream.writeInt(b);
+    }
+
+    @Override
+    public void writeNode(int id) throws IOException {
+      nodeStream.writeInt(id);
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        pairStream.close();
+      } finally {
+        nodeStream.close();
+      }
+    }
+  }
 }
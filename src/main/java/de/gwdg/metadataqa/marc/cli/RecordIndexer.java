@@ -0,0 +1,95 @@
+package de.gwdg.metadataqa.marc.cli;
+
+import de.gwdg.metadataqa.marc.cli.parameters.CommonParameters;
+import de.gwdg.metadataqa.marc.definition.MarcFormat;
+import de.gwdg.metadataqa.marc.utils.compression.CompressedInput;
+import de.gwdg.metadataqa.marc.utils.marcreader.MappedMarcFile;
+import de.gwdg.metadataqa.marc.utils.marcreader.RecordIndex;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates the record index (see RecordIndex) of binary MARC files. When a file has an index, the
+ * analyses called with the --id parameter read only the selected records instead of the whole file.
+ *
+ * usage:
+ * java -cp target/metadata-qa-marc-0.1-SNAPSHOT-jar-with-dependencies.jar de.gwdg.metadataqa.marc.cli.RecordIndexer [MARC21 files]
+ */
+public class RecordIndexer {
+
+  private static final Logger logger = Logger.getLogger(RecordIndexer.class.getCanonicalName());
+
+  private final CommonParameters parameters;
+
+  public RecordIndexer(String[] args) throws ParseException {
+    parameters = new CommonParameters(args);
+  }
+
+  public static void main(String[] args) {
+    RecordIndexer indexer = null;
+    try {
+      indexer = new RecordIndexer(args);
+    } catch (ParseException e) {
+      System.err.println("ERROR. " + e.getLocalizedMessage());
+      System.exit(0);
+    }
+    if (indexer.getParameters().doHelp()) {
+      printHelp(indexer.getParameters().getOptions());
+      System.exit(0);
+    }
+    if (indexer.getParameters().getArgs().length < 1) {
+      System.err.println("Please provide a MARC file name!");
+      printHelp(indexer.getParameters().getOptions());
+      System.exit(0);
+    }
+    indexer.run();
+  }
+
+  public CommonParameters getParameters() {
+    return parameters;
+  }
+
+  /**
+   * Creates the index of every input file.
+   * @return The number of indexed files
+   */
+  public int run() {
+    if (!parameters.getMarcFormat().isIso2709()) {
+      logger.severe(String.format("The record index supports only the ISO and LINE_SEPARATED formats, not %s.",
+        parameters.getMarcFormat().getCode()));
+      return 0;
+    }
+
+    int indexed = 0;
+    for (String fileName : parameters.getArgs()) {
+      Path path = Paths.get(fileName);
+      if (CompressedInput.isCompressed(path)) {
+        logger.warning(String.format("%s is compressed, it can not be indexed.", path.getFileName()));
+        continue;
+      }
+      try (MappedMarcFile file = new MappedMarcFile(path, parameters.getMarcFormat() == MarcFormat.LINE_SEPARATED)) {
+        int count = RecordIndex.build(file, path, parameters.getDefaultEncoding());
+        if (parameters.doLog())
+          logger.info(String.format("%s: %d of %d records indexed in %s", path.getFileName(), count,
+            file.getNumberOfRecords(), RecordIndex.getIndexPath(path).getFileName()));
+        indexed++;
+      } catch (IOException e) {
+        logger.log(Level.SEVERE, "run", e);
+      }
+    }
+    return indexed;
+  }
+
+  private static void printHelp(Options options) {
+    HelpFormatter formatter = new HelpFormatter();
+    String message = String.format("java -cp metadata-qa-marc.jar %s [options] [file]", RecordIndexer.class.getCanonicalName());
+    formatter.printHelp(message, options);
+  }
+}
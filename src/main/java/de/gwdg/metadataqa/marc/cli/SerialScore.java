@@ -8,6 +8,7 @@ import de.gwdg.metadataqa.marc.cli.parameters.SerialScoreParameters;
 import de.gwdg.metadataqa.marc.cli.processor.MarcFileProcessor;
 import de.gwdg.metadataqa.marc.analysis.Serial;
 import de.gwdg.metadataqa.marc.cli.utils.RecordIterator;
+import de.gwdg.metadataqa.marc.utils.TagProjection;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
@@ -151,6 +152,11 @@ public class SerialScore implements MarcFileProcessor, Serializable {
     }
   }
 
+  @Override
+  public TagProjection getTagProjection() {
+    return Serial.getTagProjection();
+  }
+
   @Override
   public boolean readyToProcess() {
     return readyToProcess;
@@ -6,7 +6,9 @@ import de.gwdg.metadataqa.marc.analysis.ShelfReadyFieldsBooks;
 import de.gwdg.metadataqa.marc.cli.parameters.CommonParameters;
 import de.gwdg.metadataqa.marc.cli.parameters.ShelfReadyCompletenessParameters;
 import de.gwdg.metadataqa.marc.cli.processor.MarcFileProcessor;
+import de.gwdg.metadataqa.marc.cli.utils.ParquetReportWriter;
 import de.gwdg.metadataqa.marc.cli.utils.RecordIterator;
+import de.gwdg.metadataqa.marc.utils.TagProjection;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
@@ -45,6 +47,7 @@ public class ShelfReadyCompleteness implements MarcFileProcessor, Serializable {
   private final boolean readyToProcess;
   private ShelfReadyCompletenessParameters parameters;
   private File output = null;
+  private ParquetReportWriter parquetWriter = null;
 
   public ShelfReadyCompleteness(String[] args) throws ParseException {
     parameters = new ShelfReadyCompletenessParameters(args);
@@ -85,6 +88,11 @@ public class ShelfReadyCompleteness implements MarcFileProcessor, Serializable {
     logger.info(parameters.formatParameters());
     printFields();
 
+    if (parameters.doParquet()) {
+      openParquetWriter();
+      return;
+    }
+
     output = new File(parameters.getOutputDir(), parameters.getFileName());
     if (output.exists())
       output.delete();
@@ -92,6 +100,21 @@ public class ShelfReadyCompleteness implements MarcFileProcessor, Serializable {
     print(createRow(createHeaders()));
   }
 
+  private void openParquetWriter() {
+    var schema = ParquetReportWriter.schemaBuilder();
+    for (String header : createHeaders())
+      if (header.equals("id"))
+        schema.string(header);
+      else
+        schema.decimal(header);
+    File file = new File(parameters.getOutputDir(), ParquetReportWriter.toParquetFileName(parameters.getFileName()));
+    try {
+      parquetWriter = new ParquetReportWriter(file, schema.build());
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "openParquetWriter", e);
+    }
+  }
+
   private List<String> createHeaders() {
     List<String> headers = new ArrayList<>();
     headers.add("id");
@@ -119,6 +142,14 @@ public class ShelfReadyCompleteness implements MarcFileProcessor, Serializable {
               ? marcRecord.getId().trim()
               : marcRecord.getId();
 
+    if (parameters.doParquet()) {
+      List<Object> values = new ArrayList<>();
+      values.add(id);
+      values.addAll(scores);
+      write(values);
+      return;
+    }
+
     List<String> scoresToString = new ArrayList<>();
     for (Double score : scores)
       scoresToString.add(String.format("%.2f", score));
@@ -137,7 +168,18 @@ public class ShelfReadyCompleteness implements MarcFileProcessor, Serializable {
 
   @Override
   public void afterIteration(int numberOfprocessedRecords) {
+    if (parquetWriter != null) {
+      try {
+        parquetWriter.close();
+      } catch (IOException e) {
+        logger.log(Level.WARNING, "afterIteration", e);
+      }
+    }
+  }
 
+  @Override
+  public TagProjection getTagProjection() {
+    return ShelfReadyAnalysis.getTagProjection();
   }
 
   @Override
@@ -162,6 +204,16 @@ public class ShelfReadyCompleteness implements MarcFileProcessor, Serializable {
     }
   }
 
+  private void write(List<Object> values) {
+    if (parquetWriter == null)
+      return;
+    try {
+      parquetWriter.write(values.toArray());
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "write", e);
+    }
+  }
+
   private void printFields() {
     var path = Paths.get(parameters.getOutputDir(), "shelf-ready-completeness-fields.csv");
     try (var writer = Files.newBufferedWriter(path)) {
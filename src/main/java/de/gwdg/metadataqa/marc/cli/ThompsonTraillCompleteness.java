@@ -6,7 +6,9 @@ import de.gwdg.metadataqa.marc.analysis.ThompsonTraillAnalysis;
 import de.gwdg.metadataqa.marc.cli.parameters.CommonParameters;
 import de.gwdg.metadataqa.marc.cli.parameters.ThompsonTraillCompletenessParameters;
 import de.gwdg.metadataqa.marc.cli.processor.MarcFileProcessor;
+import de.gwdg.metadataqa.marc.cli.utils.ParquetReportWriter;
 import de.gwdg.metadataqa.marc.cli.utils.RecordIterator;
+import de.gwdg.metadataqa.marc.utils.TagProjection;
 import org.apache.commons.cli.*;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -19,6 +21,7 @@ import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -41,6 +44,7 @@ public class ThompsonTraillCompleteness implements MarcFileProcessor, Serializab
   private final boolean readyToProcess;
   private ThompsonTraillCompletenessParameters parameters;
   private File output = null;
+  private ParquetReportWriter parquetWriter = null;
 
   public ThompsonTraillCompleteness(String[] args) throws ParseException {
     parameters = new ThompsonTraillCompletenessParameters(args);
@@ -82,6 +86,11 @@ public class ThompsonTraillCompleteness implements MarcFileProcessor, Serializab
     logger.info(parameters.formatParameters());
     printFields();
 
+    if (parameters.doParquet()) {
+      openParquetWriter();
+      return;
+    }
+
     output = new File(parameters.getOutputDir(), parameters.getFileName());
     if (output.exists())
       output.delete();
@@ -89,6 +98,21 @@ public class ThompsonTraillCompleteness implements MarcFileProcessor, Serializab
     print(createRow(ThompsonTraillAnalysis.getHeader()));
   }
 
+  private void openParquetWriter() {
+    var schema = ParquetReportWriter.schemaBuilder();
+    for (String header : ThompsonTraillAnalysis.getHeader())
+      if (header.equals("id"))
+        schema.string(header);
+      else
+        schema.integer(header);
+    File file = new File(parameters.getOutputDir(), ParquetReportWriter.toParquetFileName(parameters.getFileName()));
+    try {
+      parquetWriter = new ParquetReportWriter(file, schema.build());
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "openParquetWriter", e);
+    }
+  }
+
   @Override
   public void fileOpened(Path path) {
   }
@@ -107,6 +131,13 @@ public class ThompsonTraillCompleteness implements MarcFileProcessor, Serializab
     String id = parameters.getTrimId()
               ? marcRecord.getId().trim()
               : marcRecord.getId();
+    if (parameters.doParquet()) {
+      List<Object> values = new ArrayList<>();
+      values.add(id);
+      values.addAll(scores);
+      write(values);
+      return;
+    }
     String message = String.format(
       "\"%s\",%s%n",
       id, StringUtils.join(scores, ",")
@@ -121,7 +152,18 @@ public class ThompsonTraillCompleteness implements MarcFileProcessor, Serializab
 
   @Override
   public void afterIteration(int numberOfprocessedRecords) {
+    if (parquetWriter != null) {
+      try {
+        parquetWriter.close();
+      } catch (IOException e) {
+        logger.log(Level.SEVERE, "afterIteration", e);
+      }
+    }
+  }
 
+  @Override
+  public TagProjection getTagProjection() {
+    return ThompsonTraillAnalysis.getTagProjection();
   }
 
   @Override
@@ -146,6 +188,16 @@ public class ThompsonTraillCompleteness implements MarcFileProcessor, Serializab
     }
   }
 
+  private void write(List<Object> values) {
+    if (parquetWriter == null)
+      return;
+    try {
+      parquetWriter.write(values.toArray());
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "write", e);
+    }
+  }
+
   private void printFields() {
     var path = Paths.get(parameters.getOutputDir(), "tt-completeness-fields.csv");
     try (var writer = Files.newBufferedWriter(path)) {
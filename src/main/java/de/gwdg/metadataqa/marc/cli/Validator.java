@@ -1,27 +1,33 @@
 package de.gwdg.metadataqa.marc.cli;
 
+import de.gwdg.metadataqa.marc.Utils;
 import de.gwdg.metadataqa.marc.dao.MarcRecord;
+import de.gwdg.metadataqa.marc.datastore.MarcSQLiteClient;
 import de.gwdg.metadataqa.marc.cli.parameters.ValidatorParameters;
 import de.gwdg.metadataqa.marc.cli.processor.MarcFileProcessor;
+import de.gwdg.metadataqa.marc.cli.utils.IssueCollector;
+import de.gwdg.metadataqa.marc.cli.utils.ParquetReportWriter;
 import de.gwdg.metadataqa.marc.cli.utils.RecordIterator;
+import de.gwdg.metadataqa.marc.cli.utils.ReportWriter;
 import de.gwdg.metadataqa.marc.model.validation.ValidationError;
 import de.gwdg.metadataqa.marc.model.validation.ValidationErrorCategory;
 import de.gwdg.metadataqa.marc.model.validation.ValidationErrorFormatter;
+import de.gwdg.metadataqa.marc.model.validation.ValidationErrorRegistry;
 import de.gwdg.metadataqa.marc.model.validation.ValidationErrorType;
+import de.gwdg.metadataqa.marc.utils.IntCounter;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.lang3.StringUtils;
+import org.apache.parquet.schema.MessageType;
 import org.marc4j.marc.Record;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
-import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.SQLException;
 import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -41,39 +47,45 @@ public class Validator implements MarcFileProcessor, Serializable {
   private Options options;
 
   private final ValidatorParameters parameters;
-  private final Map<Integer, Integer> totalRecordCounter = new HashMap<>();
-  private final Map<Integer, Integer> totalInstanceCounter = new HashMap<>();
+  private final IntCounter totalRecordCounter = new IntCounter();
+  private final IntCounter totalInstanceCounter = new IntCounter();
   private final Map<ValidationErrorCategory, Integer> categoryRecordCounter = new EnumMap<>(ValidationErrorCategory.class);
   private final Map<ValidationErrorCategory, Integer> categoryInstanceCounter = new EnumMap<>(ValidationErrorCategory.class);
   private final Map<ValidationErrorType, Integer> typeRecordCounter = new EnumMap<>(ValidationErrorType.class);
   private final Map<ValidationErrorType, Integer> typeInstanceCounter = new EnumMap<>(ValidationErrorType.class);
-  private final Map<ValidationError, Integer> instanceBasedErrorCounter = new HashMap<>();
-  private final Map<Integer, Integer> recordBasedErrorCounter = new HashMap<>();
-  private final Map<Integer, Integer> hashedIndex = new HashMap<>();
-  private final Map<Integer, Set<String>> errorCollector = new TreeMap<>();
+  private final IntCounter instanceBasedErrorCounter = new IntCounter();
+  private final IntCounter recordBasedErrorCounter = new IntCounter();
+  private final IntCounter recordErrors = new IntCounter();
+  private ValidationErrorRegistry errorRegistry = new ValidationErrorRegistry();
+  private IssueCollector errorCollector;
   private final Map<String, Set<String>> isbnCollector = new TreeMap<>();
   private final Map<String, Set<String>> issnCollector = new TreeMap<>();
-  private File detailsFile = null;
-  private File summaryFile = null;
-  private File collectorFile = null;
+  private ReportWriter detailsWriter = null;
+  private ReportWriter summaryWriter = null;
+  private ReportWriter collectorWriter = null;
+  private ParquetReportWriter detailsParquetWriter = null;
+  private ParquetReportWriter summaryParquetWriter = null;
+  private MarcSQLiteClient sqliteClient = null;
+  private long startTime;
   private boolean doPrintInProcessRecord = true;
+  private boolean isWorker = false;
   private boolean readyToProcess;
   private int counter;
   private int numberOfprocessedRecords;
   private char separator;
   private boolean hasSeparator = false;
-  private int vErrorId = 1;
   private List<ValidationError> allValidationErrors;
 
   public Validator(String[] args) throws ParseException {
     this(new ValidatorParameters(args));
   }
 
-  public Validator(ValidatorParameters parameters) throws ParseException {
+  public Validator(ValidatorParameters parameters) {
     this.parameters = parameters;
     options = parameters.getOptions();
     readyToProcess = true;
     counter = 0;
+    errorCollector = new IssueCollector(parameters.getCollectorMemoryLimit() * 1024L * 1024L, parameters.getOutputDir());
   }
 
   public static void main(String[] args) {
@@ -113,33 +125,58 @@ public class Validator implements MarcFileProcessor, Serializable {
   @Override
   public void beforeIteration() {
     logger.info(parameters.formatParameters());
+    startTime = System.currentTimeMillis();
     if (!parameters.useStandardOutput()) {
-      detailsFile = prepareReportFile(parameters.getOutputDir(), parameters.getDetailsFileName());
-      logger.info("details output: " + detailsFile.getPath());
+      if (parameters.doParquet()) {
+        openParquetWriters();
+      } else if (parameters.doDetails() || (parameters.doSummary() && parameters.getSummaryFileName() == null)) {
+        detailsWriter = openReportWriter(parameters.getDetailsFileName());
+        if (detailsWriter != null)
+          logger.info("details output: " + detailsWriter.getFile().getPath());
+      }
       if (parameters.getSummaryFileName() != null) {
-        summaryFile = prepareReportFile(parameters.getOutputDir(), parameters.getSummaryFileName());
-        logger.info("summary output: " + summaryFile.getPath());
+        if (!parameters.doParquet()) {
+          summaryWriter = openReportWriter(parameters.getSummaryFileName());
+          if (summaryWriter != null)
+            logger.info("summary output: " + summaryWriter.getFile().getPath());
+        }
 
-        collectorFile = prepareReportFile(parameters.getOutputDir(), "issue-collector.csv");
+        collectorWriter = openReportWriter("issue-collector.csv");
         String header = ValidationErrorFormatter.formatHeaderForCollector(
           parameters.getFormat()
         );
-        print(collectorFile, header + "\n");
+        print(collectorWriter, header + "\n");
 
       } else {
         if (parameters.doSummary())
-          summaryFile = detailsFile;
+          summaryWriter = detailsWriter;
       }
     }
     if (parameters.doDetails()) {
       String header = ValidationErrorFormatter.formatHeaderForDetails(parameters.getFormat());
-      print(detailsFile, header + "\n");
+      print(detailsWriter, header + "\n");
     }
 
+    if (parameters.doSqlite())
+      openSqlite();
+
     if (parameters.collectAllErrors())
       allValidationErrors = new ArrayList<>();
   }
 
+  private void openSqlite() {
+    File database = prepareReportFile(parameters.getOutputDir(), ValidatorParameters.SQLITE_FILE_NAME);
+    try {
+      sqliteClient = new MarcSQLiteClient();
+      sqliteClient.connect(database.getPath());
+      sqliteClient.createSchema();
+      logger.info("SQLite output: " + database.getPath());
+    } catch (SQLException e) {
+      logger.log(Level.SEVERE, "openSqlite", e);
+      closeSqlite();
+    }
+  }
+
   private File prepareReportFile(String outputDir, String fileName) {
     File reportFile = new File(outputDir, fileName);
     if (reportFile.exists())
@@ -148,6 +185,53 @@ public class Validator implements MarcFileProcessor, Serializable {
     return reportFile;
   }
 
+  private ReportWriter openReportWriter(String fileName) {
+    if (parameters.doGzip())
+      fileName += ReportWriter.GZIP_EXTENSION;
+    File reportFile = prepareReportFile(parameters.getOutputDir(), fileName);
+    try {
+      return new ReportWriter(reportFile, parameters.doGzip());
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "openReportWriter", e);
+      return null;
+    }
+  }
+
+  /**
+   * Opens the Parquet files of the details and the summary. Without summaryFileName the summary
+   * can not share the file of the details (the columns are different), it goes to issue-summary.parquet.
+   */
+  private void openParquetWriters() {
+    if (parameters.doDetails()) {
+      MessageType schema = parameters.doSummary()
+        ? ParquetReportWriter.schemaBuilder()
+            .string("recordId").integer("errorId").integer("instances").build()
+        : ParquetReportWriter.schemaBuilder()
+            .string("recordId").string("MarcPath").integer("categoryId").integer("typeId")
+            .string("type").string("message").string("url").build();
+      detailsParquetWriter = openParquetWriter(parameters.getDetailsFileName(), schema);
+    }
+    if (parameters.doSummary()) {
+      MessageType schema = ParquetReportWriter.schemaBuilder()
+        .integer("id").string("MarcPath").integer("categoryId").integer("typeId")
+        .string("type").string("message").string("url").integer("instances").integer("records").build();
+      String fileName = parameters.getSummaryFileName() != null ? parameters.getSummaryFileName() : "issue-summary";
+      summaryParquetWriter = openParquetWriter(fileName, schema);
+    }
+  }
+
+  private ParquetReportWriter openParquetWriter(String fileName, MessageType schema) {
+    File reportFile = prepareReportFile(parameters.getOutputDir(), ParquetReportWriter.toParquetFileName(fileName));
+    try {
+      ParquetReportWriter writer = new ParquetReportWriter(reportFile, schema);
+      logger.info("Parquet output: " + reportFile.getPath());
+      return writer;
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "openParquetWriter", e);
+      return null;
+    }
+  }
+
   @Override
   public void fileOpened(Path currentFile) {
     // do nothing
@@ -168,8 +252,10 @@ public class Validator implements MarcFileProcessor, Serializable {
     if (marcRecord.getId() == null)
       logger.severe("No record number at " + i);
 
-    if (i % 100000 == 0)
-      logger.info("Number of error types so far: " + instanceBasedErrorCounter.size());
+    if (i % 100000 == 0) {
+      logger.info("Number of error types so far: " + errorRegistry.size());
+      logThroughput(i);
+    }
 
     if (parameters.getIgnorableRecords().isIgnorable(marcRecord)) {
       logger.info("skip " + marcRecord.getId() + " (ignorable record)");
@@ -183,26 +269,45 @@ public class Validator implements MarcFileProcessor, Serializable {
       if (parameters.doSummary())
         processSummary(marcRecord);
 
-      if (parameters.doDetails())
+      if (parameters.doDetails() && !isWorker)
         processDetails(marcRecord);
     } else {
       if (parameters.doSummary())
-        count(0, totalRecordCounter);
+        totalRecordCounter.count(0);
     }
     if (parameters.collectAllErrors())
       allValidationErrors.addAll(marcRecord.getValidationErrors());
     counter++;
+    if (parameters.getFlushInterval() > 0 && counter % parameters.getFlushInterval() == 0)
+      flushWriters();
   }
 
   private void processDetails(MarcRecord marcRecord) {
+    if (detailsParquetWriter != null) {
+      writeParquetDetails(marcRecord);
+      return;
+    }
+    String message = formatDetails(marcRecord);
+    if (message != null)
+      print(detailsWriter, message);
+  }
+
+  /**
+   * Formats the validation errors of a validated record for the details output. In summary mode
+   * the errors are referred by their identifiers, so the validator should already know them (from
+   * processRecord() or merge()).
+   * @param marcRecord The validated record
+   * @return The details of the errors, or null if the record is valid
+   */
+  public String formatDetails(MarcRecord marcRecord) {
     List<ValidationError> errors = marcRecord.getValidationErrors();
+    String message = null;
     if (!errors.isEmpty()) {
-      String message = null;
       if (parameters.doSummary()) {
         Map<Integer, Integer> errorIds = new HashMap<>();
         for (ValidationError error : errors) {
           if (error.getId() == null)
-            error.setId(hashedIndex.get(error.hashCode()));
+            error.setId(errorRegistry.getId(error));
           count(error.getId(), errorIds);
         }
         message = ValidationErrorFormatter.formatSimple(
@@ -211,52 +316,147 @@ public class Validator implements MarcFileProcessor, Serializable {
       } else {
         message = ValidationErrorFormatter.format(errors, parameters.getFormat(), parameters.getTrimId());
       }
-      if (message != null)
-        print(detailsFile, message);
     }
+    return message;
   }
 
-  private void processSummary(MarcRecord marcRecord) {
+  /**
+   * Writes the validation errors of a record into the Parquet details file. In summary mode it
+   * writes a row per error identifier, otherwise a row per error.
+   */
+  private void writeParquetDetails(MarcRecord marcRecord) {
     List<ValidationError> errors = marcRecord.getValidationErrors();
-    List<ValidationError> allButInvalidFieldErrors = new ArrayList<>();
-    Set<Integer> uniqueErrors = new HashSet<>();
-    Set<ValidationErrorType> uniqueTypes = new HashSet<>();
-    Set<ValidationErrorCategory> uniqueCategories = new HashSet<>();
-    for (ValidationError error : errors) {
-      if (!instanceBasedErrorCounter.containsKey(error)) {
-        error.setId(vErrorId++);
-        hashedIndex.put(error.hashCode(), error.getId());
+    try {
+      if (parameters.doSummary()) {
+        Map<Integer, Integer> errorIds = new TreeMap<>();
+        for (ValidationError error : errors)
+          count(error.getId(), errorIds);
+        String recordId = marcRecord.getId(parameters.getTrimId());
+        for (Map.Entry<Integer, Integer> entry : errorIds.entrySet())
+          detailsParquetWriter.write(recordId, entry.getKey(), entry.getValue());
       } else {
-        error.setId(hashedIndex.get(error.hashCode()));
+        for (ValidationError error : errors) {
+          error.setTrimId(parameters.getTrimId());
+          detailsParquetWriter.write(
+            error.getRecordId(), error.getMarcPath(), error.getType().getCategory().getId(),
+            error.getType().getId(), error.getType().getMessage(), error.getMessage(), error.getUrl()
+          );
+        }
       }
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "writeParquetDetails", e);
+    }
+  }
+
+  /**
+   * Writes a line of the details output (see formatDetails()).
+   */
+  public void printDetails(String message) {
+    print(detailsWriter, message);
+  }
+
+  private void processSummary(MarcRecord marcRecord) {
+    List<ValidationError> errors = marcRecord.getValidationErrors();
+    boolean hasNonFieldUndefinedErrors = false;
+    recordErrors.clear();
+    Set<ValidationErrorType> uniqueTypes = EnumSet.noneOf(ValidationErrorType.class);
+    Set<ValidationErrorCategory> uniqueCategories = EnumSet.noneOf(ValidationErrorCategory.class);
+    for (ValidationError error : errors) {
+      error.setId(errorRegistry.register(error));
 
       if (!error.getType().equals(ValidationErrorType.FIELD_UNDEFINED)) {
-        count(2, totalInstanceCounter);
-        allButInvalidFieldErrors.add(error);
+        totalInstanceCounter.count(2);
+        hasNonFieldUndefinedErrors = true;
       }
 
-      count(error, instanceBasedErrorCounter);
+      instanceBasedErrorCounter.count(error.getId());
       count(error.getType(), typeInstanceCounter);
       count(error.getType().getCategory(), categoryInstanceCounter);
-      count(1, totalInstanceCounter);
+      totalInstanceCounter.count(1);
       updateErrorCollector(marcRecord.getId(true), error.getId());
-      uniqueErrors.add(error.getId());
+      recordErrors.count(error.getId());
       uniqueTypes.add(error.getType());
       uniqueCategories.add(error.getType().getCategory());
     }
 
-    for (Integer id : uniqueErrors) {
-      count(id, recordBasedErrorCounter);
+    for (int i = 0; i < recordErrors.numberOfKeys(); i++) {
+      recordBasedErrorCounter.count(recordErrors.keyAt(i));
     }
+    if (sqliteClient != null)
+      writeSqliteDetails(marcRecord.getId(parameters.getTrimId()));
     for (ValidationErrorType id : uniqueTypes) {
       count(id, typeRecordCounter);
     }
     for (ValidationErrorCategory id : uniqueCategories) {
       count(id, categoryRecordCounter);
     }
-    count(1, totalRecordCounter);
-    if (!allButInvalidFieldErrors.isEmpty())
-      count(2, totalRecordCounter);
+    totalRecordCounter.count(1);
+    if (hasNonFieldUndefinedErrors)
+      totalRecordCounter.count(2);
+  }
+
+  private void writeSqliteDetails(String recordId) {
+    try {
+      for (int i = 0; i < recordErrors.numberOfKeys(); i++) {
+        int errorId = recordErrors.keyAt(i);
+        sqliteClient.addIssueDetails(recordId, errorId, recordErrors.get(errorId));
+      }
+    } catch (SQLException e) {
+      logger.log(Level.SEVERE, "writeSqliteDetails", e);
+      closeSqlite();
+    }
+  }
+
+  /**
+   * Creates a validator which shares the parameters, but not the counters of the current one, for
+   * validating a part of the records elsewhere (e.g. on a Spark executor). The worker collects the
+   * summary, but doesn't write anything. It knows the error identifiers of the current validator,
+   * so it can also format the details output (see formatDetails()).
+   * @return The worker validator
+   */
+  public Validator createWorker() {
+    Validator worker = new Validator(parameters);
+    worker.isWorker = true;
+    // the workers keep the record identifiers in memory, only the merged collector has a limit
+    worker.errorCollector = new IssueCollector();
+    worker.errorRegistry = new ValidationErrorRegistry(errorRegistry);
+    if (parameters.collectAllErrors())
+      worker.allValidationErrors = new ArrayList<>();
+    return worker;
+  }
+
+  /**
+   * Adds the counters of a worker to the counters of the current validator. The workers continue
+   * the numbering of the errors independently, so the errors the current validator has not seen yet
+   * get new identifiers in the order the worker found them. Merging the workers in the order of the
+   * records results the same identifiers as validating the records on a single thread.
+   * @param worker A worker created by createWorker()
+   */
+  public void merge(Validator worker) {
+    int[] workerIds = worker.instanceBasedErrorCounter.keys();
+    Arrays.sort(workerIds);
+    int[] idMap = new int[worker.errorRegistry.size() + 1];
+    for (int workerId : workerIds) {
+      int id = errorRegistry.register(worker.errorRegistry.get(workerId));
+      idMap[workerId] = id;
+      instanceBasedErrorCounter.add(id, worker.instanceBasedErrorCounter.get(workerId));
+    }
+
+    for (int i = 0; i < worker.recordBasedErrorCounter.numberOfKeys(); i++) {
+      int id = worker.recordBasedErrorCounter.keyAt(i);
+      recordBasedErrorCounter.add(idMap[id], worker.recordBasedErrorCounter.get(id));
+    }
+    errorCollector.merge(worker.errorCollector, id -> idMap[id]);
+
+    Utils.merge(worker.categoryRecordCounter, categoryRecordCounter);
+    Utils.merge(worker.categoryInstanceCounter, categoryInstanceCounter);
+    Utils.merge(worker.typeRecordCounter, typeRecordCounter);
+    Utils.merge(worker.typeInstanceCounter, typeInstanceCounter);
+    totalRecordCounter.merge(worker.totalRecordCounter);
+    totalInstanceCounter.merge(worker.totalInstanceCounter);
+    counter += worker.counter;
+    if (allValidationErrors != null && worker.allValidationErrors != null)
+      allValidationErrors.addAll(worker.allValidationErrors);
   }
 
   @Override
@@ -278,23 +478,42 @@ public class Validator implements MarcFileProcessor, Serializable {
       logger.info("printCollector");
       printCollector();
     }
+    if (sqliteClient != null) {
+      logger.info("index SQLite database");
+      try {
+        sqliteClient.createIndexes();
+      } catch (SQLException e) {
+        logger.log(Level.SEVERE, "afterIteration", e);
+      }
+      closeSqlite();
+    }
+    closeWriters();
+    logThroughput(numberOfprocessedRecords);
     logger.info("all printing is DONE");
   }
 
   private void printCounter() {
-    File countFile = prepareReportFile(parameters.getOutputDir(), "count.csv");
-    if (parameters.getIgnorableRecords().isEmpty()) {
-      printToFile(countFile, "total\n");
-      printToFile(countFile, String.valueOf(numberOfprocessedRecords) + "\n");
-    } else {
-      printToFile(countFile, StringUtils.join(Arrays.asList("total", "processed"), ",") + "\n");
-      printToFile(countFile, StringUtils.join(Arrays.asList(numberOfprocessedRecords, counter), ",") + "\n");
+    var path = Paths.get(parameters.getOutputDir(), "count.csv");
+    try (var writer = Files.newBufferedWriter(path)) {
+      if (parameters.getIgnorableRecords().isEmpty()) {
+        writer.write(createRow("total"));
+        writer.write(createRow(numberOfprocessedRecords));
+      } else {
+        writer.write(createRow("total", "processed"));
+        writer.write(createRow(numberOfprocessedRecords, counter));
+      }
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "printCounter", e);
     }
   }
 
   private void printCollector() {
-    for (Map.Entry<Integer, Set<String>> entry : errorCollector.entrySet()) {
-      printCollectorEntry(entry.getKey(), entry.getValue());
+    try {
+      errorCollector.write(getSeparator(), line -> print(collectorWriter, line));
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "printCollector", e);
+    } finally {
+      errorCollector.close();
     }
   }
 
@@ -302,30 +521,31 @@ public class Validator implements MarcFileProcessor, Serializable {
     String header = ValidationErrorFormatter.formatHeaderForSummary(
       parameters.getFormat()
     );
-    print(summaryFile, header + "\n");
-    instanceBasedErrorCounter
-      .entrySet()
-      .stream()
+    print(summaryWriter, header + "\n");
+    Arrays.stream(instanceBasedErrorCounter.keys())
+      .boxed()
       .sorted((a,b) -> {
-        Integer typeIdA = Integer.valueOf(a.getKey().getType().getId());
-        Integer typeIdB = Integer.valueOf(b.getKey().getType().getId());
-        int result = typeIdA.compareTo(typeIdB);
-        if (result == 0) {
-          Integer recordCountA = recordBasedErrorCounter.get(a.getKey().getId());
-          Integer recordCountB = recordBasedErrorCounter.get(b.getKey().getId());
-          result = recordCountB.compareTo(recordCountA);
-        }
+        int result = Integer.compare(errorRegistry.get(a).getType().getId(), errorRegistry.get(b).getType().getId());
+        if (result == 0)
+          result = Integer.compare(recordBasedErrorCounter.get(b), recordBasedErrorCounter.get(a));
+        if (result == 0)
+          result = a.compareTo(b);
         return result;
       })
       .forEach(
-        entry -> {
-          ValidationError error = entry.getKey();
-          int instanceCount = entry.getValue();
+        id -> {
+          ValidationError error = errorRegistry.get(id);
+          if (sqliteClient != null)
+            writeSqliteSummary(id, error);
+          if (summaryParquetWriter != null) {
+            writeParquetSummary(id, error);
+            return;
+          }
           String formattedOutput = ValidationErrorFormatter.formatForSummary(
             error, parameters.getFormat()
           );
-          print(summaryFile, createRow(
-            separator, error.getId(), formattedOutput, instanceCount, recordBasedErrorCounter.get(error.getId())
+          print(summaryWriter, createRow(
+            separator, id, formattedOutput, instanceBasedErrorCounter.get(id), recordBasedErrorCounter.get(id)
           ));
         }
       );
@@ -343,6 +563,42 @@ public class Validator implements MarcFileProcessor, Serializable {
     */
   }
 
+  private void writeParquetSummary(int id, ValidationError error) {
+    try {
+      summaryParquetWriter.write(
+        id, error.getMarcPath(), error.getType().getCategory().getId(), error.getType().getId(),
+        error.getType().getMessage(), error.getMessage(), error.getUrl(),
+        instanceBasedErrorCounter.get(id), recordBasedErrorCounter.get(id)
+      );
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "writeParquetSummary", e);
+    }
+  }
+
+  private void writeSqliteSummary(int id, ValidationError error) {
+    try {
+      sqliteClient.addIssueSummary(
+        id, error.getMarcPath(), error.getType().getCategory().getId(), error.getType().getId(),
+        error.getType().getMessage(), error.getMessage(), error.getUrl(),
+        instanceBasedErrorCounter.get(id), recordBasedErrorCounter.get(id)
+      );
+    } catch (SQLException e) {
+      logger.log(Level.SEVERE, "writeSqliteSummary", e);
+      closeSqlite();
+    }
+  }
+
+  private void closeSqlite() {
+    if (sqliteClient == null)
+      return;
+    try {
+      sqliteClient.close();
+    } catch (SQLException e) {
+      logger.log(Level.SEVERE, "closeSqlite", e);
+    }
+    sqliteClient = null;
+  }
+
   private void printTypeCounts() {
     var path = Paths.get(parameters.getOutputDir(), "issue-by-type.csv");
     try (var writer = Files.newBufferedWriter(path)) {
@@ -373,14 +629,13 @@ public class Validator implements MarcFileProcessor, Serializable {
     try (var writer = Files.newBufferedWriter(path)) {
       writer.write(createRow("type", "instances", "records"));
       // writer.write(createRow("total", totalInstanceCounter.get(1), totalRecordCounter.get(1)));
-      totalRecordCounter
-        .entrySet()
-        .stream()
-        .forEach(entry -> {
-          int records = entry.getValue();
-          int instances = totalInstanceCounter.getOrDefault(entry.getKey(), 0);
+      Arrays.stream(totalRecordCounter.keys())
+        .sorted()
+        .forEach(type -> {
+          int records = totalRecordCounter.get(type);
+          int instances = totalInstanceCounter.get(type);
           try {
-            writer.write(createRow(entry.getKey(), instances, records));
+            writer.write(createRow(type, instances, records));
           } catch (IOException e) {
             logger.log(Level.SEVERE, "printTotalCounts", e);
           }
@@ -421,43 +676,79 @@ public class Validator implements MarcFileProcessor, Serializable {
   }
 
   private void printCollectorEntry(Integer errorId, Set<String> recordIds) {
-    print(collectorFile, String.valueOf(errorId) + separator);
-    boolean isFirst = true;
-    for (String recordId : recordIds) {
-      print(collectorFile, (isFirst ? "" : ";") + recordId);
-      if (isFirst)
-        isFirst = false;
-    }
-    print(collectorFile, "\n");
+    print(collectorWriter, IssueCollector.formatLine(errorId, recordIds, getSeparator()));
   }
 
-  private void print(File file, String message) {
+  private void print(ReportWriter writer, String message) {
     if (parameters.useStandardOutput())
       System.out.print(message);
-    else {
-      printToFile(file, message);
+    else if (writer != null) {
+      try {
+        writer.write(message);
+      } catch (IOException e) {
+        if (parameters.doLog())
+          logger.log(Level.SEVERE, "print", e);
+      }
     }
   }
 
-  private void printToFile(File file, String message) {
-    try {
-      FileUtils.writeStringToFile(file, message, Charset.defaultCharset(), true);
-    } catch (IOException e) {
-      if (parameters.doLog())
-        logger.log(Level.SEVERE, "printToFile", e);
+  private List<ReportWriter> getWriters() {
+    List<ReportWriter> writers = new ArrayList<>();
+    for (ReportWriter writer : Arrays.asList(detailsWriter, summaryWriter, collectorWriter))
+      if (writer != null && !writers.contains(writer))
+        writers.add(writer);
+    return writers;
+  }
+
+  private void flushWriters() {
+    for (ReportWriter writer : getWriters()) {
+      try {
+        writer.flush();
+      } catch (IOException e) {
+        logger.log(Level.SEVERE, "flushWriters", e);
+      }
+    }
+  }
+
+  private void closeWriters() {
+    for (ReportWriter writer : getWriters()) {
+      try {
+        writer.close();
+      } catch (IOException e) {
+        logger.log(Level.SEVERE, "closeWriters", e);
+      }
     }
+    for (ParquetReportWriter writer : Arrays.asList(detailsParquetWriter, summaryParquetWriter)) {
+      if (writer != null) {
+        try {
+          writer.close();
+        } catch (IOException e) {
+          logger.log(Level.SEVERE, "closeWriters", e);
+        }
+      }
+    }
+  }
+
+  private void logThroughput(int numberOfRecords) {
+    if (!parameters.doLog())
+      return;
+    long duration = Math.max(System.currentTimeMillis() - startTime, 1);
+    long characters = 0;
+    for (ReportWriter writer : getWriters())
+      characters += writer.getNumberOfCharacters();
+    logger.info(String.format("throughput: %d records in %d ms (%d records/s), %d characters written",
+      numberOfRecords, duration, numberOfRecords * 1000L / duration, characters));
   }
 
   private void updateErrorCollector(String recordId, int errorId) {
-    if (!errorCollector.containsKey(errorId)) {
-      errorCollector.put(errorId, new HashSet<>());
-    } else if (parameters.doEmptyLargeCollectors()) {
-      if (errorCollector.get(errorId).size() >= 1000) {
-        printCollectorEntry(errorId, errorCollector.get(errorId));
-        errorCollector.put(errorId, new HashSet<>());
+    if (parameters.doEmptyLargeCollectors() && !isWorker) {
+      Set<String> recordIds = errorCollector.get(errorId);
+      if (recordIds != null && recordIds.size() >= 1000) {
+        printCollectorEntry(errorId, recordIds);
+        errorCollector.remove(errorId);
       }
     }
-    errorCollector.get(errorId).add(recordId);
+    errorCollector.add(errorId, recordId);
   }
 
   public boolean doPrintInProcessRecord() {
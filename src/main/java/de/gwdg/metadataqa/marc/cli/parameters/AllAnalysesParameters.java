@@ -0,0 +1,154 @@
+package de.gwdg.metadataqa.marc.cli.parameters;
+
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parameters of running several analyses in one iteration. It accepts the options of all the
+ * analyses. Each analysis receives only those options it knows, so a command line prepared for
+ * the individual analyses (such as in common-script) can be reused without modification.
+ *
+ * Some analyses use the same short option for different things (e.g. -f is marcFormat in common,
+ * but fileName in tt-completeness), so an option whose short name is already taken is accepted
+ * only by its long name. The --fileName of the analyses writing a single report is replaced by an
+ * option of each analysis (see AnalysisType.getFileNameOption()), so the reports don't overwrite
+ * each other.
+ */
+public class AllAnalysesParameters extends CommonParameters implements Serializable {
+
+  private static final String FILE_NAME = "fileName";
+
+  private List<AnalysisType> analyses = new ArrayList<>(Arrays.asList(AnalysisType.values()));
+  private String[] arguments;
+  private boolean isOptionSet;
+
+  protected void setOptions() {
+    if (!isOptionSet) {
+      super.setOptions();
+      options.addOption("A", "analyses", true, String.format(
+        "comma separated list of analyses to run (default: all). Possible values: %s",
+        StringUtils.join(getLabels(Arrays.asList(AnalysisType.values())), ", ")));
+      for (AnalysisType type : AnalysisType.values())
+        for (Option option : type.createParameters().getOptions().getOptions())
+          addOption(type, option);
+      isOptionSet = true;
+    }
+  }
+
+  private void addOption(AnalysisType type, Option option) {
+    String longName = option.getLongOpt();
+    String description = option.getDescription();
+    if (isFileNameOption(type, longName)) {
+      longName = type.getFileNameOption();
+      description = String.format("%s: %s", type.getLabel(), description);
+    }
+    if (options.hasLongOption(longName))
+      return;
+
+    String shortName = option.getOpt();
+    if (options.hasShortOption(shortName))
+      shortName = null;
+    options.addOption(
+      Option.builder(shortName).longOpt(longName).hasArg(option.hasArg()).desc(description).build());
+  }
+
+  private static boolean isFileNameOption(AnalysisType type, String longName) {
+    return type.getFileNameOption() != null && longName.equals(FILE_NAME);
+  }
+
+  public AllAnalysesParameters() {
+    super();
+  }
+
+  public AllAnalysesParameters(String[] arguments) throws ParseException {
+    super(arguments);
+    this.arguments = arguments;
+
+    if (cmd.hasOption("analyses"))
+      setAnalyses(cmd.getOptionValue("analyses"));
+  }
+
+  public List<AnalysisType> getAnalyses() {
+    return analyses;
+  }
+
+  public void setAnalyses(String analysesString) throws ParseException {
+    analyses = new ArrayList<>();
+    for (String label : analysesString.split(",")) {
+      AnalysisType type = AnalysisType.byLabel(label.trim());
+      if (type == null)
+        throw new ParseException(String.format("Unrecognized analyses parameter value: '%s'", label));
+      if (!analyses.contains(type))
+        analyses.add(type);
+    }
+  }
+
+  /**
+   * Selects those command line arguments which are known by the given analysis. The options are
+   * passed by their long names, since the analyses might assign the short names differently. The
+   * non option arguments (the file names) are passed to every analysis.
+   * @param type The analysis
+   * @return The command line arguments of the analysis
+   */
+  public String[] getArguments(AnalysisType type) {
+    Options targetOptions = type.createParameters().getOptions();
+    List<String> selected = new ArrayList<>();
+    for (int i = 0; i < arguments.length; i++) {
+      String argument = arguments[i];
+      if (argument.length() < 2 || !argument.startsWith("-")) {
+        selected.add(argument);
+        continue;
+      }
+      String name = StringUtils.stripStart(argument, "-");
+      String inlineValue = null;
+      if (name.contains("=")) {
+        inlineValue = name.substring(name.indexOf('=') + 1);
+        name = name.substring(0, name.indexOf('='));
+      }
+
+      Option option = options.getOption(name);
+      boolean hasValue = inlineValue == null && option != null && option.hasArg() && i + 1 < arguments.length;
+      String targetName = option == null ? null : getTargetName(type, option.getLongOpt());
+      if (targetName != null && targetOptions.hasLongOption(targetName)) {
+        selected.add("--" + targetName + (inlineValue == null ? "" : "=" + inlineValue));
+        if (hasValue)
+          selected.add(arguments[i + 1]);
+      }
+      if (hasValue)
+        i++;
+    }
+    return selected.toArray(new String[0]);
+  }
+
+  /**
+   * @return the long name of the option in the parameters of the analysis
+   */
+  private static String getTargetName(AnalysisType type, String longName) {
+    if (longName == null)
+      return null;
+    if (longName.equals(type.getFileNameOption()))
+      return FILE_NAME;
+    return longName;
+  }
+
+  private static List<String> getLabels(List<AnalysisType> types) {
+    List<String> labels = new ArrayList<>();
+    for (AnalysisType type : types)
+      labels.add(type.getLabel());
+    return labels;
+  }
+
+  @Override
+  public String formatParameters() {
+    String text = super.formatParameters();
+    text += String.format("analyses: %s%n", StringUtils.join(getLabels(analyses), ", "));
+    return text;
+  }
+}
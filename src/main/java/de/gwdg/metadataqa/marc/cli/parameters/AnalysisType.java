@@ -0,0 +1,58 @@
+package de.gwdg.metadataqa.marc.cli.parameters;
+
+import java.util.function.Supplier;
+
+/**
+ * The analyses which can be run together in a single iteration over the records.
+ */
+public enum AnalysisType {
+  VALIDATE("validate", ValidatorParameters::new),
+  COMPLETENESS("completeness", CompletenessParameters::new),
+  CLASSIFICATIONS("classifications", ValidatorParameters::new),
+  AUTHORITIES("authorities", ValidatorParameters::new),
+  TT_COMPLETENESS("tt-completeness", ThompsonTraillCompletenessParameters::new, "ttCompletenessFileName"),
+  SHELF_READY_COMPLETENESS("shelf-ready-completeness", ShelfReadyCompletenessParameters::new, "shelfReadyFileName"),
+  SERIAL_SCORE("serial-score", SerialScoreParameters::new, "serialScoreFileName"),
+  FUNCTIONAL_ANALYSIS("functional-analysis", CompletenessParameters::new)
+  ;
+
+  private String label;
+  private Supplier<CommonParameters> parameters;
+  private String fileNameOption;
+
+  AnalysisType(String label, Supplier<CommonParameters> parameters) {
+    this(label, parameters, null);
+  }
+
+  AnalysisType(String label, Supplier<CommonParameters> parameters, String fileNameOption) {
+    this.label = label;
+    this.parameters = parameters;
+    this.fileNameOption = fileNameOption;
+  }
+
+  public String getLabel() {
+    return label;
+  }
+
+  /**
+   * @return the name of the option which sets the --fileName of this analysis when the analyses
+   * run together (they would overwrite each other's report otherwise), or null
+   */
+  public String getFileNameOption() {
+    return fileNameOption;
+  }
+
+  /**
+   * @return an empty instance of the parameter class the analysis uses
+   */
+  public CommonParameters createParameters() {
+    return parameters.get();
+  }
+
+  public static AnalysisType byLabel(String label) {
+    for (AnalysisType type : values())
+      if (type.label.equals(label))
+        return type;
+    return null;
+  }
+}
@@ -11,6 +11,8 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.io.InputStream;
 import java.io.Serializable;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 public class CommonParameters implements Serializable {
 
@@ -25,6 +27,7 @@ public class CommonParameters implements Serializable {
   protected int limit = -1;
   protected int offset = -1;
   protected String id = null;
+  protected Set<String> ids = new LinkedHashSet<>();
   protected Leader.Type defaultRecordType = null;
   protected boolean fixAlephseq = false;
   protected boolean fixAlma = false;
@@ -38,6 +41,11 @@ public class CommonParameters implements Serializable {
   protected IgnorableFields ignorableFields = new IgnorableFields();
   protected InputStream stream = null;
   protected String defaultEncoding = null;
+  protected int threads = 1;
+  protected int fileThreads = 1;
+  protected boolean nativeReader = false;
+  protected boolean memoryMapped = false;
+  protected boolean parquet = false;
 
   protected Options options = new Options();
   protected static final CommandLineParser parser = new DefaultParser();
@@ -51,7 +59,7 @@ public class CommonParameters implements Serializable {
       options.addOption("n", "nolog", false, "do not display log messages");
       options.addOption("l", "limit", true, "limit the number of records to process");
       options.addOption("o", "offset", true, "the first record to process");
-      options.addOption("i", "id", true, "the MARC identifier (content of 001)");
+      options.addOption("i", "id", true, "the MARC identifier (content of 001), or a comma separated list of identifiers");
       options.addOption("d", "defaultRecordType", true, "the default record type if the record's type is undetectable");
       options.addOption("q", "fixAlephseq", false, "fix the known issues of Alephseq format");
       options.addOption("X", "fixAlma", false, "fix the known issues of Alma format");
@@ -66,6 +74,11 @@ public class CommonParameters implements Serializable {
       options.addOption("f", "marcFormat", true, "MARC format (like 'ISO' or 'MARCXML')");
       options.addOption("s", "dataSource", true, "data source (file of stream)");
       options.addOption("g", "defaultEncoding", true, "default character encoding");
+      options.addOption("T", "threads", true, "the number of threads processing the records");
+      options.addOption("F", "fileThreads", true, "the number of input files processed at the same time");
+      options.addOption("N", "nativeReader", false, "read binary MARC records without marc4j (ISO and LINE_SEPARATED formats)");
+      options.addOption("M", "memoryMapped", false, "map the binary MARC files into memory (implies nativeReader)");
+      options.addOption("P", "parquet", false, "write the large reports as Parquet files instead of CSV");
       isOptionSet = true;
     }
   }
@@ -99,7 +112,7 @@ public class CommonParameters implements Serializable {
       limit += offset;
 
     if (cmd.hasOption("id"))
-      id = cmd.getOptionValue("id").trim();
+      setId(cmd.getOptionValue("id").trim());
 
     if (cmd.hasOption("defaultRecordType"))
       setDefaultRecordType(cmd.getOptionValue("defaultRecordType"));
@@ -129,6 +142,18 @@ public class CommonParameters implements Serializable {
     if (cmd.hasOption("defaultEncoding"))
       setDefaultEncoding(cmd.getOptionValue("defaultEncoding"));
 
+    if (cmd.hasOption("threads"))
+      setThreads(cmd.getOptionValue("threads"));
+
+    if (cmd.hasOption("fileThreads"))
+      setFileThreads(cmd.getOptionValue("fileThreads"));
+
+    nativeReader = cmd.hasOption("nativeReader");
+
+    setMemoryMapped(cmd.hasOption("memoryMapped"));
+
+    parquet = cmd.hasOption("parquet");
+
     args = cmd.getArgs();
   }
 
@@ -232,6 +257,26 @@ public class CommonParameters implements Serializable {
 
   public void setId(String id) {
     this.id = id;
+    ids = new LinkedHashSet<>();
+    if (id != null)
+      for (String part : id.split(","))
+        if (StringUtils.isNotBlank(part))
+          ids.add(part.trim());
+  }
+
+  /**
+   * @return The identifiers of the records to process (the --id parameter split by commas)
+   */
+  public Set<String> getIds() {
+    return ids;
+  }
+
+  /**
+   * @param controlNumber The content of 001
+   * @return Whether the record is one of the records selected by the --id parameter
+   */
+  public boolean isSelectedId(String controlNumber) {
+    return controlNumber != null && ids.contains(controlNumber.trim());
   }
 
   public Leader.Type getDefaultRecordType() {
@@ -357,6 +402,68 @@ public class CommonParameters implements Serializable {
     this.defaultEncoding = defaultEncoding;
   }
 
+  public int getThreads() {
+    return threads;
+  }
+
+  public void setThreads(int threads) {
+    this.threads = threads;
+  }
+
+  public void setThreads(String threads) throws ParseException {
+    try {
+      this.threads = Integer.parseInt(threads.trim());
+    } catch (NumberFormatException e) {
+      throw new ParseException(String.format("Unrecognized threads parameter value: '%s'", threads));
+    }
+    if (this.threads < 1)
+      throw new ParseException(String.format("The number of threads should be at least 1, got: '%s'", threads));
+  }
+
+  public int getFileThreads() {
+    return fileThreads;
+  }
+
+  public void setFileThreads(int fileThreads) {
+    this.fileThreads = fileThreads;
+  }
+
+  public void setFileThreads(String fileThreads) throws ParseException {
+    try {
+      this.fileThreads = Integer.parseInt(fileThreads.trim());
+    } catch (NumberFormatException e) {
+      throw new ParseException(String.format("Unrecognized fileThreads parameter value: '%s'", fileThreads));
+    }
+    if (this.fileThreads < 1)
+      throw new ParseException(String.format("The number of file threads should be at least 1, got: '%s'", fileThreads));
+  }
+
+  public boolean useNativeReader() {
+    return nativeReader;
+  }
+
+  public void setNativeReader(boolean nativeReader) {
+    this.nativeReader = nativeReader;
+  }
+
+  public boolean isMemoryMapped() {
+    return memoryMapped;
+  }
+
+  public void setMemoryMapped(boolean memoryMapped) {
+    this.memoryMapped = memoryMapped;
+    if (memoryMapped)
+      nativeReader = true;
+  }
+
+  public boolean doParquet() {
+    return parquet;
+  }
+
+  public void setParquet(boolean parquet) {
+    this.parquet = parquet;
+  }
+
   public String formatParameters() {
     String text = "";
     text += String.format("marcVersion: %s, %s%n", marcVersion.getCode(), marcVersion.getLabel());
@@ -377,6 +484,11 @@ public class CommonParameters implements Serializable {
     text += String.format("ignorableFields: %s%n", ignorableFields);
     text += String.format("ignorableRecords: %s%n", ignorableRecords);
     text += String.format("defaultEncoding: %s%n", defaultEncoding);
+    text += String.format("threads: %d%n", threads);
+    text += String.format("fileThreads: %d%n", fileThreads);
+    text += String.format("nativeReader: %s%n", nativeReader);
+    text += String.format("memoryMapped: %s%n", memoryMapped);
+    text += String.format("parquet: %s%n", parquet);
 
     return text;
   }
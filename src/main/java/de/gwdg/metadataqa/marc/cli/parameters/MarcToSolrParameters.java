@@ -1,13 +1,19 @@
 package de.gwdg.metadataqa.marc.cli.parameters;
 
+import de.gwdg.metadataqa.marc.datastore.MarcSolrClient;
 import de.gwdg.metadataqa.marc.model.SolrFieldType;
 import org.apache.commons.cli.ParseException;
 
 public class MarcToSolrParameters extends CommonParameters {
 
+  public static final int DEFAULT_COMMIT_WITHIN = 10000;
+
   private String solrUrl = null;
   private boolean doCommit = false;
   private SolrFieldType solrFieldType = SolrFieldType.MARC;
+  private int batchSize = MarcSolrClient.DEFAULT_BATCH_SIZE;
+  private int connections = MarcSolrClient.DEFAULT_CONNECTIONS;
+  private int commitWithin = DEFAULT_COMMIT_WITHIN;
 
   private boolean isOptionSet = false;
 
@@ -18,6 +24,15 @@ public class MarcToSolrParameters extends CommonParameters {
       options.addOption("c", "doCommit", false, "send commits to Solr regularly");
       options.addOption("t", "solrFieldType", true,
         "type of Solr fields, could be one of 'marc-tags', 'human-readable', or 'mixed'");
+      options.addOption("b", "batchSize", true,
+        String.format("the number of documents sent to Solr in one request (default: %d)",
+          MarcSolrClient.DEFAULT_BATCH_SIZE));
+      options.addOption("k", "connections", true,
+        String.format("the number of concurrent requests sent to Solr (default: %d)",
+          MarcSolrClient.DEFAULT_CONNECTIONS));
+      options.addOption("w", "commitWithin", true,
+        String.format("with doCommit: the time (in milliseconds) within Solr should commit the documents (default: %d)",
+          DEFAULT_COMMIT_WITHIN));
       isOptionSet = true;
     }
   }
@@ -33,6 +48,27 @@ public class MarcToSolrParameters extends CommonParameters {
 
     if (cmd.hasOption("solrFieldType"))
       solrFieldType = SolrFieldType.byCode(cmd.getOptionValue("solrFieldType"));
+
+    if (cmd.hasOption("batchSize"))
+      batchSize = parsePositiveInt("batchSize", cmd.getOptionValue("batchSize"));
+
+    if (cmd.hasOption("connections"))
+      connections = parsePositiveInt("connections", cmd.getOptionValue("connections"));
+
+    if (cmd.hasOption("commitWithin"))
+      commitWithin = parsePositiveInt("commitWithin", cmd.getOptionValue("commitWithin"));
+  }
+
+  private int parsePositiveInt(String name, String value) throws ParseException {
+    int number;
+    try {
+      number = Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      throw new ParseException(String.format("Unrecognized %s parameter value: '%s'", name, value));
+    }
+    if (number < 1)
+      throw new ParseException(String.format("The %s should be a positive number, got: '%s'", name, value));
+    return number;
   }
 
   public String getSolrUrl() {
@@ -46,4 +82,28 @@ public class MarcToSolrParameters extends CommonParameters {
   public SolrFieldType getSolrFieldType() {
     return solrFieldType;
   }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public int getConnections() {
+    return connections;
+  }
+
+  public int getCommitWithin() {
+    return commitWithin;
+  }
+
+  @Override
+  public String formatParameters() {
+    String text = super.formatParameters();
+    text += String.format("solrUrl: %s%n", solrUrl);
+    text += String.format("doCommit: %s%n", doCommit);
+    text += String.format("solrFieldType: %s%n", solrFieldType);
+    text += String.format("batchSize: %d%n", batchSize);
+    text += String.format("connections: %d%n", connections);
+    text += String.format("commitWithin: %d%n", commitWithin);
+    return text;
+  }
 }
@@ -2,7 +2,8 @@ package de.gwdg.metadataqa.marc.cli.parameters;
 
 public enum NetworkAction {
   PRIMARY("primary"),
-  PAIRING("pairing")
+  PAIRING("pairing"),
+  SCORES("scores")
   ;
 
   private String label;
@@ -9,13 +9,15 @@ public class NetworkParameters extends CommonParameters implements Serializable
 
   private NetworkAction action = NetworkAction.PRIMARY;
   private int groupLimit = 1000;
+  private boolean binary = false;
   private boolean isOptionSet;
 
   protected void setOptions() {
     if (!isOptionSet) {
       super.setOptions();
-      options.addOption("a", "action", true, "action: 'primary' (default), 'pairing'");
+      options.addOption("a", "action", true, "action: 'primary' (default), 'pairing', 'scores'");
       options.addOption("l", "group-limit", true, "pair creation limit");
+      options.addOption("b", "binary", false, "write the pairs as a binary edge list (network-pairs*.bin)");
       isOptionSet = true;
     }
   }
@@ -39,6 +41,9 @@ public class NetworkParameters extends CommonParameters implements Serializable
     if (cmd.hasOption("group-limit")) {
       groupLimit = Integer.parseInt(cmd.getOptionValue("group-limit"));
     }
+
+    if (cmd.hasOption("binary"))
+      binary = true;
   }
 
   public NetworkAction getAction() {
@@ -49,11 +54,16 @@ public class NetworkParameters extends CommonParameters implements Serializable
     return groupLimit;
   }
 
+  public boolean isBinary() {
+    return binary;
+  }
+
   @Override
   public String formatParameters() {
     String text = super.formatParameters();
     text += String.format("action: %s%n", action);
     text += String.format("group-limit: %d%n", groupLimit);
+    text += String.format("binary: %s%n", binary);
     return text;
   }
 }
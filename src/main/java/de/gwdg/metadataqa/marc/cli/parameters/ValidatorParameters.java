@@ -7,6 +7,8 @@ import java.io.Serializable;
 
 public class ValidatorParameters extends CommonParameters implements Serializable {
   public static final String DEFAULT_FILE_NAME = "validation-report.txt";
+  public static final int DEFAULT_FLUSH_INTERVAL = 10000;
+  public static final String SQLITE_FILE_NAME = "qa_catalogue.sqlite";
 
   private String detailsFileName = DEFAULT_FILE_NAME;
   private String summaryFileName;
@@ -17,6 +19,10 @@ public class ValidatorParameters extends CommonParameters implements Serializabl
   private boolean isOptionSet;
   private boolean emptyLargeCollectors = false;
   private boolean collectAllErrors = false;
+  private boolean gzip = false;
+  private int flushInterval = DEFAULT_FLUSH_INTERVAL;
+  private int collectorMemoryLimit = 0;
+  private boolean sqlite = false;
 
   protected void setOptions() {
     if (!isOptionSet) {
@@ -29,6 +35,13 @@ public class ValidatorParameters extends CommonParameters implements Serializabl
       options.addOption("r", "format", true, "specify a format");
       options.addOption("w", "emptyLargeCollectors", false, "empty large collectors");
       options.addOption("t", "collectAllErrors", false, "collect all errors (useful only for validating small number of records)");
+      options.addOption("G", "gzip", false, "compress the details, summary and collector files with gzip (adds '.gz' to the file names)");
+      options.addOption("I", "flushInterval", true,
+        String.format("write the buffered output to the files after every N records (default is %d, 0 means only at the end)", DEFAULT_FLUSH_INTERVAL));
+      options.addOption("W", "collectorMemoryLimit", true,
+        "the memory (in MB) the issue collector may use, above it the collected record identifiers are written into temporary files (default is 0, no limit)");
+      options.addOption("Q", "sqlite", false,
+        String.format("write the issue details and summary into the SQLite database '%s' (requires summary)", SQLITE_FILE_NAME));
       isOptionSet = true;
     }
   }
@@ -67,6 +80,21 @@ public class ValidatorParameters extends CommonParameters implements Serializabl
       emptyLargeCollectors = true;
 
     setCollectAllErrors(cmd.hasOption("collectAllErrors"));
+
+    if (cmd.hasOption("gzip"))
+      gzip = true;
+
+    if (cmd.hasOption("flushInterval"))
+      setFlushInterval(cmd.getOptionValue("flushInterval"));
+
+    if (cmd.hasOption("collectorMemoryLimit"))
+      setCollectorMemoryLimit(cmd.getOptionValue("collectorMemoryLimit"));
+
+    if (cmd.hasOption("sqlite")) {
+      if (!doSummary)
+        throw new ParseException("The SQLite output requires the summary (summary or summaryFileName parameter)!");
+      sqlite = true;
+    }
   }
 
   public String getDetailsFileName() {
@@ -135,6 +163,61 @@ public class ValidatorParameters extends CommonParameters implements Serializabl
     this.collectAllErrors = collectAllErrors;
   }
 
+  public boolean doGzip() {
+    return gzip;
+  }
+
+  public void setGzip(boolean gzip) {
+    this.gzip = gzip;
+  }
+
+  public int getFlushInterval() {
+    return flushInterval;
+  }
+
+  public void setFlushInterval(int flushInterval) {
+    this.flushInterval = flushInterval;
+  }
+
+  public void setFlushInterval(String flushInterval) throws ParseException {
+    try {
+      this.flushInterval = Integer.parseInt(flushInterval.trim());
+    } catch (NumberFormatException e) {
+      throw new ParseException(String.format("Unrecognized flushInterval parameter value: '%s'", flushInterval));
+    }
+    if (this.flushInterval < 0)
+      throw new ParseException(String.format("The flushInterval should not be negative, got: '%s'", flushInterval));
+  }
+
+  /**
+   * @return The memory limit of the issue collector in MB, 0 means no limit
+   */
+  public int getCollectorMemoryLimit() {
+    return collectorMemoryLimit;
+  }
+
+  public void setCollectorMemoryLimit(int collectorMemoryLimit) {
+    this.collectorMemoryLimit = collectorMemoryLimit;
+  }
+
+  public void setCollectorMemoryLimit(String collectorMemoryLimit) throws ParseException {
+    try {
+      this.collectorMemoryLimit = Integer.parseInt(collectorMemoryLimit.trim());
+    } catch (NumberFormatException e) {
+      throw new ParseException(String.format("Unrecognized collectorMemoryLimit parameter value: '%s'", collectorMemoryLimit));
+    }
+    if (this.collectorMemoryLimit < 0)
+      throw new ParseException(String.format("The collectorMemoryLimit should not be negative, got: '%s'", collectorMemoryLimit));
+  }
+
+  public boolean doSqlite() {
+    return sqlite;
+  }
+
+  public void setSqlite(boolean sqlite) {
+    this.sqlite = sqlite;
+  }
+
   @Override
   public String formatParameters() {
     String text = super.formatParameters();
@@ -144,6 +227,10 @@ public class ValidatorParameters extends CommonParameters implements Serializabl
     text += String.format("summaryFileName: %s%n", summaryFileName);
     text += String.format("format: %s%n", format.getLabel());
     text += String.format("emptyLargeCollectors: %s%n", emptyLargeCollectors);
+    text += String.format("gzip: %s%n", gzip);
+    text += String.format("flushInterval: %d%n", flushInterval);
+    text += String.format("collectorMemoryLimit: %d%n", collectorMemoryLimit);
+    text += String.format("sqlite: %s%n", sqlite);
     return text;
   }
 }
@@ -2,6 +2,7 @@ package de.gwdg.metadataqa.marc.cli.processor;
 
 import de.gwdg.metadataqa.marc.dao.MarcRecord;
 import de.gwdg.metadataqa.marc.cli.parameters.CommonParameters;
+import de.gwdg.metadataqa.marc.utils.TagProjection;
 import org.apache.commons.cli.Options;
 import org.marc4j.marc.Record;
 
@@ -19,4 +20,24 @@ public interface MarcFileProcessor {
   void afterIteration(int numberOfprocessedRecords);
   void printHelp(Options options);
   boolean readyToProcess();
+
+  /**
+   * The native ISO 2709 reader doesn't create marc4j records. A processor which works on the
+   * marc4j record in processRecord(Record, int) should return true here, so the record is parsed
+   * with marc4j as well.
+   * @return true if the processor needs the marc4j record
+   */
+  default boolean needsMarc4jRecord() {
+    return false;
+  }
+
+  /**
+   * The fields the processor reads in processRecord(MarcRecord, int). Only these fields are created
+   * (the leader and the 001 are always created, and the fields of the ignorable records' conditions
+   * are added), so a processor which reads a few fields only should return them here.
+   * @return The tags of the fields the processor needs, by default all
+   */
+  default TagProjection getTagProjection() {
+    return TagProjection.ALL;
+  }
 }
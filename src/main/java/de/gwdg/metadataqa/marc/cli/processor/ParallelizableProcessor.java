@@ -0,0 +1,29 @@
+package de.gwdg.metadataqa.marc.cli.processor;
+
+/**
+ * A processor which can run on multiple threads. Every thread works with its own worker instance
+ * (created by createWorker()), and after the iteration the workers' states are merged back into
+ * the original processor, which then calls afterIteration() as usual.
+ *
+ * @param <T> The type of the worker processor
+ */
+public interface ParallelizableProcessor<T extends MarcFileProcessor> extends MarcFileProcessor {
+
+  /**
+   * Creates a new processor which shares the parameters, but not the state of the current one.
+   * @return The worker processor
+   */
+  T createWorker();
+
+  /**
+   * Adds the state collected by the worker to the state of the current processor.
+   *
+   * The records are distributed among the workers by the scheduling of the threads, so the merge
+   * must be order independent (commutative and associative): the result should be the same for
+   * any distribution of the records and any order of the merges. E.g. counters can be summed, but
+   * identifiers given in the order of the first occurrence, or "the first example" should be
+   * replaced by a canonical order or a stable rule (such as the lowest record identifier).
+   * @param worker A worker created by createWorker()
+   */
+  void merge(T worker);
+}
@@ -0,0 +1,86 @@
+package de.gwdg.metadataqa.marc.cli.spark;
+
+import de.gwdg.metadataqa.marc.MarcFactory;
+import de.gwdg.metadataqa.marc.cli.parameters.CommonParameters;
+import de.gwdg.metadataqa.marc.dao.MarcRecord;
+import de.gwdg.metadataqa.marc.definition.MarcFormat;
+import de.gwdg.metadataqa.marc.utils.ReadMarc;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.marc4j.MarcReader;
+import org.marc4j.marc.Record;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reads the input files of the Spark jobs into an RDD of MARC records.
+ *
+ * Line separated MARC files are read line by line (so a large file is split into several
+ * partitions), the other formats are read file by file. The records which could not be parsed
+ * are skipped.
+ */
+public class MarcRecordReader {
+
+  private static final Logger logger = Logger.getLogger(MarcRecordReader.class.getCanonicalName());
+
+  private MarcRecordReader() {
+  }
+
+  public static JavaRDD<MarcRecord> read(JavaSparkContext context, CommonParameters params) {
+    String paths = StringUtils.join(params.getArgs(), ",");
+    if (params.getMarcFormat() == MarcFormat.LINE_SEPARATED)
+      return context.textFile(paths)
+        .filter(StringUtils::isNotBlank)
+        .map(content -> createMarcRecord(ReadMarc.getMarcStringReader(content), params))
+        .filter(Objects::nonNull);
+
+    return context.binaryFiles(paths)
+      .flatMap(file -> new RecordReaderIterator(
+        ReadMarc.getStreamReader(params.getMarcFormat(), file._2().open(), params.getDefaultEncoding()), params))
+      .filter(Objects::nonNull);
+  }
+
+  /**
+   * @return The next record of the reader, or null if it could not be parsed
+   */
+  private static MarcRecord createMarcRecord(MarcReader reader, CommonParameters params) {
+    try {
+      Record marc4jRecord = reader.next();
+      return MarcFactory.createFromMarc4j(
+        marc4jRecord, params.getDefaultRecordType(), params.getMarcVersion(), params.getReplecementInControlFields());
+    } catch (Exception e) {
+      logger.log(Level.SEVERE, "createMarcRecord", e);
+      return null;
+    }
+  }
+
+  /**
+   * Reads the records of a file lazily, so the file is not loaded into memory.
+   */
+  private static class RecordReaderIterator implements Iterator<MarcRecord> {
+    private final MarcReader reader;
+    private final CommonParameters params;
+
+    RecordReaderIterator(MarcReader reader, CommonParameters params) {
+      this.reader = reader;
+      this.params = params;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return reader.hasNext();
+    }
+
+    @Override
+    public MarcRecord next() {
+      if (!hasNext())
+        throw new NoSuchElementException();
+      return createMarcRecord(reader, params);
+    }
+  }
+}
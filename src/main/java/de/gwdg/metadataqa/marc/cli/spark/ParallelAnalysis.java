@@ -0,0 +1,98 @@
+package de.gwdg.metadataqa.marc.cli.spark;
+
+import de.gwdg.metadataqa.marc.cli.AuthorityAnalysis;
+import de.gwdg.metadataqa.marc.cli.ClassificationAnalysis;
+import de.gwdg.metadataqa.marc.cli.Completeness;
+import de.gwdg.metadataqa.marc.cli.processor.MarcFileProcessor;
+import de.gwdg.metadataqa.marc.cli.processor.ParallelizableProcessor;
+import de.gwdg.metadataqa.marc.dao.MarcRecord;
+import org.apache.commons.cli.ParseException;
+import org.apache.spark.SparkConf;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import scala.Tuple2;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Runs an analysis with Spark, and produces the same output files as the analysis' own command.
+ * The supported analyses are the ones which can be split into workers (see ParallelizableProcessor):
+ * completeness, classifications and authorities.
+ *
+ * Every partition of the records is processed by a worker of the analysis, then the workers
+ * are merged on the driver in the order of the partitions, so the result (including the first
+ * examples and the identifiers of the elements) is the same as in the single threaded run.
+ *
+ * usage:
+ * spark-submit --class de.gwdg.metadataqa.marc.cli.spark.ParallelAnalysis [jar] [analysis] [options] [files]
+ */
+public class ParallelAnalysis {
+
+  private static final Logger logger = Logger.getLogger(
+    ParallelAnalysis.class.getCanonicalName());
+
+  private ParallelAnalysis() {
+  }
+
+  public static void main(String[] args) throws ParseException {
+    if (args.length < 1) {
+      System.err.println("Please provide the name of the analysis (completeness, classifications or authorities)!");
+      System.exit(0);
+    }
+    ParallelizableProcessor<?> processor = createProcessor(args[0], Arrays.copyOfRange(args, 1, args.length));
+    if (processor.getParameters().doHelp() || processor.getParameters().getArgs().length < 1) {
+      processor.printHelp(processor.getParameters().getOptions());
+      System.exit(0);
+    }
+
+    SparkConf conf = new SparkConf().setAppName("ParallelAnalysis " + args[0]);
+    try (JavaSparkContext context = new JavaSparkContext(conf)) {
+      run(context, processor);
+    }
+  }
+
+  public static ParallelizableProcessor<?> createProcessor(String analysis, String[] args) throws ParseException {
+    switch (analysis) {
+      case "completeness": return new Completeness(args);
+      case "classifications": return new ClassificationAnalysis(args);
+      case "authorities": return new AuthorityAnalysis(args);
+      default: throw new ParseException(String.format("Unrecognized analysis: '%s'", analysis));
+    }
+  }
+
+  /**
+   * Processes the input files with the workers of the processor, merges them, and writes the
+   * output files of the processor.
+   * @param context The Spark context
+   * @param processor The analysis
+   * @return The number of records
+   */
+  public static <T extends MarcFileProcessor> int run(JavaSparkContext context, ParallelizableProcessor<T> processor) {
+    processor.beforeIteration();
+    JavaRDD<MarcRecord> records = MarcRecordReader.read(context, processor.getParameters());
+
+    T template = processor.createWorker();
+    List<Tuple2<Integer, T>> workers = records
+      .mapPartitions(partition -> {
+        // every task receives its own copy of the template
+        int count = 0;
+        while (partition.hasNext())
+          template.processRecord(partition.next(), ++count);
+        return Collections.singletonList(new Tuple2<>(count, template)).iterator();
+      })
+      .collect();
+
+    int numberOfRecords = 0;
+    for (Tuple2<Integer, T> worker : workers) {
+      numberOfRecords += worker._1();
+      processor.merge(worker._2());
+    }
+    logger.info(String.format("%d records processed in %d partitions", numberOfRecords, workers.size()));
+
+    processor.afterIteration(numberOfRecords);
+    return numberOfRecords;
+  }
+}
@@ -1,59 +1,154 @@
 package de.gwdg.metadataqa.marc.cli.spark;
 
-import de.gwdg.metadataqa.marc.MarcFactory;
 import de.gwdg.metadataqa.marc.dao.MarcRecord;
 import de.gwdg.metadataqa.marc.cli.parameters.ValidatorParameters;
 import de.gwdg.metadataqa.marc.cli.Validator;
-import de.gwdg.metadataqa.marc.model.validation.ValidationErrorFormatter;
-import de.gwdg.metadataqa.marc.utils.ReadMarc;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.spark.SparkConf;
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.JavaSparkContext;
-import org.marc4j.MarcReader;
-import org.marc4j.marc.Record;
+import org.apache.spark.storage.StorageLevel;
+import scala.Tuple2;
 
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.logging.Logger;
 
+/**
+ * Validates MARC records with Spark, and produces the same output files as the Validator.
+ *
+ * Every partition of the records is validated by a worker validator (see Validator.createWorker()).
+ * The workers are kept on the executors, and the driver fetches and merges them one by one in the
+ * order of the partitions, so the error identifiers are the same as in the single threaded run, and
+ * the driver holds only one worker at a time besides the merged one. If both details and summary
+ * are requested, the records are validated again in a second pass, which produces the details with
+ * the merged error identifiers. The records are persisted for this pass, so they are read and
+ * parsed only once (as long as they fit into the memory).
+ *
+ * The records are read by MarcRecordReader.
+ *
+ * usage:
+ * spark-submit --class de.gwdg.metadataqa.marc.cli.spark.ParallelValidator [jar] [options] [files]
+ */
 public class ParallelValidator {
 
   private static final Logger logger = Logger.getLogger(
     ParallelValidator.class.getCanonicalName());
-  private static Options options = new Options();
+
+  private final Validator validator;
+
+  public ParallelValidator(String[] args) throws ParseException {
+    validator = new Validator(args);
+    if (validator.getParameters().doParquet()) {
+      // the details are collected as formatted lines, see Validator.formatDetails()
+      logger.warning("The Spark validator writes CSV output, the parquet parameter is ignored.");
+      validator.getParameters().setParquet(false);
+    }
+    if (validator.getParameters().getCollectorMemoryLimit() > 0) {
+      // the workers' collectors are not limited, see IssueCollector
+      logger.warning("The collector memory limit applies only to the merged issue collector on the driver, "
+        + "the executors keep the record identifiers of their partitions in memory.");
+    }
+    if (validator.getParameters().doSqlite()) {
+      // the rows of issue_details are written in processRecord(), which runs on the executors
+      logger.warning("The Spark validator does not write the SQLite database, the sqlite parameter is ignored.");
+      validator.getParameters().setSqlite(false);
+    }
+  }
 
   public static void main(String[] args) throws ParseException {
+    ParallelValidator parallelValidator = new ParallelValidator(args);
+    ValidatorParameters params = parallelValidator.getParameters();
+    if (params.doHelp() || params.getArgs().length < 1) {
+      help(params.getOptions());
+      System.exit(0);
+    }
 
-    final Validator validator = new Validator(args);
-    ValidatorParameters params = validator.getParameters();
-    validator.setDoPrintInProcessRecord(false);
+    SparkConf conf = new SparkConf().setAppName("ParallelValidator");
+    try (JavaSparkContext context = new JavaSparkContext(conf)) {
+      parallelValidator.run(context);
+    }
+  }
 
-    logger.info("Input file is " + params.getDetailsFileName());
-    SparkConf conf = new SparkConf().setAppName("MarcCompletenessCount");
-    JavaSparkContext context = new JavaSparkContext(conf);
+  public ValidatorParameters getParameters() {
+    return validator.getParameters();
+  }
 
-    System.err.println(validator.getParameters().formatParameters());
+  /**
+   * Validates the input files, and writes the output files.
+   * @param context The Spark context
+   * @return The number of records
+   */
+  public int run(JavaSparkContext context) {
+    ValidatorParameters params = getParameters();
+    validator.beforeIteration();
+    JavaRDD<MarcRecord> records = MarcRecordReader.read(context, params);
 
-    JavaRDD<String> inputFile = context.textFile(validator.getParameters().getArgs()[0]);
+    boolean twoPasses = params.doSummary() && params.doDetails();
+    if (twoPasses)
+      // MarcRecord refers to its (not serializable) definitions, so the records are kept as objects,
+      // the partitions which don't fit into the memory are read again
+      records.persist(StorageLevel.MEMORY_ONLY());
 
-    JavaRDD<String> baseCountsRDD = inputFile
-      .flatMap(content -> {
-        MarcReader reader = ReadMarc.getMarcStringReader(content);
-        Record marc4jRecord = reader.next();
-        MarcRecord marcRecord = MarcFactory.createFromMarc4j(
-          marc4jRecord, params.getDefaultRecordType(), params.getMarcVersion(), params.getReplecementInControlFields());
-        validator.processRecord(marcRecord, 1);
-        return ValidationErrorFormatter
-          .formatForSummary(marcRecord.getValidationErrors(), params.getFormat())
-          .iterator();
+    int numberOfRecords = 0;
+    if (params.doSummary()) {
+      Validator template = validator.createWorker();
+      JavaRDD<Tuple2<Integer, Validator>> workers = records
+        .mapPartitions(partition -> {
+          // every task receives its own copy of the template
+          int count = 0;
+          while (partition.hasNext())
+            template.processRecord(partition.next(), ++count);
+          return Collections.singletonList(new Tuple2<>(count, template)).iterator();
+        })
+        .persist(StorageLevel.MEMORY_AND_DISK_SER());
+      // validates the partitions in parallel, toLocalIterator() would run them one after the other
+      workers.count();
+      Iterator<Tuple2<Integer, Validator>> iterator = workers.toLocalIterator();
+      int numberOfWorkers = 0;
+      while (iterator.hasNext()) {
+        Tuple2<Integer, Validator> worker = iterator.next();
+        numberOfRecords += worker._1();
+        validator.merge(worker._2());
+        numberOfWorkers++;
       }
-    );
-    baseCountsRDD.saveAsTextFile(validator.getParameters().getDetailsFileName());
+      workers.unpersist();
+      logger.info(String.format("%d records validated in %d partitions", numberOfRecords, numberOfWorkers));
+    }
+
+    if (params.doDetails()) {
+      Validator formatter = validator.createWorker();
+      Iterator<String> details = records
+        .map(marcRecord -> {
+          if (params.getIgnorableRecords().isIgnorable(marcRecord))
+            return "";
+          marcRecord.validate(params.getMarcVersion(), params.doSummary(), params.getIgnorableFields());
+          return StringUtils.defaultString(formatter.formatDetails(marcRecord));
+        })
+        .toLocalIterator();
+      int count = 0;
+      while (details.hasNext()) {
+        String message = details.next();
+        if (!message.isEmpty())
+          validator.printDetails(message);
+        count++;
+      }
+      if (!params.doSummary())
+        numberOfRecords = count;
+    }
+
+    if (twoPasses)
+      records.unpersist();
+
+    validator.afterIteration(numberOfRecords);
+    return numberOfRecords;
   }
 
-  private static void help() {
+  private static void help(Options options) {
     HelpFormatter formatter = new HelpFormatter();
-    formatter.printHelp("java -cp [jar] de.gwdg.europeanaqa.spark.MarcCompletenessCount [options]", options);
+    formatter.printHelp("spark-submit --class de.gwdg.metadataqa.marc.cli.spark.ParallelValidator [jar] [options] [files]", options);
   }
 }
@@ -0,0 +1,92 @@
+package de.gwdg.metadataqa.marc.cli.utils;
+
+import de.gwdg.metadataqa.marc.cli.processor.MarcFileProcessor;
+import de.gwdg.metadataqa.marc.cli.processor.ParallelizableProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Processes several input files (or parts of memory mapped files) at the same time. Each thread
+ * takes the next unprocessed input from the list, reads it with its own reader (and decompressor)
+ * and processes its records with its own processor instance, created by the
+ * ParallelizableProcessor. When all the inputs are processed, the workers' states are merged into
+ * the original processor in the order of the workers. Which worker processes which input depends
+ * on the scheduling of the threads, so the result is deterministic only if the processor's merge
+ * is order independent (see ParallelizableProcessor.merge()).
+ *
+ * @param <T> The type of the worker processors
+ * @param <I> The type of the inputs (e.g. file names)
+ */
+public class FilePipeline<T extends MarcFileProcessor, I> {
+
+  private static final Logger logger = Logger.getLogger(FilePipeline.class.getCanonicalName());
+
+  private final ParallelizableProcessor<T> processor;
+  private final FileHandler<I> handler;
+  private final int numberOfThreads;
+
+  /**
+   * The action a worker executes on every input.
+   */
+  public interface FileHandler<I> {
+    /**
+     * @return The number of records read from the input
+     */
+    int handle(MarcFileProcessor worker, I input);
+  }
+
+  public FilePipeline(ParallelizableProcessor<T> processor, int numberOfThreads, FileHandler<I> handler) {
+    this.processor = processor;
+    this.numberOfThreads = numberOfThreads;
+    this.handler = handler;
+  }
+
+  /**
+   * Processes the inputs, then merges the workers' states into the processor.
+   * @param inputs The input files or parts of files
+   * @return The number of records read from all the inputs
+   */
+  public int process(List<I> inputs) throws InterruptedException {
+    Queue<I> queue = new ConcurrentLinkedQueue<>(inputs);
+    AtomicInteger numberOfRecords = new AtomicInteger();
+    List<T> workers = new ArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < Math.min(numberOfThreads, inputs.size()); i++) {
+      T worker = processor.createWorker();
+      workers.add(worker);
+      Thread thread = new Thread(() -> work(worker, queue, numberOfRecords), "file-worker-" + (i + 1));
+      thread.setDaemon(true);
+      threads.add(thread);
+    }
+
+    for (Thread thread : threads)
+      thread.start();
+    for (Thread thread : threads)
+      thread.join();
+
+    for (T worker : workers)
+      processor.merge(worker);
+
+    return numberOfRecords.get();
+  }
+
+  public int getNumberOfThreads() {
+    return numberOfThreads;
+  }
+
+  private void work(T worker, Queue<I> queue, AtomicInteger numberOfRecords) {
+    try {
+      I input;
+      while (worker.readyToProcess() && processor.readyToProcess() && (input = queue.poll()) != null)
+        numberOfRecords.addAndGet(handler.handle(worker, input));
+    } catch (RuntimeException e) {
+      logger.log(Level.SEVERE, "work", e);
+    }
+  }
+}
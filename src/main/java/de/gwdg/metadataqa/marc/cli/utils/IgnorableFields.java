@@ -2,10 +2,11 @@ package de.gwdg.metadataqa.marc.cli.utils;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.List;
 
-public class IgnorableFields {
+public class IgnorableFields implements Serializable {
   private List<String> fields;
 
   public void parseFields(String raw) {
@@ -5,11 +5,12 @@ import de.gwdg.metadataqa.marc.dao.MarcRecord;
 import de.gwdg.metadataqa.marc.MarcSubfield;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
 
-public class IgnorableRecords {
+public class IgnorableRecords implements Serializable {
 
   private List<DataField> conditions;
 
@@ -28,6 +29,17 @@ public class IgnorableRecords {
     return conditions;
   }
 
+  /**
+   * @return The tags of the conditions
+   */
+  public List<String> getTags() {
+    List<String> tags = new ArrayList<>();
+    if (conditions != null)
+      for (DataField condition : conditions)
+        tags.add(condition.getTag());
+    return tags;
+  }
+
   public boolean isEmpty() {
     return conditions == null || conditions.isEmpty();
   }
@@ -0,0 +1,30 @@
+package de.gwdg.metadataqa.marc.cli.utils;
+
+import de.gwdg.metadataqa.marc.dao.Leader;
+import de.gwdg.metadataqa.marc.dao.MarcRecord;
+import de.gwdg.metadataqa.marc.definition.MarcVersion;
+import de.gwdg.metadataqa.marc.utils.TagProjection;
+import org.marc4j.marc.Record;
+
+/**
+ * A record as it has been read from the input, before it is converted to MarcRecord. It is either
+ * a marc4j record, or a record read by the native ISO 2709 reader.
+ */
+public interface InputRecord {
+
+  /**
+   * @return The content of the 001 field, or null
+   */
+  String getControlNumber();
+
+  /**
+   * @return The marc4j representation of the record (parsed on demand for the native records)
+   */
+  Record getMarc4jRecord();
+
+  /**
+   * @param projection The tags of the fields to create
+   */
+  MarcRecord createMarcRecord(Leader.Type defaultType, MarcVersion marcVersion, String replecementInControlFields,
+                              TagProjection projection);
+}
@@ -0,0 +1,271 @@
+package de.gwdg.metadataqa.marc.cli.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Collects the identifiers of the records per error identifier for the issue-collector.csv file.
+ *
+ * Without memory limit every pair is kept in memory. With a limit, whenever the estimated size of
+ * the collected pairs exceeds it, they are written into a temporary file (a run) ordered by error
+ * and record identifiers, and the memory is freed. At the end the runs are merged, so the file
+ * contains one line per error with the record identifiers in alphabetical order.
+ *
+ * The limit bounds the memory only of the collector which receives the pairs directly, i.e. the
+ * validation in a single JVM. The collectors of the workers (see Validator.createWorker()) have no
+ * limit, since they should be serializable: a Spark executor keeps all the pairs of its partition in
+ * memory, and the driver holds a whole worker collector while it is merged into the limited one.
+ */
+public class IssueCollector implements Closeable, Serializable {
+
+  private static final Logger logger = Logger.getLogger(IssueCollector.class.getCanonicalName());
+
+  /** The estimated heap usage of a pair besides the characters of the record identifier. */
+  private static final int ENTRY_OVERHEAD = 64;
+  /** The number of record identifiers written to the output at once. */
+  private static final int CHUNK_SIZE = 1000;
+
+  private final Map<Integer, Set<String>> collector = new TreeMap<>();
+  private long memoryLimit;
+  private final String directory;
+  private final List<File> runs = new ArrayList<>();
+  private long estimatedSize = 0;
+
+  /**
+   * Creates a collector which keeps everything in memory.
+   */
+  public IssueCollector() {
+    this(0, null);
+  }
+
+  /**
+   * @param memoryLimit The maximal estimated size of the collected pairs in bytes, 0 means no limit
+   * @param directory The directory of the temporary files
+   */
+  public IssueCollector(long memoryLimit, String directory) {
+    this.memoryLimit = memoryLimit;
+    this.directory = directory;
+  }
+
+  public void add(int errorId, String recordId) {
+    if (collector.computeIfAbsent(errorId, id -> new HashSet<>()).add(recordId)) {
+      estimatedSize += estimate(recordId);
+      if (memoryLimit > 0 && estimatedSize > memoryLimit)
+        spill();
+    }
+  }
+
+  /**
+   * @return The record identifiers of the error kept in memory, or null
+   */
+  public Set<String> get(int errorId) {
+    return collector.get(errorId);
+  }
+
+  /**
+   * Removes the record identifiers of the error from the memory (e.g. because they have been printed).
+   */
+  public void remove(int errorId) {
+    Set<String> recordIds = collector.remove(errorId);
+    if (recordIds != null)
+      for (String recordId : recordIds)
+        estimatedSize -= estimate(recordId);
+  }
+
+  /**
+   * Adds the pairs of an other collector, which is kept in memory.
+   * @param other The other collector
+   * @param idMap Maps the error identifiers of the other collector to the identifiers of this one
+   */
+  public void merge(IssueCollector other, IntUnaryOperator idMap) {
+    for (Map.Entry<Integer, Set<String>> entry : other.collector.entrySet()) {
+      int errorId = idMap.applyAsInt(entry.getKey());
+      for (String recordId : entry.getValue())
+        add(errorId, recordId);
+    }
+  }
+
+  public boolean hasSpilled() {
+    return !runs.isEmpty();
+  }
+
+  /**
+   * Writes the lines of the collector ("[errorId][separator][recordId];[recordId]...") in the order of
+   * the error identifiers. The long lines are passed in several parts.
+   * @param separator The separator of the error identifier and the record identifiers
+   * @param output The receiver of the lines
+   */
+  public void write(char separator, Consumer<String> output) throws IOException {
+    if (runs.isEmpty()) {
+      for (Map.Entry<Integer, Set<String>> entry : collector.entrySet())
+        output.accept(formatLine(entry.getKey(), entry.getValue(), separator));
+      return;
+    }
+
+    spill();
+    if (!collector.isEmpty())
+      throw new IOException("The last run of the issue collector could not be written.");
+    mergeRuns(separator, output);
+  }
+
+  public static String formatLine(int errorId, Iterable<String> recordIds, char separator) {
+    StringBuilder line = new StringBuilder();
+    line.append(errorId).append(separator);
+    boolean isFirst = true;
+    for (String recordId : recordIds) {
+      if (!isFirst)
+        line.append(';');
+      line.append(recordId);
+      isFirst = false;
+    }
+    line.append('\n');
+    return line.toString();
+  }
+
+  /**
+   * Deletes the temporary files.
+   */
+  @Override
+  public void close() {
+    for (File run : runs)
+      if (!run.delete())
+        logger.warning(String.format("%s hasn't been deleted", run.getAbsolutePath()));
+    runs.clear();
+  }
+
+  private static long estimate(String recordId) {
+    return ENTRY_OVERHEAD + 2L * recordId.length();
+  }
+
+  private void spill() {
+    if (collector.isEmpty())
+      return;
+    try {
+      File run = (directory == null
+        ? Files.createTempFile("issue-collector", ".run")
+        : Files.createTempFile(new File(directory).toPath(), "issue-collector", ".run")).toFile();
+      run.deleteOnExit();
+      try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run.toPath())))) {
+        for (Map.Entry<Integer, Set<String>> entry : collector.entrySet()) {
+          for (String recordId : new TreeSet<>(entry.getValue())) {
+            out.writeInt(entry.getKey());
+            out.writeUTF(recordId);
+          }
+        }
+      }
+      runs.add(run);
+      logger.info(String.format("issue collector: run #%d written (%d bytes estimated)", runs.size(), estimatedSize));
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "spill", e);
+      logger.severe("The issue collector keeps everything in memory from now on.");
+      memoryLimit = 0;
+      return;
+    }
+    collector.clear();
+    estimatedSize = 0;
+  }
+
+  /**
+   * Merges the ordered runs, and writes the lines of the errors. The duplicated pairs (a record
+   * found in more than one run) are written only once.
+   */
+  private void mergeRuns(char separator, Consumer<String> output) throws IOException {
+    PriorityQueue<RunReader> queue = new PriorityQueue<>();
+    try {
+      for (File run : runs) {
+        RunReader reader = new RunReader(run);
+        if (reader.next())
+          queue.add(reader);
+        else
+          reader.close();
+      }
+
+      int currentErrorId = 0;
+      String lastRecordId = null;
+      StringBuilder line = new StringBuilder();
+      int numberOfIds = 0;
+      while (!queue.isEmpty()) {
+        RunReader reader = queue.poll();
+        int errorId = reader.errorId;
+        String recordId = reader.recordId;
+        if (reader.next())
+          queue.add(reader);
+        else
+          reader.close();
+
+        if (lastRecordId == null || errorId != currentErrorId) {
+          if (lastRecordId != null)
+            output.accept(line.append('\n').toString());
+          line = new StringBuilder().append(errorId).append(separator).append(recordId);
+          currentErrorId = errorId;
+          numberOfIds = 1;
+        } else if (!recordId.equals(lastRecordId)) {
+          line.append(';').append(recordId);
+          if (++numberOfIds % CHUNK_SIZE == 0) {
+            output.accept(line.toString());
+            line = new StringBuilder();
+          }
+        }
+        lastRecordId = recordId;
+      }
+      if (lastRecordId != null)
+        output.accept(line.append('\n').toString());
+    } finally {
+      for (RunReader reader : queue)
+        reader.close();
+    }
+  }
+
+  private static class RunReader implements Comparable<RunReader>, Closeable {
+    private final DataInputStream in;
+    private int errorId;
+    private String recordId;
+
+    RunReader(File run) throws IOException {
+      in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run.toPath())));
+    }
+
+    boolean next() throws IOException {
+      try {
+        errorId = in.readInt();
+      } catch (EOFException e) {
+        return false;
+      }
+      recordId = in.readUTF();
+      return true;
+    }
+
+    @Override
+    public int compareTo(RunReader other) {
+      int i = Integer.compare(errorId, other.errorId);
+      if (i == 0)
+        i = recordId.compareTo(other.recordId);
+      return i;
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+  }
+}
@@ -4,7 +4,11 @@ import de.gwdg.metadataqa.api.model.pathcache.JsonPathCache;
 import de.gwdg.metadataqa.api.model.XmlFieldInstance;
 import de.gwdg.metadataqa.marc.MarcFactory;
 import de.gwdg.metadataqa.marc.dao.MarcRecord;
+import de.gwdg.metadataqa.marc.cli.parameters.MarcToSolrParameters;
 import de.gwdg.metadataqa.marc.datastore.MarcSolrClient;
+import de.gwdg.metadataqa.marc.datastore.SolrDocumentBuilder;
+import de.gwdg.metadataqa.marc.definition.MarcVersion;
+import de.gwdg.metadataqa.marc.model.SolrFieldType;
 import org.apache.solr.client.solrj.SolrServerException;
 
 import java.io.IOException;
@@ -48,6 +52,9 @@ public class MarcJsonToSolr {
     logger.info(String.format("Solr URL: %s, file: %s (do commits: %s)", url, fileName, doCommits));
 
     MarcSolrClient client = new MarcSolrClient(url);
+    if (doCommits)
+      client.setCommitWithin(MarcToSolrParameters.DEFAULT_COMMIT_WITHIN);
+    SolrDocumentBuilder documentBuilder = new SolrDocumentBuilder(SolrFieldType.MARC, MarcVersion.MARC21, false);
     JsonPathCache<? extends XmlFieldInstance> cache;
     List<String> records;
     try {
@@ -57,16 +64,15 @@ public class MarcJsonToSolr {
         i++;
         cache = new JsonPathCache(marcRecordLine);
         MarcRecord marcRecord = MarcFactory.create(cache);
-        client.indexMap(marcRecord.getId(), marcRecord.getKeyValuePairs());
+        client.index(documentBuilder.build(marcRecord, client.createDocument(marcRecord.getId())));
 
-        if (i % 1000 == 0) {
-          if (doCommits)
-            client.commit();
+        if (i % 1000 == 0)
           logger.info(String.format("%s/%d) %s", fileName, i, marcRecord.getId()));
-        }
       }
       if (doCommits)
         client.commit();
+      else
+        client.flush();
       logger.info("end of cycle");
     } catch (IOException | SolrServerException ex) {
       logger.severe(ex.toString());
@@ -0,0 +1,431 @@
+package de.gwdg.metadataqa.marc.cli.utils;
+
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnWriteStore;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.column.impl.ColumnWriteStoreV1;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.page.PageWriteStore;
+import org.apache.parquet.column.page.PageWriter;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.ColumnMetaData;
+import org.apache.parquet.format.ColumnOrder;
+import org.apache.parquet.format.CompressionCodec;
+import org.apache.parquet.format.ConvertedType;
+import org.apache.parquet.format.DataPageHeader;
+import org.apache.parquet.format.DictionaryPageHeader;
+import org.apache.parquet.format.FieldRepetitionType;
+import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.LogicalType;
+import org.apache.parquet.format.PageHeader;
+import org.apache.parquet.format.PageType;
+import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.StringType;
+import org.apache.parquet.format.TypeDefinedOrder;
+import org.apache.parquet.format.Util;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Types;
+import org.xerial.snappy.Snappy;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A report file in the columnar Parquet format. Contrary to the CSV reports, the columns are typed
+ * (the numbers are stored as numbers), and they are compressed with Snappy, so the large reports
+ * can be loaded into data frames (R, pandas, Spark) without parsing.
+ *
+ * Every column is optional, a null value is stored as missing.
+ *
+ * The values are encoded by parquet-column, the pages, the row groups and the footer are written
+ * here, so the writer doesn't need parquet-hadoop and the Hadoop client libraries. The file has
+ * version 1 data pages only (ColumnWriteStoreV1), and the column chunks have statistics (the number
+ * of nulls, and the minimum and maximum values), so the readers can skip row groups.
+ */
+public class ParquetReportWriter implements Closeable {
+
+  public static final String EXTENSION = ".parquet";
+
+  private static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+  private static final long ROW_GROUP_SIZE = 128 * 1024 * 1024;
+  // the limit of parquet-mr, larger minimum and maximum values are not stored
+  private static final long MAX_STATISTICS_SIZE = 4096;
+  private static final String CREATED_BY = "metadata-qa-marc";
+
+  private final File file;
+  private final MessageType schema;
+  private final MessageColumnIO columnIO;
+  private final ParquetProperties properties;
+  private final OutputStream out;
+  private final long rowGroupSize;
+  private final List<RowGroup> rowGroups = new ArrayList<>();
+  private long position = 0;
+  private long numberOfRows = 0;
+  private boolean isClosed = false;
+
+  private ColumnChunkStore pageStore;
+  private ColumnWriteStore columns;
+  private RecordConsumer recordConsumer;
+  private long rowGroupRows = 0;
+
+  /**
+   * Creates the file (overwriting an existing one).
+   * @param file The report file
+   * @param schema The columns of the report (see schemaBuilder())
+   */
+  public ParquetReportWriter(File file, MessageType schema) throws IOException {
+    this(file, schema, ROW_GROUP_SIZE);
+  }
+
+  /**
+   * @param rowGroupSize A row group is written when its buffered (compressed) size exceeds this
+   */
+  ParquetReportWriter(File file, MessageType schema, long rowGroupSize) throws IOException {
+    this.file = file;
+    this.schema = schema;
+    this.rowGroupSize = rowGroupSize;
+    columnIO = new ColumnIOFactory().getColumnIO(schema);
+    properties = ParquetProperties.builder()
+      .withWriterVersion(ParquetProperties.WriterVersion.PARQUET_1_0)
+      .build();
+    out = new BufferedOutputStream(Files.newOutputStream(file.toPath()), 64 * 1024);
+    write(MAGIC);
+    startRowGroup();
+  }
+
+  /**
+   * Writes a row.
+   * @param values The values in the order of the columns. Numbers are converted to the type of the column.
+   */
+  public void write(Object... values) throws IOException {
+    List<Type> fields = schema.getFields();
+    if (values.length != fields.size())
+      throw new IllegalArgumentException(String.format(
+        "%s has %d columns, but the row has %d values", file.getName(), fields.size(), values.length));
+
+    recordConsumer.startMessage();
+    for (int i = 0; i < values.length; i++) {
+      Object value = values[i];
+      if (value == null)
+        continue;
+      String name = fields.get(i).getName();
+      recordConsumer.startField(name, i);
+      switch (fields.get(i).asPrimitiveType().getPrimitiveTypeName()) {
+        case INT32: recordConsumer.addInteger(((Number) value).intValue()); break;
+        case INT64: recordConsumer.addLong(((Number) value).longValue()); break;
+        case DOUBLE: recordConsumer.addDouble(((Number) value).doubleValue()); break;
+        case BOOLEAN: recordConsumer.addBoolean((Boolean) value); break;
+        default: recordConsumer.addBinary(Binary.fromString(value.toString())); break;
+      }
+      recordConsumer.endField(name, i);
+    }
+    recordConsumer.endMessage();
+    numberOfRows++;
+    rowGroupRows++;
+
+    if (columns.getBufferedSize() > rowGroupSize) {
+      flushRowGroup();
+      startRowGroup();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!isClosed) {
+      isClosed = true;
+      try {
+        if (rowGroupRows > 0)
+          flushRowGroup();
+        writeFooter();
+      } finally {
+        out.close();
+      }
+    }
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  public long getNumberOfRows() {
+    return numberOfRows;
+  }
+
+  private void startRowGroup() {
+    pageStore = new ColumnChunkStore();
+    columns = new ColumnWriteStoreV1(schema, pageStore, properties);
+    recordConsumer = columnIO.getRecordWriter(columns);
+    rowGroupRows = 0;
+  }
+
+  /**
+   * Writes the buffered pages of the columns one after the other.
+   */
+  private void flushRowGroup() throws IOException {
+    columns.close();
+    long start = position;
+    long uncompressedSize = 0;
+    List<ColumnChunk> chunks = new ArrayList<>();
+    for (ColumnDescriptor column : schema.getColumns()) {
+      ColumnChunkBuffer buffer = pageStore.get(column);
+      chunks.add(buffer.toColumnChunk(column, position));
+      uncompressedSize += buffer.uncompressedSize;
+      buffer.writeTo(this);
+    }
+    RowGroup rowGroup = new RowGroup(chunks, uncompressedSize, rowGroupRows);
+    rowGroup.setFile_offset(start);
+    rowGroup.setTotal_compressed_size(position - start);
+    rowGroups.add(rowGroup);
+  }
+
+  private void writeFooter() throws IOException {
+    FileMetaData metaData = new FileMetaData(1, toSchemaElements(schema), numberOfRows, rowGroups);
+    metaData.setCreated_by(CREATED_BY);
+    // without the column orders the readers ignore the minimum and maximum values
+    for (int i = 0; i < schema.getColumns().size(); i++)
+      metaData.addToColumn_orders(ColumnOrder.TYPE_ORDER(new TypeDefinedOrder()));
+    ByteArrayOutputStream footer = new ByteArrayOutputStream();
+    Util.writeFileMetaData(metaData, footer);
+    write(footer.toByteArray());
+    int length = footer.size();
+    write(new byte[]{(byte) length, (byte) (length >>> 8), (byte) (length >>> 16), (byte) (length >>> 24)});
+    write(MAGIC);
+  }
+
+  private void write(byte[] bytes) throws IOException {
+    out.write(bytes);
+    position += bytes.length;
+  }
+
+  private static List<SchemaElement> toSchemaElements(MessageType schema) {
+    List<SchemaElement> elements = new ArrayList<>();
+    elements.add(new SchemaElement(schema.getName()).setNum_children(schema.getFieldCount()));
+    for (Type field : schema.getFields()) {
+      PrimitiveType type = field.asPrimitiveType();
+      SchemaElement element = new SchemaElement(field.getName())
+        .setType(toFormat(type.getPrimitiveTypeName()))
+        .setRepetition_type(FieldRepetitionType.valueOf(field.getRepetition().name()));
+      if (LogicalTypeAnnotation.stringType().equals(type.getLogicalTypeAnnotation()))
+        element.setConverted_type(ConvertedType.UTF8).setLogicalType(LogicalType.STRING(new StringType()));
+      elements.add(element);
+    }
+    return elements;
+  }
+
+  private static org.apache.parquet.format.Type toFormat(PrimitiveType.PrimitiveTypeName type) {
+    if (type == PrimitiveType.PrimitiveTypeName.BINARY)
+      return org.apache.parquet.format.Type.BYTE_ARRAY;
+    return org.apache.parquet.format.Type.valueOf(type.name());
+  }
+
+  private static org.apache.parquet.format.Encoding toFormat(Encoding encoding) {
+    return org.apache.parquet.format.Encoding.valueOf(encoding.name());
+  }
+
+  private static org.apache.parquet.format.Statistics toFormat(Statistics<?> statistics) {
+    org.apache.parquet.format.Statistics formatStatistics = new org.apache.parquet.format.Statistics();
+    formatStatistics.setNull_count(statistics.getNumNulls());
+    if (statistics.hasNonNullValue() && statistics.isSmallerThan(MAX_STATISTICS_SIZE)) {
+      formatStatistics.setMin_value(statistics.getMinBytes());
+      formatStatistics.setMax_value(statistics.getMaxBytes());
+    }
+    return formatStatistics;
+  }
+
+  /**
+   * Replaces the extension of a CSV report's file name with .parquet.
+   */
+  public static String toParquetFileName(String fileName) {
+    return fileName.replaceFirst("\\.(csv|tsv|txt)$", "") + EXTENSION;
+  }
+
+  public static SchemaBuilder schemaBuilder() {
+    return new SchemaBuilder();
+  }
+
+  /**
+   * Builds the schema of a report, the columns are added in the order of the values.
+   */
+  public static class SchemaBuilder {
+    private final Types.MessageTypeBuilder builder = Types.buildMessage();
+
+    public SchemaBuilder string(String name) {
+      builder.optional(PrimitiveType.PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.stringType()).named(name);
+      return this;
+    }
+
+    public SchemaBuilder integer(String name) {
+      builder.optional(PrimitiveType.PrimitiveTypeName.INT32).named(name);
+      return this;
+    }
+
+    public SchemaBuilder bigInteger(String name) {
+      builder.optional(PrimitiveType.PrimitiveTypeName.INT64).named(name);
+      return this;
+    }
+
+    public SchemaBuilder decimal(String name) {
+      builder.optional(PrimitiveType.PrimitiveTypeName.DOUBLE).named(name);
+      return this;
+    }
+
+    public SchemaBuilder bool(String name) {
+      builder.optional(PrimitiveType.PrimitiveTypeName.BOOLEAN).named(name);
+      return this;
+    }
+
+    public MessageType build() {
+      return builder.named("report");
+    }
+  }
+
+  /**
+   * The column chunks of the current row group.
+   */
+  private static class ColumnChunkStore implements PageWriteStore {
+    private final Map<ColumnDescriptor, ColumnChunkBuffer> buffers = new LinkedHashMap<>();
+
+    @Override
+    public PageWriter getPageWriter(ColumnDescriptor column) {
+      return get(column);
+    }
+
+    ColumnChunkBuffer get(ColumnDescriptor column) {
+      return buffers.computeIfAbsent(column, ColumnChunkBuffer::new);
+    }
+  }
+
+  /**
+   * Collects the Snappy compressed pages of a column chunk, the dictionary page is kept apart,
+   * because it is written after the data pages, but it should precede them in the file. The
+   * statistics of the pages are merged into the statistics of the chunk.
+   */
+  private static class ColumnChunkBuffer implements PageWriter {
+    private final Statistics<?> statistics;
+    private final ByteArrayOutputStream dataPages = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream dictionaryPage = new ByteArrayOutputStream();
+    private final Set<org.apache.parquet.format.Encoding> encodings = new LinkedHashSet<>();
+    private long numberOfValues = 0;
+    private long uncompressedSize = 0;
+
+    ColumnChunkBuffer(ColumnDescriptor column) {
+      statistics = Statistics.createStats(column.getPrimitiveType());
+    }
+
+    @Override
+    public void writePage(BytesInput bytes, int valueCount, int rowCount, Statistics<?> pageStatistics,
+                          Encoding rlEncoding, Encoding dlEncoding, Encoding valuesEncoding) throws IOException {
+      byte[] compressed = Snappy.compress(bytes.toByteArray());
+      PageHeader header = new PageHeader(PageType.DATA_PAGE, (int) bytes.size(), compressed.length);
+      header.setData_page_header(new DataPageHeader(
+        valueCount, toFormat(valuesEncoding), toFormat(dlEncoding), toFormat(rlEncoding)));
+      writePage(dataPages, header, bytes.size(), compressed);
+      numberOfValues += valueCount;
+      encodings.addAll(Arrays.asList(toFormat(rlEncoding), toFormat(dlEncoding), toFormat(valuesEncoding)));
+      statistics.mergeStatistics(pageStatistics);
+    }
+
+    /**
+     * Not called by ColumnWriterV1, which passes the number of rows as well.
+     */
+    @Deprecated
+    @Override
+    public void writePage(BytesInput bytes, int valueCount, Statistics<?> pageStatistics,
+                          Encoding rlEncoding, Encoding dlEncoding, Encoding valuesEncoding) throws IOException {
+      writePage(bytes, valueCount, -1, pageStatistics, rlEncoding, dlEncoding, valuesEncoding);
+    }
+
+    /**
+     * Not reachable: the columns are written by ColumnWriteStoreV1 (with the PARQUET_1_0 writer
+     * version), which writes version 1 data pages only.
+     */
+    @Override
+    public void writePageV2(int rowCount, int nullCount, int valueCount, BytesInput repetitionLevels,
+                            BytesInput definitionLevels, Encoding dataEncoding, BytesInput data,
+                            Statistics<?> statistics) {
+      throw new UnsupportedOperationException("The report is written with the version 1 data pages");
+    }
+
+    @Override
+    public void writeDictionaryPage(DictionaryPage page) throws IOException {
+      if (dictionaryPage.size() > 0)
+        throw new IOException("The column chunk has already a dictionary page");
+      BytesInput bytes = page.getBytes();
+      byte[] compressed = Snappy.compress(bytes.toByteArray());
+      PageHeader header = new PageHeader(PageType.DICTIONARY_PAGE, (int) bytes.size(), compressed.length);
+      header.setDictionary_page_header(new DictionaryPageHeader(page.getDictionarySize(), toFormat(page.getEncoding())));
+      writePage(dictionaryPage, header, bytes.size(), compressed);
+      encodings.add(toFormat(page.getEncoding()));
+    }
+
+    private void writePage(ByteArrayOutputStream pages, PageHeader header, long size, byte[] compressed)
+        throws IOException {
+      int before = pages.size();
+      Util.writePageHeader(header, pages);
+      uncompressedSize += pages.size() - before + size;
+      pages.write(compressed);
+    }
+
+    @Override
+    public long getMemSize() {
+      return (long) dataPages.size() + dictionaryPage.size();
+    }
+
+    @Override
+    public long allocatedSize() {
+      return getMemSize();
+    }
+
+    @Override
+    public String memUsageString(String prefix) {
+      return String.format("%s %,d bytes", prefix, getMemSize());
+    }
+
+    ColumnChunk toColumnChunk(ColumnDescriptor column, long offset) {
+      ColumnMetaData metaData = new ColumnMetaData(
+        toFormat(column.getPrimitiveType().getPrimitiveTypeName()),
+        new ArrayList<>(encodings),
+        Arrays.asList(column.getPath()),
+        CompressionCodec.SNAPPY,
+        numberOfValues,
+        uncompressedSize,
+        getMemSize(),
+        offset + dictionaryPage.size());
+      if (dictionaryPage.size() > 0)
+        metaData.setDictionary_page_offset(offset);
+      metaData.setStatistics(toFormat(statistics));
+      ColumnChunk chunk = new ColumnChunk(offset);
+      chunk.setMeta_data(metaData);
+      return chunk;
+    }
+
+    void writeTo(ParquetReportWriter writer) throws IOException {
+      writer.write(dictionaryPage.toByteArray());
+      writer.write(dataPages.toByteArray());
+    }
+  }
+}
@@ -5,9 +5,17 @@ import de.gwdg.metadataqa.marc.dao.Leader;
 import de.gwdg.metadataqa.marc.MarcFactory;
 import de.gwdg.metadataqa.marc.dao.MarcRecord;
 import de.gwdg.metadataqa.marc.cli.processor.MarcFileProcessor;
+import de.gwdg.metadataqa.marc.cli.processor.ParallelizableProcessor;
 import de.gwdg.metadataqa.marc.definition.DataSource;
+import de.gwdg.metadataqa.marc.definition.MarcFormat;
 import de.gwdg.metadataqa.marc.definition.MarcVersion;
 import de.gwdg.metadataqa.marc.utils.ReadMarc;
+import de.gwdg.metadataqa.marc.utils.TagProjection;
+import de.gwdg.metadataqa.marc.utils.compression.CompressedInput;
+import de.gwdg.metadataqa.marc.utils.marcreader.Iso2709Reader;
+import de.gwdg.metadataqa.marc.utils.marcreader.Iso2709Record;
+import de.gwdg.metadataqa.marc.utils.marcreader.MappedMarcFile;
+import de.gwdg.metadataqa.marc.utils.marcreader.RecordIndex;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Options;
 import org.apache.solr.client.solrj.SolrServerException;
@@ -15,14 +23,23 @@ import org.marc4j.MarcException;
 import org.marc4j.MarcReader;
 import org.marc4j.marc.Record;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.text.DecimalFormat;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.zip.GZIPInputStream;
 
 /**
  * usage:
@@ -33,13 +50,14 @@ public class RecordIterator {
 
   private static final Logger logger = Logger.getLogger(RecordIterator.class.getCanonicalName());
   private final MarcFileProcessor processor;
-  private int i = 0;
-  private String lastKnownId = "";
+  private final Position position = new Position();
   private CommonParameters parameters;
   private String replecementInControlFields;
   private MarcVersion marcVersion;
   private Leader.Type defaultRecordType;
+  private TagProjection tagProjection;
   private DecimalFormat decimalFormat;
+  private RecordPipeline<?> pipeline;
 
   public RecordIterator(MarcFileProcessor processor) {
     this.processor = processor;
@@ -54,28 +72,51 @@ public class RecordIterator {
     marcVersion = parameters.getMarcVersion();
     defaultRecordType = parameters.getDefaultRecordType();
     replecementInControlFields = parameters.getReplecementInControlFields();
+    tagProjection = getTagProjection(parameters);
     decimalFormat = new DecimalFormat();
 
-    if (processor.getParameters().doLog())
+    if (processor.getParameters().doLog()) {
       logger.info("marcVersion: " + marcVersion.getCode() + ", " + marcVersion.getLabel());
+      if (!tagProjection.isAll())
+        logger.info("the records are created with the fields " + tagProjection);
+    }
+
+    if (parameters.useNativeReader() && !parameters.getMarcFormat().isIso2709())
+      logger.warning(String.format("The native reader does not support the %s format, it is read with marc4j.",
+        parameters.getMarcFormat().getCode()));
+
+    FilePipeline<?, FilePart> filePipeline = null;
+    if (parameters.getDataSource().equals(DataSource.FILE))
+      filePipeline = createFilePipeline(parameters.getFileThreads(), parameters.getArgs().length);
+
+    if (filePipeline == null) {
+      pipeline = createPipeline(parameters.getThreads());
+      if (pipeline != null)
+        pipeline.start();
+    }
 
-    if (parameters.getDataSource().equals(DataSource.FILE)) {
+    if (filePipeline != null) {
+      processFiles(filePipeline);
+    } else if (parameters.getDataSource().equals(DataSource.FILE)) {
       String[] inputFileNames = processor.getParameters().getArgs();
       for (String inputFileName : inputFileNames) {
-        if (!processor.readyToProcess())
+        if (!readyToProcess(processor))
           break;
-        processFile(inputFileName);
+        processFile(processor, new FilePart(inputFileName), position);
       }
     } else if (parameters.getDataSource().equals(DataSource.STREAM)) {
       try {
-        MarcReader reader = getMarcStreamReader(processor.getParameters());
-        processContent(reader, "stream");
+        InputStream stream = CompressedInput.decompress(processor.getParameters().getStream());
+        processContent(processor, getStreamReader(stream), "stream", position);
       } catch (Exception e) {
         e.printStackTrace();
       }
     }
 
-    processor.afterIteration(i);
+    if (pipeline != null)
+      finishPipeline();
+
+    processor.afterIteration(position.recordNumber);
 
     long end = System.currentTimeMillis();
     long duration = (end - start) / 1000;
@@ -84,19 +125,152 @@ public class RecordIterator {
         LocalTime.MIN.plusSeconds(duration).toString()));
   }
 
-  private void processFile(String inputFileName) {
-    var path = Paths.get(inputFileName);
+  /**
+   * The fields of the processor, and the fields the ignorable records are selected by.
+   */
+  private TagProjection getTagProjection(CommonParameters parameters) {
+    TagProjection projection = processor.getTagProjection();
+    if (!parameters.getIgnorableRecords().isEmpty())
+      projection = projection.with(parameters.getIgnorableRecords().getTags());
+    return projection;
+  }
+
+  private RecordPipeline<?> createPipeline(int threads) {
+    if (threads < 2)
+      return null;
+
+    if (!(processor instanceof ParallelizableProcessor)) {
+      logger.warning(String.format("%s does not support multiple threads, it runs on a single thread.",
+        processor.getClass().getSimpleName()));
+      return null;
+    }
+
+    if (processor.getParameters().doLog())
+      logger.info(String.format("processing records on %d threads", threads));
+    return new RecordPipeline<>((ParallelizableProcessor<?>) processor, threads, this::processRecord);
+  }
+
+  private FilePipeline<?, FilePart> createFilePipeline(int threads, int numberOfFiles) {
+    if (threads < 2 || (numberOfFiles < 2 && !isMemoryMapped()))
+      return null;
+
+    if (!(processor instanceof ParallelizableProcessor)) {
+      logger.warning(String.format("%s does not support multiple threads, it processes one file at a time.",
+        processor.getClass().getSimpleName()));
+      return null;
+    }
+
+    if (processor.getParameters().doLog())
+      logger.info(String.format("processing %d files on %d threads", numberOfFiles, threads));
+    return new FilePipeline<>((ParallelizableProcessor<?>) processor, threads, (worker, part) -> {
+      Position filePosition = new Position();
+      filePosition.recordNumber = part.getFirstRecord();
+      processFile(worker, part, filePosition);
+      return filePosition.recordNumber - part.getFirstRecord();
+    });
+  }
+
+  /**
+   * Processes the files with the file pipeline. Memory mapped files are split into as many parts
+   * as the number of threads, the other files are processed as a whole.
+   */
+  private void processFiles(FilePipeline<?, FilePart> filePipeline) {
+    List<MappedMarcFile> mappedFiles = new ArrayList<>();
+    try {
+      List<FilePart> parts = new ArrayList<>();
+      for (String fileName : processor.getParameters().getArgs()) {
+        if (isMemoryMapped(Paths.get(fileName)) && !hasIndex(Paths.get(fileName))) {
+          MappedMarcFile file = openMappedFile(Paths.get(fileName));
+          mappedFiles.add(file);
+          for (MappedMarcFile.Range range : file.split(filePipeline.getNumberOfThreads()))
+            parts.add(new FilePart(fileName, file, range));
+        } else {
+          parts.add(new FilePart(fileName));
+        }
+      }
+      position.recordNumber = filePipeline.process(parts);
+    } catch (IOException e) {
+      logger.log(Level.SEVERE, "processFiles", e);
+    } catch (InterruptedException e) {
+      logger.log(Level.SEVERE, "processFiles", e);
+      Thread.currentThread().interrupt();
+    } finally {
+      for (MappedMarcFile file : mappedFiles)
+        close(file);
+    }
+  }
+
+  private void close(MappedMarcFile file) {
+    try {
+      file.close();
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "close", e);
+    }
+  }
+
+  private void finishPipeline() {
+    try {
+      pipeline.finish();
+    } catch (InterruptedException e) {
+      logger.log(Level.SEVERE, "finishPipeline", e);
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private synchronized String formatNumber(int number) {
+    return decimalFormat.format(number);
+  }
+
+  private boolean readyToProcess(MarcFileProcessor target) {
+    return processor.readyToProcess()
+      && (target == processor || target.readyToProcess())
+      && (pipeline == null || pipeline.readyToProcess());
+  }
+
+  /**
+   * Processes a file (or a part of a memory mapped file) with the processor or (in file parallel
+   * mode) with one of its workers.
+   * @param target The processor
+   * @param part The file or part of file
+   * @param position The position of the reading, shared by all the files in sequential mode
+   */
+  private void processFile(MarcFileProcessor target, FilePart part, Position position) {
+    var path = Paths.get(part.fileName);
     String fileName = path.getFileName().toString();
 
     if (processor.getParameters().doLog())
-      logger.info("processing: " + fileName);
+      logger.info("processing: " + fileName + (part.range == null ? "" : " " + part.range));
 
     try {
-      processor.fileOpened(path);
-      MarcReader reader = getMarcFileReader(processor.getParameters(), path);
-      processContent(reader, fileName);
+      target.fileOpened(path);
+      RecordIndex index = part.range == null ? openIndex(path) : null;
+      if (index != null) {
+        try (index) {
+          processIndexedFile(target, path, index, fileName, position);
+        }
+      } else if (part.file != null) {
+        Iso2709Reader reader = new Iso2709Reader(part.file, part.range, processor.getParameters().getDefaultEncoding());
+        processContent(target, new NativeRecordReader(reader), fileName, position);
+      } else if (isMemoryMapped(path)) {
+        try (MappedMarcFile file = openMappedFile(path)) {
+          Iso2709Reader reader = new Iso2709Reader(file, processor.getParameters().getDefaultEncoding());
+          processContent(target, new NativeRecordReader(reader), fileName, position);
+        }
+      } else if (CompressedInput.isCompressed(path)) {
+        try (InputStream stream = CompressedInput.open(path)) {
+          processContent(target, getStreamReader(stream), fileName, position);
+        }
+      } else if (isNativeReader()) {
+        try (InputStream stream = new FileInputStream(path.toFile())) {
+          processContent(target, getStreamReader(stream), fileName, position);
+        }
+      } else {
+        MarcReader reader = getMarcFileReader(processor.getParameters(), path);
+        processContent(target, new Marc4jRecordReader(reader), fileName, position);
+      }
       if (processor.getParameters().doLog())
-        logger.info(String.format("Finished processing file. Processed %s records.", decimalFormat.format(i)));
+        logger.info(String.format("Finished processing %s. Processed %s records.",
+          fileName, formatNumber(position.recordNumber)));
 
     } catch (SolrServerException ex) {
       if (processor.getParameters().doLog())
@@ -123,71 +297,201 @@ public class RecordIterator {
     }
   }
 
-  private void processContent(MarcReader reader, String fileName) {
+  private void processContent(MarcFileProcessor target, RecordReader reader, String fileName, Position position) {
     while (reader.hasNext()) {
-      if (!processor.readyToProcess())
+      if (!readyToProcess(target))
         break;
 
-      Record marc4jRecord = getNextMarc4jRecord(i, lastKnownId, reader);
-      i++;
-      if (marc4jRecord == null)
-        continue;
-
-      if (isUnderOffset(processor.getParameters().getOffset(), i))
+      InputRecord inputRecord = getNextRecord(position.recordNumber, position.lastKnownId, reader);
+      position.recordNumber++;
+      if (inputRecord == null)
         continue;
 
-      if (isOverLimit(processor.getParameters().getLimit(), i))
+      if (!processInputRecord(target, inputRecord, fileName, position))
         break;
+    }
+  }
 
-      if (marc4jRecord.getControlNumber() == null) {
-        logger.severe("No record number at " + i + ", last known ID: " + lastKnownId);
-        System.err.println(marc4jRecord);
-        continue;
-      } else {
-        lastKnownId = marc4jRecord.getControlNumber();
+  /**
+   * Reads the records selected by the --id parameter from the positions stored in the index of the
+   * file, instead of reading the whole file. The records are read in the order of the file.
+   */
+  private void processIndexedFile(MarcFileProcessor target, Path path, RecordIndex index, String fileName,
+                                  Position position) throws IOException {
+    List<RecordIndex.Entry> entries = new ArrayList<>();
+    for (String id : processor.getParameters().getIds())
+      entries.addAll(index.lookup(id));
+    entries.sort(Comparator.comparingLong(RecordIndex.Entry::getOffset));
+    if (processor.getParameters().doLog())
+      logger.info(String.format("%s: %d records found in the index", fileName, entries.size()));
+
+    int base = position.recordNumber;
+    Iso2709Reader reader = new Iso2709Reader(new ByteArrayInputStream(new byte[0]),
+      processor.getParameters().getDefaultEncoding());
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      for (RecordIndex.Entry entry : entries) {
+        if (!readyToProcess(target))
+          break;
+
+        position.recordNumber = base + entry.getRecordNumber();
+        InputRecord inputRecord = readIndexedRecord(channel, entry, reader, position);
+        position.recordNumber++;
+        if (inputRecord == null)
+          continue;
+
+        if (!processInputRecord(target, inputRecord, fileName, position))
+          break;
       }
+    }
+    position.recordNumber = base + index.getNumberOfRecords();
+  }
 
-      if (skipRecord(marc4jRecord))
-        continue;
+  private InputRecord readIndexedRecord(FileChannel channel, RecordIndex.Entry entry, Iso2709Reader reader,
+                                        Position position) throws IOException {
+    ByteBuffer content = ByteBuffer.allocate(entry.getLength());
+    while (content.hasRemaining())
+      if (channel.read(content, entry.getOffset() + content.position()) == -1)
+        break;
+    content.flip();
+    try {
+      Iso2709Record isoRecord = reader.read(content);
+      return isNativeReader() ? new NativeInputRecord(isoRecord) : new Marc4jInputRecord(isoRecord.toMarc4jRecord());
+    } catch (MarcException e) {
+      logger.severe(
+        String.format(
+          "MARC record parsing problem at record #%d (last known ID: %s): %s",
+          (position.recordNumber + 1), position.lastKnownId, e.getLocalizedMessage()));
+      return null;
+    }
+  }
 
+  /**
+   * @return false if the processing of the records should be stopped
+   */
+  private boolean processInputRecord(MarcFileProcessor target, InputRecord inputRecord, String fileName,
+                                     Position position) {
+    int i = position.recordNumber;
+    if (isUnderOffset(processor.getParameters().getOffset(), i))
+      return true;
+
+    if (isOverLimit(processor.getParameters().getLimit(), i))
+      return false;
+
+    String controlNumber = inputRecord.getControlNumber();
+    if (controlNumber == null) {
+      logger.severe("No record number at " + i + ", last known ID: " + position.lastKnownId);
+      System.err.println(inputRecord);
+      return true;
+    } else {
+      position.lastKnownId = controlNumber;
+    }
+
+    if (skipRecord(controlNumber))
+      return true;
+
+    if (pipeline != null) {
       try {
-        processor.processRecord(marc4jRecord, i);
-        MarcRecord marcRecord = MarcFactory.createFromMarc4j(marc4jRecord, defaultRecordType, marcVersion, replecementInControlFields);
-        try {
-          processor.processRecord(marcRecord, i);
-        } catch(Exception e) {
-          logger.log(Level.SEVERE, "start", e);
-        }
+        pipeline.submit(inputRecord, i, fileName);
+      } catch (InterruptedException e) {
+        logger.log(Level.SEVERE, "processContent", e);
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    } else {
+      processRecord(target, inputRecord, i, fileName);
+    }
+    return true;
+  }
 
-        if (i % 100000 == 0 && processor.getParameters().doLog())
-          logger.info(String.format("%s/%s (%s)", fileName, decimalFormat.format(i), marcRecord.getId()));
-      } catch (IllegalArgumentException e) {
-        extracted(i, marc4jRecord, e, "Error (illegal argument) with record '%s'. %s");
-      } catch (Exception e) {
-        extracted(i, marc4jRecord, e, "Error (general) with record '%s'. %s");
+  private void processRecord(MarcFileProcessor processor, InputRecord inputRecord, int i, String fileName) {
+    try {
+      if (inputRecord instanceof Marc4jInputRecord || processor.needsMarc4jRecord())
+        processor.processRecord(inputRecord.getMarc4jRecord(), i);
+      MarcRecord marcRecord = inputRecord.createMarcRecord(defaultRecordType, marcVersion, replecementInControlFields,
+        tagProjection);
+      try {
+        processor.processRecord(marcRecord, i);
+      } catch(Exception e) {
+        logger.log(Level.SEVERE, "start", e);
       }
+
+      if (i % 100000 == 0 && processor.getParameters().doLog())
+        logger.info(String.format("%s/%s (%s)", fileName, formatNumber(i), marcRecord.getId()));
+    } catch (IllegalArgumentException e) {
+      extracted(i, inputRecord, e, "Error (illegal argument) with record '%s'. %s");
+    } catch (Exception e) {
+      extracted(i, inputRecord, e, "Error (general) with record '%s'. %s");
     }
   }
 
+  private boolean isNativeReader() {
+    CommonParameters parameters = processor.getParameters();
+    return parameters.useNativeReader() && parameters.getMarcFormat().isIso2709();
+  }
+
+  private boolean isMemoryMapped() {
+    return isNativeReader() && processor.getParameters().isMemoryMapped();
+  }
+
+  /**
+   * Compressed files can not be mapped into memory, they are read as streams.
+   */
+  private boolean isMemoryMapped(Path path) {
+    return isMemoryMapped() && !CompressedInput.isCompressed(path);
+  }
+
+  /**
+   * The index is used only when records are selected by --id, and only for uncompressed binary
+   * MARC files.
+   */
+  private boolean canUseIndex(Path path) {
+    CommonParameters parameters = processor.getParameters();
+    return parameters.hasId()
+      && parameters.getMarcFormat().isIso2709()
+      && !CompressedInput.isCompressed(path);
+  }
+
+  private boolean hasIndex(Path path) {
+    return canUseIndex(path) && Files.exists(RecordIndex.getIndexPath(path));
+  }
+
+  private RecordIndex openIndex(Path path) throws IOException {
+    if (!canUseIndex(path))
+      return null;
+    RecordIndex index = RecordIndex.open(path);
+    if (index != null && processor.getParameters().doLog())
+      logger.info(String.format("%s: reading the records by the index %s",
+        path.getFileName(), RecordIndex.getIndexPath(path).getFileName()));
+    return index;
+  }
+
+  private MappedMarcFile openMappedFile(Path path) throws IOException {
+    MappedMarcFile file = new MappedMarcFile(path, processor.getParameters().getMarcFormat() == MarcFormat.LINE_SEPARATED);
+    if (processor.getParameters().doLog())
+      logger.info(String.format("%s: %s records indexed", path.getFileName(), formatNumber(file.getNumberOfRecords())));
+    return file;
+  }
+
+  private RecordReader getStreamReader(InputStream stream) throws Exception {
+    CommonParameters parameters = processor.getParameters();
+    if (isNativeReader())
+      return new NativeRecordReader(new Iso2709Reader(stream, parameters.getDefaultEncoding(),
+        parameters.getMarcFormat() == MarcFormat.LINE_SEPARATED));
+    return new Marc4jRecordReader(getMarcStreamReader(parameters, stream));
+  }
+
   private MarcReader getMarcFileReader(CommonParameters parameters, Path path) throws Exception {
-    if (path.toString().endsWith(".gz")) {
-      return ReadMarc.getStreamReader(
-        parameters.getMarcFormat(),
-        new GZIPInputStream(new FileInputStream(path.toFile())),
-        parameters.getDefaultEncoding());
-    } else {
-      return ReadMarc.getFileReader(parameters.getMarcFormat(), path.toString(), parameters.getDefaultEncoding());
-    }
+    return ReadMarc.getFileReader(parameters.getMarcFormat(), path.toString(), parameters.getDefaultEncoding());
   }
 
-  private MarcReader getMarcStreamReader(CommonParameters parameters) throws Exception {
-    return ReadMarc.getStreamReader(parameters.getMarcFormat(), parameters.getStream(), parameters.getDefaultEncoding());
+  private MarcReader getMarcStreamReader(CommonParameters parameters, InputStream stream) throws Exception {
+    return ReadMarc.getStreamReader(parameters.getMarcFormat(), stream, parameters.getDefaultEncoding());
   }
 
-  private Record getNextMarc4jRecord(int i, String lastKnownId, MarcReader reader) {
-    Record marc4jRecord = null;
+  private InputRecord getNextRecord(int i, String lastKnownId, RecordReader reader) {
+    InputRecord inputRecord = null;
     try {
-      marc4jRecord = reader.next();
+      inputRecord = reader.next();
     } catch (MarcException | NegativeArraySizeException | NumberFormatException e) {
       logger.severe(
         String.format(
@@ -196,22 +500,161 @@ public class RecordIterator {
     } catch (Exception e) {
       logger.log(Level.SEVERE, "start", e);
     }
-    return marc4jRecord;
+    return inputRecord;
   }
 
-  private boolean skipRecord(Record marc4jRecord) {
+  private boolean skipRecord(String controlNumber) {
     return processor.getParameters().hasId()
-      && !marc4jRecord.getControlNumber().trim().equals(processor.getParameters().getId());
+      && !processor.getParameters().isSelectedId(controlNumber);
   }
 
-  private void extracted(int i, Record marc4jRecord, Exception e, String message) {
-    if (marc4jRecord.getControlNumber() == null)
+  private void extracted(int i, InputRecord inputRecord, Exception e, String message) {
+    String controlNumber = inputRecord.getControlNumber();
+    if (controlNumber == null)
       logger.severe("No record number at " + i);
     if (processor.getParameters().doLog())
-      logger.severe(String.format(message, marc4jRecord.getControlNumber(), e.getMessage()));
+      logger.severe(String.format(message, controlNumber, e.getMessage()));
     logger.log(Level.SEVERE, "start", e);
   }
 
+  /**
+   * An input of the file pipeline: a whole file, or a range of the records of a memory mapped file.
+   */
+  private static class FilePart {
+    private final String fileName;
+    private final MappedMarcFile file;
+    private final MappedMarcFile.Range range;
+
+    FilePart(String fileName) {
+      this(fileName, null, null);
+    }
+
+    FilePart(String fileName, MappedMarcFile file, MappedMarcFile.Range range) {
+      this.fileName = fileName;
+      this.file = file;
+      this.range = range;
+    }
+
+    /**
+     * @return The number of records before the part in the file
+     */
+    int getFirstRecord() {
+      return range == null ? 0 : range.getFirst();
+    }
+  }
+
+  /**
+   * Reads the records either with a marc4j reader or with the native ISO 2709 reader.
+   */
+  private interface RecordReader {
+    boolean hasNext();
+    InputRecord next();
+  }
+
+  private static class Marc4jRecordReader implements RecordReader {
+    private final MarcReader reader;
+
+    Marc4jRecordReader(MarcReader reader) {
+      this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return reader.hasNext();
+    }
+
+    @Override
+    public InputRecord next() {
+      Record marc4jRecord = reader.next();
+      return marc4jRecord == null ? null : new Marc4jInputRecord(marc4jRecord);
+    }
+  }
+
+  private static class NativeRecordReader implements RecordReader {
+    private final Iso2709Reader reader;
+
+    NativeRecordReader(Iso2709Reader reader) {
+      this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return reader.hasNext();
+    }
+
+    @Override
+    public InputRecord next() {
+      return new NativeInputRecord(reader.next());
+    }
+  }
+
+  private static class Marc4jInputRecord implements InputRecord {
+    private final Record marc4jRecord;
+
+    Marc4jInputRecord(Record marc4jRecord) {
+      this.marc4jRecord = marc4jRecord;
+    }
+
+    @Override
+    public String getControlNumber() {
+      return marc4jRecord.getControlNumber();
+    }
+
+    @Override
+    public Record getMarc4jRecord() {
+      return marc4jRecord;
+    }
+
+    @Override
+    public MarcRecord createMarcRecord(Leader.Type defaultType, MarcVersion marcVersion, String replecementInControlFields,
+                                       TagProjection projection) {
+      return MarcFactory.createFromMarc4j(marc4jRecord, defaultType, marcVersion, replecementInControlFields, projection);
+    }
+
+    @Override
+    public String toString() {
+      return marc4jRecord.toString();
+    }
+  }
+
+  private static class NativeInputRecord implements InputRecord {
+    private final Iso2709Record isoRecord;
+
+    NativeInputRecord(Iso2709Record isoRecord) {
+      this.isoRecord = isoRecord;
+    }
+
+    @Override
+    public String getControlNumber() {
+      return isoRecord.getControlNumber();
+    }
+
+    @Override
+    public Record getMarc4jRecord() {
+      return isoRecord.toMarc4jRecord();
+    }
+
+    @Override
+    public MarcRecord createMarcRecord(Leader.Type defaultType, MarcVersion marcVersion, String replecementInControlFields,
+                                       TagProjection projection) {
+      return MarcFactory.createFromIso2709(isoRecord, defaultType, marcVersion, replecementInControlFields, projection);
+    }
+
+    @Override
+    public String toString() {
+      return isoRecord.toString();
+    }
+  }
+
+  /**
+   * The number of records read so far and the last known record identifier. In file parallel mode
+   * every file has its own position, otherwise it is shared by all the files.
+   */
+  private static class Position {
+    private int recordNumber = 0;
+    private String lastKnownId = "";
+  }
+
   private static boolean isOverLimit(int limit, int i) {
     return limit > -1 && i > limit;
   }
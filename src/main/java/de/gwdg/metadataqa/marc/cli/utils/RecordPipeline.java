@@ -0,0 +1,134 @@
+package de.gwdg.metadataqa.marc.cli.utils;
+
+import de.gwdg.metadataqa.marc.cli.processor.MarcFileProcessor;
+import de.gwdg.metadataqa.marc.cli.processor.ParallelizableProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Distributes the records read by a single reader thread among a fixed number of worker threads.
+ * Each worker has its own processor instance, created by the ParallelizableProcessor. When the
+ * reading is finished the workers' states are merged into the original processor in the order
+ * of the workers. Which worker gets which record is decided by the queue, i.e. by the scheduling
+ * of the threads, so the result is deterministic only if the processor's merge is order
+ * independent (see ParallelizableProcessor.merge()).
+ *
+ * @param <T> The type of the worker processors
+ */
+public class RecordPipeline<T extends MarcFileProcessor> {
+
+  private static final Logger logger = Logger.getLogger(RecordPipeline.class.getCanonicalName());
+  private static final int QUEUE_SIZE_PER_THREAD = 100;
+  private static final Task POISON_PILL = new Task(null, -1, null);
+
+  private final ParallelizableProcessor<T> processor;
+  private final RecordHandler handler;
+  private final BlockingQueue<Task> queue;
+  private final List<T> workers = new ArrayList<>();
+  private final List<Thread> threads = new ArrayList<>();
+
+  /**
+   * The action a worker executes on every record.
+   */
+  public interface RecordHandler {
+    void handle(MarcFileProcessor worker, InputRecord inputRecord, int recordNumber, String fileName);
+  }
+
+  public RecordPipeline(ParallelizableProcessor<T> processor, int numberOfThreads, RecordHandler handler) {
+    this.processor = processor;
+    this.handler = handler;
+    queue = new ArrayBlockingQueue<>(numberOfThreads * QUEUE_SIZE_PER_THREAD);
+    for (int i = 0; i < numberOfThreads; i++) {
+      T worker = processor.createWorker();
+      workers.add(worker);
+      Thread thread = new Thread(() -> work(worker), "record-worker-" + (i + 1));
+      thread.setDaemon(true);
+      threads.add(thread);
+    }
+  }
+
+  public void start() {
+    for (Thread thread : threads)
+      thread.start();
+  }
+
+  /**
+   * Puts the record into the queue. It blocks while the queue is full.
+   */
+  public void submit(InputRecord inputRecord, int recordNumber, String fileName) throws InterruptedException {
+    Task task = new Task(inputRecord, recordNumber, fileName);
+    while (!queue.offer(task, 100, TimeUnit.MILLISECONDS)) {
+      if (!isAlive())
+        throw new IllegalStateException("All record worker threads have stopped.");
+    }
+  }
+
+  /**
+   * @return true if none of the workers has been stopped
+   */
+  public boolean readyToProcess() {
+    for (T worker : workers)
+      if (!worker.readyToProcess())
+        return false;
+    return true;
+  }
+
+  /**
+   * Waits for the workers to process the remaining records, then merges their states into the processor.
+   */
+  public void finish() throws InterruptedException {
+    for (int i = 0; i < threads.size(); i++)
+      while (!queue.offer(POISON_PILL, 100, TimeUnit.MILLISECONDS))
+        if (!isAlive())
+          break;
+    for (Thread thread : threads)
+      thread.join();
+
+    for (T worker : workers)
+      processor.merge(worker);
+  }
+
+  public int getNumberOfThreads() {
+    return threads.size();
+  }
+
+  private void work(T worker) {
+    try {
+      while (true) {
+        Task task = queue.take();
+        if (task == POISON_PILL)
+          break;
+        handler.handle(worker, task.inputRecord, task.recordNumber, task.fileName);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      logger.log(Level.SEVERE, "work", e);
+    }
+  }
+
+  private boolean isAlive() {
+    for (Thread thread : threads)
+      if (thread.isAlive())
+        return true;
+    return false;
+  }
+
+  private static class Task {
+    private final InputRecord inputRecord;
+    private final int recordNumber;
+    private final String fileName;
+
+    Task(InputRecord inputRecord, int recordNumber, String fileName) {
+      this.inputRecord = inputRecord;
+      this.recordNumber = recordNumber;
+      this.fileName = fileName;
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package de.gwdg.metadataqa.marc.cli.utils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A report file which stays open during the whole iteration. The content is buffered, and
+ * optionally gzip compressed, so writing a line does not open and close the file.
+ */
+public class ReportWriter implements Closeable {
+
+  public static final String GZIP_EXTENSION = ".gz";
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final File file;
+  private final BufferedWriter writer;
+  private long numberOfCharacters = 0;
+  private boolean isClosed = false;
+
+  /**
+   * Creates the file (overwriting an existing one).
+   * @param file The report file. If gzip is true, it should have the .gz extension
+   * @param gzip Whether to compress the output
+   */
+  public ReportWriter(File file, boolean gzip) throws IOException {
+    this.file = file;
+    OutputStream stream = new FileOutputStream(file);
+    if (gzip)
+      stream = new GZIPOutputStream(stream, BUFFER_SIZE);
+    writer = new BufferedWriter(new OutputStreamWriter(stream, Charset.defaultCharset()), BUFFER_SIZE);
+  }
+
+  public void write(String message) throws IOException {
+    writer.write(message);
+    numberOfCharacters += message.length();
+  }
+
+  /**
+   * Writes the buffered content to the file. In case of gzip compression the not yet compressed
+   * part remains in the compressor.
+   */
+  public void flush() throws IOException {
+    if (!isClosed)
+      writer.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!isClosed) {
+      writer.close();
+      isClosed = true;
+    }
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  public long getNumberOfCharacters() {
+    return numberOfCharacters;
+  }
+}
@@ -6,10 +6,20 @@ import de.gwdg.metadataqa.marc.model.kos.KosType;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
-public class Schema {
+public class Schema implements Serializable {
+
+  private static final Comparator<String> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+  private static final Comparator<Schema> CANONICAL_ORDER = Comparator
+    .comparing(Schema::getField, NULLS_FIRST)
+    .thenComparing(Schema::getLocation, NULLS_FIRST)
+    .thenComparing(Schema::getSchema, NULLS_FIRST);
 
   private static int centralCounter = 0;
   private static Map<Schema, Integer> schemaCounter = new HashMap<>();
@@ -24,7 +34,7 @@ public class Schema {
     this.field = field;
     this.location = location;
     this.schema = schema;
-    setId();
+    register();
   }
 
   public Schema(String field, String location, String abbreviation, String schema) {
@@ -32,9 +42,32 @@ public class Schema {
     this.abbreviation = abbreviation;
   }
 
-  private void setId() {
-    schemaCounter.computeIfAbsent(this, s -> ++centralCounter);
-    this.id = schemaCounter.get(this);
+  /**
+   * Sets the identifier of the schema. The first instance of a schema gets a new identifier, the
+   * equal ones get the same.
+   */
+  public void register() {
+    synchronized (Schema.class) {
+      this.id = schemaCounter.computeIfAbsent(this, s -> ++centralCounter);
+    }
+  }
+
+  /**
+   * Assigns identifiers to the schemas in a canonical order (by field, location and schema), so
+   * they don't depend on the order in which the records were processed, or on how the records were
+   * distributed among parallel workers. Equal schemas get the same identifier. The central registry
+   * used by register() is not modified.
+   * @param schemas The schemas to number
+   */
+  public static void renumber(Collection<Schema> schemas) {
+    Map<Schema, Integer> ids = new TreeMap<>(CANONICAL_ORDER);
+    for (Schema schema : schemas)
+      ids.put(schema, 0);
+    int id = 0;
+    for (Map.Entry<Schema, Integer> entry : ids.entrySet())
+      entry.setValue(++id);
+    for (Schema schema : schemas)
+      schema.id = ids.get(schema);
   }
 
   public String getField() {
@@ -99,8 +132,9 @@ public class Schema {
       .toHashCode();
   }
 
-  public static void reset() {
+  public static synchronized void reset() {
     centralCounter = 0;
+    schemaCounter.clear();
   }
 
   @Override
@@ -22,6 +22,7 @@ import de.gwdg.metadataqa.marc.model.validation.ErrorsCollector;
 import de.gwdg.metadataqa.marc.model.validation.ValidationError;
 import de.gwdg.metadataqa.marc.model.validation.ValidationErrorType;
 import de.gwdg.metadataqa.marc.utils.keygenerator.DataFieldKeyGenerator;
+import de.gwdg.metadataqa.marc.utils.keygenerator.FieldKeyValuePairs;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.Serializable;
@@ -330,10 +331,9 @@ public class DataField implements Extractable, Validatable, Serializable {
                                                     MarcVersion marcVersion) {
     Map<String, List<String>> pairs = new HashMap<>();
 
-    DataFieldKeyGenerator keyGenerator = new DataFieldKeyGenerator(
-      definition, type, getTag()
+    DataFieldKeyGenerator keyGenerator = DataFieldKeyGenerator.getInstance(
+      definition, type, getTag(), marcVersion
     );
-    keyGenerator.setMarcVersion(marcVersion);
 
     boolean hasInd1def = (definition != null && definition.getInd1().exists());
     if (hasInd1def || !getInd1().equals(" ")) {
@@ -364,6 +364,45 @@ public class DataField implements Extractable, Validatable, Serializable {
     return pairs;
   }
 
+  /**
+   * Puts the field names and values of the field into the buffer, which is not cleared before. The
+   * result is the same as getKeyValuePairs(): a name which occurs several times in the field (e.g. in
+   * repeated subfields) gets the last value.
+   */
+  public void writeKeyValuePairs(SolrFieldType type,
+                                 MarcVersion marcVersion,
+                                 FieldKeyValuePairs pairs) {
+    DataFieldKeyGenerator keyGenerator = DataFieldKeyGenerator.getInstance(
+      definition, type, getTag(), marcVersion
+    );
+
+    boolean hasInd1def = (definition != null && definition.getInd1().exists());
+    if (hasInd1def || !getInd1().equals(" ")) {
+      String value = hasInd1def ? resolveInd1() : getInd1();
+      pairs.put(keyGenerator.forInd1(), value);
+    }
+
+    boolean hasInd2def = (definition != null && definition.getInd2().exists());
+    if (hasInd2def || !getInd2().equals(" ")) {
+      String value = hasInd2def ? resolveInd2() : getInd2();
+      pairs.put(keyGenerator.forInd2(), value);
+    }
+
+    for (MarcSubfield subfield : subfields) {
+      subfield.writeKeyValuePairs(keyGenerator, pairs);
+    }
+
+    if (getFieldIndexer() != null) {
+      try {
+        Map<String, List<String>> extra = getFieldIndexer().index(this, keyGenerator);
+        pairs.putAll(extra);
+      } catch (IllegalArgumentException e) {
+        logger.severe(String.format("%s  in record %s %s",
+          e.getLocalizedMessage(), marcRecord.getId(), this.toString()));
+      }
+    }
+  }
+
   public FieldIndexer getFieldIndexer() {
     FieldIndexer fieldIndexer = null;
     if (definition != null
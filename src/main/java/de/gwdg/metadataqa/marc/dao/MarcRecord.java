@@ -17,6 +17,8 @@ import de.gwdg.metadataqa.marc.definition.structure.Indicator;
 import de.gwdg.metadataqa.marc.model.SolrFieldType;
 import de.gwdg.metadataqa.marc.model.validation.ValidationError;
 import de.gwdg.metadataqa.marc.model.validation.ValidationErrorType;
+import de.gwdg.metadataqa.marc.utils.keygenerator.FieldKeyValuePairs;
+import de.gwdg.metadataqa.marc.utils.keygenerator.KeyValueSink;
 import de.gwdg.metadataqa.marc.utils.marcspec.legacy.MarcSpec;
 
 import de.gwdg.metadataqa.marc.utils.unimarc.UnimarcConverter;
@@ -344,6 +346,7 @@ public class MarcRecord implements Extractable, Validatable, Serializable {
                                                     MarcVersion marcVersion) {
     if (mainKeyValuePairs == null) {
       mainKeyValuePairs = new LinkedHashMap<>();
+      Set<String> mergedKeys = new HashSet<>();
 
       mainKeyValuePairs.put("type", Arrays.asList(getType().getValue()));
       mainKeyValuePairs.putAll(leader.getKeyValuePairs(type));
@@ -357,17 +360,17 @@ public class MarcRecord implements Extractable, Validatable, Serializable {
         for (Map.Entry<String, List<String>> entry : keyValuePairs.entrySet()) {
           String key = entry.getKey();
           List<String> values = entry.getValue();
-          if (mainKeyValuePairs.containsKey(key)) {
-            mainKeyValuePairs.put(
-              key,
-              mergeValues(
-                new ArrayList<>(mainKeyValuePairs.get(key)),
-                values,
-                withDeduplication
-              )
-            );
-          } else {
+          List<String> existingValues = mainKeyValuePairs.get(key);
+          if (existingValues == null) {
             mainKeyValuePairs.put(key, values);
+          } else {
+            if (!mergedKeys.contains(key)) {
+              // the first list might be immutable or shared, it is copied only once
+              existingValues = new ArrayList<>(existingValues);
+              mainKeyValuePairs.put(key, existingValues);
+              mergedKeys.add(key);
+            }
+            mergeValues(existingValues, values, withDeduplication);
           }
         }
       }
@@ -376,9 +379,35 @@ public class MarcRecord implements Extractable, Validatable, Serializable {
     return mainKeyValuePairs;
   }
 
-  private List<String> mergeValues(List<String> existingValues,
-                                   List<String> values,
-                                   boolean withDeduplication) {
+  /**
+   * Sends the field names and values to the sink without collecting them into a map: first the type,
+   * the leader and the control fields, then the data fields one by one. A data field is sent as
+   * getKeyValuePairs() would merge it, i.e. a name occurring several times in the same field is sent
+   * with its last value. The merging and deduplication of the repeated fields is up to the sink.
+   */
+  public void writeKeyValuePairs(SolrFieldType type,
+                                 MarcVersion marcVersion,
+                                 KeyValueSink sink) {
+    Map<String, List<String>> controlPairs = new LinkedHashMap<>();
+    controlPairs.put("type", Arrays.asList(getType().getValue()));
+    controlPairs.putAll(leader.getKeyValuePairs(type));
+    for (MarcControlField controlField : getControlfields())
+      if (controlField != null)
+        controlPairs.putAll(controlField.getKeyValuePairs(type));
+    for (Map.Entry<String, List<String>> entry : controlPairs.entrySet())
+      sink.add(entry.getKey(), entry.getValue());
+
+    FieldKeyValuePairs fieldPairs = new FieldKeyValuePairs();
+    for (DataField field : datafields) {
+      fieldPairs.clear();
+      field.writeKeyValuePairs(type, marcVersion, fieldPairs);
+      fieldPairs.writeTo(sink);
+    }
+  }
+
+  private void mergeValues(List<String> existingValues,
+                           List<String> values,
+                           boolean withDeduplication) {
     if (withDeduplication) {
       for (String value : values) {
         if (!existingValues.contains(value)) {
@@ -388,7 +417,6 @@ public class MarcRecord implements Extractable, Validatable, Serializable {
     } else {
       existingValues.addAll(values);
     }
-    return existingValues;
   }
 
   public String asJson() {
@@ -7,90 +7,161 @@ import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.logging.Logger;
 
-public class MarcSQLiteClient {
+/**
+ * Writes the results of the validation into an SQLite database (issue_details, issue_summary and
+ * issue_groups tables), which is used by the web interface.
+ *
+ * The rows are inserted with prepared statements in batches, every batch is a transaction. During the
+ * load the database is in WAL mode without synchronous writes. The indexes and the issue_groups table
+ * are created after the load (see createIndexes()), and closing switches the journal back to the
+ * default mode, so the database can be opened by read-only clients as well.
+ *
+ * The methods should be called from a single thread.
+ */
+public class MarcSQLiteClient implements AutoCloseable {
 
-  Connection conn = null;
+  private static final Logger logger = Logger.getLogger(MarcSQLiteClient.class.getCanonicalName());
 
-  public void connect(String path) {
-    try {
-      String url = "jdbc:sqlite:" + path;;
-      // create a connection to the database
-      SQLiteConfig config = new SQLiteConfig();
-      config.enforceForeignKeys(true);
-      conn = DriverManager.getConnection(url, config.toProperties());
-    } catch (SQLException e) {
-      System.out.println(e.getMessage());
-    } finally {
-      /*
-      try {
-        if (conn != null) {
-          conn.close();
-        }
-      } catch (SQLException ex) {
-        System.out.println(ex.getMessage());
-      }
-       */
+  public static final int DEFAULT_BATCH_SIZE = 10000;
+
+  private Connection conn = null;
+  private PreparedStatement detailsStatement;
+  private PreparedStatement summaryStatement;
+  private int batchSize = DEFAULT_BATCH_SIZE;
+  private int pendingRows = 0;
+  private long numberOfDetails = 0;
+  private long numberOfSummaries = 0;
+
+  public void connect(String path) throws SQLException {
+    SQLiteConfig config = new SQLiteConfig();
+    config.enforceForeignKeys(true);
+    config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+    config.setSynchronous(SQLiteConfig.SynchronousMode.OFF);
+    config.setTempStore(SQLiteConfig.TempStore.MEMORY);
+    conn = DriverManager.getConnection("jdbc:sqlite:" + path, config.toProperties());
+    conn.setAutoCommit(false);
+  }
+
+  /**
+   * Creates the tables of the validation results, the existing ones are dropped.
+   */
+  public void createSchema() throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      stmt.executeUpdate("DROP TABLE IF EXISTS issue_groups");
+      stmt.executeUpdate("DROP TABLE IF EXISTS issue_details");
+      stmt.executeUpdate("DROP TABLE IF EXISTS issue_summary");
+      stmt.executeUpdate("CREATE TABLE issue_summary ("
+        + "id INTEGER, MarcPath TEXT, categoryId INTEGER, typeId INTEGER, type TEXT, message TEXT, url TEXT, "
+        + "instances INTEGER, records INTEGER)");
+      stmt.executeUpdate("CREATE TABLE issue_details (id TEXT, errorId INTEGER, instances INTEGER)");
     }
+    conn.commit();
+    detailsStatement = conn.prepareStatement("INSERT INTO issue_details VALUES (?, ?, ?)");
+    summaryStatement = conn.prepareStatement("INSERT INTO issue_summary VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
   }
 
-  public void createSchema() {
-    try {
-      final Statement stmt = conn.createStatement();
-      stmt.executeUpdate("CREATE TABLE IF NOT EXISTS course (course_id INTEGER, title TEXT, seats_available INTEGER, PRIMARY KEY(course_id))");
-      stmt.executeUpdate("CREATE TABLE IF NOT EXISTS student (student_id INTEGER, name TEXT, PRIMARY KEY(student_id))");
-      stmt.executeUpdate("CREATE TABLE IF NOT EXISTS take (course_id INTEGER, student_id INTEGER, enroll_date TEXT, PRIMARY KEY(student_id, course_id))");
-    } catch (SQLException e) {
-      System.err.println("[ERROR] createSchema : " + e.getMessage());
+  /**
+   * Adds a row to the issue_details table: the number of instances of an error in a record.
+   */
+  public void addIssueDetails(String recordId, int errorId, int instances) throws SQLException {
+    detailsStatement.setString(1, recordId);
+    detailsStatement.setInt(2, errorId);
+    detailsStatement.setInt(3, instances);
+    detailsStatement.addBatch();
+    numberOfDetails++;
+    rowAdded();
+  }
+
+  /**
+   * Adds a row to the issue_summary table.
+   */
+  public void addIssueSummary(int id, String marcPath, int categoryId, int typeId, String type,
+                              String message, String url, int instances, int records) throws SQLException {
+    summaryStatement.setInt(1, id);
+    summaryStatement.setString(2, marcPath);
+    summaryStatement.setInt(3, categoryId);
+    summaryStatement.setInt(4, typeId);
+    summaryStatement.setString(5, type);
+    summaryStatement.setString(6, message);
+    summaryStatement.setString(7, url);
+    summaryStatement.setInt(8, instances);
+    summaryStatement.setInt(9, records);
+    summaryStatement.addBatch();
+    numberOfSummaries++;
+    rowAdded();
+  }
+
+  /**
+   * Writes the pending rows, then creates the indexes and the issue_groups table (which speeds up the
+   * queries of the web interface).
+   */
+  public void createIndexes() throws SQLException {
+    flush();
+    try (Statement stmt = conn.createStatement()) {
+      stmt.executeUpdate("CREATE INDEX issue_details_errorId ON issue_details (errorId)");
+      stmt.executeUpdate("CREATE INDEX issue_details_id ON issue_details (id)");
+      stmt.executeUpdate("CREATE INDEX issue_summary_id ON issue_summary (id)");
+      stmt.executeUpdate("CREATE INDEX issue_summary_categoryId ON issue_summary (categoryId)");
+      stmt.executeUpdate("CREATE INDEX issue_summary_typeId ON issue_summary (typeId)");
+      stmt.executeUpdate("CREATE TABLE issue_groups AS "
+        + "SELECT categoryId, typeId, s.MarcPath AS path, COUNT(DISTINCT(s.id)) AS variants, "
+        + "COUNT(DISTINCT(d.id)) AS records, SUM(d.instances) AS instances "
+        + "FROM issue_summary AS s "
+        + "LEFT JOIN issue_details AS d ON (s.id = d.errorId) "
+        + "GROUP BY categoryId, typeId, s.MarcPath");
+      stmt.executeUpdate("CREATE INDEX issue_groups_categoryId ON issue_groups (categoryId)");
+      stmt.executeUpdate("CREATE INDEX issue_groups_typeId ON issue_groups (typeId)");
     }
+    conn.commit();
+    logger.info(String.format("SQLite: %d details and %d summary rows loaded, indexes created",
+      numberOfDetails, numberOfSummaries));
   }
 
-  public void initSchema() {
-    final String[] courses = new String[] {
-      "1,CMPUT291,200", "2,CMPUT274,70", "3,CMPUT301,80"
-    };
-    final String[] students = new String[] {
-      "11,John", "12,Mary", "13,Steve", "14,Bob", "15,Seth",
-      "16,Samantha", "17,Emily", "18,Paul", "19,Emma", "20,Ross"
-    };
-    final String[] takes = new String[] {
-      "1,11,2017-08-01",
-      "2,13,2017-09-01", "2,14,2017-08-15",
-      "3,11,2017-09-01", "3,12,2017-08-15"
-    };
-    try {
+  /**
+   * Executes the pending batches, and commits them.
+   */
+  public void flush() throws SQLException {
+    if (pendingRows == 0)
+      return;
+    if (detailsStatement != null)
+      detailsStatement.executeBatch();
+    if (summaryStatement != null)
+      summaryStatement.executeBatch();
+    conn.commit();
+    pendingRows = 0;
+  }
 
-      try (PreparedStatement crsStmt = conn.prepareStatement("INSERT INTO course VALUES (?, ?, ?)")) {
-        for (String c : courses) {
-          final String[] cols = c.split(",");
-          crsStmt.setLong(1, Long.valueOf(cols[0]));
-          crsStmt.setString(2, cols[1]);
-          crsStmt.setInt(3, Integer.valueOf(cols[2]));
-          crsStmt.executeUpdate();
-        }
+  @Override
+  public void close() throws SQLException {
+    if (conn == null)
+      return;
+    try {
+      flush();
+      for (PreparedStatement statement : new PreparedStatement[]{detailsStatement, summaryStatement})
+        if (statement != null)
+          statement.close();
+      conn.setAutoCommit(true);
+      try (Statement stmt = conn.createStatement()) {
+        stmt.execute("PRAGMA journal_mode=DELETE");
       }
+    } finally {
+      conn.close();
+      conn = null;
+    }
+  }
 
-      try (PreparedStatement stdStmt = conn.prepareStatement("INSERT INTO student VALUES (?, ?)")) {
-        for (String s : students) {
-          final String[] cols = s.split(",");
-          stdStmt.setLong(1, Long.valueOf(cols[0]));
-          stdStmt.setString(2, cols[1]);
-          stdStmt.executeUpdate();
-        }
-      }
+  public Connection getConnection() {
+    return conn;
+  }
 
-      try (PreparedStatement tkStmt = conn.prepareStatement("INSERT INTO take VALUES (?, ?, ?)")) {
-        for (String t : takes) {
-          final String[] cols = t.split(",");
-          tkStmt.setLong(1, Long.valueOf(cols[0]));
-          tkStmt.setLong(2, Long.valueOf(cols[1]));
-          tkStmt.setString(3, cols[2]);
-          tkStmt.executeUpdate();
-        }
-      }
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
 
-    } catch (SQLException e) {
-      System.err.println("[ERROR] initSchema : " + e.getMessage());
-    }
+  private void rowAdded() throws SQLException {
+    if (++pendingRows >= batchSize)
+      flush();
   }
 }
@@ -2,23 +2,64 @@ package de.gwdg.metadataqa.marc.datastore;
 
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.impl.BaseHttpSolrClient;
 import org.apache.solr.client.solrj.impl.HttpSolrClient;
-import org.apache.solr.client.solrj.response.UpdateResponse;
+import org.apache.solr.common.SolrException;
 import org.apache.solr.common.SolrInputDocument;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-public class MarcSolrClient {
+/**
+ * Sends documents to Solr. The documents are collected into batches, and the batches are sent
+ * by background threads, at most <code>connections</code> batches at the same time. If all the
+ * connections are busy, indexMap() (and index()) waits until one of them gets free, so the reading of the
+ * records can not run ahead of the indexing.
+ *
+ * A failed request is retried. If Solr rejects a batch as a bad request (HTTP 400), its documents
+ * are sent one by one, so only the invalid documents are lost. If Solr is not reachable even after
+ * the retries, or it refuses the request for another reason (e.g. 401 or 403 because of the
+ * credentials, or 404 because of a wrong core URL), every following call of indexMap() (and
+ * index()) throws the error, so the caller should stop sending documents.
+ *
+ * The methods should be called from a single thread.
+ */
+public class MarcSolrClient implements Closeable {
 
   private static final Logger logger = Logger.getLogger(MarcSolrClient.class.getCanonicalName());
 
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+  public static final int DEFAULT_CONNECTIONS = 2;
+  public static final int DEFAULT_MAX_RETRIES = 3;
+  private static final long DEFAULT_RETRY_WAIT = 1000;
+  private static final int BAD_REQUEST = 400;
+
   private String defaultUrl = "http://localhost:8983/solr/techproducts";
   private SolrClient solr;
   private boolean trimId = false;
+  private int batchSize = DEFAULT_BATCH_SIZE;
+  private int connections = DEFAULT_CONNECTIONS;
+  private int commitWithin = -1;
+  private int maxRetries = DEFAULT_MAX_RETRIES;
+  private long retryWait = DEFAULT_RETRY_WAIT;
+
+  private List<SolrInputDocument> batch = new ArrayList<>();
+  private ExecutorService executor;
+  private Semaphore freeConnections;
+  private final AtomicReference<SolrServerException> failure = new AtomicReference<>();
+  private final AtomicLong indexedDocuments = new AtomicLong();
+  private final AtomicLong failedDocuments = new AtomicLong();
 
   public MarcSolrClient() {
     initialize(defaultUrl);
@@ -28,30 +69,23 @@ public class MarcSolrClient {
     initialize(url);
   }
 
+  public MarcSolrClient(SolrClient solr) {
+    this.solr = solr;
+  }
+
   private void initialize(String url) {
     solr = new HttpSolrClient.Builder(url).build();
   }
 
   public void indexMap(String id, Map<String, List<String>> objectMap)
       throws IOException, SolrServerException {
-    SolrInputDocument document = new SolrInputDocument();
-    document.addField("id", (trimId ? id.trim() : id));
+    SolrInputDocument document = createDocument(id);
     for (Map.Entry<String, List<String>> entry : objectMap.entrySet()) {
-      String key = entry.getKey();
       Object value = entry.getValue();
-      if (value != null) {
-        if (!key.endsWith("_sni") && !key.endsWith("_ss"))
-          key += "_ss";
-        document.addField(key, value);
-      }
-    }
-
-    try {
-      solr.add(document);
-    } catch (HttpSolrClient.RemoteSolrException ex) {
-      logger.log(Level.WARNING, "document", document);
-      logger.log(Level.WARNING, "Commit exception", ex);
+      if (value != null)
+        document.addField(toSolrFieldName(entry.getKey()), value);
     }
+    add(document);
   }
 
   public void indexDuplumKey(String id, Map<String, Object> objectMap)
@@ -59,39 +93,203 @@ public class MarcSolrClient {
     SolrInputDocument document = new SolrInputDocument();
     document.addField("id", id);
     for (Map.Entry<String, Object> entry : objectMap.entrySet()) {
-      String key = entry.getKey();
       Object value = entry.getValue();
-      if (value != null) {
-        if (!key.endsWith("_sni") && !key.endsWith("_ss"))
-          key += "_ss";
-        document.addField(key, value);
+      if (value != null)
+        document.addField(toSolrFieldName(entry.getKey()), value);
+    }
+    add(document);
+  }
+
+  /**
+   * Creates an empty document with the identifier (trimmed if trimId is set).
+   */
+  public SolrInputDocument createDocument(String id) {
+    SolrInputDocument document = new SolrInputDocument();
+    document.addField("id", (trimId ? id.trim() : id));
+    return document;
+  }
+
+  /**
+   * Adds a document created by createDocument() (e.g. filled by SolrDocumentBuilder) to the batch.
+   */
+  public void index(SolrInputDocument document) throws SolrServerException {
+    add(document);
+  }
+
+  /**
+   * Returns the name of the dynamic Solr field: a multivalued string field (_ss), unless the name
+   * already has a suffix.
+   */
+  public static String toSolrFieldName(String key) {
+    if (!key.endsWith("_sni") && !key.endsWith("_ss"))
+      key += "_ss";
+    return key;
+  }
+
+  private void add(SolrInputDocument document) throws SolrServerException {
+    checkFailure();
+    batch.add(document);
+    if (batch.size() >= batchSize)
+      sendBatch();
+  }
+
+  private void checkFailure() throws SolrServerException {
+    SolrServerException e = failure.get();
+    if (e != null)
+      throw e;
+  }
+
+  private void sendBatch() throws SolrServerException {
+    if (batch.isEmpty())
+      return;
+
+    List<SolrInputDocument> documents = batch;
+    batch = new ArrayList<>(batchSize);
+    if (executor == null) {
+      freeConnections = new Semaphore(connections);
+      executor = Executors.newFixedThreadPool(connections, runnable -> {
+        Thread thread = new Thread(runnable, "solr-indexer");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+
+    try {
+      freeConnections.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SolrServerException("Interrupted while waiting for a free Solr connection", e);
+    }
+    executor.execute(() -> {
+      try {
+        send(documents);
+      } finally {
+        freeConnections.release();
+      }
+    });
+  }
+
+  private void send(List<SolrInputDocument> documents) {
+    for (int attempt = 0; ; attempt++) {
+      try {
+        solr.add(documents, commitWithin);
+        indexedDocuments.addAndGet(documents.size());
+        return;
+      } catch (BaseHttpSolrClient.RemoteSolrException e) {
+        if (e.code() == BAD_REQUEST) {
+          reject(documents, e);
+          return;
+        }
+        if (e.code() < 500) {
+          fail(documents, new SolrServerException(e));
+          return;
+        }
+        if (!retry(documents, attempt, new SolrServerException(e)))
+          return;
+      } catch (IOException e) {
+        if (!retry(documents, attempt, new SolrServerException(e)))
+          return;
+      } catch (SolrServerException e) {
+        if (!retry(documents, attempt, e))
+          return;
+      } catch (RuntimeException e) {
+        fail(documents, new SolrServerException(e));
+        return;
       }
     }
+  }
 
+  /**
+   * Solr has rejected the request, because of (at least) one of its documents. The documents are
+   * sent one by one, unless a failure stops the indexing in the meantime.
+   */
+  private void reject(List<SolrInputDocument> documents, BaseHttpSolrClient.RemoteSolrException e) {
+    if (documents.size() == 1) {
+      failedDocuments.incrementAndGet();
+      logger.log(Level.WARNING, "document: " + documents.get(0).getFieldValue("id"), e);
+    } else {
+      for (int i = 0; i < documents.size(); i++) {
+        if (failure.get() != null) {
+          failedDocuments.addAndGet(documents.size() - i);
+          return;
+        }
+        send(Collections.singletonList(documents.get(i)));
+      }
+    }
+  }
+
+  /**
+   * Waits before the next attempt.
+   * @return false if there are no more attempts left
+   */
+  private boolean retry(List<SolrInputDocument> documents, int attempt, SolrServerException e) {
+    if (attempt < maxRetries) {
+      logger.log(Level.WARNING, String.format("indexing failed, retrying (%d/%d)", attempt + 1, maxRetries), e);
+      try {
+        Thread.sleep(retryWait << attempt);
+        return true;
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    fail(documents, e);
+    return false;
+  }
+
+  /**
+   * The documents are lost, and the indexing should stop: the error is thrown by the next call of
+   * indexMap() (and index()).
+   */
+  private void fail(List<SolrInputDocument> documents, SolrServerException e) {
+    failedDocuments.addAndGet(documents.size());
+    failure.compareAndSet(null, e);
+    logger.log(Level.SEVERE, "send", e);
+  }
+
+  /**
+   * Sends the collected documents, and waits until all the sent batches are processed.
+   */
+  public void flush() {
     try {
-      solr.add(document);
-    } catch (HttpSolrClient.RemoteSolrException ex) {
-      logger.log(Level.WARNING, "document", document);
-      logger.log(Level.WARNING, "Commit exception", ex);
+      sendBatch();
+      if (freeConnections != null) {
+        freeConnections.acquire(connections);
+        freeConnections.release(connections);
+      }
+    } catch (SolrServerException e) {
+      logger.log(Level.WARNING, "flush", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.log(Level.WARNING, "flush", e);
     }
   }
 
   public void commit() {
+    flush();
     try {
       solr.commit();
-    } catch (IOException | SolrServerException e) {
+    } catch (IOException | SolrServerException | SolrException e) {
       logger.log(Level.WARNING, "commit", e);
     }
   }
 
   public void optimize() {
+    flush();
     try {
       solr.optimize();
-    } catch (IOException | SolrServerException e) {
+    } catch (IOException | SolrServerException | SolrException e) {
       logger.log(Level.WARNING, "optimize", e);
     }
   }
 
+  @Override
+  public void close() throws IOException {
+    flush();
+    if (executor != null)
+      executor.shutdown();
+    solr.close();
+  }
+
   public boolean getTrimId() {
     return trimId;
   }
@@ -99,4 +297,58 @@ public class MarcSolrClient {
   public void setTrimId(boolean trimId) {
     this.trimId = trimId;
   }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public int getConnections() {
+    return connections;
+  }
+
+  /**
+   * @param connections The number of batches sent at the same time. It should be set before the
+   *                    first document is added.
+   */
+  public void setConnections(int connections) {
+    if (executor != null)
+      throw new IllegalStateException("The number of connections can not be changed after indexing has started");
+    this.connections = connections;
+  }
+
+  public int getCommitWithin() {
+    return commitWithin;
+  }
+
+  /**
+   * @param commitWithin Solr commits the documents within this time (in milliseconds). -1 means
+   *                     that the documents are committed only by commit() or by Solr's autoCommit.
+   */
+  public void setCommitWithin(int commitWithin) {
+    this.commitWithin = commitWithin;
+  }
+
+  public void setMaxRetries(int maxRetries) {
+    this.maxRetries = maxRetries;
+  }
+
+  /**
+   * @param retryWait The time (in milliseconds) to wait before the first retry, it doubles at
+   *                  every following retry
+   */
+  public void setRetryWait(long retryWait) {
+    this.retryWait = retryWait;
+  }
+
+  public long getNumberOfIndexedDocuments() {
+    return indexedDocuments.get();
+  }
+
+  public long getNumberOfFailedDocuments() {
+    return failedDocuments.get();
+  }
 }
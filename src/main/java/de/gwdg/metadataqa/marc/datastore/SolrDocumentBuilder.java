@@ -0,0 +1,98 @@
+package de.gwdg.metadataqa.marc.datastore;
+
+import de.gwdg.metadataqa.marc.dao.MarcRecord;
+import de.gwdg.metadataqa.marc.definition.MarcVersion;
+import de.gwdg.metadataqa.marc.model.SolrFieldType;
+import de.gwdg.metadataqa.marc.utils.keygenerator.KeyValueSink;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.SolrInputField;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the fields of a record directly into a Solr document. The result is the same as
+ * MarcSolrClient.indexMap() with the map of MarcRecord.getKeyValuePairs(), but the record is not
+ * collected into a map, the values are not copied when a field is repeated, and the Solr field
+ * names are created once per builder.
+ *
+ * A builder is not thread safe, every thread should use its own one.
+ */
+public class SolrDocumentBuilder implements KeyValueSink {
+
+  private final SolrFieldType type;
+  private final MarcVersion marcVersion;
+  private final boolean withDeduplication;
+  private final Map<String, String> solrFieldNames = new HashMap<>();
+  private SolrInputDocument document;
+
+  /**
+   * @param withDeduplication If true, a repeated field's value is added only if the Solr field does
+   *                          not have it yet (see MarcRecord.getKeyValuePairs())
+   */
+  public SolrDocumentBuilder(SolrFieldType type, MarcVersion marcVersion, boolean withDeduplication) {
+    this.type = type;
+    this.marcVersion = marcVersion;
+    this.withDeduplication = withDeduplication;
+  }
+
+  /**
+   * Adds the fields of the record to the document.
+   * @param marcRecord The record
+   * @param document The document (e.g. created by MarcSolrClient.createDocument())
+   * @return The document
+   */
+  public SolrInputDocument build(MarcRecord marcRecord, SolrInputDocument document) {
+    this.document = document;
+    try {
+      marcRecord.writeKeyValuePairs(type, marcVersion, this);
+    } finally {
+      this.document = null;
+    }
+    return document;
+  }
+
+  @Override
+  public void add(String key, List<String> values) {
+    if (values == null)
+      return;
+    String name = toSolrFieldName(key);
+    SolrInputField field = document.getField(name);
+    if (field == null) {
+      document.addField(name, values);
+    } else {
+      for (String value : values)
+        addValue(field, value);
+    }
+  }
+
+  @Override
+  public void add(String key, String value) {
+    String name = toSolrFieldName(key);
+    SolrInputField field = document.getField(name);
+    if (field == null)
+      document.addField(name, value);
+    else
+      addValue(field, value);
+  }
+
+  private void addValue(SolrInputField field, String value) {
+    if (withDeduplication) {
+      Collection<Object> values = field.getValues();
+      if (values != null && values.contains(value))
+        return;
+    }
+    field.addValue(value);
+  }
+
+  private String toSolrFieldName(String key) {
+    String name = solrFieldNames.get(key);
+    if (name == null) {
+      name = MarcSolrClient.toSolrFieldName(key);
+      solrFieldNames.put(key, name);
+    }
+    return name;
+  }
+}
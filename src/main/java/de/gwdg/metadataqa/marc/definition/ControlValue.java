@@ -54,7 +54,7 @@ public class ControlValue implements Validatable, Serializable {
     validationErrors = new ArrayList<>();
 
     if (!definition.getValidCodes().isEmpty()
-      && (!definition.getValidCodes().contains(value)
+      && (!definition.isValidCode(value)
           && definition.getCode(value) == null)) {
       if (definition.isHistoricalCode(value)) {
         validationErrors.add(new ValidationError(marcRecord.getId(), definition.getPath(), ValidationErrorType.CONTROL_POSITION_OBSOLETE_CODE,
@@ -66,7 +66,7 @@ public class ControlValue implements Validatable, Serializable {
           int unitLength = definition.getUnitLength();
           for (int i = 0; i < value.length(); i += unitLength) {
             String unit = value.substring(i, i + unitLength);
-            if (!definition.getValidCodes().contains(unit)) {
+            if (!definition.isValidCode(unit)) {
               validationErrors.add(
                 new ValidationError(
                   marcRecord.getId(),
@@ -34,4 +34,11 @@ public enum MarcFormat {
   public String getLabel() {
     return label;
   }
+
+  /**
+   * @return true if the records are in binary (ISO 2709) format, so the native reader can read them
+   */
+  public boolean isIso2709() {
+    return this == ISO || this == LINE_SEPARATED;
+  }
 }
@@ -0,0 +1,1341 @@
+package de.gwdg.metadataqa.marc.definition;
+
+import de.gwdg.metadataqa.marc.definition.structure.DataFieldDefinition;
+
+/**
+ * The list of data field definitions. Generated by
+ * de.gwdg.metadataqa.marc.utils.TagDefinitionIndexGenerator, do not edit it manually.
+ */
+final class TagDefinitionIndex {
+
+  static final String[] TAGS = {
+    "010",
+    "012",
+    "013",
+    "015",
+    "016",
+    "017",
+    "018",
+    "019",
+    "019",
+    "020",
+    "022",
+    "024",
+    "025",
+    "026",
+    "027",
+    "028",
+    "029",
+    "030",
+    "031",
+    "032",
+    "033",
+    "034",
+    "035",
+    "036",
+    "037",
+    "038",
+    "039",
+    "040",
+    "041",
+    "042",
+    "043",
+    "044",
+    "045",
+    "046",
+    "047",
+    "048",
+    "049",
+    "049",
+    "050",
+    "051",
+    "052",
+    "055",
+    "060",
+    "061",
+    "066",
+    "070",
+    "071",
+    "072",
+    "074",
+    "080",
+    "082",
+    "083",
+    "084",
+    "085",
+    "086",
+    "088",
+    "090",
+    "090",
+    "090",
+    "091",
+    "091",
+    "092",
+    "092",
+    "093",
+    "096",
+    "100",
+    "110",
+    "111",
+    "130",
+    "210",
+    "222",
+    "240",
+    "242",
+    "243",
+    "245",
+    "246",
+    "247",
+    "249",
+    "250",
+    "251",
+    "254",
+    "255",
+    "256",
+    "257",
+    "258",
+    "259",
+    "260",
+    "263",
+    "264",
+    "270",
+    "300",
+    "306",
+    "307",
+    "310",
+    "321",
+    "335",
+    "336",
+    "337",
+    "338",
+    "340",
+    "341",
+    "342",
+    "343",
+    "344",
+    "345",
+    "346",
+    "347",
+    "348",
+    "351",
+    "352",
+    "355",
+    "357",
+    "362",
+    "363",
+    "365",
+    "366",
+    "366",
+    "370",
+    "377",
+    "380",
+    "381",
+    "382",
+    "383",
+    "384",
+    "385",
+    "386",
+    "388",
+    "400",
+    "410",
+    "411",
+    "440",
+    "490",
+    "500",
+    "501",
+    "502",
+    "503",
+    "504",
+    "505",
+    "506",
+    "507",
+    "508",
+    "509",
+    "510",
+    "511",
+    "513",
+    "514",
+    "515",
+    "516",
+    "518",
+    "520",
+    "521",
+    "522",
+    "524",
+    "525",
+    "526",
+    "530",
+    "532",
+    "533",
+    "534",
+    "535",
+    "536",
+    "538",
+    "539",
+    "539",
+    "540",
+    "541",
+    "542",
+    "544",
+    "545",
+    "546",
+    "547",
+    "550",
+    "552",
+    "555",
+    "556",
+    "561",
+    "562",
+    "563",
+    "565",
+    "567",
+    "579",
+    "580",
+    "581",
+    "583",
+    "584",
+    "585",
+    "586",
+    "588",
+    "590",
+    "590",
+    "590",
+    "591",
+    "591",
+    "591",
+    "591",
+    "591",
+    "591",
+    "592",
+    "594",
+    "595",
+    "595",
+    "596",
+    "596",
+    "597",
+    "598",
+    "598",
+    "599",
+    "600",
+    "610",
+    "611",
+    "630",
+    "647",
+    "648",
+    "650",
+    "651",
+    "653",
+    "654",
+    "655",
+    "656",
+    "657",
+    "658",
+    "662",
+    "680",
+    "688",
+    "689",
+    "690",
+    "690",
+    "691",
+    "692",
+    "692",
+    "693",
+    "694",
+    "695",
+    "699",
+    "700",
+    "710",
+    "711",
+    "720",
+    "720",
+    "730",
+    "740",
+    "751",
+    "752",
+    "753",
+    "754",
+    "758",
+    "760",
+    "762",
+    "765",
+    "767",
+    "770",
+    "772",
+    "773",
+    "774",
+    "775",
+    "776",
+    "777",
+    "780",
+    "785",
+    "786",
+    "787",
+    "790",
+    "800",
+    "810",
+    "811",
+    "830",
+    "841",
+    "850",
+    "851",
+    "852",
+    "856",
+    "859",
+    "866",
+    "880",
+    "881",
+    "882",
+    "883",
+    "884",
+    "885",
+    "886",
+    "887",
+    "889",
+    "891",
+    "900",
+    "901",
+    "901",
+    "901",
+    "902",
+    "902",
+    "903",
+    "903",
+    "903",
+    "904",
+    "904",
+    "904",
+    "905",
+    "905",
+    "906",
+    "906",
+    "907",
+    "907",
+    "908",
+    "908",
+    "909",
+    "909",
+    "909",
+    "910",
+    "911",
+    "911",
+    "911",
+    "912",
+    "912",
+    "916",
+    "917",
+    "920",
+    "920",
+    "922",
+    "924",
+    "924",
+    "925",
+    "925",
+    "926",
+    "926",
+    "928",
+    "929",
+    "930",
+    "930",
+    "930",
+    "930",
+    "931",
+    "931",
+    "931",
+    "932",
+    "932",
+    "933",
+    "936",
+    "936",
+    "938",
+    "938",
+    "940",
+    "941",
+    "942",
+    "945",
+    "946",
+    "949",
+    "950",
+    "950",
+    "951",
+    "952",
+    "952",
+    "954",
+    "955",
+    "956",
+    "957",
+    "959",
+    "960",
+    "960",
+    "960",
+    "961",
+    "961",
+    "962",
+    "963",
+    "964",
+    "964",
+    "966",
+    "966",
+    "967",
+    "968",
+    "968",
+    "969",
+    "970",
+    "970",
+    "970",
+    "971",
+    "971",
+    "972",
+    "973",
+    "975",
+    "975",
+    "976",
+    "976",
+    "976",
+    "977",
+    "978",
+    "979",
+    "979",
+    "979",
+    "980",
+    "981",
+    "982",
+    "983",
+    "984",
+    "985",
+    "990",
+    "992",
+    "993",
+    "994",
+    "995",
+    "996",
+    "996",
+    "997",
+    "998",
+    "999",
+    "A02",
+    "AQN",
+    "BGT",
+    "BUF",
+    "CFI",
+    "CNF",
+    "DGM",
+    "DRT",
+    "EST",
+    "EXP",
+    "FFP",
+    "FIN",
+    "LAS",
+    "LCS",
+    "LDO",
+    "LEO",
+    "LET",
+    "MIS",
+    "MNI",
+    "MPX",
+    "NEG",
+    "NID",
+    "OBJ",
+    "OHC",
+    "ONS",
+    "ONX",
+    "PLR",
+    "RSC",
+    "SRC",
+    "SSD",
+    "TOC",
+    "UNO",
+    "VIT",
+    "WII"
+  };
+
+  static final MarcVersion[] VERSIONS = {
+    MarcVersion.MARC21,
+    MarcVersion.OCLC,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.FENNICA,
+    MarcVersion.OCLC,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.OCLC,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.BL,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.B3KAT,
+    MarcVersion.UVA,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.OCLC,
+    MarcVersion.SZTE,
+    MarcVersion.UVA,
+    MarcVersion.BL,
+    MarcVersion.UVA,
+    MarcVersion.OCLC,
+    MarcVersion.SZTE,
+    MarcVersion.SZTE,
+    MarcVersion.OCLC,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.DNB,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.DNB,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.OCLC,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.SZTE,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.BL,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.BL,
+    MarcVersion.OCLC,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.FENNICA,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.BL,
+    MarcVersion.NKCR,
+    MarcVersion.UVA,
+    MarcVersion.BL,
+    MarcVersion.DNB,
+    MarcVersion.GENT,
+    MarcVersion.NKCR,
+    MarcVersion.SZTE,
+    MarcVersion.UVA,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.SZTE,
+    MarcVersion.BL,
+    MarcVersion.SZTE,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.SZTE,
+    MarcVersion.BL,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.SZTE,
+    MarcVersion.MARC21,
+    MarcVersion.DNB,
+    MarcVersion.BL,
+    MarcVersion.UVA,
+    MarcVersion.UVA,
+    MarcVersion.BL,
+    MarcVersion.UVA,
+    MarcVersion.UVA,
+    MarcVersion.UVA,
+    MarcVersion.SZTE,
+    MarcVersion.SZTE,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.UVA,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.FENNICA,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.OCLC,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.BL,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.MARC21,
+    MarcVersion.DNB,
+    MarcVersion.OCLC,
+    MarcVersion.NKCR,
+    MarcVersion.FENNICA,
+    MarcVersion.NKCR,
+    MarcVersion.UVA,
+    MarcVersion.FENNICA,
+    MarcVersion.NKCR,
+    MarcVersion.FENNICA,
+    MarcVersion.NKCR,
+    MarcVersion.UVA,
+    MarcVersion.FENNICA,
+    MarcVersion.NKCR,
+    MarcVersion.UVA,
+    MarcVersion.FENNICA,
+    MarcVersion.NKCR,
+    MarcVersion.FENNICA,
+    MarcVersion.UVA,
+    MarcVersion.FENNICA,
+    MarcVersion.UVA,
+    MarcVersion.FENNICA,
+    MarcVersion.NKCR,
+    MarcVersion.BL,
+    MarcVersion.FENNICA,
+    MarcVersion.UVA,
+    MarcVersion.NKCR,
+    MarcVersion.NKCR,
+    MarcVersion.OCLC,
+    MarcVersion.UVA,
+    MarcVersion.NKCR,
+    MarcVersion.OCLC,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.GENT,
+    MarcVersion.NKCR,
+    MarcVersion.GENT,
+    MarcVersion.DNB,
+    MarcVersion.NKCR,
+    MarcVersion.DNB,
+    MarcVersion.NKCR,
+    MarcVersion.DNB,
+    MarcVersion.NKCR,
+    MarcVersion.NKCR,
+    MarcVersion.NKCR,
+    MarcVersion.DNB,
+    MarcVersion.FENNICA,
+    MarcVersion.NKCR,
+    MarcVersion.UVA,
+    MarcVersion.DNB,
+    MarcVersion.FENNICA,
+    MarcVersion.NKCR,
+    MarcVersion.DNB,
+    MarcVersion.FENNICA,
+    MarcVersion.FENNICA,
+    MarcVersion.OCLC,
+    MarcVersion.UVA,
+    MarcVersion.OCLC,
+    MarcVersion.UVA,
+    MarcVersion.B3KAT,
+    MarcVersion.B3KAT,
+    MarcVersion.B3KAT,
+    MarcVersion.BL,
+    MarcVersion.UVA,
+    MarcVersion.SZTE,
+    MarcVersion.BL,
+    MarcVersion.SZTE,
+    MarcVersion.SZTE,
+    MarcVersion.NKCR,
+    MarcVersion.SZTE,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.NKCR,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.FENNICA,
+    MarcVersion.UVA,
+    MarcVersion.BL,
+    MarcVersion.FENNICA,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.NKCR,
+    MarcVersion.BL,
+    MarcVersion.NKCR,
+    MarcVersion.NKCR,
+    MarcVersion.BL,
+    MarcVersion.NKCR,
+    MarcVersion.NKCR,
+    MarcVersion.BL,
+    MarcVersion.NKCR,
+    MarcVersion.UVA,
+    MarcVersion.FENNICA,
+    MarcVersion.UVA,
+    MarcVersion.FENNICA,
+    MarcVersion.UVA,
+    MarcVersion.BL,
+    MarcVersion.NKCR,
+    MarcVersion.BL,
+    MarcVersion.FENNICA,
+    MarcVersion.NKCR,
+    MarcVersion.FENNICA,
+    MarcVersion.NKCR,
+    MarcVersion.BL,
+    MarcVersion.FENNICA,
+    MarcVersion.NKCR,
+    MarcVersion.BL,
+    MarcVersion.NKCR,
+    MarcVersion.NKCR,
+    MarcVersion.NKCR,
+    MarcVersion.NKCR,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.NKCR,
+    MarcVersion.OCLC,
+    MarcVersion.FENNICA,
+    MarcVersion.BL,
+    MarcVersion.NKCR,
+    MarcVersion.BL,
+    MarcVersion.NKCR,
+    MarcVersion.B3KAT,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL,
+    MarcVersion.BL
+  };
+
+  private TagDefinitionIndex() {}
+
+  /**
+   * Creates (or returns the existing) instance of a definition. Only the class of the requested
+   * definition gets initialized.
+   * @param index The position of the definition in TAGS and VERSIONS
+   * @return The definition
+   */
+  static DataFieldDefinition getInstance(int index) {
+    switch (index) {
+      case 0: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag010.getInstance();
+      case 1: return de.gwdg.metadataqa.marc.definition.tags.oclctags.Tag012.getInstance();
+      case 2: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag013.getInstance();
+      case 3: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag015.getInstance();
+      case 4: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag016.getInstance();
+      case 5: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag017.getInstance();
+      case 6: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag018.getInstance();
+      case 7: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag019.getInstance();
+      case 8: return de.gwdg.metadataqa.marc.definition.tags.oclctags.Tag019.getInstance();
+      case 9: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag020.getInstance();
+      case 10: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag022.getInstance();
+      case 11: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag024.getInstance();
+      case 12: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag025.getInstance();
+      case 13: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag026.getInstance();
+      case 14: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag027.getInstance();
+      case 15: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag028.getInstance();
+      case 16: return de.gwdg.metadataqa.marc.definition.tags.oclctags.Tag029.getInstance();
+      case 17: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag030.getInstance();
+      case 18: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag031.getInstance();
+      case 19: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag032.getInstance();
+      case 20: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag033.getInstance();
+      case 21: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag034.getInstance();
+      case 22: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag035.getInstance();
+      case 23: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag036.getInstance();
+      case 24: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag037.getInstance();
+      case 25: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag038.getInstance();
+      case 26: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag039.getInstance();
+      case 27: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag040.getInstance();
+      case 28: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag041.getInstance();
+      case 29: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag042.getInstance();
+      case 30: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag043.getInstance();
+      case 31: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag044.getInstance();
+      case 32: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag045.getInstance();
+      case 33: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag046.getInstance();
+      case 34: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag047.getInstance();
+      case 35: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag048.getInstance();
+      case 36: return de.gwdg.metadataqa.marc.definition.tags.b3kattags.Tag049.getInstance();
+      case 37: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag049.getInstance();
+      case 38: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag050.getInstance();
+      case 39: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag051.getInstance();
+      case 40: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag052.getInstance();
+      case 41: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag055.getInstance();
+      case 42: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag060.getInstance();
+      case 43: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag061.getInstance();
+      case 44: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag066.getInstance();
+      case 45: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag070.getInstance();
+      case 46: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag071.getInstance();
+      case 47: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag072.getInstance();
+      case 48: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag074.getInstance();
+      case 49: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag080.getInstance();
+      case 50: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag082.getInstance();
+      case 51: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag083.getInstance();
+      case 52: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag084.getInstance();
+      case 53: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag085.getInstance();
+      case 54: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag086.getInstance();
+      case 55: return de.gwdg.metadataqa.marc.definition.tags.tags01x.Tag088.getInstance();
+      case 56: return de.gwdg.metadataqa.marc.definition.tags.oclctags.Tag090.getInstance();
+      case 57: return de.gwdg.metadataqa.marc.definition.tags.sztetags.Tag090.getInstance();
+      case 58: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag090.getInstance();
+      case 59: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag091.getInstance();
+      case 60: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag091.getInstance();
+      case 61: return de.gwdg.metadataqa.marc.definition.tags.oclctags.Tag092.getInstance();
+      case 62: return de.gwdg.metadataqa.marc.definition.tags.sztetags.Tag092.getInstance();
+      case 63: return de.gwdg.metadataqa.marc.definition.tags.sztetags.Tag093.getInstance();
+      case 64: return de.gwdg.metadataqa.marc.definition.tags.oclctags.Tag096.getInstance();
+      case 65: return de.gwdg.metadataqa.marc.definition.tags.tags1xx.Tag100.getInstance();
+      case 66: return de.gwdg.metadataqa.marc.definition.tags.tags1xx.Tag110.getInstance();
+      case 67: return de.gwdg.metadataqa.marc.definition.tags.tags1xx.Tag111.getInstance();
+      case 68: return de.gwdg.metadataqa.marc.definition.tags.tags1xx.Tag130.getInstance();
+      case 69: return de.gwdg.metadataqa.marc.definition.tags.tags20x.Tag210.getInstance();
+      case 70: return de.gwdg.metadataqa.marc.definition.tags.tags20x.Tag222.getInstance();
+      case 71: return de.gwdg.metadataqa.marc.definition.tags.tags20x.Tag240.getInstance();
+      case 72: return de.gwdg.metadataqa.marc.definition.tags.tags20x.Tag242.getInstance();
+      case 73: return de.gwdg.metadataqa.marc.definition.tags.tags20x.Tag243.getInstance();
+      case 74: return de.gwdg.metadataqa.marc.definition.tags.tags20x.Tag245.getInstance();
+      case 75: return de.gwdg.metadataqa.marc.definition.tags.tags20x.Tag246.getInstance();
+      case 76: return de.gwdg.metadataqa.marc.definition.tags.tags20x.Tag247.getInstance();
+      case 77: return de.gwdg.metadataqa.marc.definition.tags.dnbtags.Tag249.getInstance();
+      case 78: return de.gwdg.metadataqa.marc.definition.tags.tags25x.Tag250.getInstance();
+      case 79: return de.gwdg.metadataqa.marc.definition.tags.tags25x.Tag251.getInstance();
+      case 80: return de.gwdg.metadataqa.marc.definition.tags.tags25x.Tag254.getInstance();
+      case 81: return de.gwdg.metadataqa.marc.definition.tags.tags25x.Tag255.getInstance();
+      case 82: return de.gwdg.metadataqa.marc.definition.tags.tags25x.Tag256.getInstance();
+      case 83: return de.gwdg.metadataqa.marc.definition.tags.tags25x.Tag257.getInstance();
+      case 84: return de.gwdg.metadataqa.marc.definition.tags.tags25x.Tag258.getInstance();
+      case 85: return de.gwdg.metadataqa.marc.definition.tags.dnbtags.Tag259.getInstance();
+      case 86: return de.gwdg.metadataqa.marc.definition.tags.tags25x.Tag260.getInstance();
+      case 87: return de.gwdg.metadataqa.marc.definition.tags.tags25x.Tag263.getInstance();
+      case 88: return de.gwdg.metadataqa.marc.definition.tags.tags25x.Tag264.getInstance();
+      case 89: return de.gwdg.metadataqa.marc.definition.tags.tags25x.Tag270.getInstance();
+      case 90: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag300.getInstance();
+      case 91: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag306.getInstance();
+      case 92: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag307.getInstance();
+      case 93: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag310.getInstance();
+      case 94: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag321.getInstance();
+      case 95: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag335.getInstance();
+      case 96: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag336.getInstance();
+      case 97: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag337.getInstance();
+      case 98: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag338.getInstance();
+      case 99: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag340.getInstance();
+      case 100: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag341.getInstance();
+      case 101: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag342.getInstance();
+      case 102: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag343.getInstance();
+      case 103: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag344.getInstance();
+      case 104: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag345.getInstance();
+      case 105: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag346.getInstance();
+      case 106: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag347.getInstance();
+      case 107: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag348.getInstance();
+      case 108: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag351.getInstance();
+      case 109: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag352.getInstance();
+      case 110: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag355.getInstance();
+      case 111: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag357.getInstance();
+      case 112: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag362.getInstance();
+      case 113: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag363.getInstance();
+      case 114: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag365.getInstance();
+      case 115: return de.gwdg.metadataqa.marc.definition.tags.oclctags.Tag366.getInstance();
+      case 116: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag366.getInstance();
+      case 117: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag370.getInstance();
+      case 118: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag377.getInstance();
+      case 119: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag380.getInstance();
+      case 120: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag381.getInstance();
+      case 121: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag382.getInstance();
+      case 122: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag383.getInstance();
+      case 123: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag384.getInstance();
+      case 124: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag385.getInstance();
+      case 125: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag386.getInstance();
+      case 126: return de.gwdg.metadataqa.marc.definition.tags.tags3xx.Tag388.getInstance();
+      case 127: return de.gwdg.metadataqa.marc.definition.tags.tags4xx.Tag400.getInstance();
+      case 128: return de.gwdg.metadataqa.marc.definition.tags.tags4xx.Tag410.getInstance();
+      case 129: return de.gwdg.metadataqa.marc.definition.tags.tags4xx.Tag411.getInstance();
+      case 130: return de.gwdg.metadataqa.marc.definition.tags.tags4xx.Tag440.getInstance();
+      case 131: return de.gwdg.metadataqa.marc.definition.tags.tags4xx.Tag490.getInstance();
+      case 132: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag500.getInstance();
+      case 133: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag501.getInstance();
+      case 134: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag502.getInstance();
+      case 135: return de.gwdg.metadataqa.marc.definition.tags.sztetags.Tag503.getInstance();
+      case 136: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag504.getInstance();
+      case 137: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag505.getInstance();
+      case 138: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag506.getInstance();
+      case 139: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag507.getInstance();
+      case 140: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag508.getInstance();
+      case 141: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag509.getInstance();
+      case 142: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag510.getInstance();
+      case 143: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag511.getInstance();
+      case 144: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag513.getInstance();
+      case 145: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag514.getInstance();
+      case 146: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag515.getInstance();
+      case 147: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag516.getInstance();
+      case 148: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag518.getInstance();
+      case 149: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag520.getInstance();
+      case 150: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag521.getInstance();
+      case 151: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag522.getInstance();
+      case 152: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag524.getInstance();
+      case 153: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag525.getInstance();
+      case 154: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag526.getInstance();
+      case 155: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag530.getInstance();
+      case 156: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag532.getInstance();
+      case 157: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag533.getInstance();
+      case 158: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag534.getInstance();
+      case 159: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag535.getInstance();
+      case 160: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag536.getInstance();
+      case 161: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag538.getInstance();
+      case 162: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag539.getInstance();
+      case 163: return de.gwdg.metadataqa.marc.definition.tags.oclctags.Tag539.getInstance();
+      case 164: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag540.getInstance();
+      case 165: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag541.getInstance();
+      case 166: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag542.getInstance();
+      case 167: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag544.getInstance();
+      case 168: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag545.getInstance();
+      case 169: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag546.getInstance();
+      case 170: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag547.getInstance();
+      case 171: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag550.getInstance();
+      case 172: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag552.getInstance();
+      case 173: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag555.getInstance();
+      case 174: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag556.getInstance();
+      case 175: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag561.getInstance();
+      case 176: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag562.getInstance();
+      case 177: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag563.getInstance();
+      case 178: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag565.getInstance();
+      case 179: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag567.getInstance();
+      case 180: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag579.getInstance();
+      case 181: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag580.getInstance();
+      case 182: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag581.getInstance();
+      case 183: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag583.getInstance();
+      case 184: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag584.getInstance();
+      case 185: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag585.getInstance();
+      case 186: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag586.getInstance();
+      case 187: return de.gwdg.metadataqa.marc.definition.tags.tags5xx.Tag588.getInstance();
+      case 188: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag590.getInstance();
+      case 189: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag590.getInstance();
+      case 190: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag590.getInstance();
+      case 191: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag591.getInstance();
+      case 192: return de.gwdg.metadataqa.marc.definition.tags.dnbtags.Tag591.getInstance();
+      case 193: return de.gwdg.metadataqa.marc.definition.tags.genttags.Tag591.getInstance();
+      case 194: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag591.getInstance();
+      case 195: return de.gwdg.metadataqa.marc.definition.tags.sztetags.Tag591.getInstance();
+      case 196: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag591.getInstance();
+      case 197: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag592.getInstance();
+      case 198: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag594.getInstance();
+      case 199: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag595.getInstance();
+      case 200: return de.gwdg.metadataqa.marc.definition.tags.sztetags.Tag595.getInstance();
+      case 201: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag596.getInstance();
+      case 202: return de.gwdg.metadataqa.marc.definition.tags.sztetags.Tag596.getInstance();
+      case 203: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag597.getInstance();
+      case 204: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag598.getInstance();
+      case 205: return de.gwdg.metadataqa.marc.definition.tags.sztetags.Tag598.getInstance();
+      case 206: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag599.getInstance();
+      case 207: return de.gwdg.metadataqa.marc.definition.tags.tags6xx.Tag600.getInstance();
+      case 208: return de.gwdg.metadataqa.marc.definition.tags.tags6xx.Tag610.getInstance();
+      case 209: return de.gwdg.metadataqa.marc.definition.tags.tags6xx.Tag611.getInstance();
+      case 210: return de.gwdg.metadataqa.marc.definition.tags.tags6xx.Tag630.getInstance();
+      case 211: return de.gwdg.metadataqa.marc.definition.tags.tags6xx.Tag647.getInstance();
+      case 212: return de.gwdg.metadataqa.marc.definition.tags.tags6xx.Tag648.getInstance();
+      case 213: return de.gwdg.metadataqa.marc.definition.tags.tags6xx.Tag650.getInstance();
+      case 214: return de.gwdg.metadataqa.marc.definition.tags.tags6xx.Tag651.getInstance();
+      case 215: return de.gwdg.metadataqa.marc.definition.tags.tags6xx.Tag653.getInstance();
+      case 216: return de.gwdg.metadataqa.marc.definition.tags.tags6xx.Tag654.getInstance();
+      case 217: return de.gwdg.metadataqa.marc.definition.tags.tags6xx.Tag655.getInstance();
+      case 218: return de.gwdg.metadataqa.marc.definition.tags.tags6xx.Tag656.getInstance();
+      case 219: return de.gwdg.metadataqa.marc.definition.tags.tags6xx.Tag657.getInstance();
+      case 220: return de.gwdg.metadataqa.marc.definition.tags.tags6xx.Tag658.getInstance();
+      case 221: return de.gwdg.metadataqa.marc.definition.tags.tags6xx.Tag662.getInstance();
+      case 222: return de.gwdg.metadataqa.marc.definition.tags.sztetags.Tag680.getInstance();
+      case 223: return de.gwdg.metadataqa.marc.definition.tags.tags6xx.Tag688.getInstance();
+      case 224: return de.gwdg.metadataqa.marc.definition.tags.dnbtags.Tag689.getInstance();
+      case 225: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag690.getInstance();
+      case 226: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag690.getInstance();
+      case 227: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag691.getInstance();
+      case 228: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag692.getInstance();
+      case 229: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag692.getInstance();
+      case 230: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag693.getInstance();
+      case 231: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag694.getInstance();
+      case 232: return de.gwdg.metadataqa.marc.definition.tags.sztetags.Tag695.getInstance();
+      case 233: return de.gwdg.metadataqa.marc.definition.tags.sztetags.Tag699.getInstance();
+      case 234: return de.gwdg.metadataqa.marc.definition.tags.tags70x.Tag700.getInstance();
+      case 235: return de.gwdg.metadataqa.marc.definition.tags.tags70x.Tag710.getInstance();
+      case 236: return de.gwdg.metadataqa.marc.definition.tags.tags70x.Tag711.getInstance();
+      case 237: return de.gwdg.metadataqa.marc.definition.tags.tags70x.Tag720.getInstance();
+      case 238: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag720.getInstance();
+      case 239: return de.gwdg.metadataqa.marc.definition.tags.tags70x.Tag730.getInstance();
+      case 240: return de.gwdg.metadataqa.marc.definition.tags.tags70x.Tag740.getInstance();
+      case 241: return de.gwdg.metadataqa.marc.definition.tags.tags70x.Tag751.getInstance();
+      case 242: return de.gwdg.metadataqa.marc.definition.tags.tags70x.Tag752.getInstance();
+      case 243: return de.gwdg.metadataqa.marc.definition.tags.tags70x.Tag753.getInstance();
+      case 244: return de.gwdg.metadataqa.marc.definition.tags.tags70x.Tag754.getInstance();
+      case 245: return de.gwdg.metadataqa.marc.definition.tags.tags70x.Tag758.getInstance();
+      case 246: return de.gwdg.metadataqa.marc.definition.tags.tags76x.Tag760.getInstance();
+      case 247: return de.gwdg.metadataqa.marc.definition.tags.tags76x.Tag762.getInstance();
+      case 248: return de.gwdg.metadataqa.marc.definition.tags.tags76x.Tag765.getInstance();
+      case 249: return de.gwdg.metadataqa.marc.definition.tags.tags76x.Tag767.getInstance();
+      case 250: return de.gwdg.metadataqa.marc.definition.tags.tags76x.Tag770.getInstance();
+      case 251: return de.gwdg.metadataqa.marc.definition.tags.tags76x.Tag772.getInstance();
+      case 252: return de.gwdg.metadataqa.marc.definition.tags.tags76x.Tag773.getInstance();
+      case 253: return de.gwdg.metadataqa.marc.definition.tags.tags76x.Tag774.getInstance();
+      case 254: return de.gwdg.metadataqa.marc.definition.tags.tags76x.Tag775.getInstance();
+      case 255: return de.gwdg.metadataqa.marc.definition.tags.tags76x.Tag776.getInstance();
+      case 256: return de.gwdg.metadataqa.marc.definition.tags.tags76x.Tag777.getInstance();
+      case 257: return de.gwdg.metadataqa.marc.definition.tags.tags76x.Tag780.getInstance();
+      case 258: return de.gwdg.metadataqa.marc.definition.tags.tags76x.Tag785.getInstance();
+      case 259: return de.gwdg.metadataqa.marc.definition.tags.tags76x.Tag786.getInstance();
+      case 260: return de.gwdg.metadataqa.marc.definition.tags.tags76x.Tag787.getInstance();
+      case 261: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag790.getInstance();
+      case 262: return de.gwdg.metadataqa.marc.definition.tags.tags80x.Tag800.getInstance();
+      case 263: return de.gwdg.metadataqa.marc.definition.tags.tags80x.Tag810.getInstance();
+      case 264: return de.gwdg.metadataqa.marc.definition.tags.tags80x.Tag811.getInstance();
+      case 265: return de.gwdg.metadataqa.marc.definition.tags.tags80x.Tag830.getInstance();
+      case 266: return de.gwdg.metadataqa.marc.definition.tags.holdings.Tag841.getInstance();
+      case 267: return de.gwdg.metadataqa.marc.definition.tags.tags84x.Tag850.getInstance();
+      case 268: return de.gwdg.metadataqa.marc.definition.tags.oclctags.Tag851.getInstance();
+      case 269: return de.gwdg.metadataqa.marc.definition.tags.tags84x.Tag852.getInstance();
+      case 270: return de.gwdg.metadataqa.marc.definition.tags.tags84x.Tag856.getInstance();
+      case 271: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag859.getInstance();
+      case 272: return de.gwdg.metadataqa.marc.definition.tags.holdings.Tag866.getInstance();
+      case 273: return de.gwdg.metadataqa.marc.definition.tags.tags84x.Tag880.getInstance();
+      case 274: return de.gwdg.metadataqa.marc.definition.tags.tags84x.Tag881.getInstance();
+      case 275: return de.gwdg.metadataqa.marc.definition.tags.tags84x.Tag882.getInstance();
+      case 276: return de.gwdg.metadataqa.marc.definition.tags.tags84x.Tag883.getInstance();
+      case 277: return de.gwdg.metadataqa.marc.definition.tags.tags84x.Tag884.getInstance();
+      case 278: return de.gwdg.metadataqa.marc.definition.tags.tags84x.Tag885.getInstance();
+      case 279: return de.gwdg.metadataqa.marc.definition.tags.tags84x.Tag886.getInstance();
+      case 280: return de.gwdg.metadataqa.marc.definition.tags.tags84x.Tag887.getInstance();
+      case 281: return de.gwdg.metadataqa.marc.definition.tags.dnbtags.Tag889.getInstance();
+      case 282: return de.gwdg.metadataqa.marc.definition.tags.oclctags.Tag891.getInstance();
+      case 283: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag900.getInstance();
+      case 284: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag901.getInstance();
+      case 285: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag901.getInstance();
+      case 286: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag901.getInstance();
+      case 287: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag902.getInstance();
+      case 288: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag902.getInstance();
+      case 289: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag903.getInstance();
+      case 290: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag903.getInstance();
+      case 291: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag903.getInstance();
+      case 292: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag904.getInstance();
+      case 293: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag904.getInstance();
+      case 294: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag904.getInstance();
+      case 295: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag905.getInstance();
+      case 296: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag905.getInstance();
+      case 297: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag906.getInstance();
+      case 298: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag906.getInstance();
+      case 299: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag907.getInstance();
+      case 300: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag907.getInstance();
+      case 301: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag908.getInstance();
+      case 302: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag908.getInstance();
+      case 303: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag909.getInstance();
+      case 304: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag909.getInstance();
+      case 305: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag909.getInstance();
+      case 306: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag910.getInstance();
+      case 307: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag911.getInstance();
+      case 308: return de.gwdg.metadataqa.marc.definition.tags.oclctags.Tag911.getInstance();
+      case 309: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag911.getInstance();
+      case 310: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag912.getInstance();
+      case 311: return de.gwdg.metadataqa.marc.definition.tags.oclctags.Tag912.getInstance();
+      case 312: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag916.getInstance();
+      case 313: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag917.getInstance();
+      case 314: return de.gwdg.metadataqa.marc.definition.tags.genttags.Tag920.getInstance();
+      case 315: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag920.getInstance();
+      case 316: return de.gwdg.metadataqa.marc.definition.tags.genttags.Tag922.getInstance();
+      case 317: return de.gwdg.metadataqa.marc.definition.tags.dnbtags.Tag924.getInstance();
+      case 318: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag924.getInstance();
+      case 319: return de.gwdg.metadataqa.marc.definition.tags.dnbtags.Tag925.getInstance();
+      case 320: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag925.getInstance();
+      case 321: return de.gwdg.metadataqa.marc.definition.tags.dnbtags.Tag926.getInstance();
+      case 322: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag926.getInstance();
+      case 323: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag928.getInstance();
+      case 324: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag929.getInstance();
+      case 325: return de.gwdg.metadataqa.marc.definition.tags.dnbtags.Tag930.getInstance();
+      case 326: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag930.getInstance();
+      case 327: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag930.getInstance();
+      case 328: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag930.getInstance();
+      case 329: return de.gwdg.metadataqa.marc.definition.tags.dnbtags.Tag931.getInstance();
+      case 330: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag931.getInstance();
+      case 331: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag931.getInstance();
+      case 332: return de.gwdg.metadataqa.marc.definition.tags.dnbtags.Tag932.getInstance();
+      case 333: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag932.getInstance();
+      case 334: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag933.getInstance();
+      case 335: return de.gwdg.metadataqa.marc.definition.tags.oclctags.Tag936.getInstance();
+      case 336: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag936.getInstance();
+      case 337: return de.gwdg.metadataqa.marc.definition.tags.oclctags.Tag938.getInstance();
+      case 338: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag938.getInstance();
+      case 339: return de.gwdg.metadataqa.marc.definition.tags.b3kattags.Tag940.getInstance();
+      case 340: return de.gwdg.metadataqa.marc.definition.tags.b3kattags.Tag941.getInstance();
+      case 341: return de.gwdg.metadataqa.marc.definition.tags.b3kattags.Tag942.getInstance();
+      case 342: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag945.getInstance();
+      case 343: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag946.getInstance();
+      case 344: return de.gwdg.metadataqa.marc.definition.tags.sztetags.Tag949.getInstance();
+      case 345: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag950.getInstance();
+      case 346: return de.gwdg.metadataqa.marc.definition.tags.sztetags.Tag950.getInstance();
+      case 347: return de.gwdg.metadataqa.marc.definition.tags.sztetags.Tag951.getInstance();
+      case 348: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag952.getInstance();
+      case 349: return de.gwdg.metadataqa.marc.definition.tags.sztetags.Tag952.getInstance();
+      case 350: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag954.getInstance();
+      case 351: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag955.getInstance();
+      case 352: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag956.getInstance();
+      case 353: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag957.getInstance();
+      case 354: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag959.getInstance();
+      case 355: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag960.getInstance();
+      case 356: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag960.getInstance();
+      case 357: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag960.getInstance();
+      case 358: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag961.getInstance();
+      case 359: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag961.getInstance();
+      case 360: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag962.getInstance();
+      case 361: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag963.getInstance();
+      case 362: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag964.getInstance();
+      case 363: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag964.getInstance();
+      case 364: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag966.getInstance();
+      case 365: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag966.getInstance();
+      case 366: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag967.getInstance();
+      case 367: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag968.getInstance();
+      case 368: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag968.getInstance();
+      case 369: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag969.getInstance();
+      case 370: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag970.getInstance();
+      case 371: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag970.getInstance();
+      case 372: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag970.getInstance();
+      case 373: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag971.getInstance();
+      case 374: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag971.getInstance();
+      case 375: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag972.getInstance();
+      case 376: return de.gwdg.metadataqa.marc.definition.tags.uvatags.Tag973.getInstance();
+      case 377: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag975.getInstance();
+      case 378: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag975.getInstance();
+      case 379: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag976.getInstance();
+      case 380: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag976.getInstance();
+      case 381: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag976.getInstance();
+      case 382: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag977.getInstance();
+      case 383: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag978.getInstance();
+      case 384: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag979.getInstance();
+      case 385: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag979.getInstance();
+      case 386: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag979.getInstance();
+      case 387: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag980.getInstance();
+      case 388: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag981.getInstance();
+      case 389: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag982.getInstance();
+      case 390: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag983.getInstance();
+      case 391: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag984.getInstance();
+      case 392: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag985.getInstance();
+      case 393: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag990.getInstance();
+      case 394: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag992.getInstance();
+      case 395: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag993.getInstance();
+      case 396: return de.gwdg.metadataqa.marc.definition.tags.oclctags.Tag994.getInstance();
+      case 397: return de.gwdg.metadataqa.marc.definition.tags.fennicatags.Tag995.getInstance();
+      case 398: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag996.getInstance();
+      case 399: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag996.getInstance();
+      case 400: return de.gwdg.metadataqa.marc.definition.tags.bltags.Tag997.getInstance();
+      case 401: return de.gwdg.metadataqa.marc.definition.tags.nkcrtags.Tag998.getInstance();
+      case 402: return de.gwdg.metadataqa.marc.definition.tags.b3kattags.Tag999.getInstance();
+      case 403: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagA02.getInstance();
+      case 404: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagAQN.getInstance();
+      case 405: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagBGT.getInstance();
+      case 406: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagBUF.getInstance();
+      case 407: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagCFI.getInstance();
+      case 408: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagCNF.getInstance();
+      case 409: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagDGM.getInstance();
+      case 410: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagDRT.getInstance();
+      case 411: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagEST.getInstance();
+      case 412: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagEXP.getInstance();
+      case 413: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagFFP.getInstance();
+      case 414: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagFIN.getInstance();
+      case 415: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagLAS.getInstance();
+      case 416: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagLCS.getInstance();
+      case 417: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagLDO.getInstance();
+      case 418: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagLEO.getInstance();
+      case 419: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagLET.getInstance();
+      case 420: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagMIS.getInstance();
+      case 421: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagMNI.getInstance();
+      case 422: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagMPX.getInstance();
+      case 423: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagNEG.getInstance();
+      case 424: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagNID.getInstance();
+      case 425: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagOBJ.getInstance();
+      case 426: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagOHC.getInstance();
+      case 427: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagONS.getInstance();
+      case 428: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagONX.getInstance();
+      case 429: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagPLR.getInstance();
+      case 430: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagRSC.getInstance();
+      case 431: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagSRC.getInstance();
+      case 432: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagSSD.getInstance();
+      case 433: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagTOC.getInstance();
+      case 434: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagUNO.getInstance();
+      case 435: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagVIT.getInstance();
+      case 436: return de.gwdg.metadataqa.marc.definition.tags.bltags.TagWII.getInstance();
+      default: return null;
+    }
+  }
+}
@@ -1,26 +1,23 @@
 package de.gwdg.metadataqa.marc.definition;
 
-import de.gwdg.metadataqa.marc.Utils;
 import de.gwdg.metadataqa.marc.definition.structure.DataFieldDefinition;
-import de.gwdg.metadataqa.marc.utils.MarcTagLister;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * Provides the data field definitions by tag and MARC version. The list of definitions comes from
+ * the generated TagDefinitionIndex, and a definition is instantiated only when it is first requested.
+ */
 public class TagDefinitionLoader {
 
-  private static final Logger logger = Logger.getLogger(TagDefinitionLoader.class.getCanonicalName());
-
   private static final Pattern PATTERN_20x = Pattern.compile("^2[0-4]\\d$");
   private static final Pattern PATTERN_25x = Pattern.compile("^2[5-9]\\d$");
   private static final Pattern PATTERN_70x = Pattern.compile("^7[0-5]\\d$");
@@ -32,36 +29,36 @@ public class TagDefinitionLoader {
     "012", "019", "029", "090", "092", "096", "366", "539", "891", "911",
     "912", "936", "938", "994"
   );
-  private static Map<String, DataFieldDefinition> commonCache = new HashMap<>();
-  private static Map<String, Map<MarcVersion, DataFieldDefinition>> versionedCache = new HashMap<>();
+  private static final Map<String, Map<MarcVersion, Integer>> versionedIndex = new HashMap<>();
+  private static final AtomicReferenceArray<DataFieldDefinition> definitions =
+    new AtomicReferenceArray<>(TagDefinitionIndex.TAGS.length);
 
   static {
-    findAndCacheTags();
+    for (int i = 0; i < TagDefinitionIndex.TAGS.length; i++)
+      versionedIndex
+        .computeIfAbsent(TagDefinitionIndex.TAGS[i], s -> new EnumMap<>(MarcVersion.class))
+        .put(TagDefinitionIndex.VERSIONS[i], i);
   }
 
-  private static void findAndCacheTags() {
-    List<Class<? extends DataFieldDefinition>> tags = MarcTagLister.listTags();
-    for (Class<? extends DataFieldDefinition> definitionClazz : tags) {
-      loadAndCacheTag(definitionClazz);
-    }
-  }
+  /**
+   * Returns the definition at the given position of the index, instantiating it at the first call.
+   * The instantiation is synchronized, because the getInstance() methods of the definitions are not.
+   */
+  private static DataFieldDefinition getDefinition(Integer index) {
+    if (index == null)
+      return null;
 
-  private static void loadAndCacheTag(Class<? extends DataFieldDefinition> definitionClazz) {
-    DataFieldDefinition dataFieldDefinition = null;
-    Method getInstance = null;
-    try {
-      getInstance = definitionClazz.getMethod("getInstance");
-      dataFieldDefinition = (DataFieldDefinition) getInstance.invoke(definitionClazz);
-      if (dataFieldDefinition != null) {
-        String tag = dataFieldDefinition.getTag();
-        commonCache.put(tag, dataFieldDefinition);
-        MarcVersion version = Utils.getVersion(definitionClazz);
-        versionedCache.computeIfAbsent(tag, s -> new EnumMap<>(MarcVersion.class));
-        versionedCache.get(tag).put(version, dataFieldDefinition);
+    DataFieldDefinition definition = definitions.get(index);
+    if (definition == null) {
+      synchronized (definitions) {
+        definition = definitions.get(index);
+        if (definition == null) {
+          definition = TagDefinitionIndex.getInstance(index);
+          definitions.set(index, definition);
+        }
       }
-    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-      logger.log(Level.SEVERE, "loadAndCacheTag", e);
     }
+    return definition;
   }
 
   public static DataFieldDefinition load(String tag) {
@@ -69,13 +66,13 @@ public class TagDefinitionLoader {
   }
 
   public static DataFieldDefinition load(String tag, MarcVersion marcVersion) {
-    Map<MarcVersion, DataFieldDefinition> map = versionedCache.get(tag);
+    Map<MarcVersion, Integer> map = versionedIndex.get(tag);
 
     if (map == null)
       return null;
 
     if (map.containsKey(marcVersion))
-      return map.get(marcVersion);
+      return getDefinition(map.get(marcVersion));
 
     if (marcVersion.equals(MarcVersion.MARC21)) {
       // no fallback for MARC21
@@ -83,9 +80,9 @@ public class TagDefinitionLoader {
     } else {
       // fallbacks for other MARC versions
       if (map.containsKey(MarcVersion.MARC21))
-        return map.get(MarcVersion.MARC21);
+        return getDefinition(map.get(MarcVersion.MARC21));
       if (map.containsKey(MarcVersion.OCLC))
-        return map.get(MarcVersion.OCLC);
+        return getDefinition(map.get(MarcVersion.OCLC));
     }
 
     return null;
@@ -93,27 +90,27 @@ public class TagDefinitionLoader {
 
   public static List<DataFieldDefinition> findPatterns(String tagPattern, MarcVersion marcVersion) {
     Matcher matcher = Pattern.compile("^" + tagPattern.replaceAll("X", ".") + "$").matcher("");
-    List<DataFieldDefinition> definitions = new ArrayList<>();
-    for (String tag : versionedCache.keySet()) {
+    List<DataFieldDefinition> matchingDefinitions = new ArrayList<>();
+    for (String tag : versionedIndex.keySet()) {
       if (matcher.reset(tag).matches()) {
-        Map<MarcVersion, DataFieldDefinition> map = versionedCache.get(tag);
+        Map<MarcVersion, Integer> map = versionedIndex.get(tag);
 
         if (map == null)
           continue;
 
         if (map.containsKey(marcVersion))
-          definitions.add(map.get(marcVersion));
+          matchingDefinitions.add(getDefinition(map.get(marcVersion)));
         else {
             // fallbacks for other MARC versions
           if (map.containsKey(MarcVersion.MARC21))
-            definitions.add(map.get(MarcVersion.MARC21));
+            matchingDefinitions.add(getDefinition(map.get(MarcVersion.MARC21)));
           if (map.containsKey(MarcVersion.OCLC))
-            definitions.add(map.get(MarcVersion.OCLC));
+            matchingDefinitions.add(getDefinition(map.get(MarcVersion.OCLC)));
         }
       }
     }
 
-    return definitions;
+    return matchingDefinitions;
   }
 
   public static String getClassName(String tag) {
@@ -2,10 +2,14 @@ package de.gwdg.metadataqa.marc.definition.structure;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import de.gwdg.metadataqa.marc.EncodedValue;
+import de.gwdg.metadataqa.marc.EncodedValueIndex;
 import de.gwdg.metadataqa.marc.definition.FRBRFunction;
 import de.gwdg.metadataqa.marc.definition.general.codelist.CodeList;
 import de.gwdg.metadataqa.marc.definition.general.parser.SubfieldContentParser;
@@ -30,6 +34,8 @@ public class ControlfieldPositionDefinition implements Serializable {
   protected CodeList codeList;
 
   protected List<String> validCodes = new ArrayList<>();
+  private Set<String> validCodeIndex;
+  private EncodedValueIndex codeIndex;
   protected int unitLength = -1;
   protected boolean repeatableContent = false;
   protected String defaultCode;
@@ -147,13 +153,13 @@ public class ControlfieldPositionDefinition implements Serializable {
     if (isRepeatableContent())
       return validateRepeatable(code);
     else
-      return validCodes.contains(code);
+      return isValidCode(code);
   }
 
   private boolean validateRepeatable(String code) {
     for (int i=0; i < code.length(); i += unitLength) {
       String unit = code.substring(i, i+unitLength);
-      if (!validCodes.contains(unit))
+      if (!isValidCode(unit))
         return false;
     }
     return true;
@@ -196,9 +202,9 @@ public class ControlfieldPositionDefinition implements Serializable {
     }
 
     if (codes != null) {
-      for (EncodedValue code : codes)
-        if (code.getCode().equals(inputCode))
-          return code.getLabel();
+      EncodedValue code = getCodeIndex().getExactCode(inputCode);
+      if (code != null)
+        return code.getLabel();
     }
 
     return inputCode;
@@ -209,12 +215,35 @@ public class ControlfieldPositionDefinition implements Serializable {
       return;
     for (EncodedValue code : codes)
       validCodes.add(code.getCode());
+    validCodeIndex = null;
   }
 
   public List<String> getValidCodes() {
     return validCodes;
   }
 
+  /**
+   * @param code The code
+   * @return true if the code is in the list of valid codes (a hash lookup instead of getValidCodes().contains())
+   */
+  public boolean isValidCode(String code) {
+    Set<String> index = validCodeIndex;
+    if (index == null) {
+      index = Collections.unmodifiableSet(new HashSet<>(validCodes));
+      validCodeIndex = index;
+    }
+    return index.contains(code);
+  }
+
+  private EncodedValueIndex getCodeIndex() {
+    EncodedValueIndex index = codeIndex;
+    if (index == null || !index.isIndexOf(codes)) {
+      index = new EncodedValueIndex(codes);
+      codeIndex = index;
+    }
+    return index;
+  }
+
   public String formatPositon() {
     return (positionStart == positionEnd - 1)
       ? String.format("%02d", positionStart)
@@ -229,13 +258,9 @@ public class ControlfieldPositionDefinition implements Serializable {
   }
 
   public EncodedValue getCode(String otherCode) {
-    for (EncodedValue code : codes)
-      if (code.getCode().equals(otherCode))
-        return code;
-      else if (code.isRange() && code.getRange().isValid(otherCode))
-        return code;
-
-    return null;
+    if (codes == null)
+      return null;
+    return getCodeIndex().getCode(otherCode);
   }
 
   public boolean isHistoricalCode(String inputCode) {
@@ -1,6 +1,7 @@
 package de.gwdg.metadataqa.marc.definition.structure;
 
 import de.gwdg.metadataqa.marc.EncodedValue;
+import de.gwdg.metadataqa.marc.EncodedValueIndex;
 import de.gwdg.metadataqa.marc.Utils;
 import de.gwdg.metadataqa.marc.definition.Cardinality;
 import de.gwdg.metadataqa.marc.definition.CompilanceLevel;
@@ -34,6 +35,8 @@ public class SubfieldDefinition implements Serializable {
   protected CodeList codeList;
   private List<EncodedValue> codes;
   private Map<MarcVersion, List<EncodedValue>> localCodes;
+  private EncodedValueIndex codeIndex;
+  private Map<MarcVersion, EncodedValueIndex> localCodeIndex;
   private List<String> allowedCodes;
   private String codeForIndex = null;
   private List<ControlfieldPositionDefinition> positions;
@@ -118,11 +121,19 @@ public class SubfieldDefinition implements Serializable {
     for (int i = 0; i < input.length; i += 2) {
       localCodes.get(version).add(new EncodedValue(input[i], input[i+1]));
     }
+    localCodeIndex = null;
     return this;
   }
 
   public EncodedValue getCode(String code) {
-    return getCode(codes, code);
+    if (codes == null)
+      return null;
+    EncodedValueIndex index = codeIndex;
+    if (index == null || !index.isIndexOf(codes)) {
+      index = new EncodedValueIndex(codes);
+      codeIndex = index;
+    }
+    return index.getCode(code);
   }
 
   public EncodedValue getCode(List<EncodedValue> codes, String otherCode) {
@@ -151,7 +162,21 @@ public class SubfieldDefinition implements Serializable {
     List<EncodedValue> codes = getLocalCodes(version);
     if (codes == null)
       return null;
-    return getCode(codes, code);
+    EncodedValueIndex index = getLocalCodeIndex().get(version);
+    if (index == null || !index.isIndexOf(codes))
+      return getCode(codes, code);
+    return index.getCode(code);
+  }
+
+  private Map<MarcVersion, EncodedValueIndex> getLocalCodeIndex() {
+    Map<MarcVersion, EncodedValueIndex> index = localCodeIndex;
+    if (index == null) {
+      index = new EnumMap<>(MarcVersion.class);
+      for (Map.Entry<MarcVersion, List<EncodedValue>> entry : localCodes.entrySet())
+        index.put(entry.getKey(), new EncodedValueIndex(entry.getValue()));
+      localCodeIndex = index;
+    }
+    return index;
   }
 
   public String getCardinalityCode() {
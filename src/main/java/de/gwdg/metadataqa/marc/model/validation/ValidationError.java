@@ -1,9 +1,7 @@
 package de.gwdg.metadataqa.marc.model.validation;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
-
 import java.io.Serializable;
+import java.util.Objects;
 
 public class ValidationError implements Serializable {
 
@@ -14,6 +12,7 @@ public class ValidationError implements Serializable {
   private String message;
   private String url;
   private boolean trimId = false;
+  private transient int hash = 0;
 
   public ValidationError(String recordId, String marcPath, ValidationErrorType type, String message, String url) {
     this.recordId = recordId;
@@ -59,31 +58,45 @@ public class ValidationError implements Serializable {
     this.id = id;
   }
 
+  /**
+   * Two errors are equal if they have the same path, type, message and URL, no matter which record
+   * they belong to.
+   */
   @Override
   public boolean equals(Object o) {
-    if (this.hashCode() == o.hashCode())
-      return true;
-
+    if (this == o) return true;
     if (!(o instanceof ValidationError)) return false;
 
     ValidationError that = (ValidationError) o;
-
-    return new EqualsBuilder()
-      .append(getMarcPath(), that.getMarcPath())
-      .append(getType(), that.getType())
-      .append(getMessage(), that.getMessage())
-      .append(getUrl(), that.getUrl())
-      .isEquals();
+    return hashCode() == that.hashCode()
+      && type == that.type
+      && Objects.equals(marcPath, that.marcPath)
+      && Objects.equals(message, that.message)
+      && Objects.equals(url, that.url);
   }
 
+  /**
+   * The hash code is calculated only once, and it doesn't depend on the JVM (the type is
+   * represented by its identifier), so the errors have the same hash code on every Spark executor.
+   * The bits are mixed, so the lowest bits are usable as the index of a hash table.
+   */
   @Override
   public int hashCode() {
-    return new HashCodeBuilder(17, 37)
-      .append(getMarcPath())
-      .append(getType())
-      .append(getMessage())
-      .append(getUrl())
-      .toHashCode();
+    int h = hash;
+    if (h == 0) {
+      h = Objects.hashCode(marcPath);
+      h = 31 * h + (type == null ? 0 : type.getId());
+      h = 31 * h + Objects.hashCode(message);
+      h = 31 * h + Objects.hashCode(url);
+      // the finalization step of MurmurHash3
+      h ^= h >>> 16;
+      h *= 0x85ebca6b;
+      h ^= h >>> 13;
+      h *= 0xc2b2ae35;
+      h ^= h >>> 16;
+      hash = h;
+    }
+    return h;
   }
 
   @Override
@@ -0,0 +1,93 @@
+package de.gwdg.metadataqa.marc.model.validation;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Assigns identifiers to the distinct validation errors (see ValidationError.equals()) in the order
+ * they are registered, starting from 1.
+ *
+ * The identifiers are stored in an open addressing hash table of ints, so looking up an error
+ * doesn't create any object. The methods are synchronized, so a registry can be shared by several
+ * threads. A copy of a registry (e.g. for a Spark worker) knows the identifiers of the original
+ * one, and continues the numbering independently.
+ */
+public class ValidationErrorRegistry implements Serializable {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  /** The identifiers by the slots of the hash table, 0 means empty slot. */
+  private int[] table;
+  /** The errors by their identifiers, the first item is not used. */
+  private ValidationError[] errors;
+  private int size = 0;
+
+  public ValidationErrorRegistry() {
+    table = new int[INITIAL_CAPACITY];
+    errors = new ValidationError[INITIAL_CAPACITY / 2];
+  }
+
+  public ValidationErrorRegistry(ValidationErrorRegistry other) {
+    synchronized (other) {
+      table = Arrays.copyOf(other.table, other.table.length);
+      errors = Arrays.copyOf(other.errors, other.errors.length);
+      size = other.size;
+    }
+  }
+
+  /**
+   * Returns the identifier of the error, and registers it, if it is new.
+   * @param error The error
+   * @return The identifier of the error
+   */
+  public synchronized int register(ValidationError error) {
+    int slot = findSlot(error);
+    if (table[slot] != 0)
+      return table[slot];
+
+    size++;
+    if (size == errors.length)
+      errors = Arrays.copyOf(errors, errors.length * 2);
+    errors[size] = error;
+    table[slot] = size;
+    if (size * 2 > table.length)
+      rehash();
+    return size;
+  }
+
+  /**
+   * @param error The error
+   * @return The identifier of the error, or 0 if it has not been registered
+   */
+  public synchronized int getId(ValidationError error) {
+    return table[findSlot(error)];
+  }
+
+  /**
+   * @param id The identifier of the error
+   * @return The first registered instance of the error
+   */
+  public synchronized ValidationError get(int id) {
+    if (id < 1 || id > size)
+      throw new IllegalArgumentException(String.format("Unknown error identifier: %d", id));
+    return errors[id];
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  private int findSlot(ValidationError error) {
+    int mask = table.length - 1;
+    int slot = error.hashCode() & mask;
+    while (table[slot] != 0 && !errors[table[slot]].equals(error))
+      slot = (slot + 1) & mask;
+    return slot;
+  }
+
+  private void rehash() {
+    table = new int[table.length * 2];
+    for (int id = 1; id <= size; id++)
+      table[findSlot(errors[id])] = id;
+  }
+}
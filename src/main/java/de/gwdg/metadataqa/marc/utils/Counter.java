@@ -1,10 +1,11 @@
 package de.gwdg.metadataqa.marc.utils;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
-public class Counter<T> {
+public class Counter<T> implements Serializable {
   private Map<T, Integer> counter = new HashMap<>();
 
   public void count(T key) {
@@ -12,8 +13,7 @@ public class Counter<T> {
   }
 
   public void add(T key, int i) {
-    counter.computeIfAbsent(key, s -> 0);
-    counter.put(key, counter.get(key) + i);
+    counter.merge(key, i, Integer::sum);
   }
 
   public int get(T key) {
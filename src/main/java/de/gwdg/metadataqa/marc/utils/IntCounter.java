@@ -0,0 +1,119 @@
+package de.gwdg.metadataqa.marc.utils;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A counter of non negative int keys (such as the dense identifiers of a MarcPathDictionary).
+ * The counts are stored in an int array, so counting does not allocate objects. The keys are
+ * remembered in the order of their first appearance, which makes it cheap to iterate over or to
+ * clear a sparsely used counter.
+ */
+public class IntCounter implements Serializable {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private int[] counts;
+  private int[] keys;
+  private int numberOfKeys = 0;
+
+  public IntCounter() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public IntCounter(int capacity) {
+    counts = new int[Math.max(capacity, 1)];
+    keys = new int[Math.max(capacity, 1)];
+  }
+
+  /**
+   * Increment the counter of a key with 1.
+   * @param key The key
+   * @return The new value
+   */
+  public int count(int key) {
+    return add(key, 1);
+  }
+
+  /**
+   * Increment the counter of a key.
+   * @param key The key
+   * @param value The increment
+   * @return The new value
+   */
+  public int add(int key, int value) {
+    if (key >= counts.length)
+      counts = Arrays.copyOf(counts, Math.max(counts.length * 2, key + 1));
+    if (counts[key] == 0 && value != 0) {
+      if (numberOfKeys == keys.length)
+        keys = Arrays.copyOf(keys, keys.length * 2);
+      keys[numberOfKeys++] = key;
+    }
+    counts[key] += value;
+    return counts[key];
+  }
+
+  public int get(int key) {
+    return key >= 0 && key < counts.length ? counts[key] : 0;
+  }
+
+  public boolean has(int key) {
+    return get(key) != 0;
+  }
+
+  public int numberOfKeys() {
+    return numberOfKeys;
+  }
+
+  /**
+   * @param i The position of the key in the order of their appearance
+   * @return The key
+   */
+  public int keyAt(int i) {
+    return keys[i];
+  }
+
+  /**
+   * @return The keys in the order of their first appearance
+   */
+  public int[] keys() {
+    return Arrays.copyOf(keys, numberOfKeys);
+  }
+
+  /**
+   * Add all the values of another counter to this counter.
+   * @param other The other counter
+   */
+  public void merge(IntCounter other) {
+    for (int i = 0; i < other.numberOfKeys; i++)
+      add(other.keys[i], other.counts[other.keys[i]]);
+  }
+
+  /**
+   * Set all the counts to zero, keeping the allocated memory.
+   */
+  public void clear() {
+    for (int i = 0; i < numberOfKeys; i++)
+      counts[keys[i]] = 0;
+    numberOfKeys = 0;
+  }
+
+  public int total() {
+    var total = 0;
+    for (int i = 0; i < numberOfKeys; i++)
+      total += counts[keys[i]];
+    return total;
+  }
+
+  /**
+   * @return The counts as a map, in the order of the keys' first appearance
+   */
+  public Map<Integer, Integer> toMap() {
+    Map<Integer, Integer> map = new LinkedHashMap<>();
+    for (int i = 0; i < numberOfKeys; i++)
+      map.put(keys[i], counts[keys[i]]);
+    return map;
+  }
+}
@@ -0,0 +1,82 @@
+package de.gwdg.metadataqa.marc.utils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns dense int identifiers (0, 1, 2...) to MARC paths, so the paths can be counted with
+ * an IntCounter. The data field paths can be looked up by tag and subfield code, so the path
+ * string is created only at the first appearance of a tag and subfield combination.
+ */
+public class MarcPathDictionary implements Serializable {
+
+  /**
+   * Creates the path of a subfield (or indicator) of a data field.
+   */
+  public interface PathFormatter extends Serializable {
+    String format(String tag, String code);
+  }
+
+  private final Map<String, Integer> ids = new HashMap<>();
+  private final List<String> paths = new ArrayList<>();
+  private final Map<String, Map<String, Integer>> dataFieldIds = new HashMap<>();
+  private final PathFormatter formatter;
+
+  public MarcPathDictionary() {
+    this((tag, code) -> tag + "$" + code);
+  }
+
+  public MarcPathDictionary(PathFormatter formatter) {
+    this.formatter = formatter;
+  }
+
+  /**
+   * Returns the identifier of a path. Registers the path if it is not yet known.
+   * @param path The MARC path
+   * @return The identifier
+   */
+  public int getId(String path) {
+    Integer id = ids.get(path);
+    if (id == null) {
+      id = paths.size();
+      ids.put(path, id);
+      paths.add(path);
+    }
+    return id;
+  }
+
+  /**
+   * Returns the identifier of a data field element. Registers the path if it is not yet known.
+   * @param tag The field's tag
+   * @param code The subfield code (or indicator)
+   * @return The identifier
+   */
+  public int getId(String tag, String code) {
+    Map<String, Integer> codes = dataFieldIds.computeIfAbsent(tag, s -> new HashMap<>());
+    Integer id = codes.get(code);
+    if (id == null) {
+      id = getId(formatter.format(tag, code));
+      codes.put(code, id);
+    }
+    return id;
+  }
+
+  /**
+   * @param path The MARC path
+   * @return The identifier, or -1 if the path has not been registered
+   */
+  public int lookup(String path) {
+    return ids.getOrDefault(path, -1);
+  }
+
+  public String getPath(int id) {
+    return paths.get(id);
+  }
+
+  public int size() {
+    return paths.size();
+  }
+}
@@ -0,0 +1,94 @@
+package de.gwdg.metadataqa.marc.utils;
+
+import de.gwdg.metadataqa.marc.Utils;
+import de.gwdg.metadataqa.marc.definition.structure.DataFieldDefinition;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Generates the source code of de.gwdg.metadataqa.marc.definition.TagDefinitionIndex, the list of
+ * data field definition classes, which TagDefinitionLoader uses instead of scanning the classpath.
+ * It should be run after adding or removing a data field definition class:
+ *
+ * java -cp target/metadata-qa-marc-0.1-SNAPSHOT-jar-with-dependencies.jar \
+ * de.gwdg.metadataqa.marc.utils.TagDefinitionIndexGenerator \
+ * src/main/java/de/gwdg/metadataqa/marc/definition/TagDefinitionIndex.java
+ */
+public class TagDefinitionIndexGenerator {
+
+  public static final String DEFAULT_OUTPUT =
+    "src/main/java/de/gwdg/metadataqa/marc/definition/TagDefinitionIndex.java";
+
+  public static void main(String[] args) throws IOException {
+    Path output = Paths.get(args.length > 0 ? args[0] : DEFAULT_OUTPUT);
+    Files.write(output, generate().getBytes(StandardCharsets.UTF_8));
+    System.err.println("TagDefinitionIndex has been written to " + output);
+  }
+
+  /**
+   * @return The data field definition classes in the order of their simple and full names
+   */
+  public static List<Class<? extends DataFieldDefinition>> listTags() {
+    List<Class<? extends DataFieldDefinition>> tags = new ArrayList<>(MarcTagLister.listTags());
+    tags.sort(
+      Comparator.comparing((Class<? extends DataFieldDefinition> tagClass) -> tagClass.getSimpleName())
+        .thenComparing(Class::getName)
+    );
+    return tags;
+  }
+
+  public static String generate() {
+    List<Class<? extends DataFieldDefinition>> tags = listTags();
+    StringBuilder tagList = new StringBuilder();
+    StringBuilder versionList = new StringBuilder();
+    StringBuilder cases = new StringBuilder();
+    for (int i = 0; i < tags.size(); i++) {
+      Class<? extends DataFieldDefinition> tagClass = tags.get(i);
+      String separator = i < tags.size() - 1 ? ",\n" : "\n";
+      tagList.append(String.format("    \"%s\"%s", tagClass.getSimpleName().substring(3), separator));
+      versionList.append(String.format("    MarcVersion.%s%s", Utils.getVersion(tagClass).name(), separator));
+      cases.append(String.format("      case %d: return %s.getInstance();\n", i, tagClass.getCanonicalName()));
+    }
+
+    return "package de.gwdg.metadataqa.marc.definition;\n"
+      + "\n"
+      + "import de.gwdg.metadataqa.marc.definition.structure.DataFieldDefinition;\n"
+      + "\n"
+      + "/**\n"
+      + " * The list of data field definitions. Generated by\n"
+      + " * de.gwdg.metadataqa.marc.utils.TagDefinitionIndexGenerator, do not edit it manually.\n"
+      + " */\n"
+      + "final class TagDefinitionIndex {\n"
+      + "\n"
+      + "  static final String[] TAGS = {\n"
+      + tagList
+      + "  };\n"
+      + "\n"
+      + "  static final MarcVersion[] VERSIONS = {\n"
+      + versionList
+      + "  };\n"
+      + "\n"
+      + "  private TagDefinitionIndex() {}\n"
+      + "\n"
+      + "  /**\n"
+      + "   * Creates (or returns the existing) instance of a definition. Only the class of the requested\n"
+      + "   * definition gets initialized.\n"
+      + "   * @param index The position of the definition in TAGS and VERSIONS\n"
+      + "   * @return The definition\n"
+      + "   */\n"
+      + "  static DataFieldDefinition getInstance(int index) {\n"
+      + "    switch (index) {\n"
+      + cases
+      + "      default: return null;\n"
+      + "    }\n"
+      + "  }\n"
+      + "}\n";
+  }
+}
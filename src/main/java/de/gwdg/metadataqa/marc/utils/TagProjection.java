@@ -0,0 +1,123 @@
+package de.gwdg.metadataqa.marc.utils;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The tags of the fields an analysis reads. MarcFactory creates only these fields (besides the
+ * leader and the 001, which are always created), the rest of the fields are skipped: they are not
+ * parsed into DataField and MarcSubfield objects, and the native ISO 2709 reader doesn't even
+ * decode them.
+ *
+ * A tag might contain X as a wildcard for a digit (e.g. 6XX). ALL contains every tag, it is the
+ * default of the processors, so the analyses which check the whole record (e.g. the validation)
+ * are not affected.
+ */
+public class TagProjection implements Serializable {
+
+  public static final TagProjection ALL = new TagProjection(null);
+
+  private static final String CONTROL_NUMBER = "001";
+
+  private final Set<String> tags;
+  private final boolean[] numericTags;
+
+  private TagProjection(Set<String> tags) {
+    this.tags = tags;
+    if (tags == null) {
+      numericTags = null;
+    } else {
+      numericTags = new boolean[1000];
+      for (String tag : tags)
+        if (tag.length() == 3)
+          markNumericTags(tag, 0, 0);
+    }
+  }
+
+  public static TagProjection of(String... tags) {
+    return of(Arrays.asList(tags));
+  }
+
+  public static TagProjection of(Collection<String> tags) {
+    Set<String> set = new TreeSet<>(tags);
+    set.add(CONTROL_NUMBER);
+    return new TagProjection(set);
+  }
+
+  /**
+   * @return A projection which contains the tags of both projections
+   */
+  public TagProjection with(TagProjection other) {
+    if (isAll() || other.isAll())
+      return ALL;
+    return with(other.tags);
+  }
+
+  /**
+   * @return A projection which contains these tags as well
+   */
+  public TagProjection with(Collection<String> otherTags) {
+    if (isAll())
+      return ALL;
+    Set<String> set = new TreeSet<>(tags);
+    set.addAll(otherTags);
+    return new TagProjection(set);
+  }
+
+  public boolean isAll() {
+    return tags == null;
+  }
+
+  public boolean contains(String tag) {
+    if (tags == null)
+      return true;
+    if (tag == null)
+      return false;
+    int number = toNumber(tag);
+    if (number != -1)
+      return numericTags[number];
+    return tags.contains(tag);
+  }
+
+  public Set<String> getTags() {
+    return tags;
+  }
+
+  /**
+   * Marks the numeric tags matching the pattern from the position on, X matches any digit.
+   */
+  private void markNumericTags(String pattern, int position, int number) {
+    if (position == pattern.length()) {
+      numericTags[number] = true;
+      return;
+    }
+    char c = pattern.charAt(position);
+    if (c == 'X') {
+      for (int digit = 0; digit <= 9; digit++)
+        markNumericTags(pattern, position + 1, number * 10 + digit);
+    } else if (c >= '0' && c <= '9') {
+      markNumericTags(pattern, position + 1, number * 10 + (c - '0'));
+    }
+  }
+
+  private static int toNumber(String tag) {
+    if (tag.length() != 3)
+      return -1;
+    int number = 0;
+    for (int i = 0; i < 3; i++) {
+      char c = tag.charAt(i);
+      if (c < '0' || c > '9')
+        return -1;
+      number = number * 10 + (c - '0');
+    }
+    return number;
+  }
+
+  @Override
+  public String toString() {
+    return isAll() ? "all" : String.join(",", tags);
+  }
+}
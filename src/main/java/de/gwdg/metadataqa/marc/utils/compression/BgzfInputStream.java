@@ -0,0 +1,134 @@
+package de.gwdg.metadataqa.marc.utils.compression;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decompresses a BGZF (blocked gzip, created by bgzip) stream. BGZF is a series of gzip members,
+ * each of them stores its compressed size in the header, so the members can be cut out of the
+ * stream without decompressing them. The background thread reads the members, and they are
+ * decompressed on a thread pool at the same time. The decompressed blocks are returned in the
+ * original order.
+ */
+public class BgzfInputStream extends ChunkedInputStream {
+
+  static final int HEADER_LENGTH = 12;
+  private static final int TRAILER_LENGTH = 8;
+
+  private final ExecutorService executor;
+
+  public BgzfInputStream(InputStream source, int numberOfThreads) {
+    super(source, numberOfThreads * 4, "bgzf-reader");
+    AtomicInteger counter = new AtomicInteger();
+    executor = Executors.newFixedThreadPool(numberOfThreads, runnable -> {
+      Thread thread = new Thread(runnable, "bgzf-inflater-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    start();
+  }
+
+  @Override
+  void produce(InputStream source) throws IOException, InterruptedException {
+    try {
+      byte[] header = new byte[HEADER_LENGTH];
+      while (readFully(source, header, true)) {
+        if ((header[0] & 0xff) != 0x1f || (header[1] & 0xff) != 0x8b || header[2] != 8 || (header[3] & 4) == 0)
+          throw new ZipException("Not a BGZF block");
+
+        byte[] extra = new byte[readShort(header, 10)];
+        readFully(source, extra, false);
+        int blockSize = getBlockSize(extra);
+        if (blockSize < 0)
+          throw new ZipException("Missing BGZF block size");
+
+        byte[] block = new byte[blockSize - HEADER_LENGTH - extra.length];
+        readFully(source, block, false);
+        emit(executor.submit(() -> inflate(block)));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Override
+  void onClose() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * @param extra The extra field of the gzip header
+   * @return The total size of the block, or -1 if the BC subfield is missing
+   */
+  static int getBlockSize(byte[] extra) {
+    int position = 0;
+    while (position + 4 <= extra.length) {
+      int length = readShort(extra, position + 2);
+      if (extra[position] == 'B' && extra[position + 1] == 'C' && length == 2)
+        return readShort(extra, position + 4) + 1;
+      position += 4 + length;
+    }
+    return -1;
+  }
+
+  private static byte[] inflate(byte[] block) throws IOException {
+    int dataLength = block.length - TRAILER_LENGTH;
+    byte[] output = new byte[readInt(block, dataLength + 4)];
+    Inflater inflater = new Inflater(true);
+    try {
+      inflater.setInput(block, 0, dataLength);
+      int length = 0;
+      while (length < output.length && !inflater.finished()) {
+        int count = inflater.inflate(output, length, output.length - length);
+        if (count == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+          break;
+        length += count;
+      }
+      if (length != output.length)
+        throw new ZipException("Corrupt BGZF block: unexpected size");
+    } catch (DataFormatException e) {
+      throw new ZipException("Corrupt BGZF block: " + e.getMessage());
+    } finally {
+      inflater.end();
+    }
+
+    CRC32 crc = new CRC32();
+    crc.update(output);
+    if ((int) crc.getValue() != readInt(block, dataLength))
+      throw new ZipException("Corrupt BGZF block: CRC error");
+    return output;
+  }
+
+  /**
+   * @return false if the stream ends before the first byte (and it is allowed)
+   */
+  private static boolean readFully(InputStream source, byte[] buffer, boolean mayEnd) throws IOException {
+    int length = 0;
+    while (length < buffer.length) {
+      int count = source.read(buffer, length, buffer.length - length);
+      if (count == -1) {
+        if (length == 0 && mayEnd)
+          return false;
+        throw new EOFException("Unexpected end of BGZF stream");
+      }
+      length += count;
+    }
+    return true;
+  }
+
+  private static int readShort(byte[] bytes, int position) {
+    return (bytes[position] & 0xff) | ((bytes[position + 1] & 0xff) << 8);
+  }
+
+  private static int readInt(byte[] bytes, int position) {
+    return readShort(bytes, position) | (readShort(bytes, position + 2) << 16);
+  }
+}
@@ -0,0 +1,134 @@
+package de.gwdg.metadataqa.marc.utils.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * An input stream whose content is produced in chunks by a background thread. The chunks are
+ * put into a bounded queue in the order of the content, so the producer can work ahead of the
+ * reader, but only by a limited number of chunks. A chunk is a Future, so the producer can hand
+ * the creation of the chunks over to other threads.
+ */
+abstract class ChunkedInputStream extends InputStream {
+
+  private static final Future<byte[]> END = CompletableFuture.completedFuture(null);
+
+  private final InputStream source;
+  private final BlockingQueue<Future<byte[]>> chunks;
+  private final Thread producer;
+  private byte[] chunk = new byte[0];
+  private int position = 0;
+  private boolean finished = false;
+  private boolean closed = false;
+
+  ChunkedInputStream(InputStream source, int capacity, String name) {
+    this.source = source;
+    chunks = new ArrayBlockingQueue<>(capacity);
+    producer = new Thread(this::run, name);
+    producer.setDaemon(true);
+  }
+
+  /**
+   * Starts the producer thread. It should be called at the end of the subclass' constructor.
+   */
+  void start() {
+    producer.start();
+  }
+
+  /**
+   * Reads the source and emits its content chunk by chunk.
+   */
+  abstract void produce(InputStream source) throws IOException, InterruptedException;
+
+  void emit(Future<byte[]> future) throws InterruptedException {
+    chunks.put(future);
+  }
+
+  /**
+   * Releases the resources of the subclass.
+   */
+  void onClose() {
+  }
+
+  private void run() {
+    try {
+      produce(source);
+      emit(END);
+    } catch (InterruptedException e) {
+      // the stream has been closed
+    } catch (IOException | RuntimeException e) {
+      try {
+        emit(CompletableFuture.failedFuture(e));
+      } catch (InterruptedException ie) {
+        // the stream has been closed
+      }
+    }
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!nextChunk())
+      return -1;
+    return chunk[position++] & 0xff;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    if (length == 0)
+      return 0;
+    if (!nextChunk())
+      return -1;
+    int count = Math.min(length, chunk.length - position);
+    System.arraycopy(chunk, position, buffer, offset, count);
+    position += count;
+    return count;
+  }
+
+  @Override
+  public int available() {
+    return chunk.length - position;
+  }
+
+  private boolean nextChunk() throws IOException {
+    if (closed)
+      throw new IOException("Stream closed");
+
+    while (position >= chunk.length) {
+      if (finished)
+        return false;
+      byte[] next;
+      try {
+        next = chunks.take().get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      } catch (ExecutionException e) {
+        throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+      }
+      if (next == null) {
+        finished = true;
+        return false;
+      }
+      chunk = next;
+      position = 0;
+    }
+    return true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed)
+      return;
+    closed = true;
+    producer.interrupt();
+    chunks.clear();
+    onClose();
+    source.close();
+  }
+}
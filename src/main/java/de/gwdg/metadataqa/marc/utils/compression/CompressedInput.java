@@ -0,0 +1,101 @@
+package de.gwdg.metadataqa.marc.utils.compression;
+
+import com.github.luben.zstd.ZstdInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Opens compressed input files and streams. The compression is detected from the first bytes of
+ * the content:
+ * <ul>
+ *   <li>BGZF (blocked gzip): the blocks are decompressed on multiple threads</li>
+ *   <li>gzip (including multi-member gzip): decompressed on a background thread</li>
+ *   <li>zstd: decompressed on a background thread</li>
+ * </ul>
+ * Uncompressed content is returned as a buffered stream.
+ */
+public class CompressedInput {
+
+  public static final int BUFFER_SIZE = 1 << 16;
+  public static final int DEFAULT_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+  private static final int MAGIC_LENGTH = BgzfInputStream.HEADER_LENGTH + 6;
+
+  public enum Compression {
+    NONE,
+    GZIP,
+    BGZF,
+    ZSTD
+  }
+
+  private CompressedInput() {}
+
+  /**
+   * @param path The file
+   * @return true if the file has the extension of a supported compression (.gz, .zst or .zstd)
+   */
+  public static boolean isCompressed(Path path) {
+    String fileName = path.getFileName().toString();
+    return fileName.endsWith(".gz") || fileName.endsWith(".zst") || fileName.endsWith(".zstd");
+  }
+
+  public static InputStream open(Path path) throws IOException {
+    return decompress(new FileInputStream(path.toFile()));
+  }
+
+  public static InputStream decompress(InputStream stream) throws IOException {
+    return decompress(stream, DEFAULT_THREADS);
+  }
+
+  /**
+   * @param stream The (possibly compressed) stream
+   * @param numberOfThreads The number of threads decompressing BGZF blocks
+   * @return The decompressed stream
+   */
+  public static InputStream decompress(InputStream stream, int numberOfThreads) throws IOException {
+    BufferedInputStream buffered = new BufferedInputStream(stream, BUFFER_SIZE);
+    switch (detect(buffered)) {
+      case BGZF: return new BgzfInputStream(buffered, numberOfThreads);
+      case GZIP: return new ReadAheadInputStream(new GZIPInputStream(buffered, BUFFER_SIZE));
+      case ZSTD: return new ReadAheadInputStream(new ZstdInputStream(buffered));
+      case NONE:
+      default: return buffered;
+    }
+  }
+
+  /**
+   * Detects the compression from the first bytes of the stream, without consuming them.
+   * @param stream A stream supporting mark()
+   * @return The compression
+   */
+  public static Compression detect(InputStream stream) throws IOException {
+    byte[] magic = new byte[MAGIC_LENGTH];
+    stream.mark(MAGIC_LENGTH);
+    int length = 0;
+    int count;
+    while (length < MAGIC_LENGTH && (count = stream.read(magic, length, MAGIC_LENGTH - length)) != -1)
+      length += count;
+    stream.reset();
+
+    if (length >= 4 && (magic[0] & 0xff) == 0x28 && (magic[1] & 0xff) == 0xb5
+        && (magic[2] & 0xff) == 0x2f && (magic[3] & 0xff) == 0xfd)
+      return Compression.ZSTD;
+
+    if (length >= 3 && (magic[0] & 0xff) == 0x1f && (magic[1] & 0xff) == 0x8b && magic[2] == 8) {
+      if ((magic[3] & 4) != 0 && length == MAGIC_LENGTH) {
+        int extraLength = Math.min((magic[10] & 0xff) | ((magic[11] & 0xff) << 8), MAGIC_LENGTH - BgzfInputStream.HEADER_LENGTH);
+        byte[] extra = new byte[extraLength];
+        System.arraycopy(magic, BgzfInputStream.HEADER_LENGTH, extra, 0, extraLength);
+        if (BgzfInputStream.getBlockSize(extra) > 0)
+          return Compression.BGZF;
+      }
+      return Compression.GZIP;
+    }
+    return Compression.NONE;
+  }
+}
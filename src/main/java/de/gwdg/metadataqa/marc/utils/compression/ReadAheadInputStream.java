@@ -0,0 +1,49 @@
+package de.gwdg.metadataqa.marc.utils.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reads a stream on a background thread in large chunks. Wrapped around a decompressing stream,
+ * the decompression runs in parallel with the parsing of the records.
+ */
+public class ReadAheadInputStream extends ChunkedInputStream {
+
+  public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+  public static final int DEFAULT_NUMBER_OF_CHUNKS = 4;
+
+  private final int chunkSize;
+
+  public ReadAheadInputStream(InputStream source) {
+    this(source, DEFAULT_CHUNK_SIZE, DEFAULT_NUMBER_OF_CHUNKS);
+  }
+
+  /**
+   * @param source The stream to read
+   * @param chunkSize The size of the chunks (in bytes)
+   * @param numberOfChunks The maximal number of chunks read ahead
+   */
+  public ReadAheadInputStream(InputStream source, int chunkSize, int numberOfChunks) {
+    super(source, numberOfChunks, "read-ahead");
+    this.chunkSize = chunkSize;
+    start();
+  }
+
+  @Override
+  void produce(InputStream source) throws IOException, InterruptedException {
+    while (true) {
+      byte[] chunk = new byte[chunkSize];
+      int length = 0;
+      int count;
+      while (length < chunkSize && (count = source.read(chunk, length, chunkSize - length)) != -1)
+        length += count;
+
+      if (length > 0)
+        emit(CompletableFuture.completedFuture(length == chunkSize ? chunk : Arrays.copyOf(chunk, length)));
+      if (length < chunkSize)
+        return;
+    }
+  }
+}
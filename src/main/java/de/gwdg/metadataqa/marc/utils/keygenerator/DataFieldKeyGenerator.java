@@ -6,15 +6,28 @@ import de.gwdg.metadataqa.marc.definition.structure.DataFieldDefinition;
 import de.gwdg.metadataqa.marc.definition.structure.SubfieldDefinition;
 import de.gwdg.metadataqa.marc.model.SolrFieldType;
 
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
+/**
+ * Creates the Solr field names of a data field. The names are cached by the generator: the indicator names
+ * are created once, the subfield names once per subfield definition (or code, if the subfield is not defined).
+ * See getInstance() for the shared generators.
+ */
 public class DataFieldKeyGenerator {
+  private static final Map<CacheKey, DataFieldKeyGenerator> instances = new ConcurrentHashMap<>();
+
   private DataFieldDefinition definition;
   private SolrFieldType type;
   private String tag;
   private String indexTag;
   private static final Pattern nonValidSubfieldCode = Pattern.compile("[^0-9a-zA-Z]");
   private MarcVersion marcVersion;
+  private String ind1Key;
+  private String ind2Key;
+  private final Map<Object, String> subfieldKeys = new ConcurrentHashMap<>();
 
   public DataFieldKeyGenerator(DataFieldDefinition definition, SolrFieldType type) {
     this.definition = definition;
@@ -37,7 +50,34 @@ public class DataFieldKeyGenerator {
     }
   }
 
+  /**
+   * Returns the shared generator of the field definition (or of the tag, if the field is not defined),
+   * the Solr field type and the MARC version, so the field names are created only once. The shared
+   * generator should not be modified (see setMarcVersion()).
+   */
+  public static DataFieldKeyGenerator getInstance(DataFieldDefinition definition,
+                                                  SolrFieldType type,
+                                                  String tag,
+                                                  MarcVersion marcVersion) {
+    CacheKey cacheKey = new CacheKey(definition, definition == null ? tag : null, type, marcVersion);
+    DataFieldKeyGenerator generator = instances.get(cacheKey);
+    if (generator == null) {
+      generator = new DataFieldKeyGenerator(definition, type, tag);
+      generator.setMarcVersion(marcVersion);
+      DataFieldKeyGenerator existing = instances.putIfAbsent(cacheKey, generator);
+      if (existing != null)
+        generator = existing;
+    }
+    return generator;
+  }
+
   public String forInd1() {
+    if (ind1Key == null)
+      ind1Key = createInd1Key();
+    return ind1Key;
+  }
+
+  private String createInd1Key() {
     String key = "";
     switch (type) {
       case HUMAN:
@@ -63,6 +103,12 @@ public class DataFieldKeyGenerator {
   }
 
   public String forInd2() {
+    if (ind2Key == null)
+      ind2Key = createInd2Key();
+    return ind2Key;
+  }
+
+  private String createInd2Key() {
     String key = "";
     switch (type) {
       case HUMAN:
@@ -87,6 +133,19 @@ public class DataFieldKeyGenerator {
   }
 
   public String forSubfield(MarcSubfield subfield) {
+    SubfieldDefinition subfieldDefinition = subfield.getDefinition();
+    Object cacheKey = subfieldDefinition != null && subfieldDefinition.getCode().equals(subfield.getCode())
+      ? subfieldDefinition
+      : subfield.getCode();
+    String key = subfieldKeys.get(cacheKey);
+    if (key == null) {
+      key = createSubfieldKey(subfield);
+      subfieldKeys.put(cacheKey, key);
+    }
+    return key;
+  }
+
+  private String createSubfieldKey(MarcSubfield subfield) {
     String code = subfield.getCode();
     SubfieldDefinition subfieldDefinition = subfield.getDefinition();
     if (subfieldDefinition == null && definition != null)
@@ -138,10 +197,41 @@ public class DataFieldKeyGenerator {
   }
 
   public String forSubfield(MarcSubfield subfield, String extra) {
-    return String.format("%s_%s", forSubfield(subfield), extra);
+    return forSubfield(subfield) + "_" + extra;
   }
 
   public void setMarcVersion(MarcVersion marcVersion) {
     this.marcVersion = marcVersion;
+    subfieldKeys.clear();
+  }
+
+  private static class CacheKey {
+    private final DataFieldDefinition definition;
+    private final String tag;
+    private final SolrFieldType type;
+    private final MarcVersion marcVersion;
+
+    CacheKey(DataFieldDefinition definition, String tag, SolrFieldType type, MarcVersion marcVersion) {
+      this.definition = definition;
+      this.tag = tag;
+      this.type = type;
+      this.marcVersion = marcVersion;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o)
+        return true;
+      if (!(o instanceof CacheKey))
+        return false;
+      CacheKey other = (CacheKey) o;
+      return definition == other.definition && Objects.equals(tag, other.tag)
+        && type == other.type && marcVersion == other.marcVersion;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(System.identityHashCode(definition), tag, type, marcVersion);
+    }
   }
 }
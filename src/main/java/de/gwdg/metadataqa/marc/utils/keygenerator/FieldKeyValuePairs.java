@@ -0,0 +1,90 @@
+package de.gwdg.metadataqa.marc.utils.keygenerator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the field names and values of a single data field. Similar to the map returned by
+ * DataField.getKeyValuePairs(), a name gets the value put last, but the buffer keeps the insertion
+ * order, and it can be reused for the next field (see clear()), so indexing a record does not
+ * create a map for every field.
+ */
+public class FieldKeyValuePairs {
+  private final List<String> keys = new ArrayList<>();
+  private final List<Object> values = new ArrayList<>();
+  private final Map<String, Integer> index = new HashMap<>();
+
+  public void put(String key, String value) {
+    set(key, value);
+  }
+
+  public void put(String key, List<String> values) {
+    set(key, values);
+  }
+
+  private void set(String key, Object value) {
+    Integer position = index.get(key);
+    if (position == null) {
+      index.put(key, keys.size());
+      keys.add(key);
+      values.add(value);
+    } else {
+      values.set(position, value);
+    }
+  }
+
+  public void putAll(Map<String, List<String>> pairs) {
+    for (Map.Entry<String, List<String>> entry : pairs.entrySet())
+      put(entry.getKey(), entry.getValue());
+  }
+
+  public int size() {
+    return keys.size();
+  }
+
+  public boolean isEmpty() {
+    return keys.isEmpty();
+  }
+
+  public void clear() {
+    keys.clear();
+    values.clear();
+    index.clear();
+  }
+
+  /**
+   * Sends the collected names and values to the sink, in the order of insertion.
+   */
+  @SuppressWarnings("unchecked")
+  public void writeTo(KeyValueSink sink) {
+    for (int i = 0; i < keys.size(); i++) {
+      Object value = values.get(i);
+      if (value instanceof String)
+        sink.add(keys.get(i), (String) value);
+      else
+        sink.add(keys.get(i), (List<String>) value);
+    }
+  }
+
+  /**
+   * Returns the collected names and values as a map.
+   */
+  public Map<String, List<String>> toMap() {
+    Map<String, List<String>> map = new HashMap<>();
+    writeTo(new KeyValueSink() {
+      @Override
+      public void add(String key, List<String> values) {
+        map.put(key, values);
+      }
+
+      @Override
+      public void add(String key, String value) {
+        map.put(key, Collections.singletonList(value));
+      }
+    });
+    return map;
+  }
+}
@@ -0,0 +1,18 @@
+package de.gwdg.metadataqa.marc.utils.keygenerator;
+
+import java.util.List;
+
+/**
+ * Receives the Solr field names and values of a record one by one, so the record does not have to
+ * be collected into a map before indexing (see MarcRecord.writeKeyValuePairs()).
+ */
+public interface KeyValueSink {
+
+  /**
+   * Receives the value(s) of a field name from the leader, a control field or a data field. The same
+   * name might be received several times, if it occurs in repeated fields.
+   */
+  void add(String key, List<String> values);
+
+  void add(String key, String value);
+}
@@ -0,0 +1,293 @@
+package de.gwdg.metadataqa.marc.utils.marcreader;
+
+import org.marc4j.MarcException;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Reads binary (ISO 2709) MARC records directly from the bytes, without creating marc4j objects.
+ * The reader checks the structure of the record (leader, directory and terminators), but the
+ * content of the fields is decoded only on request (see Iso2709Record).
+ *
+ * The character encoding follows the rules of marc4j's MarcStreamReader: if no encoding is
+ * given, position 9 of the leader selects between ISO-8859-1 (' ') and UTF-8 ('a'), otherwise
+ * the given encoding (which could be MARC-8 as well) is used for every record.
+ *
+ * In line separated mode every line contains a single record.
+ *
+ * The reader either reads a stream, or a range of the records of a memory mapped file (see
+ * MappedMarcFile). In the latter case the records are not copied, and the record boundaries come
+ * from the index of the file, so the record length in the leader is not used.
+ */
+public class Iso2709Reader {
+
+  private static final String DEFAULT_ENCODING = "ISO8859_1";
+  private static final int DIRECTORY_ENTRY_LENGTH = 12;
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final InputStream input;
+  private final MappedMarcFile file;
+  private final int last;
+  private final boolean lineSeparated;
+  private final boolean override;
+  private String encoding = DEFAULT_ENCODING;
+  private Charset charset = StandardCharsets.ISO_8859_1;
+  private byte[] line;
+  private int current;
+
+  public Iso2709Reader(InputStream input) {
+    this(input, null, false);
+  }
+
+  public Iso2709Reader(InputStream input, String encoding) {
+    this(input, encoding, false);
+  }
+
+  /**
+   * @param input The stream of the records
+   * @param encoding The character encoding of all records, or null to detect it from the leader
+   * @param lineSeparated Each line contains one record
+   */
+  public Iso2709Reader(InputStream input, String encoding, boolean lineSeparated) {
+    this.input = input.markSupported() ? input : new BufferedInputStream(input, BUFFER_SIZE);
+    this.lineSeparated = lineSeparated;
+    file = null;
+    last = 0;
+    override = encoding != null;
+    if (override)
+      setEncoding(encoding);
+  }
+
+  /**
+   * Reads all the records of a memory mapped file.
+   * @param file The file
+   * @param encoding The character encoding of all records, or null to detect it from the leader
+   */
+  public Iso2709Reader(MappedMarcFile file, String encoding) {
+    this(file, new MappedMarcFile.Range(0, file.getNumberOfRecords()), encoding);
+  }
+
+  /**
+   * Reads a range of the records of a memory mapped file.
+   * @param file The file
+   * @param range The range of records to read
+   * @param encoding The character encoding of all records, or null to detect it from the leader
+   */
+  public Iso2709Reader(MappedMarcFile file, MappedMarcFile.Range range, String encoding) {
+    this.file = file;
+    input = null;
+    lineSeparated = file.isLineSeparated();
+    current = range.getFirst();
+    last = range.getLast();
+    override = encoding != null;
+    if (override)
+      setEncoding(encoding);
+  }
+
+  public boolean hasNext() {
+    if (file != null)
+      return current < last;
+
+    try {
+      if (lineSeparated) {
+        while (line == null || line.length == 0) {
+          line = readLine();
+          if (line == null)
+            return false;
+        }
+        return true;
+      }
+      input.mark(1);
+      int next = input.read();
+      input.reset();
+      return next != -1;
+    } catch (IOException e) {
+      throw new MarcException(e.getMessage(), e);
+    }
+  }
+
+  public Iso2709Record next() {
+    if (file != null) {
+      if (current >= last)
+        throw new MarcException("Premature end of file encountered");
+      return read(file.getRecord(current++));
+    }
+
+    byte[] content;
+    if (lineSeparated) {
+      if (!hasNext())
+        throw new MarcException("Premature end of file encountered");
+      content = line;
+      line = null;
+      if (content.length < Iso2709Record.LEADER_LENGTH)
+        throw new MarcException("unable to parse record length");
+    } else {
+      content = readRecord();
+    }
+    return parse(ByteBuffer.wrap(content));
+  }
+
+  /**
+   * Parses a single record, e.g. one read from a position found in the RecordIndex.
+   * @param content The bytes of the record (from position 0 to the limit)
+   * @return The record
+   */
+  public Iso2709Record read(ByteBuffer content) {
+    if (content.limit() < Iso2709Record.LEADER_LENGTH)
+      throw new MarcException("unable to parse record length");
+    return parse(content);
+  }
+
+  private byte[] readRecord() {
+    try {
+      byte[] leader = new byte[Iso2709Record.LEADER_LENGTH];
+      readFully(leader, 0, leader.length);
+      int recordLength = parseNumber(leader, 0, 5, "unable to parse record length");
+      if (recordLength < Iso2709Record.LEADER_LENGTH)
+        throw new MarcException("unable to parse record length");
+      byte[] content = Arrays.copyOf(leader, recordLength);
+      readFully(content, leader.length, recordLength - leader.length);
+      return content;
+    } catch (IOException e) {
+      throw new MarcException("an error occured reading input", e);
+    }
+  }
+
+  private Iso2709Record parse(ByteBuffer content) {
+    int baseAddress;
+    try {
+      parseNumber(content, 10, 1, "unable to parse indicator count");
+      parseNumber(content, 11, 1, "unable to parse subfield code length");
+      baseAddress = parseNumber(content, 12, 5, "unable to parse base address of data");
+    } catch (MarcException e) {
+      byte[] leader = new byte[Iso2709Record.LEADER_LENGTH];
+      content.duplicate().get(leader);
+      throw new MarcException("error parsing leader with data: " + new String(leader, StandardCharsets.ISO_8859_1), e);
+    }
+
+    if (!override) {
+      if (content.get(9) == ' ')
+        setEncoding("ISO-8859-1");
+      else if (content.get(9) == 'a')
+        setEncoding("UTF8");
+    }
+
+    int directoryLength = baseAddress - Iso2709Record.LEADER_LENGTH - 1;
+    if (directoryLength < 0 || directoryLength % DIRECTORY_ENTRY_LENGTH != 0)
+      throw new MarcException("invalid directory");
+    if (baseAddress > content.limit())
+      throw new MarcException("an error occured reading input");
+    if (content.get(baseAddress - 1) != Iso2709Record.FIELD_TERMINATOR)
+      throw new MarcException("expected field terminator at end of directory");
+
+    int size = directoryLength / DIRECTORY_ENTRY_LENGTH;
+    Integer[] order = new Integer[size];
+    String[] entryTags = new String[size];
+    int[] entryLengths = new int[size];
+    int[] entryStarts = new int[size];
+    for (int i = 0; i < size; i++) {
+      int position = Iso2709Record.LEADER_LENGTH + i * DIRECTORY_ENTRY_LENGTH;
+      order[i] = i;
+      entryTags[i] = new String(new char[]{
+        (char) (content.get(position) & 0xff),
+        (char) (content.get(position + 1) & 0xff),
+        (char) (content.get(position + 2) & 0xff)});
+      entryLengths[i] = parseNumber(content, position + 3, 4, "invalid directory");
+      entryStarts[i] = parseNumber(content, position + 7, 5, "invalid directory");
+    }
+    // the fields are read in the order of their start positions, as marc4j does
+    Arrays.sort(order, Comparator.comparingInt(i -> entryStarts[i]));
+
+    String[] tags = new String[size];
+    int[] starts = new int[size];
+    int[] lengths = new int[size];
+    int position = baseAddress;
+    for (int i = 0; i < size; i++) {
+      int entry = order[i];
+      int length = entryLengths[entry];
+      if (position + length > content.limit())
+        throw new MarcException("an error occured reading input");
+      tags[i] = entryTags[entry];
+      starts[i] = position;
+      lengths[i] = length;
+      if (Iso2709Record.isControlField(tags[i])
+          && (length == 0 || content.get(position + length - 1) != Iso2709Record.FIELD_TERMINATOR))
+        throw new MarcException("expected field terminator at end of field");
+      position += length;
+    }
+    if (position >= content.limit() || content.get(position) != Iso2709Record.RECORD_TERMINATOR)
+      throw new MarcException("expected record terminator");
+
+    return new Iso2709Record(content, tags, starts, lengths, encoding, charset);
+  }
+
+  private void setEncoding(String encoding) {
+    this.encoding = encoding;
+    switch (encoding) {
+      case "UTF-8":
+      case "UTF8":
+        charset = StandardCharsets.UTF_8; break;
+      case "MARC-8":
+      case "MARC8":
+        charset = null; break;
+      case "ISO-8859-1":
+      case "ISO8859_1":
+      case "ISO_8859_1":
+        charset = StandardCharsets.ISO_8859_1; break;
+      default:
+        try {
+          charset = Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+          throw new MarcException("unsupported encoding", e);
+        }
+    }
+  }
+
+  private static int parseNumber(byte[] content, int offset, int length, String message) {
+    return parseNumber(ByteBuffer.wrap(content), offset, length, message);
+  }
+
+  private static int parseNumber(ByteBuffer content, int offset, int length, String message) {
+    int number = 0;
+    for (int i = offset; i < offset + length; i++) {
+      if (i >= content.limit() || content.get(i) < '0' || content.get(i) > '9')
+        throw new MarcException(message);
+      number = number * 10 + (content.get(i) - '0');
+    }
+    return number;
+  }
+
+  private void readFully(byte[] buffer, int offset, int length) throws IOException {
+    while (length > 0) {
+      int count = input.read(buffer, offset, length);
+      if (count == -1)
+        throw new MarcException("Premature end of file encountered");
+      offset += count;
+      length -= count;
+    }
+  }
+
+  /**
+   * @return The bytes of the next line (without the line terminator), or null at the end of the stream
+   */
+  private byte[] readLine() throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    int next;
+    while ((next = input.read()) != -1 && next != '\n')
+      buffer.write(next);
+    if (next == -1 && buffer.size() == 0)
+      return null;
+    byte[] bytes = buffer.toByteArray();
+    if (bytes.length > 0 && bytes[bytes.length - 1] == '\r')
+      bytes = Arrays.copyOf(bytes, bytes.length - 1);
+    return bytes;
+  }
+}
@@ -0,0 +1,170 @@
+package de.gwdg.metadataqa.marc.utils.marcreader;
+
+import org.marc4j.MarcException;
+import org.marc4j.MarcStreamReader;
+import org.marc4j.converter.impl.AnselToUnicode;
+import org.marc4j.marc.Record;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An ISO 2709 record read by Iso2709Reader. The record keeps the raw bytes and the parsed
+ * directory, the content of the fields is decoded only when it is requested, so the records
+ * which are skipped (e.g. by offset, limit or id) are never decoded. The bytes are not copied:
+ * the record might be a slice of a memory mapped file.
+ */
+public class Iso2709Record {
+
+  static final int LEADER_LENGTH = 24;
+  static final byte RECORD_TERMINATOR = 0x1d;
+  static final byte FIELD_TERMINATOR = 0x1e;
+  static final byte SUBFIELD_DELIMITER = 0x1f;
+
+  private static final ThreadLocal<AnselToUnicode> ANSEL = ThreadLocal.withInitial(AnselToUnicode::new);
+
+  private final ByteBuffer content;
+  private final String[] tags;
+  private final int[] starts;
+  private final int[] lengths;
+  private final String encoding;
+  private final Charset charset;
+
+  /**
+   * @param content The bytes of the record (from position 0 to the limit)
+   * @param tags The tags of the fields in the order of their position
+   * @param starts The start positions of the fields within the content
+   * @param lengths The lengths of the fields (including the field terminator)
+   * @param encoding The character encoding of the field content (as marc4j names it)
+   * @param charset The charset of the encoding, null for MARC-8
+   */
+  Iso2709Record(ByteBuffer content, String[] tags, int[] starts, int[] lengths, String encoding, Charset charset) {
+    this.content = content;
+    this.tags = tags;
+    this.starts = starts;
+    this.lengths = lengths;
+    this.encoding = encoding;
+    this.charset = charset;
+  }
+
+  /**
+   * A consumer of the subfields of a data field.
+   */
+  public interface SubfieldHandler {
+    void handle(char code, String data);
+  }
+
+  public String getLeader() {
+    return new String(getBytes(0, LEADER_LENGTH), StandardCharsets.ISO_8859_1);
+  }
+
+  public String getEncoding() {
+    return encoding;
+  }
+
+  public int getNumberOfFields() {
+    return tags.length;
+  }
+
+  public String getTag(int i) {
+    return tags[i];
+  }
+
+  public boolean isControlField(int i) {
+    return isControlField(tags[i]);
+  }
+
+  /**
+   * @return The content of the first 001 field, or null if the record doesn't have one
+   */
+  public String getControlNumber() {
+    for (int i = 0; i < tags.length; i++)
+      if (tags[i].equals("001"))
+        return getControlFieldData(i);
+    return null;
+  }
+
+  public String getControlFieldData(int i) {
+    return decode(starts[i], lengths[i] - 1);
+  }
+
+  public char getIndicator1(int i) {
+    return lengths[i] > 0 ? (char) (content.get(starts[i]) & 0xff) : (char) -1;
+  }
+
+  public char getIndicator2(int i) {
+    return lengths[i] > 1 ? (char) (content.get(starts[i] + 1) & 0xff) : (char) -1;
+  }
+
+  /**
+   * Decodes the subfields of a data field, the same way as marc4j's MarcStreamReader does.
+   * @param i The index of the field
+   * @param handler The consumer of the subfields
+   */
+  public void forEachSubfield(int i, SubfieldHandler handler) {
+    int position = starts[i] + 2;
+    int end = starts[i] + lengths[i];
+    while (position < end) {
+      if (content.get(position++) != SUBFIELD_DELIMITER)
+        continue;
+
+      if (position == end)
+        throw new MarcException(
+          String.format("error parsing data field for tag: %s: unexpected end of data field", tags[i]));
+      int code = content.get(position++) & 0xff;
+      if (code == FIELD_TERMINATOR)
+        continue;
+
+      int dataStart = position;
+      while (position < end && !isDelimiter(content.get(position)))
+        position++;
+      if (position == end)
+        throw new MarcException(
+          String.format("error parsing data field for tag: %s: subfield not terminated", tags[i]));
+      handler.handle((char) code, decode(dataStart, position - dataStart));
+    }
+  }
+
+  /**
+   * Parses the record with marc4j, for the processors which need the marc4j object.
+   */
+  public Record toMarc4jRecord() {
+    return new MarcStreamReader(new ByteArrayInputStream(getBytes(0, content.limit())), encoding).next();
+  }
+
+  private String decode(int offset, int length) {
+    if (charset != null) {
+      if (content.hasArray())
+        return new String(content.array(), content.arrayOffset() + offset, length, charset);
+      return new String(getBytes(offset, length), charset);
+    }
+
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++)
+      chars[i] = (char) (content.get(offset + i) & 0xff);
+    return ANSEL.get().convert(chars);
+  }
+
+  private byte[] getBytes(int offset, int length) {
+    byte[] bytes = new byte[length];
+    content.duplicate().position(offset).get(bytes);
+    return bytes;
+  }
+
+  private static boolean isDelimiter(byte value) {
+    return value == SUBFIELD_DELIMITER || value == FIELD_TERMINATOR;
+  }
+
+  static boolean isControlField(String tag) {
+    return tag.length() == 3
+      && tag.charAt(0) == '0' && tag.charAt(1) == '0'
+      && tag.charAt(2) >= '0' && tag.charAt(2) <= '9';
+  }
+
+  @Override
+  public String toString() {
+    return new String(getBytes(0, content.limit()), charset == null ? StandardCharsets.ISO_8859_1 : charset);
+  }
+}
@@ -0,0 +1,226 @@
+package de.gwdg.metadataqa.marc.utils.marcreader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A binary MARC file (ISO 2709 or line separated) mapped into memory. When the file is opened,
+ * it is scanned once for the record boundaries: the record terminators (0x1D) in ISO 2709 files,
+ * the line ends in line separated files. Later the records are returned as slices of the mapped
+ * buffers, without copying them.
+ *
+ * The index makes it possible to split the file into parts of similar size (see split()), which
+ * can be read by different threads.
+ */
+public class MappedMarcFile implements Closeable {
+
+  /**
+   * The size of the mapped segments. A MappedByteBuffer is limited to 2 GB, so larger files are
+   * mapped in several segments. The few records which cross the segment boundaries are copied.
+   */
+  static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+  private static final int INITIAL_CAPACITY = 1 << 12;
+
+  private final FileChannel channel;
+  private final boolean lineSeparated;
+  private final long segmentSize;
+  private final MappedByteBuffer[] segments;
+  private long[] starts = new long[INITIAL_CAPACITY];
+  private int[] lengths = new int[INITIAL_CAPACITY];
+  private int numberOfRecords = 0;
+
+  /**
+   * A part of the file: the records from the first (inclusive) to the last (exclusive).
+   */
+  public static class Range {
+    private final int first;
+    private final int last;
+
+    public Range(int first, int last) {
+      this.first = first;
+      this.last = last;
+    }
+
+    public int getFirst() {
+      return first;
+    }
+
+    public int getLast() {
+      return last;
+    }
+
+    @Override
+    public String toString() {
+      return "Range{first=" + first + ", last=" + last + '}';
+    }
+  }
+
+  public MappedMarcFile(Path path, boolean lineSeparated) throws IOException {
+    this(path, lineSeparated, DEFAULT_SEGMENT_SIZE);
+  }
+
+  MappedMarcFile(Path path, boolean lineSeparated, int segmentSize) throws IOException {
+    this.lineSeparated = lineSeparated;
+    this.segmentSize = segmentSize;
+    channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      long size = channel.size();
+      segments = new MappedByteBuffer[(int) ((size + segmentSize - 1) / segmentSize)];
+      for (int i = 0; i < segments.length; i++) {
+        long position = i * this.segmentSize;
+        segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(segmentSize, size - position));
+      }
+      index(size);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  public boolean isLineSeparated() {
+    return lineSeparated;
+  }
+
+  public int getNumberOfRecords() {
+    return numberOfRecords;
+  }
+
+  /**
+   * @param i The index of the record
+   * @return The position of the record in the file
+   */
+  public long getStart(int i) {
+    return starts[i];
+  }
+
+  /**
+   * @param i The index of the record
+   * @return The length of the record. In line separated files the line terminator is not included.
+   */
+  public int getLength(int i) {
+    return lengths[i];
+  }
+
+  /**
+   * @param i The index of the record
+   * @return The bytes of the record. In line separated files the line terminator is not included.
+   */
+  public ByteBuffer getRecord(int i) {
+    long start = starts[i];
+    int length = lengths[i];
+    int segment = (int) (start / segmentSize);
+    int offset = (int) (start % segmentSize);
+    if (offset + length <= segments[segment].limit())
+      return segments[segment].duplicate().position(offset).limit(offset + length).slice();
+
+    byte[] bytes = new byte[length];
+    int copied = 0;
+    while (copied < length) {
+      ByteBuffer buffer = segments[segment++].duplicate().position(offset);
+      int count = Math.min(buffer.remaining(), length - copied);
+      buffer.get(bytes, copied, count);
+      copied += count;
+      offset = 0;
+    }
+    return ByteBuffer.wrap(bytes);
+  }
+
+  /**
+   * Splits the records into continuous ranges of (about) the same size in bytes.
+   * @param numberOfParts The maximal number of parts
+   * @return The ranges, at least one
+   */
+  public List<Range> split(int numberOfParts) {
+    List<Range> ranges = new ArrayList<>();
+    if (numberOfRecords == 0) {
+      ranges.add(new Range(0, 0));
+      return ranges;
+    }
+
+    long totalSize = starts[numberOfRecords - 1] + lengths[numberOfRecords - 1] - starts[0];
+    int first = 0;
+    for (int part = 1; part < numberOfParts && first < numberOfRecords; part++) {
+      long boundary = starts[0] + totalSize * part / numberOfParts;
+      int last = Arrays.binarySearch(starts, first, numberOfRecords, boundary);
+      if (last < 0)
+        last = -last - 1;
+      if (last > first) {
+        ranges.add(new Range(first, last));
+        first = last;
+      }
+    }
+    if (first < numberOfRecords)
+      ranges.add(new Range(first, numberOfRecords));
+    return ranges;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private void index(long size) {
+    byte terminator = lineSeparated ? (byte) '\n' : Iso2709Record.RECORD_TERMINATOR;
+    long start = 0;
+    for (int i = 0; i < segments.length; i++) {
+      MappedByteBuffer segment = segments[i];
+      long segmentStart = i * segmentSize;
+      for (int position = 0; position < segment.limit(); position++) {
+        if (segment.get(position) == terminator) {
+          long end = segmentStart + position + 1;
+          addRecord(start, end);
+          start = end;
+        }
+      }
+    }
+    if (start < size)
+      addRecord(start, size);
+  }
+
+  /**
+   * Registers the bytes between start (inclusive) and end (exclusive) as a record. The line
+   * terminators and the empty lines are skipped. In ISO 2709 files the trailing line end is
+   * skipped.
+   */
+  private void addRecord(long start, long end) {
+    if (lineSeparated) {
+      if (end > start && getByte(end - 1) == '\n')
+        end--;
+      if (end > start && getByte(end - 1) == '\r')
+        end--;
+    } else if (isLineEnd(start, end)) {
+      return;
+    }
+    if (end == start)
+      return;
+
+    if (numberOfRecords == starts.length) {
+      starts = Arrays.copyOf(starts, starts.length * 2);
+      lengths = Arrays.copyOf(lengths, lengths.length * 2);
+    }
+    starts[numberOfRecords] = start;
+    lengths[numberOfRecords] = (int) (end - start);
+    numberOfRecords++;
+  }
+
+  private boolean isLineEnd(long start, long end) {
+    for (long position = start; position < end; position++) {
+      byte value = getByte(position);
+      if (value != '\n' && value != '\r')
+        return false;
+    }
+    return true;
+  }
+
+  private byte getByte(long position) {
+    return segments[(int) (position / segmentSize)].get((int) (position % segmentSize));
+  }
+}
@@ -0,0 +1,305 @@
+package de.gwdg.metadataqa.marc.utils.marcreader;
+
+import org.marc4j.MarcException;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * A persistent index of a binary MARC file (ISO 2709 or line separated): the position and
+ * length of the records by their identifier (the trimmed content of 001). The index is stored
+ * next to the MARC file with an '.idx' extension.
+ *
+ * The index file contains a header (the size and the modification time of the MARC file and the
+ * number of records), the entries sorted by the identifier, and the identifiers themselves. The
+ * entries have fixed size, so a lookup is a binary search with a few positioned reads, the index
+ * is not loaded into memory.
+ */
+public class RecordIndex implements Closeable {
+
+  private static final Logger logger = Logger.getLogger(RecordIndex.class.getCanonicalName());
+
+  public static final String EXTENSION = ".idx";
+  private static final int MAGIC = 0x4d515249; // MQRI
+  private static final int VERSION = 1;
+  private static final int HEADER_LENGTH = 4 + 4 + 8 + 8 + 4 + 4;
+  private static final int ENTRY_LENGTH = 8 + 4 + 4 + 8 + 4;
+
+  private final FileChannel channel;
+  private final long marcFileSize;
+  private final long marcFileModified;
+  private final int numberOfRecords;
+  private final int numberOfEntries;
+  private final long keysStart;
+
+  /**
+   * The location of a record in the MARC file.
+   */
+  public static class Entry {
+    private final long offset;
+    private final int length;
+    private final int recordNumber;
+
+    public Entry(long offset, int length, int recordNumber) {
+      this.offset = offset;
+      this.length = length;
+      this.recordNumber = recordNumber;
+    }
+
+    /**
+     * @return The position of the record in the file
+     */
+    public long getOffset() {
+      return offset;
+    }
+
+    /**
+     * @return The length of the record in bytes (in line separated files without the line terminator)
+     */
+    public int getLength() {
+      return length;
+    }
+
+    /**
+     * @return The number of records before this record in the file
+     */
+    public int getRecordNumber() {
+      return recordNumber;
+    }
+
+    @Override
+    public String toString() {
+      return "Entry{offset=" + offset + ", length=" + length + ", recordNumber=" + recordNumber + '}';
+    }
+  }
+
+  private RecordIndex(Path indexPath) throws IOException {
+    channel = FileChannel.open(indexPath, StandardOpenOption.READ);
+    try {
+      ByteBuffer header = read(0, HEADER_LENGTH);
+      if (header.getInt() != MAGIC || header.getInt() != VERSION)
+        throw new IOException("Not a record index file: " + indexPath);
+      marcFileSize = header.getLong();
+      marcFileModified = header.getLong();
+      numberOfRecords = header.getInt();
+      numberOfEntries = header.getInt();
+      keysStart = HEADER_LENGTH + (long) numberOfEntries * ENTRY_LENGTH;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * @param marcFile The MARC file
+   * @return The path of the index of the MARC file
+   */
+  public static Path getIndexPath(Path marcFile) {
+    return Paths.get(marcFile.toString() + EXTENSION);
+  }
+
+  /**
+   * Opens the index of a MARC file.
+   * @param marcFile The MARC file
+   * @return The index, or null if the file has no index, or the index is older than the file
+   */
+  public static RecordIndex open(Path marcFile) throws IOException {
+    Path indexPath = getIndexPath(marcFile);
+    if (!Files.exists(indexPath))
+      return null;
+
+    RecordIndex index = new RecordIndex(indexPath);
+    if (!index.isCurrent(marcFile)) {
+      logger.warning(String.format("The index %s is out of date, rebuild it to use it.", indexPath.getFileName()));
+      index.close();
+      return null;
+    }
+    return index;
+  }
+
+  /**
+   * Creates the index of a memory mapped MARC file. The records without identifier, and the
+   * records which can not be parsed are left out of the index.
+   * @param file The mapped MARC file
+   * @param marcFile The path of the MARC file
+   * @param encoding The character encoding of the records, or null to detect it from the leader
+   * @return The number of the indexed records
+   */
+  public static int build(MappedMarcFile file, Path marcFile, String encoding) throws IOException {
+    int size = file.getNumberOfRecords();
+    int[] recordNumbers = new int[size];
+    int[] keyStarts = new int[size + 1];
+    ByteArrayOutputStream keys = new ByteArrayOutputStream();
+    int count = 0;
+    Iso2709Reader reader = new Iso2709Reader(file, encoding);
+    for (int i = 0; i < size; i++) {
+      String controlNumber = null;
+      try {
+        controlNumber = reader.next().getControlNumber();
+      } catch (MarcException e) {
+        logger.warning(String.format("Record #%d is not indexed: %s", i + 1, e.getMessage()));
+      }
+      if (controlNumber == null)
+        continue;
+      byte[] key = controlNumber.trim().getBytes(StandardCharsets.UTF_8);
+      keys.write(key, 0, key.length);
+      recordNumbers[count] = i;
+      keyStarts[++count] = keys.size();
+    }
+    byte[] keyBytes = keys.toByteArray();
+    int[] order = sort(count, keyStarts, keyBytes);
+
+    Path indexPath = getIndexPath(marcFile);
+    Path temporary = Paths.get(indexPath.toString() + ".tmp");
+    try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+      output.writeInt(MAGIC);
+      output.writeInt(VERSION);
+      output.writeLong(Files.size(marcFile));
+      output.writeLong(Files.getLastModifiedTime(marcFile).toMillis());
+      output.writeInt(size);
+      output.writeInt(count);
+      long keyPosition = 0;
+      for (int i = 0; i < count; i++) {
+        int entry = order[i];
+        int keyLength = keyStarts[entry + 1] - keyStarts[entry];
+        output.writeLong(file.getStart(recordNumbers[entry]));
+        output.writeInt(file.getLength(recordNumbers[entry]));
+        output.writeInt(recordNumbers[entry]);
+        output.writeLong(keyPosition);
+        output.writeInt(keyLength);
+        keyPosition += keyLength;
+      }
+      for (int i = 0; i < count; i++) {
+        int entry = order[i];
+        output.write(keyBytes, keyStarts[entry], keyStarts[entry + 1] - keyStarts[entry]);
+      }
+    }
+    Files.move(temporary, indexPath, StandardCopyOption.REPLACE_EXISTING);
+    return count;
+  }
+
+  /**
+   * @param marcFile The MARC file
+   * @return Whether the index was created from the current version of the file
+   */
+  public boolean isCurrent(Path marcFile) throws IOException {
+    return Files.size(marcFile) == marcFileSize
+      && Files.getLastModifiedTime(marcFile).toMillis() == marcFileModified;
+  }
+
+  /**
+   * @return The number of records in the MARC file (including the ones without identifier)
+   */
+  public int getNumberOfRecords() {
+    return numberOfRecords;
+  }
+
+  /**
+   * @return The number of the indexed records
+   */
+  public int getNumberOfEntries() {
+    return numberOfEntries;
+  }
+
+  /**
+   * @param id The record identifier
+   * @return The records having the identifier in the order of their position in the file
+   */
+  public List<Entry> lookup(String id) throws IOException {
+    byte[] key = id.trim().getBytes(StandardCharsets.UTF_8);
+    int low = 0;
+    int high = numberOfEntries;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (compare(readKey(middle), key) < 0)
+        low = middle + 1;
+      else
+        high = middle;
+    }
+
+    List<Entry> entries = new ArrayList<>();
+    for (int i = low; i < numberOfEntries && compare(readKey(i), key) == 0; i++) {
+      ByteBuffer entry = read(HEADER_LENGTH + (long) i * ENTRY_LENGTH, ENTRY_LENGTH);
+      entries.add(new Entry(entry.getLong(), entry.getInt(), entry.getInt()));
+    }
+    return entries;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private byte[] readKey(int i) throws IOException {
+    ByteBuffer entry = read(HEADER_LENGTH + (long) i * ENTRY_LENGTH + 16, 12);
+    long keyPosition = entry.getLong();
+    int keyLength = entry.getInt();
+    return read(keysStart + keyPosition, keyLength).array();
+  }
+
+  private ByteBuffer read(long position, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) == -1)
+        throw new IOException("Unexpected end of the index file");
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  /**
+   * Sorts the keys with a stable merge sort, so the records with the same identifier remain in
+   * the order of the file.
+   * @return The indices of the keys in sorted order
+   */
+  private static int[] sort(int count, int[] keyStarts, byte[] keys) {
+    int[] order = new int[count];
+    for (int i = 0; i < count; i++)
+      order[i] = i;
+    int[] buffer = new int[count];
+    for (int width = 1; width < count; width *= 2) {
+      for (int left = 0; left < count - width; left += 2 * width) {
+        int middle = left + width;
+        int right = Math.min(left + 2 * width, count);
+        int i = left;
+        int j = middle;
+        int k = left;
+        while (i < middle && j < right)
+          buffer[k++] = compare(keys, keyStarts, order[j], order[i]) < 0 ? order[j++] : order[i++];
+        while (i < middle)
+          buffer[k++] = order[i++];
+        while (j < right)
+          buffer[k++] = order[j++];
+        System.arraycopy(buffer, left, order, left, right - left);
+      }
+    }
+    return order;
+  }
+
+  private static int compare(byte[] keys, int[] keyStarts, int a, int b) {
+    return compare(keys, keyStarts[a], keyStarts[a + 1], keys, keyStarts[b], keyStarts[b + 1]);
+  }
+
+  private static int compare(byte[] a, byte[] b) {
+    return compare(a, 0, a.length, b, 0, b.length);
+  }
+
+  private static int compare(byte[] a, int aStart, int aEnd, byte[] b, int bStart, int bEnd) {
+    return Arrays.compareUnsigned(a, aStart, aEnd, b, bStart, bEnd);
+  }
+}
@@ -0,0 +1,234 @@
+package de.gwdg.metadataqa.marc.utils.marcspec.legacy;
+
+import de.gwdg.metadataqa.marc.MarcSubfield;
+import de.gwdg.metadataqa.marc.dao.DataField;
+import de.gwdg.metadataqa.marc.dao.MarcControlField;
+import de.gwdg.metadataqa.marc.dao.MarcRecord;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A set of selectors compiled into a per-tag dispatch table. Instead of running MarcRecord.select()
+ * for every selector, which looks up the tag and allocates a result list each time, the plan visits
+ * the leader, the control fields and the data fields of the record once, and puts the values of all
+ * selectors of the field's tag into the slots of a reusable Selection.
+ *
+ * The values of a slot are the same, and in the same order, as MarcRecord.select() returns for the
+ * selector. Besides the MarcSpec selectors the plan can check the existence of a data field or
+ * subfield of any tag (e.g. the local tags, which are not valid MarcSpec tags).
+ *
+ * The plan is immutable and can be shared, the Selection belongs to a single thread.
+ */
+public class SelectorPlan implements Serializable {
+
+  private final int numberOfSlots;
+  private final Step[] leaderSteps;
+  private final Map<String, Step[]> controlFieldSteps;
+  private final Map<String, Step[]> dataFieldSteps;
+
+  private SelectorPlan(Builder builder) {
+    numberOfSlots = builder.numberOfSlots;
+    leaderSteps = builder.leaderSteps.toArray(new Step[0]);
+    controlFieldSteps = toArrays(builder.controlFieldSteps);
+    dataFieldSteps = toArrays(builder.dataFieldSteps);
+  }
+
+  /**
+   * Compiles the selectors, the slot of a selector is its index in the list.
+   */
+  public static SelectorPlan compile(List<MarcSpec> selectors) {
+    Builder builder = builder();
+    for (MarcSpec selector : selectors)
+      builder.add(selector);
+    return builder.build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public int getNumberOfSlots() {
+    return numberOfSlots;
+  }
+
+  public Selection newSelection() {
+    return new Selection(numberOfSlots);
+  }
+
+  public Selection select(MarcRecord marcRecord) {
+    Selection selection = newSelection();
+    select(marcRecord, selection);
+    return selection;
+  }
+
+  /**
+   * Clears the selection, and fills it with the values of the record.
+   */
+  public void select(MarcRecord marcRecord, Selection selection) {
+    selection.clear();
+
+    if (leaderSteps.length > 0 && marcRecord.getLeader() != null)
+      for (Step step : leaderSteps)
+        step.selectContent(marcRecord.getLeader().getContent(), selection);
+
+    if (!controlFieldSteps.isEmpty()) {
+      selectControlField(marcRecord.getControl001(), selection);
+      selectControlField(marcRecord.getControl003(), selection);
+      selectControlField(marcRecord.getControl005(), selection);
+      if (marcRecord.getControl006() != null)
+        for (MarcControlField field : marcRecord.getControl006())
+          selectControlField(field, selection);
+      if (marcRecord.getControl007() != null)
+        for (MarcControlField field : marcRecord.getControl007())
+          selectControlField(field, selection);
+      selectControlField(marcRecord.getControl008(), selection);
+    }
+
+    if (!dataFieldSteps.isEmpty()) {
+      for (DataField field : marcRecord.getDatafields()) {
+        Step[] steps = dataFieldSteps.get(field.getTag());
+        if (steps != null)
+          for (Step step : steps)
+            step.selectSubfields(field, selection);
+      }
+    }
+  }
+
+  private void selectControlField(MarcControlField field, Selection selection) {
+    if (field == null)
+      return;
+    Step[] steps = controlFieldSteps.get(field.getDefinition().getTag());
+    if (steps != null)
+      for (Step step : steps)
+        step.selectContent(field.getContent(), selection);
+  }
+
+  private static Map<String, Step[]> toArrays(Map<String, List<Step>> stepsByTag) {
+    Map<String, Step[]> arrays = new HashMap<>();
+    for (Map.Entry<String, List<Step>> entry : stepsByTag.entrySet())
+      arrays.put(entry.getKey(), entry.getValue().toArray(new Step[0]));
+    return arrays;
+  }
+
+  public static class Builder {
+    private int numberOfSlots = 0;
+    private final List<Step> leaderSteps = new ArrayList<>();
+    private final Map<String, List<Step>> controlFieldSteps = new HashMap<>();
+    private final Map<String, List<Step>> dataFieldSteps = new HashMap<>();
+
+    /**
+     * Adds a MarcSpec selector.
+     * @return The slot of the selector's values
+     */
+    public int add(MarcSpec selector) {
+      int slot = numberOfSlots++;
+      String tag = selector.getFieldTag();
+      int start = selector.hasRangeSelector() ? selector.getCharStart() : -1;
+      int end = selector.hasRangeSelector() ? selector.getCharEnd() + 1 : -1;
+      if (tag.equals("LDR")) {
+        leaderSteps.add(new Step(slot, null, start, end));
+      } else if (tag.startsWith("00")) {
+        controlFieldSteps.computeIfAbsent(tag, s -> new ArrayList<>()).add(new Step(slot, null, start, end));
+      } else {
+        // as MarcRecord.select(), the subfields in the order of MarcSpec.getSubfieldsAsList()
+        List<String> codes = selector.getSubfieldsAsList();
+        addDataFieldStep(tag, new Step(slot, codes.toArray(new String[0]), -1, -1));
+      }
+      return slot;
+    }
+
+    /**
+     * Adds an existence check of a data field (if the code is null) or of a subfield. The slot gets a
+     * value for every subfield instance, or for every field instance.
+     * @return The slot of the check
+     */
+    public int addDataField(String tag, String code) {
+      int slot = numberOfSlots++;
+      addDataFieldStep(tag, new Step(slot, code == null ? null : new String[]{code}, -1, -1));
+      return slot;
+    }
+
+    private void addDataFieldStep(String tag, Step step) {
+      dataFieldSteps.computeIfAbsent(tag, s -> new ArrayList<>()).add(step);
+    }
+
+    public SelectorPlan build() {
+      return new SelectorPlan(this);
+    }
+  }
+
+  /**
+   * The selection of a single slot.
+   */
+  private static class Step implements Serializable {
+    private final int slot;
+    private final String[] codes;
+    private final int start;
+    private final int end;
+
+    private Step(int slot, String[] codes, int start, int end) {
+      this.slot = slot;
+      this.codes = codes;
+      this.start = start;
+      this.end = end;
+    }
+
+    private void selectContent(String content, Selection selection) {
+      selection.add(slot, start == -1 ? content : content.substring(start, end));
+    }
+
+    private void selectSubfields(DataField field, Selection selection) {
+      if (codes == null) {
+        selection.add(slot, field.getTag());
+        return;
+      }
+      for (String code : codes) {
+        List<MarcSubfield> subfields = field.getSubfield(code);
+        if (subfields != null)
+          for (MarcSubfield subfield : subfields)
+            selection.add(slot, subfield.getValue());
+      }
+    }
+  }
+
+  /**
+   * The values selected from a record, by slot. The lists are reused by the next select() call.
+   */
+  public static class Selection {
+    private final List<String>[] values;
+
+    @SuppressWarnings("unchecked")
+    private Selection(int numberOfSlots) {
+      values = new List[numberOfSlots];
+      for (int i = 0; i < numberOfSlots; i++)
+        values[i] = new ArrayList<>();
+    }
+
+    public List<String> get(int slot) {
+      return values[slot];
+    }
+
+    public boolean isEmpty(int slot) {
+      return values[slot].isEmpty();
+    }
+
+    private void add(int slot, String value) {
+      values[slot].add(value);
+    }
+
+    private void clear() {
+      for (List<String> slotValues : values)
+        slotValues.clear();
+    }
+
+    @Override
+    public String toString() {
+      return "Selection{" + Arrays.toString(values) + '}';
+    }
+  }
+}
@@ -7,6 +7,7 @@ import org.marc4j.marc.Record;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
@@ -30,6 +31,10 @@ public class PicaReader implements MarcReader {
     }
   }
 
+  public PicaReader(Reader reader) {
+    bufferedReader = new BufferedReader(reader);
+  }
+
   @Override
   public boolean hasNext() {
     if (lineNumber == 0 || nextIsConsumed) {
@@ -0,0 +1,55 @@
+package de.gwdg.metadataqa.marc;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EncodedValueIndexTest {
+
+  @Test
+  public void exactMatch() {
+    List<EncodedValue> codes = Utils.generateCodes("a", "Alpha", "b", "Beta");
+    EncodedValueIndex index = new EncodedValueIndex(codes);
+    assertEquals("Beta", index.getCode("b").getLabel());
+    assertNull(index.getCode("c"));
+  }
+
+  @Test
+  public void rangeFlagSetAfterIndexing() {
+    List<EncodedValue> codes = Utils.generateCodes("000", "Zero", "001-999", "Running time", "nnn", "n/a");
+    EncodedValueIndex index = new EncodedValueIndex(codes);
+    assertNull(index.getCode("123"));
+
+    codes.get(1).setRange(true);
+    assertSame(codes.get(1), index.getCode("123"));
+    assertSame(codes.get(1), index.getCode("001-999"));
+    assertEquals("Zero", index.getCode("000").getLabel());
+    assertNull(index.getExactCode("123"));
+  }
+
+  @Test
+  public void firstMatchWins() {
+    List<EncodedValue> codes = Utils.generateCodes("0-9", "Range", "5", "Five");
+    codes.get(0).setRange(true);
+    EncodedValueIndex index = new EncodedValueIndex(codes);
+    assertEquals("Range", index.getCode("5").getLabel());
+    assertEquals("Five", index.getExactCode("5").getLabel());
+  }
+
+  @Test
+  public void isIndexOf() {
+    List<EncodedValue> codes = new ArrayList<>(Utils.generateCodes("a", "Alpha"));
+    EncodedValueIndex index = new EncodedValueIndex(codes);
+    assertTrue(index.isIndexOf(codes));
+    assertFalse(index.isIndexOf(new ArrayList<>(codes)));
+    codes.add(new EncodedValue("b", "Beta"));
+    assertFalse(index.isIndexOf(codes));
+  }
+}
@@ -6,6 +6,8 @@ import de.gwdg.metadataqa.marc.dao.DataField;
 import de.gwdg.metadataqa.marc.dao.MarcRecord;
 import de.gwdg.metadataqa.marc.definition.MarcVersion;
 import de.gwdg.metadataqa.marc.model.SolrFieldType;
+import de.gwdg.metadataqa.marc.utils.ReadMarc;
+import de.gwdg.metadataqa.marc.utils.TagProjection;
 import de.gwdg.metadataqa.marc.utils.alephseq.AlephseqLine;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.*;
@@ -700,4 +702,22 @@ public class MarcFactoryTest {
     assertEquals(" ", marcRecord.getDatafield("810").get(1).getInd2());
     assertEquals(38, marcRecord.getDatafields().size());
   }
+
+  @Test
+  public void createFromMarc4j_withProjection() throws Exception {
+    Record marc4jRecord = ReadMarc.read(FileUtils.getPath("general/0001-01.mrc").toString()).get(0);
+    MarcRecord full = MarcFactory.createFromMarc4j(marc4jRecord, null, MarcVersion.MARC21, null);
+    MarcRecord projected = MarcFactory.createFromMarc4j(marc4jRecord, null, MarcVersion.MARC21, null,
+      TagProjection.of("008", "1XX", "245"));
+
+    assertEquals(full.getLeader().getLeaderString(), projected.getLeader().getLeaderString());
+    assertEquals(full.getId(), projected.getId());
+    assertEquals(full.getControl008().getContent(), projected.getControl008().getContent());
+    assertNull(projected.getControl005());
+    assertTrue(full.getDatafields().size() > projected.getDatafields().size());
+    for (DataField field : projected.getDatafields())
+      assertTrue(field.getTag(), field.getTag().equals("245") || field.getTag().startsWith("1"));
+    assertEquals(full.getDatafield("245").get(0).toString(), projected.getDatafield("245").get(0).toString());
+    assertFalse(projected.hasDatafield("650"));
+  }
 }
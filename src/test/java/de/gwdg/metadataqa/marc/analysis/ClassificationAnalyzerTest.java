@@ -67,4 +67,28 @@ public class ClassificationAnalyzerTest {
     assertEquals(KosType.CLASSIFICATION_SCHEME,
       KosRegistry.get(second.getAbbreviation()).getType());
   }
+
+  @Test
+  public void mergeIsOrderIndependent() {
+    for (boolean reversed : new boolean[]{false, true}) {
+      ClassificationStatistics first = statistics(new Schema("650", "$2", "lcsh", "LCSH"), "id-2");
+      ClassificationStatistics second = statistics(new Schema("082", "$a", "ddc", "DDC"), "id-1");
+      ClassificationStatistics merged = new ClassificationStatistics();
+      merged.merge(reversed ? second : first);
+      merged.merge(reversed ? first : second);
+      merged.renumberSchemas();
+
+      for (Schema schema : merged.getInstances().keySet())
+        assertEquals(schema.getField().equals("082") ? 1 : 2, schema.getId());
+      assertEquals("id-1", merged.getFrequencyExamples().get(1));
+    }
+  }
+
+  private ClassificationStatistics statistics(Schema schema, String recordId) {
+    ClassificationStatistics statistics = new ClassificationStatistics();
+    statistics.getInstances().put(schema, 1);
+    statistics.getRecords().put(schema, 1);
+    statistics.getFrequencyExamples().put(1, recordId);
+    return statistics;
+  }
 }
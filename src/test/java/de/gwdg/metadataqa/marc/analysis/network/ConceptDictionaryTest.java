@@ -0,0 +1,75 @@
+package de.gwdg.metadataqa.marc.analysis.network;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class ConceptDictionaryTest {
+
+  @Test
+  public void getId() {
+    ConceptDictionary dictionary = new ConceptDictionary();
+    assertEquals(0, dictionary.getId("650#0$aeconomics"));
+    assertEquals(1, dictionary.getId("100$asmith, john"));
+    assertEquals(0, dictionary.getId(new StringBuilder("650#0$aeconomics")));
+    assertEquals(1, dictionary.find("100$asmith, john"));
+    assertEquals(-1, dictionary.find("100$asmith, jane"));
+    assertEquals("100$asmith, john", dictionary.getKey(1));
+    assertEquals(2, dictionary.size());
+  }
+
+  @Test
+  public void manyConcepts() {
+    ConceptDictionary dictionary = new ConceptDictionary();
+    for (int i = 0; i < 100000; i++)
+      assertEquals(i, dictionary.getId("650#0$a" + i));
+    for (int i = 0; i < 100000; i++)
+      assertEquals(i, dictionary.find("650#0$a" + i));
+  }
+
+  @Test
+  public void collidingFingerprints() {
+    // every key has the same fingerprint, the keys are still distinguished
+    ConceptDictionary dictionary = new ConceptDictionary(key -> 42L);
+    for (int i = 0; i < 3000; i++)
+      assertEquals(i, dictionary.getId("concept " + i));
+    assertEquals(1234, dictionary.getId("concept 1234"));
+    assertEquals(3000, dictionary.size());
+  }
+
+  @Test
+  public void fingerprint() {
+    assertEquals(ConceptDictionary.fingerprint("650#0$aeconomics"),
+      ConceptDictionary.fingerprint(new StringBuilder("650#0$aeconomics")));
+    assertNotEquals(ConceptDictionary.fingerprint("Aa"), ConceptDictionary.fingerprint("BB"));
+    assertNotEquals(ConceptDictionary.fingerprint("ő"), ConceptDictionary.fingerprint("Q"));
+  }
+
+  @Test
+  public void writeAndRead() throws IOException {
+    ConceptDictionary dictionary = new ConceptDictionary();
+    dictionary.getId("100$asmith, john$d1900-1980");
+    dictionary.getId("650#0$athe \"quoted\" concept");
+    Path path = Files.createTempFile("network-concepts", ".csv");
+    try {
+      dictionary.write(path);
+      assertEquals(Arrays.asList(
+          "id,concept",
+          "0,\"100$asmith, john$d1900-1980\"",
+          "1,\"650#0$athe \"\"quoted\"\" concept\""),
+        Files.readAllLines(path));
+
+      ConceptDictionary copy = ConceptDictionary.read(path);
+      assertEquals(2, copy.size());
+      assertEquals(1, copy.find("650#0$athe \"quoted\" concept"));
+    } finally {
+      Files.delete(path);
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package de.gwdg.metadataqa.marc.analysis.network;
+
+import de.gwdg.metadataqa.api.util.FileUtils;
+import de.gwdg.metadataqa.marc.MarcFactory;
+import de.gwdg.metadataqa.marc.dao.DataField;
+import de.gwdg.metadataqa.marc.dao.MarcRecord;
+import de.gwdg.metadataqa.marc.definition.tags.tags1xx.Tag100;
+import de.gwdg.metadataqa.marc.definition.tags.tags6xx.Tag650;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+public class ConceptNormalizerTest {
+
+  private final ConceptNormalizer normalizer = new ConceptNormalizer();
+
+  @Test
+  public void authority() {
+    DataField field = new DataField(Tag100.getInstance(), "1", " ",
+      "a", "Smith,  John,", "d", "1900-1980.", "e", "author.", "0", "(DE-588)123", "4", "aut");
+    assertEquals("100$asmith, john$d1900-1980", normalizer.normalize(field).toString());
+
+    DataField variant = new DataField(Tag100.getInstance(), "0", " ",
+      "a", " SMITH, John", "d", "1900-1980", "6", "880-01");
+    assertEquals("100$asmith, john$d1900-1980", normalizer.normalize(variant).toString());
+  }
+
+  @Test
+  public void subject() {
+    DataField lcsh = new DataField(Tag650.getInstance(), " ", "0", "a", "Economics.", "x", "History");
+    assertEquals("650#0$aeconomics$xhistory", normalizer.normalize(lcsh).toString());
+
+    DataField mesh = new DataField(Tag650.getInstance(), " ", "2", "a", "Economics", "x", "History.");
+    assertEquals("650#2$aeconomics$xhistory", normalizer.normalize(mesh).toString());
+
+    DataField dollar = new DataField(Tag650.getInstance(), " ", "0", "a", "US$ bonds");
+    assertEquals("650#0$aus$$ bonds", normalizer.normalize(dollar).toString());
+  }
+
+  @Test
+  public void withoutRelevantSubfields() {
+    assertNull(normalizer.normalize(new DataField(Tag650.getInstance(), " ", "7", "0", "(DE-588)123", "a", "..")));
+  }
+
+  @Test
+  public void record() throws Exception {
+    List<String> lines = FileUtils.readLinesFromResource("marctxt/010000011.mrctxt");
+    MarcRecord marcRecord = MarcFactory.createFromFormattedText(lines);
+    List<DataField> fields = marcRecord.getDatafield("810");
+    assertEquals(2, fields.size());
+    assertEquals("810$ainstitut für gewerbliche wasserwirtschaft und luftreinhaltung$tiwl-forum$v1985,3"
+        + "$w(de-627)13071562x$w(de-576)016263235$w(de-600)967681-8$x0537-796x",
+      normalizer.normalize(fields.get(0)).toString());
+    assertNotEquals(normalizer.normalize(fields.get(0)).toString(), normalizer.normalize(fields.get(1)).toString());
+  }
+}
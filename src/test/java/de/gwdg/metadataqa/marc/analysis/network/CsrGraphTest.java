@@ -0,0 +1,109 @@
+package de.gwdg.metadataqa.marc.analysis.network;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CsrGraphTest {
+
+  private CsrGraphBuilder builder;
+
+  @Before
+  public void setUp() {
+    builder = new CsrGraphBuilder();
+    // concept 10: 1, 2, 3 (1 twice); concept -20: 3, 4; concept 30: 5, 6
+    // concept 40: 7 (alone, not part of the graph); concept 50: 1, 2 (the same edge again)
+    int[][] assignments = {{10, 3}, {10, 1}, {-20, 4}, {10, 2}, {10, 1}, {-20, 3}, {30, 6}, {30, 5}, {40, 7},
+      {50, 2}, {50, 1}};
+    for (int[] assignment : assignments)
+      builder.add(assignment[0], assignment[1]);
+  }
+
+  @Test
+  public void build() {
+    CsrGraph graph = builder.build(1000);
+    assertEquals(6, graph.getNumberOfNodes());
+    assertEquals(5, graph.getNumberOfEdges());
+    assertEquals(1, graph.getNodeId(0));
+    assertEquals(6, graph.getNodeId(5));
+    assertArrayEquals(new int[]{2, 2, 3, 1, 1, 1}, graph.degrees());
+    assertArrayEquals(new int[]{0, 1, 3}, graph.getNeighbours(2));
+    assertEquals(10.0 / 30, graph.density(), 0.0001);
+    assertEquals(10.0 / 6, graph.averageDegree(), 0.0001);
+  }
+
+  @Test
+  public void groupLimit() {
+    CsrGraph graph = builder.build(2);
+    // concept 10 keeps the records 1 and 2
+    assertEquals(3, graph.getNumberOfEdges());
+    assertArrayEquals(new int[]{3}, graph.getNeighbours(2));
+  }
+
+  @Test
+  public void connectedComponents() {
+    assertArrayEquals(new int[]{1, 1, 1, 1, 5, 5}, builder.build(1000).connectedComponents());
+  }
+
+  @Test
+  public void pageRank() {
+    double[] ranks = builder.build(1000).pageRank();
+    assertEquals(6, ranks.length);
+    assertEquals(1.0, ranks[4], 0.0001);
+    assertEquals(1.0, ranks[5], 0.0001);
+    assertEquals(ranks[0], ranks[1], 0.0001);
+    for (int i = 0; i < ranks.length; i++)
+      if (i != 2)
+        assertTrue(ranks[2] > ranks[i]);
+    // in a connected undirected graph the ranks sum to the number of nodes
+    assertEquals(4.0, ranks[0] + ranks[1] + ranks[2] + ranks[3], 0.01);
+  }
+
+  @Test
+  public void manyNodes() {
+    // enough nodes for the parallel tasks to reuse the mark arrays of the other nodes
+    CsrGraphBuilder large = new CsrGraphBuilder();
+    Map<Integer, Set<Integer>> recordsOfConcepts = new TreeMap<>();
+    Random random = new Random(42);
+    for (int i = 0; i < 20000; i++) {
+      int concept = random.nextInt(3000);
+      int recordId = random.nextInt(5000);
+      large.add(concept, recordId);
+      recordsOfConcepts.computeIfAbsent(concept, c -> new TreeSet<>()).add(recordId);
+    }
+    Map<Integer, Set<Integer>> expected = new TreeMap<>();
+    for (Set<Integer> records : recordsOfConcepts.values())
+      for (int recordId : records)
+        for (int other : records)
+          if (records.size() > 1 && other != recordId)
+            expected.computeIfAbsent(recordId, r -> new TreeSet<>()).add(other);
+
+    CsrGraph graph = large.build(1000);
+    assertEquals(expected.size(), graph.getNumberOfNodes());
+    for (int node = 0; node < graph.getNumberOfNodes(); node++) {
+      Set<Integer> neighbours = new TreeSet<>();
+      for (int neighbour : graph.getNeighbours(node))
+        neighbours.add(graph.getNodeId(neighbour));
+      assertEquals(expected.get(graph.getNodeId(node)), neighbours);
+      assertEquals(neighbours.size(), graph.getDegree(node));
+    }
+  }
+
+  @Test
+  public void empty() {
+    CsrGraph graph = new CsrGraphBuilder().build(1000);
+    assertEquals(0, graph.getNumberOfNodes());
+    assertEquals(0, graph.getNumberOfEdges());
+    assertEquals(0, graph.connectedComponents().length);
+    assertEquals(0, graph.pageRank().length);
+  }
+}
@@ -0,0 +1,67 @@
+package de.gwdg.metadataqa.marc.cli;
+
+import de.gwdg.metadataqa.marc.cli.parameters.AnalysisType;
+import de.gwdg.metadataqa.marc.cli.utils.RecordIterator;
+import org.apache.commons.cli.ParseException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class AllAnalysesTest extends CliTestUtils {
+
+  private String inputFile;
+  private String outputDir;
+  private List<String> outputFiles;
+
+  @Before
+  public void setUp() throws Exception {
+    inputFile = getPath("src/test/resources/general/BooksAll.2014.part01-0001.mrc");
+    outputDir = getPath("src/test/resources/output");
+    outputFiles = Arrays.asList(
+      "libraries003.csv", "libraries.csv", "packages.csv", "marc-elements.csv",
+      "tt-completeness.csv", "tt-completeness-fields.csv"
+    );
+  }
+
+  @Test
+  public void processors() throws ParseException {
+    AllAnalyses processor = new AllAnalyses(new String[]{
+      "--analyses", "completeness,tt-completeness", "--outputDir", outputDir, inputFile
+    });
+    assertEquals(
+      Arrays.asList(AnalysisType.COMPLETENESS, AnalysisType.TT_COMPLETENESS),
+      Arrays.asList(processor.getProcessors().keySet().toArray()));
+    assertTrue(processor.getProcessors().get(AnalysisType.COMPLETENESS) instanceof Completeness);
+    assertTrue(processor.getProcessors().get(AnalysisType.TT_COMPLETENESS) instanceof ThompsonTraillCompleteness);
+  }
+
+  @Test
+  public void sameOutputAsIndividualRuns() throws ParseException, IOException {
+    clearOutput(outputDir, outputFiles);
+    String[] args = new String[]{"--defaultRecordType", "BOOKS", "--outputDir", outputDir, "--trimId", inputFile};
+    new RecordIterator(new Completeness(args)).start();
+    new RecordIterator(new ThompsonTraillCompleteness(args)).start();
+    Map<String, String> expected = new HashMap<>();
+    for (String outputFile : outputFiles)
+      expected.put(outputFile, Files.readString(new File(outputDir, outputFile).toPath()));
+
+    clearOutput(outputDir, outputFiles);
+    new RecordIterator(new AllAnalyses(new String[]{
+      "--analyses", "completeness,tt-completeness",
+      "--defaultRecordType", "BOOKS", "--outputDir", outputDir, "--trimId", inputFile
+    })).start();
+    for (String outputFile : outputFiles)
+      assertEquals(outputFile, expected.get(outputFile), Files.readString(new File(outputDir, outputFile).toPath()));
+
+    clearOutput(outputDir, outputFiles);
+  }
+}
@@ -94,8 +94,8 @@ public class ClassificationAnalysisTest extends CliTestUtils {
     actual = Files.readString(output.toPath());
     assertEquals(
       "id,field,location,scheme,abbreviation,abbreviation4solr,recordcount,instancecount,type\n" +
-      "3,082,$a,\"Dewey Decimal Classification\",\"ddc\",ddc,1,1,CLASSIFICATION_SCHEME\n" +
-      "1,650,$2,\"Library of Congress subject headings (Washington, DC: LC, Cataloging Distribution Service)\",\"lcsh\",lcsh,1,4,SUBJECT_HEADING\n" +
+      "1,082,$a,\"Dewey Decimal Classification\",\"ddc\",ddc,1,1,CLASSIFICATION_SCHEME\n" +
+      "3,650,$2,\"Library of Congress subject headings (Washington, DC: LC, Cataloging Distribution Service)\",\"lcsh\",lcsh,1,4,SUBJECT_HEADING\n" +
       "2,650,$2,\"Faceted application of subject terminology (Dublin, Ohio: OCLC)\",\"fast\",fast,1,1,SUBJECT_HEADING\n",
       actual);
 
@@ -104,9 +104,9 @@ public class ClassificationAnalysisTest extends CliTestUtils {
     actual = Files.readString(output.toPath());
     assertEquals(
       "id,subfields,count\n" +
-      "3,a,1\n" +
-      "1,a;2,4\n" +
-      "2,a;0;2,1\n", actual);
+      "1,a,1\n" +
+      "2,a;0;2,1\n" +
+      "3,a;2,4\n", actual);
 
     output = new File(outputDir, "classifications-collocations.csv");
     assertTrue(output.exists());
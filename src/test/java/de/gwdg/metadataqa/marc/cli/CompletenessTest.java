@@ -1,13 +1,25 @@
 package de.gwdg.metadataqa.marc.cli;
 
+import de.gwdg.metadataqa.marc.cli.utils.ParquetReportWriterTest;
+import de.gwdg.metadataqa.marc.cli.utils.RecordIterator;
+import de.gwdg.metadataqa.marc.utils.marcreader.RecordIndex;
+import org.apache.commons.cli.ParseException;
+import org.apache.parquet.example.data.Group;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.*;
 
-public class CompletenessTest {
+public class CompletenessTest extends CliTestUtils {
 
   @Test
   public void test() {
@@ -51,4 +63,158 @@ public class CompletenessTest {
     String b = "041$|0";
     assertEquals("041$0", b.replaceAll("\\|(\\d)$", "$1"));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void parallel() throws ParseException, IOException {
+    String inputFile = getPath("src/test/resources/general/BooksAll.2014.part01-0001.mrc");
+    String outputDir = getPath("src/test/resources/output");
+    List<String> outputFiles = Arrays.asList("libraries003.csv", "libraries.csv", "packages.csv", "marc-elements.csv");
+
+    clearOutput(outputDir, outputFiles);
+    new RecordIterator(new Completeness(new String[]{"--outputDir", outputDir, inputFile})).start();
+    Map<String, String> expected = new HashMap<>();
+    for (String outputFile : outputFiles)
+      expected.put(outputFile, Files.readString(new File(outputDir, outputFile).toPath()));
+
+    clearOutput(outputDir, outputFiles);
+    new RecordIterator(new Completeness(new String[]{"--outputDir", outputDir, "--threads", "4", inputFile})).start();
+    for (String outputFile : outputFiles)
+      assertEquals(expected.get(outputFile), Files.readString(new File(outputDir, outputFile).toPath()));
+
+    clearOutput(outputDir, outputFiles);
+  }
+
+  @Test
+  public void parquet() throws ParseException, IOException {
+    String inputFile = getPath("src/test/resources/general/BooksAll.2014.part01-0001.mrc");
+    String outputDir = getPath("src/test/resources/output");
+    List<String> outputFiles = Arrays.asList("libraries003.csv", "libraries.csv", "packages.csv",
+      "marc-elements.csv", "marc-elements.parquet");
+
+    clearOutput(outputDir, outputFiles);
+    new RecordIterator(new Completeness(new String[]{"--outputDir", outputDir, inputFile})).start();
+    List<String> lines = Files.readAllLines(new File(outputDir, "marc-elements.csv").toPath());
+
+    clearOutput(outputDir, outputFiles);
+    new RecordIterator(new Completeness(new String[]{"--outputDir", outputDir, "--parquet", inputFile})).start();
+    assertFalse(new File(outputDir, "marc-elements.csv").exists());
+    List<Group> rows = ParquetReportWriterTest.read(new File(outputDir, "marc-elements.parquet"));
+    assertEquals(lines.size() - 1, rows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      String[] values = lines.get(i + 1).split(",");
+      assertEquals(values[1].replace("\"", ""), rows.get(i).getString("path", 0));
+      assertEquals(values[values.length - 7], String.valueOf(rows.get(i).getInteger("number-of-record", 0)));
+    }
+
+    clearOutput(outputDir, outputFiles);
+  }
+
+  @Test
+  public void parallelFiles() throws ParseException, IOException {
+    String[] inputFiles = new String[]{
+      getPath("src/test/resources/general/BooksAll.2014.part01-0001.mrc"),
+      getPath("src/test/resources/general/0001-01.mrc"),
+      getPath("src/test/resources/marc/22561.mrc")
+    };
+    String outputDir = getPath("src/test/resources/output");
+    List<String> outputFiles = Arrays.asList("libraries003.csv", "libraries.csv", "packages.csv", "marc-elements.csv");
+
+    clearOutput(outputDir, outputFiles);
+    new RecordIterator(new Completeness(concat(new String[]{"--outputDir", outputDir}, inputFiles))).start();
+    Map<String, String> expected = new HashMap<>();
+    for (String outputFile : outputFiles)
+      expected.put(outputFile, Files.readString(new File(outputDir, outputFile).toPath()));
+
+    clearOutput(outputDir, outputFiles);
+    new RecordIterator(new Completeness(concat(new String[]{"--outputDir", outputDir, "--fileThreads", "3"}, inputFiles))).start();
+    for (String outputFile : outputFiles)
+      assertEquals(expected.get(outputFile), Files.readString(new File(outputDir, outputFile).toPath()));
+
+    clearOutput(outputDir, outputFiles);
+  }
+
+  @Test
+  public void nativeReader() throws ParseException, IOException {
+    String[] inputFiles = new String[]{
+      getPath("src/test/resources/general/BooksAll.2014.part01-0001.mrc"),
+      getPath("src/test/resources/marc/22561.mrc")
+    };
+    String outputDir = getPath("src/test/resources/output");
+    List<String> outputFiles = Arrays.asList("libraries003.csv", "libraries.csv", "packages.csv", "marc-elements.csv");
+
+    clearOutput(outputDir, outputFiles);
+    new RecordIterator(new Completeness(concat(new String[]{"--outputDir", outputDir}, inputFiles))).start();
+    Map<String, String> expected = new HashMap<>();
+    for (String outputFile : outputFiles)
+      expected.put(outputFile, Files.readString(new File(outputDir, outputFile).toPath()));
+
+    clearOutput(outputDir, outputFiles);
+    new RecordIterator(new Completeness(concat(new String[]{"--outputDir", outputDir, "--nativeReader"}, inputFiles))).start();
+    for (String outputFile : outputFiles)
+      assertEquals(expected.get(outputFile), Files.readString(new File(outputDir, outputFile).toPath()));
+
+    clearOutput(outputDir, outputFiles);
+  }
+
+  @Test
+  public void memoryMapped() throws ParseException, IOException {
+    String inputFile = getPath("src/test/resources/general/BooksAll.2014.part01-0001.mrc");
+    String outputDir = getPath("src/test/resources/output");
+    List<String> outputFiles = Arrays.asList("libraries003.csv", "libraries.csv", "packages.csv", "marc-elements.csv");
+
+    clearOutput(outputDir, outputFiles);
+    new RecordIterator(new Completeness(new String[]{"--outputDir", outputDir, inputFile})).start();
+    Map<String, String> expected = new HashMap<>();
+    for (String outputFile : outputFiles)
+      expected.put(outputFile, Files.readString(new File(outputDir, outputFile).toPath()));
+
+    for (String fileThreads : new String[]{"1", "3"}) {
+      clearOutput(outputDir, outputFiles);
+      new RecordIterator(new Completeness(
+        new String[]{"--outputDir", outputDir, "--memoryMapped", "--fileThreads", fileThreads, inputFile})).start();
+      for (String outputFile : outputFiles)
+        assertEquals(expected.get(outputFile), Files.readString(new File(outputDir, outputFile).toPath()));
+    }
+
+    clearOutput(outputDir, outputFiles);
+  }
+
+  @Test
+  public void recordIndex() throws ParseException, IOException {
+    Path directory = Files.createTempDirectory("record-index");
+    Path inputFile = directory.resolve("books.mrc");
+    Files.copy(Paths.get(getPath("src/test/resources/general/BooksAll.2014.part01-0001.mrc")), inputFile);
+    String outputDir = getPath("src/test/resources/output");
+    List<String> outputFiles = Arrays.asList("libraries003.csv", "libraries.csv", "packages.csv", "marc-elements.csv");
+    String[] arguments = new String[]{"--outputDir", outputDir, "--id", "00000394,00000002, 00000169", inputFile.toString()};
+
+    try {
+      clearOutput(outputDir, outputFiles);
+      new RecordIterator(new Completeness(arguments)).start();
+      Map<String, String> expected = new HashMap<>();
+      for (String outputFile : outputFiles)
+        expected.put(outputFile, Files.readString(new File(outputDir, outputFile).toPath()));
+      assertTrue(expected.get("marc-elements.csv").contains(",3,"));
+
+      assertEquals(1, new RecordIndexer(new String[]{inputFile.toString()}).run());
+      assertTrue(Files.exists(RecordIndex.getIndexPath(inputFile)));
+      for (String[] extra : new String[][]{{}, {"--nativeReader"}, {"--memoryMapped", "--fileThreads", "2"}}) {
+        clearOutput(outputDir, outputFiles);
+        new RecordIterator(new Completeness(concat(extra, arguments))).start();
+        for (String outputFile : outputFiles)
+          assertEquals(expected.get(outputFile), Files.readString(new File(outputDir, outputFile).toPath()));
+      }
+    } finally {
+      clearOutput(outputDir, outputFiles);
+      Files.deleteIfExists(RecordIndex.getIndexPath(inputFile));
+      Files.delete(inputFile);
+      Files.delete(directory);
+    }
+  }
+
+  private static String[] concat(String[] a, String[] b) {
+    String[] result = Arrays.copyOf(a, a.length + b.length);
+    System.arraycopy(b, 0, result, a.length, b.length);
+    return result;
+  }
+}
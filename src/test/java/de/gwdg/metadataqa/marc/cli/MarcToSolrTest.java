@@ -1,11 +1,15 @@
 package de.gwdg.metadataqa.marc.cli;
 
+import de.gwdg.metadataqa.marc.cli.utils.RecordIterator;
 import de.gwdg.metadataqa.marc.dao.DataField;
 import de.gwdg.metadataqa.marc.dao.Leader;
 import de.gwdg.metadataqa.marc.dao.MarcRecord;
+import de.gwdg.metadataqa.marc.datastore.InMemorySolrClient;
+import de.gwdg.metadataqa.marc.datastore.MarcSolrClient;
 import de.gwdg.metadataqa.marc.definition.MarcVersion;
 import de.gwdg.metadataqa.marc.definition.tags.tags76x.Tag787;
 import de.gwdg.metadataqa.marc.model.SolrFieldType;
+import org.apache.commons.cli.ParseException;
 import org.junit.Test;
 
 import java.util.Arrays;
@@ -14,9 +18,10 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
-public class MarcToSolrTest {
+public class MarcToSolrTest extends CliTestUtils {
 
   @Test
   public void testVersionSpecificSubfield() {
@@ -27,4 +32,49 @@ public class MarcToSolrTest {
     assertTrue(solr.containsKey("787x40_RelatedTo_language_KBR"));
     assertEquals(Arrays.asList("japan"), solr.get("787x40_RelatedTo_language_KBR"));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void stopsWhenSolrIsUnreachable() throws ParseException {
+    InMemorySolrClient solr = new InMemorySolrClient();
+    solr.setFailures(Integer.MAX_VALUE);
+    MarcSolrClient client = new MarcSolrClient(solr);
+    client.setBatchSize(1);
+    client.setConnections(1);
+    client.setMaxRetries(0);
+
+    MarcToSolr processor = new MarcToSolr(new String[]{
+      "--solrUrl", "http://localhost:8983/solr/test", "--defaultRecordType", "BOOKS",
+      getPath("src/test/resources/general/BooksAll.2014.part01-0001.mrc")
+    });
+    processor.setClient(client);
+    new RecordIterator(processor).start();
+
+    assertFalse(processor.readyToProcess());
+    assertEquals(0, client.getNumberOfIndexedDocuments());
+    // the first batch fails in the background, the second one is either refused or sent (waiting
+    // for the first one), after which the next record is refused
+    long failed = client.getNumberOfFailedDocuments();
+    assertTrue(String.valueOf(failed), failed == 1 || failed == 2);
+  }
+
+  @Test
+  public void stopsWhenSolrRefusesTheCredentials() throws ParseException {
+    InMemorySolrClient solr = new InMemorySolrClient();
+    solr.setErrorCode(401);
+    MarcSolrClient client = new MarcSolrClient(solr);
+    client.setBatchSize(1);
+    client.setConnections(1);
+
+    MarcToSolr processor = new MarcToSolr(new String[]{
+      "--solrUrl", "http://localhost:8983/solr/test", "--defaultRecordType", "BOOKS",
+      getPath("src/test/resources/general/BooksAll.2014.part01-0001.mrc")
+    });
+    processor.setClient(client);
+    new RecordIterator(processor).start();
+
+    assertFalse(processor.readyToProcess());
+    assertEquals(0, client.getNumberOfIndexedDocuments());
+    long failed = client.getNumberOfFailedDocuments();
+    assertTrue(String.valueOf(failed), failed == 1 || failed == 2);
+  }
+}
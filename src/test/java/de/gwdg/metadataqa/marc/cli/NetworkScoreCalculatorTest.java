@@ -0,0 +1,68 @@
+package de.gwdg.metadataqa.marc.cli;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NetworkScoreCalculatorTest {
+
+  private File directory;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("network").toFile();
+    Files.write(new File(directory, "network.csv").toPath(), Arrays.asList(
+      "concept,tag,id",
+      "10,100,1", "10,100,2", "10,100,3",
+      "-20,650,3", "-20,650,4",
+      "30,650,5", "30,650,6"
+    ));
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(directory);
+  }
+
+  @Test
+  public void calculate() throws IOException {
+    new NetworkScoreCalculator(directory.getPath(), 1000).calculate();
+
+    assertEquals(Arrays.asList("records,links,density,avgDegree", "6,5,0.3333333333333333,1.6666666666666667"),
+      read("network-scores-all-density"));
+    assertEquals(Arrays.asList("records,links,density,avgDegree", "3,3,1.0,2.0"),
+      read("network-scores-100-density"));
+
+    List<String> degrees = read("network-scores-all-degrees");
+    assertEquals("id,degree,qlink,qlinkAbs", degrees.get(0));
+    assertEquals("3,3,1.0,1.0", degrees.get(1));
+    assertEquals(7, degrees.size());
+    // the qlinkAbs of a tag is relative to the maximal degree of the whole network
+    assertEquals("1,2,1.0,0.6666666666666666", read("network-scores-100-degrees").get(1));
+    assertEquals(Arrays.asList("degree,count", "1,3", "2,2", "3,1"), read("network-scores-all-degrees-histogram"));
+    assertEquals(Arrays.asList("statistic,value", "count,6", "mean,1.6666666666666667"),
+      read("network-scores-all-degrees-stat").subList(0, 3));
+
+    assertEquals(Arrays.asList("componentId,size", "1,4", "5,2"), read("network-scores-all-components"));
+    assertEquals(Arrays.asList("size,count", "2,1", "4,1"), read("network-scores-all-components-histogram"));
+    assertEquals(Arrays.asList("componentId,size", "3,2", "5,2"), read("network-scores-650-components"));
+
+    assertEquals(7, read("network-scores-all-pagerank").size());
+    assertTrue(new File(directory, "network-scores-650-pagerank-histogram.csv").exists());
+    assertTrue(new File(directory, "network-scores-650-qlinkabs-stat.csv").exists());
+  }
+
+  private List<String> read(String fileName) throws IOException {
+    return Files.readAllLines(new File(directory, fileName + ".csv").toPath());
+  }
+}
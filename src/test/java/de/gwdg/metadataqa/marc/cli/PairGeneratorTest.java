@@ -0,0 +1,86 @@
+package de.gwdg.metadataqa.marc.cli;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class PairGeneratorTest {
+
+  private File directory;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("network").toFile();
+    write("network-by-concepts-tags.csv", "tag,count", "650,3");
+    write("network-by-concepts.csv",
+      "concept,count,ids",
+      "10,3,1;2;1",
+      "20,1,4",
+      "30,2,5;4e+06",
+      "40,5,6;7;8;9;10");
+    write("network-by-concepts-650.csv", "concept,count,ids", "30,2,5;6");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(directory);
+  }
+
+  @Test
+  public void text() throws IOException {
+    new PairGenerator(directory.getPath(), 3, false).generatePairs();
+
+    // 1 is not paired with itself, the group of 6..10 is truncated at 3 records
+    assertEquals(Arrays.asList("1 2", "2 1", "5 4000000", "6 7", "6 8", "7 8"),
+      read("network-pairs.csv"));
+    assertEquals(Arrays.asList("1,1", "2,2", "5,5", "4000000,4000000", "6,6", "7,7", "8,8"),
+      read("network-nodes.csv"));
+    assertEquals(Arrays.asList("5 6"), read("network-pairs-650.csv"));
+    assertEquals(Arrays.asList("5,5", "6,6"), read("network-nodes-650.csv"));
+  }
+
+  @Test
+  public void base36() throws IOException {
+    new PairGenerator(directory.getPath(), 3, true).generatePairs();
+    assertEquals(Arrays.asList("id1,id2", "5,6"), read("network-pairs-650.csv"));
+    assertEquals("5,2dqf4", read("network-pairs.csv").get(3));
+  }
+
+  @Test
+  public void binary() throws IOException {
+    new PairGenerator(directory.getPath(), 3, false, true).generatePairs();
+    assertArrayEquals(new int[]{1, 2, 2, 1, 5, 4000000, 6, 7, 6, 8, 7, 8},
+      readInts("network-pairs.bin"));
+    assertArrayEquals(new int[]{1, 2, 5, 4000000, 6, 7, 8}, readInts("network-nodes.bin"));
+    assertArrayEquals(new int[]{5, 6}, readInts("network-pairs-650.bin"));
+  }
+
+  private void write(String fileName, String... lines) throws IOException {
+    Files.write(new File(directory, fileName).toPath(), Arrays.asList(lines));
+  }
+
+  private List<String> read(String fileName) throws IOException {
+    return Files.readAllLines(new File(directory, fileName).toPath());
+  }
+
+  private int[] readInts(String fileName) throws IOException {
+    File file = new File(directory, fileName);
+    int[] values = new int[(int) (file.length() / 4)];
+    try (DataInputStream in = new DataInputStream(Files.newInputStream(file.toPath()))) {
+      for (int i = 0; i < values.length; i++)
+        values[i] = in.readInt();
+    }
+    return values;
+  }
+}
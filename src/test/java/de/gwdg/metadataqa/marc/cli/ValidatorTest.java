@@ -0,0 +1,188 @@
+package de.gwdg.metadataqa.marc.cli;
+
+import de.gwdg.metadataqa.marc.cli.utils.ParquetReportWriterTest;
+import de.gwdg.metadataqa.marc.cli.utils.RecordIterator;
+import org.apache.commons.io.IOUtils;
+import org.apache.parquet.example.data.Group;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+public class ValidatorTest extends CliTestUtils {
+
+  private String inputFile;
+  private String outputDir;
+  private List<String> outputFiles;
+  private List<String> compressedFiles;
+
+  @Before
+  public void setUp() throws Exception {
+    inputFile = getPath("src/test/resources/general/BooksAll.2014.part01-0001.mrc");
+    outputDir = getPath("src/test/resources/output");
+    compressedFiles = Arrays.asList(
+      "issue-details.csv",
+      "issue-summary.csv",
+      "issue-collector.csv"
+    );
+    outputFiles = Arrays.asList(
+      "issue-details.csv",
+      "issue-summary.csv",
+      "issue-collector.csv",
+      "issue-details.csv.gz",
+      "issue-summary.csv.gz",
+      "issue-collector.csv.gz",
+      "issue-details.parquet",
+      "issue-summary.parquet",
+      "qa_catalogue.sqlite",
+      "issue-by-category.csv",
+      "issue-by-type.csv",
+      "issue-total.csv",
+      "count.csv"
+    );
+  }
+
+  @Test
+  public void fullProcess() throws Exception {
+    clearOutput(outputDir, outputFiles);
+
+    run("--flushInterval", "1");
+
+    for (String outputFile : Arrays.asList("issue-details.csv", "issue-summary.csv", "issue-collector.csv",
+        "issue-by-category.csv", "issue-by-type.csv", "issue-total.csv", "count.csv"))
+      assertTrue(outputFile, new File(outputDir, outputFile).exists());
+
+    assertEquals("total\n100\n", Files.readString(new File(outputDir, "count.csv").toPath()));
+
+    List<String> details = Files.readAllLines(new File(outputDir, "issue-details.csv").toPath());
+    assertEquals("\"recordId\",\"errors\"", details.get(0));
+    assertTrue(details.size() > 1);
+
+    List<String> collector = Files.readAllLines(new File(outputDir, "issue-collector.csv").toPath());
+    assertEquals("\"errorId\",\"recordIds\"", collector.get(0));
+    assertTrue(collector.get(1).matches("^\\d+,\\S+$"));
+
+    clearOutput(outputDir, outputFiles);
+  }
+
+  @Test
+  public void gzip() throws Exception {
+    clearOutput(outputDir, outputFiles);
+
+    run("--flushInterval", "0");
+    String[] expected = new String[compressedFiles.size()];
+    for (int i = 0; i < compressedFiles.size(); i++)
+      expected[i] = Files.readString(new File(outputDir, compressedFiles.get(i)).toPath());
+    clearOutput(outputDir, outputFiles);
+
+    run("--gzip");
+    for (int i = 0; i < compressedFiles.size(); i++) {
+      String fileName = compressedFiles.get(i);
+      assertFalse(new File(outputDir, fileName).exists());
+      File compressed = new File(outputDir, fileName + ".gz");
+      assertTrue(compressed.exists());
+      try (InputStream stream = new GZIPInputStream(new FileInputStream(compressed))) {
+        assertEquals(fileName, expected[i], IOUtils.toString(stream, Charset.defaultCharset()));
+      }
+    }
+
+    clearOutput(outputDir, outputFiles);
+  }
+
+  @Test
+  public void parquet() throws Exception {
+    clearOutput(outputDir, outputFiles);
+
+    run();
+    List<String> details = Files.readAllLines(new File(outputDir, "issue-details.csv").toPath());
+    List<String> summary = Files.readAllLines(new File(outputDir, "issue-summary.csv").toPath());
+    clearOutput(outputDir, outputFiles);
+
+    run("--parquet");
+    assertFalse(new File(outputDir, "issue-details.csv").exists());
+    assertFalse(new File(outputDir, "issue-summary.csv").exists());
+    assertTrue(new File(outputDir, "issue-collector.csv").exists());
+
+    int numberOfErrorIds = 0;
+    for (String line : details.subList(1, details.size()))
+      numberOfErrorIds += line.split(";").length;
+    List<Group> detailRows = ParquetReportWriterTest.read(new File(outputDir, "issue-details.parquet"));
+    assertEquals(numberOfErrorIds, detailRows.size());
+    assertEquals(details.get(1).split(",")[0], detailRows.get(0).getString("recordId", 0));
+
+    List<Group> summaryRows = ParquetReportWriterTest.read(new File(outputDir, "issue-summary.parquet"));
+    assertEquals(summary.size() - 1, summaryRows.size());
+    String[] firstLine = summary.get(1).split(",");
+    Group firstRow = summaryRows.get(0);
+    assertEquals(firstLine[0], String.valueOf(firstRow.getInteger("id", 0)));
+    assertEquals(firstLine[firstLine.length - 2], String.valueOf(firstRow.getInteger("instances", 0)));
+    assertEquals(firstLine[firstLine.length - 1], String.valueOf(firstRow.getInteger("records", 0)));
+
+    clearOutput(outputDir, outputFiles);
+  }
+
+  @Test
+  public void sqlite() throws Exception {
+    clearOutput(outputDir, outputFiles);
+
+    run("--sqlite");
+    List<String> details = Files.readAllLines(new File(outputDir, "issue-details.csv").toPath());
+    List<String> summary = Files.readAllLines(new File(outputDir, "issue-summary.csv").toPath());
+    int numberOfErrorIds = 0;
+    for (String line : details.subList(1, details.size()))
+      numberOfErrorIds += line.split(";").length;
+
+    File database = new File(outputDir, "qa_catalogue.sqlite");
+    try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + database.getPath());
+         Statement stmt = conn.createStatement()) {
+      try (ResultSet result = stmt.executeQuery("SELECT COUNT(*) FROM issue_summary")) {
+        assertEquals(summary.size() - 1, result.getInt(1));
+      }
+      try (ResultSet result = stmt.executeQuery("SELECT COUNT(*), COUNT(DISTINCT id) FROM issue_details")) {
+        assertEquals(numberOfErrorIds, result.getInt(1));
+        assertEquals(details.size() - 1, result.getInt(2));
+      }
+      String[] firstLine = summary.get(1).split(",");
+      try (ResultSet result = stmt.executeQuery(
+          "SELECT records, instances FROM issue_summary WHERE id = " + firstLine[0])) {
+        assertEquals(firstLine[firstLine.length - 1], result.getString(1));
+        assertEquals(firstLine[firstLine.length - 2], result.getString(2));
+      }
+    }
+
+    clearOutput(outputDir, outputFiles);
+  }
+
+  private void run(String... extraArguments) throws Exception {
+    List<String> arguments = new ArrayList<>(Arrays.asList(
+      "--marcVersion", "MARC21",
+      "--details", "--trimId", "--summary", "--format", "csv",
+      "--defaultRecordType", "BOOKS",
+      "--outputDir", outputDir,
+      "--detailsFileName", "issue-details.csv",
+      "--summaryFileName", "issue-summary.csv"
+    ));
+    arguments.addAll(Arrays.asList(extraArguments));
+    arguments.add(inputFile);
+
+    Validator processor = new Validator(arguments.toArray(new String[0]));
+    RecordIterator iterator = new RecordIterator(processor);
+    iterator.start();
+  }
+}
@@ -0,0 +1,101 @@
+package de.gwdg.metadataqa.marc.cli.parameters;
+
+import org.apache.commons.cli.ParseException;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class AllAnalysesParametersTest {
+
+  @Test
+  public void defaults() throws ParseException {
+    AllAnalysesParameters parameters = new AllAnalysesParameters(new String[]{"a-marc-file.mrc"});
+    assertEquals(Arrays.asList(AnalysisType.values()), parameters.getAnalyses());
+    assertEquals("a-marc-file.mrc", parameters.getArgs()[0]);
+  }
+
+  @Test
+  public void analyses() throws ParseException {
+    AllAnalysesParameters parameters = new AllAnalysesParameters(
+      new String[]{"--analyses", "completeness, tt-completeness", "a-marc-file.mrc"});
+    assertEquals(Arrays.asList(AnalysisType.COMPLETENESS, AnalysisType.TT_COMPLETENESS), parameters.getAnalyses());
+  }
+
+  @Test(expected = ParseException.class)
+  public void analysesException() throws ParseException {
+    new AllAnalysesParameters(new String[]{"--analyses", "completeness,unknown", "a-marc-file.mrc"});
+  }
+
+  @Test
+  public void getArguments() throws ParseException {
+    AllAnalysesParameters parameters = new AllAnalysesParameters(new String[]{
+      "--analyses", "validate,completeness",
+      "--details", "--summary", "--format", "csv",
+      "--detailsFileName", "issue-details.csv", "--summaryFileName", "issue-summary.csv",
+      "--emptyLargeCollectors",
+      "--defaultRecordType", "BOOKS", "--marcVersion", "GENT", "--trimId",
+      "a-marc-file.mrc"
+    });
+
+    assertEquals(
+      Arrays.asList(
+        "--details", "--summary", "--format", "csv",
+        "--detailsFileName", "issue-details.csv", "--summaryFileName", "issue-summary.csv",
+        "--emptyLargeCollectors",
+        "--defaultRecordType", "BOOKS", "--marcVersion", "GENT", "--trimId",
+        "a-marc-file.mrc"),
+      Arrays.asList(parameters.getArguments(AnalysisType.VALIDATE)));
+
+    assertEquals(
+      Arrays.asList(
+        "--format", "csv",
+        "--defaultRecordType", "BOOKS", "--marcVersion", "GENT", "--trimId",
+        "a-marc-file.mrc"),
+      Arrays.asList(parameters.getArguments(AnalysisType.COMPLETENESS)));
+
+    assertEquals(
+      Arrays.asList("--defaultRecordType", "BOOKS", "--marcVersion", "GENT", "--trimId", "a-marc-file.mrc"),
+      Arrays.asList(parameters.getArguments(AnalysisType.TT_COMPLETENESS)));
+  }
+
+  @Test
+  public void collidingShortOptions() throws ParseException {
+    AllAnalysesParameters parameters = new AllAnalysesParameters(new String[]{
+      "-f", "XML", "-s", "STREAM", "--summary", "--details", "a-marc-file.mrc"
+    });
+    assertEquals("marcFormat", parameters.getOptions().getOption("f").getLongOpt());
+    assertEquals("dataSource", parameters.getOptions().getOption("s").getLongOpt());
+    assertNull(parameters.getOptions().getOption("summary").getOpt());
+    assertNull(parameters.getOptions().getOption("details").getOpt());
+
+    assertEquals(
+      Arrays.asList("--marcFormat", "XML", "--dataSource", "STREAM", "--summary", "--details", "a-marc-file.mrc"),
+      Arrays.asList(parameters.getArguments(AnalysisType.VALIDATE)));
+    assertEquals(
+      Arrays.asList("--marcFormat", "XML", "--dataSource", "STREAM", "a-marc-file.mrc"),
+      Arrays.asList(parameters.getArguments(AnalysisType.TT_COMPLETENESS)));
+  }
+
+  @Test
+  public void fileNames() throws ParseException {
+    AllAnalysesParameters parameters = new AllAnalysesParameters(new String[]{
+      "--ttCompletenessFileName", "tt.csv", "--shelfReadyFileName=shelf.csv", "a-marc-file.mrc"
+    });
+    assertEquals(
+      Arrays.asList("--fileName", "tt.csv", "a-marc-file.mrc"),
+      Arrays.asList(parameters.getArguments(AnalysisType.TT_COMPLETENESS)));
+    assertEquals(
+      Arrays.asList("--fileName=shelf.csv", "a-marc-file.mrc"),
+      Arrays.asList(parameters.getArguments(AnalysisType.SHELF_READY_COMPLETENESS)));
+    assertEquals(
+      Arrays.asList("a-marc-file.mrc"),
+      Arrays.asList(parameters.getArguments(AnalysisType.SERIAL_SCORE)));
+  }
+
+  @Test(expected = ParseException.class)
+  public void sharedFileNameIsRejected() throws ParseException {
+    new AllAnalysesParameters(new String[]{"--fileName", "report.csv", "a-marc-file.mrc"});
+  }
+}
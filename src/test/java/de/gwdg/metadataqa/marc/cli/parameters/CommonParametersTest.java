@@ -3,6 +3,8 @@ package de.gwdg.metadataqa.marc.cli.parameters;
 import org.apache.commons.cli.ParseException;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -115,6 +117,65 @@ public class CommonParametersTest {
     }
   }
 
+  @Test
+  public void testThreads() {
+    String[] arguments = new String[]{"--threads", "4", "a-marc-file.mrc"};
+    try {
+      CommonParameters parameters = new CommonParameters(arguments);
+      assertEquals(4, parameters.getThreads());
+    } catch (ParseException e) {
+      logger.log(Level.WARNING, "error in testThreads()", e);
+    }
+  }
+
+  @Test(expected = ParseException.class)
+  public void testThreadsException() throws ParseException {
+    new CommonParameters(new String[]{"--threads", "0", "a-marc-file.mrc"});
+  }
+
+  @Test
+  public void testFileThreads() throws ParseException {
+    CommonParameters parameters = new CommonParameters(new String[]{"--fileThreads", "3", "a.mrc", "b.mrc"});
+    assertEquals(3, parameters.getFileThreads());
+    assertEquals(1, parameters.getThreads());
+  }
+
+  @Test(expected = ParseException.class)
+  public void testFileThreadsException() throws ParseException {
+    new CommonParameters(new String[]{"--fileThreads", "none", "a-marc-file.mrc"});
+  }
+
+  @Test
+  public void testNativeReader() throws ParseException {
+    assertFalse(new CommonParameters(new String[]{"a.mrc"}).useNativeReader());
+    assertTrue(new CommonParameters(new String[]{"--nativeReader", "a.mrc"}).useNativeReader());
+  }
+
+  @Test
+  public void testIdList() throws ParseException {
+    CommonParameters parameters = new CommonParameters(new String[]{"--id", " 001, 002 ,,003", "a.mrc"});
+    assertTrue(parameters.hasId());
+    assertEquals("001, 002 ,,003", parameters.getId());
+    assertEquals(Arrays.asList("001", "002", "003"), new ArrayList<>(parameters.getIds()));
+    assertTrue(parameters.isSelectedId("002  "));
+    assertFalse(parameters.isSelectedId("004"));
+    assertFalse(parameters.isSelectedId(null));
+  }
+
+  @Test
+  public void testMemoryMapped() throws ParseException {
+    CommonParameters parameters = new CommonParameters(new String[]{"--memoryMapped", "a.mrc"});
+    assertTrue(parameters.isMemoryMapped());
+    assertTrue(parameters.useNativeReader());
+  }
+
+  @Test
+  public void testParquet() throws ParseException {
+    assertFalse(new CommonParameters(new String[]{"a.mrc"}).doParquet());
+    assertTrue(new CommonParameters(new String[]{"--parquet", "a.mrc"}).doParquet());
+    assertTrue(new CommonParameters(new String[]{"-P", "a.mrc"}).doParquet());
+  }
+
   @Test
   public void formatParameters() {
     String[] arguments = new String[]{"--trimId"};
@@ -137,7 +198,12 @@ public class CommonParametersTest {
         "trimId: true\n" +
         "ignorableFields: \n" +
         "ignorableRecords: \n" +
-        "defaultEncoding: null\n";
+        "defaultEncoding: null\n" +
+        "threads: 1\n" +
+        "fileThreads: 1\n" +
+        "nativeReader: false\n" +
+        "memoryMapped: false\n" +
+        "parquet: false\n";
       assertEquals(expected, parameters.formatParameters());
     } catch (ParseException e) {
       logger.log(Level.WARNING, "error in formatParameters()", e);
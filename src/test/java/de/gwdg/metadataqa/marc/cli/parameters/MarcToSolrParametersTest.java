@@ -1,5 +1,6 @@
 package de.gwdg.metadataqa.marc.cli.parameters;
 
+import de.gwdg.metadataqa.marc.datastore.MarcSolrClient;
 import de.gwdg.metadataqa.marc.model.SolrFieldType;
 import org.apache.commons.cli.ParseException;
 import org.junit.Test;
@@ -24,6 +25,9 @@ public class MarcToSolrParametersTest {
       assertFalse(parameters.doCommit());
       assertNotNull(parameters.getSolrFieldType());
       assertEquals(SolrFieldType.MARC, parameters.getSolrFieldType());
+      assertEquals(MarcSolrClient.DEFAULT_BATCH_SIZE, parameters.getBatchSize());
+      assertEquals(MarcSolrClient.DEFAULT_CONNECTIONS, parameters.getConnections());
+      assertEquals(MarcToSolrParameters.DEFAULT_COMMIT_WITHIN, parameters.getCommitWithin());
     } catch (ParseException e) {
       e.printStackTrace();
     }
@@ -95,4 +99,24 @@ public class MarcToSolrParametersTest {
       e.printStackTrace();
     }
   }
+
+  @Test
+  public void testBatching() throws ParseException {
+    String[] arguments = new String[]{"--batchSize", "500", "--connections", "4", "--commitWithin", "60000",
+      "a-marc-file.mrc"};
+    MarcToSolrParameters parameters = new MarcToSolrParameters(arguments);
+    assertEquals(500, parameters.getBatchSize());
+    assertEquals(4, parameters.getConnections());
+    assertEquals(60000, parameters.getCommitWithin());
+  }
+
+  @Test(expected = ParseException.class)
+  public void testBatchSize_invalid() throws ParseException {
+    new MarcToSolrParameters(new String[]{"--batchSize", "many", "a-marc-file.mrc"});
+  }
+
+  @Test(expected = ParseException.class)
+  public void testConnections_zero() throws ParseException {
+    new MarcToSolrParameters(new String[]{"--connections", "0", "a-marc-file.mrc"});
+  }
 }
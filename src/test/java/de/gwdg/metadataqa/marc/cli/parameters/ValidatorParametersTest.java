@@ -115,4 +115,48 @@ public class ValidatorParametersTest {
       e.printStackTrace();
     }
   }
+
+  @Test
+  public void testGzipAndFlushInterval() throws ParseException {
+    ValidatorParameters parameters = new ValidatorParameters(new String[]{"a-marc-file.mrc"});
+    assertFalse(parameters.doGzip());
+    assertEquals(ValidatorParameters.DEFAULT_FLUSH_INTERVAL, parameters.getFlushInterval());
+
+    parameters = new ValidatorParameters(new String[]{"--gzip", "--flushInterval", "500", "a-marc-file.mrc"});
+    assertTrue(parameters.doGzip());
+    assertEquals(500, parameters.getFlushInterval());
+  }
+
+  @Test(expected = ParseException.class)
+  public void testInvalidFlushInterval() throws ParseException {
+    new ValidatorParameters(new String[]{"--flushInterval", "-1", "a-marc-file.mrc"});
+  }
+
+  @Test
+  public void testCollectorMemoryLimit() throws ParseException {
+    ValidatorParameters parameters = new ValidatorParameters(new String[]{"a-marc-file.mrc"});
+    assertEquals(0, parameters.getCollectorMemoryLimit());
+
+    parameters = new ValidatorParameters(new String[]{"--collectorMemoryLimit", "512", "a-marc-file.mrc"});
+    assertEquals(512, parameters.getCollectorMemoryLimit());
+  }
+
+  @Test(expected = ParseException.class)
+  public void testInvalidCollectorMemoryLimit() throws ParseException {
+    new ValidatorParameters(new String[]{"--collectorMemoryLimit", "a lot", "a-marc-file.mrc"});
+  }
+
+  @Test
+  public void testSqlite() throws ParseException {
+    ValidatorParameters parameters = new ValidatorParameters(new String[]{"a-marc-file.mrc"});
+    assertFalse(parameters.doSqlite());
+
+    parameters = new ValidatorParameters(new String[]{"--summary", "--sqlite", "a-marc-file.mrc"});
+    assertTrue(parameters.doSqlite());
+  }
+
+  @Test(expected = ParseException.class)
+  public void testSqliteWithoutSummary() throws ParseException {
+    new ValidatorParameters(new String[]{"--sqlite", "a-marc-file.mrc"});
+  }
 }
@@ -0,0 +1,108 @@
+package de.gwdg.metadataqa.marc.cli.spark;
+
+import de.gwdg.metadataqa.marc.cli.CliTestUtils;
+import de.gwdg.metadataqa.marc.cli.processor.MarcFileProcessor;
+import de.gwdg.metadataqa.marc.cli.utils.RecordIterator;
+import de.gwdg.metadataqa.marc.cli.utils.Schema;
+import org.apache.commons.cli.ParseException;
+import org.apache.commons.io.FileUtils;
+import org.apache.spark.SparkConf;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class ParallelAnalysisTest extends CliTestUtils {
+
+  private static final List<String> COMPLETENESS_FILES = Arrays.asList(
+    "libraries003.csv", "libraries.csv", "packages.csv", "marc-elements.csv");
+  private static final List<String> CLASSIFICATION_FILES = Arrays.asList(
+    "classifications-by-records.csv", "classifications-by-schema.csv", "classifications-by-schema-subfields.csv",
+    "classifications-collocations.csv", "classifications-histogram.csv");
+  private static final List<String> AUTHORITY_FILES = Arrays.asList(
+    "authorities-by-categories.csv", "authorities-by-schema.csv", "authorities-by-records.csv",
+    "authorities-histogram.csv", "authorities-frequency-examples.csv", "authorities-by-schema-subfields.csv");
+
+  private static JavaSparkContext context;
+
+  @BeforeClass
+  public static void setUp() {
+    SparkConf conf = new SparkConf()
+      .setMaster("local[2]")
+      .setAppName("ParallelAnalysisTest")
+      .set("spark.ui.enabled", "false");
+    context = new JavaSparkContext(conf);
+  }
+
+  @AfterClass
+  public static void tearDown() {
+    context.stop();
+  }
+
+  @Test
+  public void completeness() throws Exception {
+    assertSameAsSingleThreaded("completeness", COMPLETENESS_FILES);
+  }
+
+  @Test
+  public void classifications() throws Exception {
+    assertSameAsSingleThreaded("classifications", CLASSIFICATION_FILES);
+  }
+
+  @Test
+  public void authorities() throws Exception {
+    assertSameAsSingleThreaded("authorities", AUTHORITY_FILES);
+  }
+
+  @Test
+  public void lineSeparated() throws Exception {
+    assertSameAsSingleThreaded("classifications", CLASSIFICATION_FILES,
+      "--marcFormat", "LINE_SEPARATED", getPath("src/test/resources/general/000-line-seperated.mrc"));
+  }
+
+  @Test(expected = ParseException.class)
+  public void unknownAnalysis() throws Exception {
+    ParallelAnalysis.createProcessor("validation", new String[]{});
+  }
+
+  private void assertSameAsSingleThreaded(String analysis, List<String> outputFiles) throws Exception {
+    // binary files are not split, so the second file creates the second partition
+    assertSameAsSingleThreaded(analysis, outputFiles,
+      getPath("src/test/resources/general/BooksAll.2014.part01-0001.mrc"),
+      getPath("src/test/resources/general/0001-01.mrc"));
+  }
+
+  private void assertSameAsSingleThreaded(String analysis, List<String> outputFiles, String... extraArguments)
+      throws Exception {
+    // the classification analysis would overwrite the files of the output test directory
+    String outputDir = Files.createTempDirectory("parallel-analysis").toString();
+    List<String> arguments = new ArrayList<>(Arrays.asList(
+      "--defaultRecordType", "BOOKS",
+      "--outputDir", outputDir
+    ));
+    arguments.addAll(Arrays.asList(extraArguments));
+    String[] args = arguments.toArray(new String[0]);
+
+    Schema.reset();
+    new RecordIterator((MarcFileProcessor) ParallelAnalysis.createProcessor(analysis, args)).start();
+    Map<String, String> expected = new HashMap<>();
+    for (String outputFile : outputFiles)
+      expected.put(outputFile, Files.readString(new File(outputDir, outputFile).toPath()));
+
+    clearOutput(outputDir, outputFiles);
+    ParallelAnalysis.run(context, ParallelAnalysis.createProcessor(analysis, args));
+    for (String outputFile : outputFiles)
+      assertEquals(outputFile, expected.get(outputFile), Files.readString(new File(outputDir, outputFile).toPath()));
+    FileUtils.deleteDirectory(new File(outputDir));
+  }
+}
@@ -0,0 +1,96 @@
+package de.gwdg.metadataqa.marc.cli.spark;
+
+import de.gwdg.metadataqa.marc.cli.CliTestUtils;
+import de.gwdg.metadataqa.marc.cli.Validator;
+import de.gwdg.metadataqa.marc.cli.utils.RecordIterator;
+import org.apache.spark.SparkConf;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class ParallelValidatorTest extends CliTestUtils {
+
+  private static final List<String> OUTPUT_FILES = Arrays.asList("issue-details.csv", "issue-summary.csv",
+    "issue-collector.csv", "issue-by-category.csv", "issue-by-type.csv", "issue-total.csv", "count.csv");
+
+  private static JavaSparkContext context;
+
+  @BeforeClass
+  public static void setUp() {
+    SparkConf conf = new SparkConf()
+      .setMaster("local[2]")
+      .setAppName("ParallelValidatorTest")
+      .set("spark.ui.enabled", "false");
+    context = new JavaSparkContext(conf);
+  }
+
+  @AfterClass
+  public static void tearDown() {
+    context.stop();
+  }
+
+  @Test
+  public void iso() throws Exception {
+    assertSameAsValidator(getPath("src/test/resources/general/BooksAll.2014.part01-0001.mrc"), 100);
+  }
+
+  @Test
+  public void lineSeparated() throws Exception {
+    assertSameAsValidator(getPath("src/test/resources/general/000-line-seperated.mrc"), 20,
+      "--marcFormat", "LINE_SEPARATED");
+  }
+
+  @Test
+  public void detailsOnly() throws Exception {
+    String outputDir = getPath("src/test/resources/output");
+    String inputFile = getPath("src/test/resources/general/BooksAll.2014.part01-0001.mrc");
+    String[] arguments = new String[]{"--details", "--format", "csv", "--outputDir", outputDir,
+      "--detailsFileName", "issue-details.csv", inputFile};
+
+    clearOutput(outputDir, OUTPUT_FILES);
+    new RecordIterator(new Validator(arguments)).start();
+    String expected = Files.readString(new File(outputDir, "issue-details.csv").toPath());
+
+    clearOutput(outputDir, OUTPUT_FILES);
+    assertEquals(100, new ParallelValidator(arguments).run(context));
+    assertEquals(expected, Files.readString(new File(outputDir, "issue-details.csv").toPath()));
+    clearOutput(outputDir, OUTPUT_FILES);
+  }
+
+  private void assertSameAsValidator(String inputFile, int numberOfRecords, String... extraArguments)
+      throws Exception {
+    String outputDir = getPath("src/test/resources/output");
+    List<String> arguments = new ArrayList<>(Arrays.asList(
+      "--details", "--trimId", "--summary", "--format", "csv",
+      "--defaultRecordType", "BOOKS",
+      "--outputDir", outputDir,
+      "--detailsFileName", "issue-details.csv",
+      "--summaryFileName", "issue-summary.csv"
+    ));
+    arguments.addAll(Arrays.asList(extraArguments));
+    arguments.add(inputFile);
+
+    clearOutput(outputDir, OUTPUT_FILES);
+    new RecordIterator(new Validator(arguments.toArray(new String[0]))).start();
+    Map<String, String> expected = new HashMap<>();
+    for (String outputFile : OUTPUT_FILES)
+      expected.put(outputFile, Files.readString(new File(outputDir, outputFile).toPath()));
+
+    clearOutput(outputDir, OUTPUT_FILES);
+    assertEquals(numberOfRecords, new ParallelValidator(arguments.toArray(new String[0])).run(context));
+    for (String outputFile : OUTPUT_FILES)
+      assertEquals(outputFile, expected.get(outputFile), Files.readString(new File(outputDir, outputFile).toPath()));
+    clearOutput(outputDir, OUTPUT_FILES);
+  }
+}
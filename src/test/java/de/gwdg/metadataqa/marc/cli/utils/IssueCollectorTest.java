@@ -0,0 +1,98 @@
+package de.gwdg.metadataqa.marc.cli.utils;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class IssueCollectorTest {
+
+  private File directory;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("issue-collector").toFile();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(directory);
+  }
+
+  @Test
+  public void inMemory() throws IOException {
+    IssueCollector collector = new IssueCollector();
+    collector.add(2, "r1");
+    collector.add(1, "r1");
+    collector.add(2, "r1");
+    assertFalse(collector.hasSpilled());
+    assertEquals("1,r1\n2,r1\n", write(collector, ','));
+  }
+
+  @Test
+  public void spill() throws IOException {
+    // every pair exceeds the limit, so every pair gets its own run
+    IssueCollector collector = new IssueCollector(1, directory.getPath());
+    collector.add(3, "r2");
+    collector.add(1, "r3");
+    collector.add(3, "r1");
+    collector.add(1, "r1");
+    collector.add(3, "r2");
+    assertTrue(collector.hasSpilled());
+    assertEquals(5, directory.list().length);
+
+    assertEquals("1\tr1;r3\n3\tr1;r2\n", write(collector, '\t'));
+    collector.close();
+    assertEquals(0, directory.list().length);
+  }
+
+  @Test
+  public void longLines() throws IOException {
+    IssueCollector collector = new IssueCollector(100 * 1024, directory.getPath());
+    StringBuilder expected = new StringBuilder("7,");
+    for (int i = 0; i < 5000; i++) {
+      String recordId = String.format("%05d", i);
+      collector.add(7, recordId);
+      expected.append(i == 0 ? "" : ";").append(recordId);
+    }
+    expected.append('\n');
+    assertTrue(collector.hasSpilled());
+    assertEquals(expected.toString(), write(collector, ','));
+    collector.close();
+  }
+
+  @Test
+  public void remove() {
+    IssueCollector collector = new IssueCollector();
+    collector.add(1, "r1");
+    assertEquals(1, collector.get(1).size());
+    collector.remove(1);
+    assertNull(collector.get(1));
+  }
+
+  @Test
+  public void merge() throws IOException {
+    IssueCollector collector = new IssueCollector();
+    collector.add(1, "r1");
+    IssueCollector worker = new IssueCollector();
+    worker.add(1, "r2");
+    worker.add(2, "r2");
+    collector.merge(worker, id -> id + 1);
+    assertEquals("1,r1\n2,r2\n3,r2\n", write(collector, ','));
+  }
+
+  private String write(IssueCollector collector, char separator) throws IOException {
+    StringBuilder output = new StringBuilder();
+    collector.write(separator, output::append);
+    return output.toString();
+  }
+}
@@ -0,0 +1,211 @@
+package de.gwdg.metadataqa.marc.cli.utils;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.statistics.IntStatistics;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.schema.PrimitiveType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParquetReportWriterTest {
+
+  private File file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = Files.createTempFile("report", ParquetReportWriter.EXTENSION).toFile();
+  }
+
+  @After
+  public void tearDown() {
+    file.delete();
+  }
+
+  @Test
+  public void roundTrip() throws IOException {
+    var schema = ParquetReportWriter.schemaBuilder()
+      .string("id").integer("count").bigInteger("total").decimal("mean").bool("valid")
+      .build();
+    try (var writer = new ParquetReportWriter(file, schema)) {
+      writer.write("r1", 3, 10L, 1.5, true);
+      writer.write("r2", 4L, 11, 2, null);
+      assertEquals(2, writer.getNumberOfRows());
+    }
+    assertFalse(new File(file.getParentFile(), "." + file.getName() + ".crc").exists());
+
+    List<Group> rows = read(file);
+    assertEquals(2, rows.size());
+    assertEquals("r1", rows.get(0).getString("id", 0));
+    assertEquals(3, rows.get(0).getInteger("count", 0));
+    assertEquals(10L, rows.get(0).getLong("total", 0));
+    assertEquals(1.5, rows.get(0).getDouble("mean", 0), 0.0);
+    assertEquals(true, rows.get(0).getBoolean("valid", 0));
+    assertEquals(4, rows.get(1).getInteger("count", 0));
+    assertEquals(2.0, rows.get(1).getDouble("mean", 0), 0.0);
+    assertEquals(0, rows.get(1).getFieldRepetitionCount("valid"));
+
+    ParquetMetadata footer = readFooter(file);
+    assertEquals(PrimitiveType.PrimitiveTypeName.INT32,
+      footer.getFileMetaData().getSchema().getType("count").asPrimitiveType().getPrimitiveTypeName());
+    assertEquals(1, footer.getBlocks().size());
+    assertEquals(CompressionCodecName.SNAPPY, footer.getBlocks().get(0).getColumns().get(0).getCodec());
+
+    Statistics<?> count = footer.getBlocks().get(0).getColumns().get(1).getStatistics();
+    assertEquals(3, ((IntStatistics) count).getMin());
+    assertEquals(4, ((IntStatistics) count).getMax());
+    assertEquals(0, count.getNumNulls());
+    Statistics<?> id = footer.getBlocks().get(0).getColumns().get(0).getStatistics();
+    assertEquals("r1", id.minAsString());
+    assertEquals("r2", id.maxAsString());
+    assertEquals(1, footer.getBlocks().get(0).getColumns().get(4).getStatistics().getNumNulls());
+  }
+
+  @Test
+  public void rowGroups() throws IOException {
+    var schema = ParquetReportWriter.schemaBuilder().integer("count").string("category").decimal("empty").build();
+    int numberOfRows = 20000;
+    try (var writer = new ParquetReportWriter(file, schema, 8 * 1024)) {
+      for (int i = 0; i < numberOfRows; i++)
+        writer.write(i, "c" + (i % 10), null);
+    }
+
+    ParquetMetadata footer = readFooter(file);
+    List<BlockMetaData> blocks = footer.getBlocks();
+    assertTrue(blocks.size() > 1);
+    long rowsOfBlocks = 0;
+    int min = 0;
+    for (BlockMetaData block : blocks) {
+      IntStatistics count = (IntStatistics) block.getColumns().get(0).getStatistics();
+      assertEquals(min, count.getMin());
+      assertEquals(min + block.getRowCount() - 1, count.getMax());
+      min += block.getRowCount();
+      rowsOfBlocks += block.getRowCount();
+
+      ColumnChunkMetaData category = block.getColumns().get(1);
+      assertTrue(category.hasDictionaryPage());
+      assertTrue(category.getEncodings().contains(Encoding.PLAIN_DICTIONARY));
+
+      Statistics<?> empty = block.getColumns().get(2).getStatistics();
+      assertEquals(block.getRowCount(), empty.getNumNulls());
+      assertFalse(empty.hasNonNullValue());
+    }
+    assertEquals(numberOfRows, rowsOfBlocks);
+
+    List<Group> rows = read(file);
+    assertEquals(numberOfRows, rows.size());
+    for (int i = 0; i < numberOfRows; i++) {
+      assertEquals(i, rows.get(i).getInteger("count", 0));
+      assertEquals("c" + (i % 10), rows.get(i).getString("category", 0));
+      assertEquals(0, rows.get(i).getFieldRepetitionCount("empty"));
+    }
+
+    // the statistics let the reader skip every row group but the first one
+    List<Group> filtered = new ArrayList<>();
+    try (var reader = ParquetReader.builder(new GroupReadSupport(), new org.apache.hadoop.fs.Path(file.toURI()))
+        .withConf(new Configuration(false))
+        .withFilter(FilterCompat.get(FilterApi.eq(FilterApi.intColumn("count"), 5)))
+        .useDictionaryFilter(false)
+        .useRecordFilter(false)
+        .build()) {
+      Group row;
+      while ((row = reader.read()) != null)
+        filtered.add(row);
+    }
+    assertEquals(blocks.get(0).getRowCount(), filtered.size());
+  }
+
+  @Test
+  public void dictionaryFallback() throws IOException {
+    // the repeated values fill dictionary encoded pages (1 MB), then the distinct values exceed the
+    // size of the dictionary (1 MB), and the rest of the pages are plain encoded
+    var schema = ParquetReportWriter.schemaBuilder().string("id").build();
+    int numberOfRows = 330000;
+    try (var writer = new ParquetReportWriter(file, schema)) {
+      for (int i = 0; i < numberOfRows; i++)
+        writer.write(value(i));
+    }
+
+    ColumnChunkMetaData id = readFooter(file).getBlocks().get(0).getColumns().get(0);
+    assertTrue(id.hasDictionaryPage());
+    assertTrue(id.getEncodings().contains(Encoding.PLAIN_DICTIONARY));
+    assertTrue(id.getEncodings().contains(Encoding.PLAIN));
+    assertEquals(new UUID(0, 0).toString(), id.getStatistics().minAsString());
+
+    List<Group> rows = read(file);
+    assertEquals(numberOfRows, rows.size());
+    for (int i = 0; i < numberOfRows; i++)
+      assertEquals(value(i), rows.get(i).getString("id", 0));
+  }
+
+  private static String value(int i) {
+    return new UUID(0, i < 300000 ? i % 10000 : i).toString();
+  }
+
+  @Test
+  public void noRows() throws IOException {
+    var schema = ParquetReportWriter.schemaBuilder().string("id").build();
+    try (var writer = new ParquetReportWriter(file, schema)) {
+      assertEquals(0, writer.getNumberOfRows());
+    }
+    assertEquals(0, readFooter(file).getBlocks().size());
+    assertEquals(0, read(file).size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void wrongNumberOfValues() throws IOException {
+    var schema = ParquetReportWriter.schemaBuilder().string("id").integer("count").build();
+    try (var writer = new ParquetReportWriter(file, schema)) {
+      writer.write("r1");
+    }
+  }
+
+  @Test
+  public void toParquetFileName() {
+    assertEquals("issue-details.parquet", ParquetReportWriter.toParquetFileName("issue-details.csv"));
+    assertEquals("validation-report.parquet", ParquetReportWriter.toParquetFileName("validation-report.txt"));
+    assertEquals("issue-summary.parquet", ParquetReportWriter.toParquetFileName("issue-summary"));
+  }
+
+  private static ParquetMetadata readFooter(File file) throws IOException {
+    try (var reader = ParquetFileReader.open(HadoopInputFile.fromPath(
+        new org.apache.hadoop.fs.Path(file.toURI()), new Configuration(false)))) {
+      return reader.getFooter();
+    }
+  }
+
+  public static List<Group> read(File file) throws IOException {
+    List<Group> rows = new ArrayList<>();
+    try (var reader = ParquetReader.builder(new GroupReadSupport(), new org.apache.hadoop.fs.Path(file.toURI()))
+        .withConf(new Configuration(false))
+        .build()) {
+      Group row;
+      while ((row = reader.read()) != null)
+        rows.add(row);
+    }
+    return rows;
+  }
+}
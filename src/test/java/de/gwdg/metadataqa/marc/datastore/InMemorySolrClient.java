@@ -0,0 +1,117 @@
+package de.gwdg.metadataqa.marc.datastore;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.impl.BaseHttpSolrClient;
+import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.util.NamedList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A Solr stand-in for the tests: it keeps the added documents in memory, and it can simulate
+ * an unreachable server, rejected documents and HTTP errors (e.g. a wrong password).
+ */
+public class InMemorySolrClient extends SolrClient {
+
+  public static final String REJECTED_ID = "rejected";
+
+  private final Map<String, SolrInputDocument> documents = new ConcurrentHashMap<>();
+  private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+  private final List<Integer> commitWithins = new CopyOnWriteArrayList<>();
+  private final AtomicInteger numberOfCommits = new AtomicInteger();
+  private final AtomicInteger failuresLeft = new AtomicInteger();
+  private final AtomicInteger running = new AtomicInteger();
+  private final AtomicInteger maxRunning = new AtomicInteger();
+  private final AtomicInteger numberOfRequests = new AtomicInteger();
+  private long latency = 0;
+  private int errorCode = 0;
+
+  @Override
+  public NamedList<Object> request(SolrRequest request, String collection)
+      throws SolrServerException {
+    int current = running.incrementAndGet();
+    maxRunning.accumulateAndGet(current, Math::max);
+    numberOfRequests.incrementAndGet();
+    try {
+      if (failuresLeft.getAndDecrement() > 0)
+        throw new SolrServerException("Server refused connection at: http://localhost:8983/solr");
+      if (errorCode > 0)
+        throw new BaseHttpSolrClient.RemoteSolrException("localhost", errorCode, "HTTP error " + errorCode, null);
+      if (latency > 0)
+        Thread.sleep(latency);
+
+      UpdateRequest update = (UpdateRequest) request;
+      if (update.getAction() == AbstractUpdateRequest.ACTION.COMMIT)
+        numberOfCommits.incrementAndGet();
+      if (update.getDocuments() != null) {
+        for (SolrInputDocument document : update.getDocuments())
+          if (document.getFieldValue("id").equals(REJECTED_ID))
+            throw new BaseHttpSolrClient.RemoteSolrException("localhost", 400, "rejected document", null);
+        for (SolrInputDocument document : update.getDocuments())
+          documents.put((String) document.getFieldValue("id"), document);
+        batchSizes.add(update.getDocuments().size());
+        commitWithins.add(update.getCommitWithin());
+      }
+      return new NamedList<>();
+    } catch (InterruptedException e) {
+      throw new SolrServerException(e);
+    } finally {
+      running.decrementAndGet();
+    }
+  }
+
+  @Override
+  public void close() {
+  }
+
+  public Map<String, SolrInputDocument> getDocuments() {
+    return documents;
+  }
+
+  public List<Integer> getBatchSizes() {
+    return new ArrayList<>(batchSizes);
+  }
+
+  public List<Integer> getCommitWithins() {
+    return new ArrayList<>(commitWithins);
+  }
+
+  public int getNumberOfCommits() {
+    return numberOfCommits.get();
+  }
+
+  public int getMaxRunning() {
+    return maxRunning.get();
+  }
+
+  public int getNumberOfRequests() {
+    return numberOfRequests.get();
+  }
+
+  /**
+   * @param failures The number of the next requests which fail as if the server was not reachable
+   */
+  public void setFailures(int failures) {
+    failuresLeft.set(failures);
+  }
+
+  public void setLatency(long latency) {
+    this.latency = latency;
+  }
+
+  /**
+   * @param errorCode Every request fails with this HTTP status code (e.g. 401)
+   */
+  public void setErrorCode(int errorCode) {
+    this.errorCode = errorCode;
+  }
+}
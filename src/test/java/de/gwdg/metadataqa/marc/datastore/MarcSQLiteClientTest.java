@@ -12,28 +12,55 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Arrays;
 import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 public class MarcSQLiteClientTest {
 
   @Test
-  public void connect() throws IOException, URISyntaxException {
-    MarcSQLiteClient client = new MarcSQLiteClient();
-    File file = new File(FileUtils.getPath("sqlite").toFile(), "test.db");
-    System.err.println(file.getAbsolutePath());
-    // if (file.exists())
-    //  file.delete();
-
-    client.connect(file.getPath());
-    client.createSchema();
-    client.initSchema();
-    System.err.println(file.lastModified());
-    System.err.println(file.length());
-
-    // if (file.exists())
-    //  file.delete();
+  public void connect() throws IOException, SQLException {
+    File file = Files.createTempFile("qa_catalogue", ".sqlite").toFile();
+
+    try (MarcSQLiteClient client = new MarcSQLiteClient()) {
+      client.setBatchSize(2);
+      client.connect(file.getPath());
+      client.createSchema();
+      client.addIssueSummary(1, "008/33", 2, 5, "undefined value", "x", "http://example.com", 3, 2);
+      client.addIssueSummary(2, "100$a", 3, 9, "invalid", "y", null, 1, 1);
+      client.addIssueDetails("r1", 1, 2);
+      client.addIssueDetails("r2", 1, 1);
+      client.addIssueDetails("r2", 2, 1);
+      client.createIndexes();
+    }
+
+    try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + file.getPath());
+         Statement stmt = conn.createStatement()) {
+      assertEquals(2, count(stmt, "SELECT COUNT(*) FROM issue_summary"));
+      assertEquals(3, count(stmt, "SELECT COUNT(*) FROM issue_details"));
+      assertEquals(2, count(stmt, "SELECT records FROM issue_groups WHERE typeId = 5"));
+      assertEquals(3, count(stmt, "SELECT instances FROM issue_groups WHERE typeId = 5"));
+      assertEquals(7, count(stmt, "SELECT COUNT(*) FROM sqlite_master WHERE type = 'index'"));
+      try (ResultSet result = stmt.executeQuery("PRAGMA journal_mode")) {
+        assertEquals("delete", result.getString(1));
+      }
+    }
+    assertTrue(file.delete());
+  }
+
+  private int count(Statement stmt, String query) throws SQLException {
+    try (ResultSet result = stmt.executeQuery(query)) {
+      return result.getInt(1);
+    }
   }
 
   @Test
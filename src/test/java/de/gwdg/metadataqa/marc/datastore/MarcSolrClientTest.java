@@ -0,0 +1,141 @@
+package de.gwdg.metadataqa.marc.datastore;
+
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.impl.BaseHttpSolrClient;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MarcSolrClientTest {
+
+  private static final Map<String, List<String>> FIELDS = Map.of(
+    "245a_Title_mainTitle", Collections.singletonList("The title"),
+    "record_sni", Collections.singletonList("{}")
+  );
+
+  @Test
+  public void batches() throws IOException, SolrServerException {
+    InMemorySolrClient solr = new InMemorySolrClient();
+    MarcSolrClient client = new MarcSolrClient(solr);
+    client.setBatchSize(10);
+    client.setConnections(3);
+    client.setCommitWithin(5000);
+    index(client, 25);
+
+    client.flush();
+    assertEquals(25, solr.getDocuments().size());
+    assertEquals(25, client.getNumberOfIndexedDocuments());
+    assertEquals(Arrays.asList(5, 10, 10), sorted(solr.getBatchSizes()));
+    assertEquals(Arrays.asList(5000, 5000, 5000), solr.getCommitWithins());
+    assertEquals(0, solr.getNumberOfCommits());
+    assertTrue(solr.getDocuments().get("id-1").containsKey("245a_Title_mainTitle_ss"));
+    assertTrue(solr.getDocuments().get("id-1").containsKey("record_sni"));
+
+    client.commit();
+    assertEquals(1, solr.getNumberOfCommits());
+    client.close();
+  }
+
+  @Test
+  public void limitsConcurrentRequests() throws IOException, SolrServerException {
+    InMemorySolrClient solr = new InMemorySolrClient();
+    solr.setLatency(20);
+    MarcSolrClient client = new MarcSolrClient(solr);
+    client.setBatchSize(2);
+    client.setConnections(2);
+    index(client, 20);
+
+    client.close();
+    assertEquals(20, solr.getDocuments().size());
+    assertTrue(solr.getMaxRunning() <= 2);
+  }
+
+  @Test
+  public void retries() throws IOException, SolrServerException {
+    InMemorySolrClient solr = new InMemorySolrClient();
+    solr.setFailures(2);
+    MarcSolrClient client = new MarcSolrClient(solr);
+    client.setBatchSize(5);
+    client.setConnections(1);
+    client.setRetryWait(1);
+    index(client, 5);
+
+    client.close();
+    assertEquals(5, solr.getDocuments().size());
+    assertEquals(0, client.getNumberOfFailedDocuments());
+  }
+
+  @Test
+  public void rejectedDocument() throws IOException, SolrServerException {
+    InMemorySolrClient solr = new InMemorySolrClient();
+    MarcSolrClient client = new MarcSolrClient(solr);
+    client.setBatchSize(5);
+    index(client, 4);
+    client.indexMap(InMemorySolrClient.REJECTED_ID, FIELDS);
+
+    client.close();
+    assertEquals(4, solr.getDocuments().size());
+    assertEquals(4, client.getNumberOfIndexedDocuments());
+    assertEquals(1, client.getNumberOfFailedDocuments());
+  }
+
+  @Test
+  public void unreachableServer() throws IOException, SolrServerException {
+    InMemorySolrClient solr = new InMemorySolrClient();
+    solr.setFailures(Integer.MAX_VALUE);
+    MarcSolrClient client = new MarcSolrClient(solr);
+    client.setBatchSize(5);
+    client.setMaxRetries(1);
+    client.setRetryWait(1);
+    index(client, 5);
+    client.flush();
+
+    assertEquals(5, client.getNumberOfFailedDocuments());
+    try {
+      client.indexMap("id-6", FIELDS);
+      fail("Expected SolrServerException");
+    } catch (SolrServerException e) {
+      assertTrue(e.getMessage().contains("Server refused connection at"));
+    }
+  }
+
+  @Test
+  public void unauthorized() throws IOException, SolrServerException {
+    InMemorySolrClient solr = new InMemorySolrClient();
+    solr.setErrorCode(401);
+    MarcSolrClient client = new MarcSolrClient(solr);
+    client.setBatchSize(5);
+    client.setRetryWait(1);
+    index(client, 5);
+    client.flush();
+
+    // the batch is neither split nor retried
+    assertEquals(1, solr.getNumberOfRequests());
+    assertEquals(0, client.getNumberOfIndexedDocuments());
+    assertEquals(5, client.getNumberOfFailedDocuments());
+    try {
+      client.indexMap("id-6", FIELDS);
+      fail("Expected SolrServerException");
+    } catch (SolrServerException e) {
+      assertEquals(401, ((BaseHttpSolrClient.RemoteSolrException) e.getCause()).code());
+    }
+  }
+
+  private void index(MarcSolrClient client, int numberOfDocuments) throws IOException, SolrServerException {
+    for (int i = 1; i <= numberOfDocuments; i++)
+      client.indexMap("id-" + i, FIELDS);
+  }
+
+  private List<Integer> sorted(List<Integer> list) {
+    Collections.sort(list);
+    return list;
+  }
+}
@@ -0,0 +1,80 @@
+package de.gwdg.metadataqa.marc.datastore;
+
+import de.gwdg.metadataqa.api.model.pathcache.JsonPathCache;
+import de.gwdg.metadataqa.api.util.FileUtils;
+import de.gwdg.metadataqa.marc.MarcFactory;
+import de.gwdg.metadataqa.marc.dao.MarcRecord;
+import de.gwdg.metadataqa.marc.definition.MarcVersion;
+import de.gwdg.metadataqa.marc.model.SolrFieldType;
+import de.gwdg.metadataqa.marc.utils.ReadMarc;
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.Test;
+import org.marc4j.marc.Record;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SolrDocumentBuilderTest {
+
+  @Test
+  public void marc21() throws Exception {
+    List<Record> records = ReadMarc.read(FileUtils.getPath("general/0001-01.mrc").toString());
+    assertTrue(records.size() > 1);
+    for (Record record : records)
+      for (SolrFieldType type : SolrFieldType.values())
+        for (boolean withDeduplication : new boolean[]{true, false})
+          compare(() -> MarcFactory.createFromMarc4j(record), type, MarcVersion.MARC21, withDeduplication);
+  }
+
+  @Test
+  public void dnb() throws Exception {
+    String json = FileUtils.readFirstLineFromResource("general/verbund-tit.001.0000000.formatted.json");
+    for (SolrFieldType type : SolrFieldType.values())
+      for (boolean withDeduplication : new boolean[]{true, false})
+        compare(() -> MarcFactory.create(new JsonPathCache(json), MarcVersion.DNB), type, MarcVersion.DNB,
+          withDeduplication);
+  }
+
+  @Test
+  public void repeatedFields() throws Exception {
+    MarcRecord marcRecord = MarcFactory.createFromFormattedText(
+      FileUtils.readLinesFromResource("marctxt/010000011.mrctxt"));
+    MarcSolrClient client = new MarcSolrClient(new InMemorySolrClient());
+    SolrDocumentBuilder builder = new SolrDocumentBuilder(SolrFieldType.MARC, MarcVersion.MARC21, true);
+    SolrInputDocument document = builder.build(marcRecord, client.createDocument(marcRecord.getId()));
+    List<String> expected = marcRecord.getKeyValuePairs(SolrFieldType.MARC, true, MarcVersion.MARC21).get("912a");
+    assertTrue(expected.size() > 1);
+    assertEquals(expected, new ArrayList<>(document.getFieldValues("912a_ss")));
+  }
+
+  /**
+   * The document of the builder should be the same as the one created by indexMap().
+   */
+  private void compare(Callable<MarcRecord> recordFactory,
+                       SolrFieldType type,
+                       MarcVersion marcVersion,
+                       boolean withDeduplication) throws Exception {
+    MarcSolrClient client = new MarcSolrClient(new InMemorySolrClient());
+
+    MarcRecord marcRecord = recordFactory.call();
+    SolrInputDocument expected = client.createDocument(marcRecord.getId());
+    for (Map.Entry<String, List<String>> entry
+        : marcRecord.getKeyValuePairs(type, withDeduplication, marcVersion).entrySet())
+      expected.addField(MarcSolrClient.toSolrFieldName(entry.getKey()), entry.getValue());
+
+    marcRecord = recordFactory.call();
+    SolrDocumentBuilder builder = new SolrDocumentBuilder(type, marcVersion, withDeduplication);
+    SolrInputDocument actual = builder.build(marcRecord, client.createDocument(marcRecord.getId()));
+
+    String message = marcRecord.getId() + " " + type + " " + withDeduplication;
+    assertEquals(message, expected.getFieldNames(), actual.getFieldNames());
+    for (String name : expected.getFieldNames())
+      assertEquals(message + " " + name,
+        new ArrayList<>(expected.getFieldValues(name)), new ArrayList<>(actual.getFieldValues(name)));
+  }
+}
@@ -0,0 +1,38 @@
+package de.gwdg.metadataqa.marc.definition;
+
+import de.gwdg.metadataqa.marc.definition.structure.DataFieldDefinition;
+import de.gwdg.metadataqa.marc.utils.TagDefinitionIndexGenerator;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+public class TagDefinitionIndexTest {
+
+  @Test
+  public void isUpToDate() throws IOException {
+    String actual = new String(
+      Files.readAllBytes(Paths.get(TagDefinitionIndexGenerator.DEFAULT_OUTPUT)), StandardCharsets.UTF_8);
+    assertEquals(
+      "TagDefinitionIndex is outdated, run TagDefinitionIndexGenerator",
+      TagDefinitionIndexGenerator.generate(), actual);
+  }
+
+  @Test
+  public void getInstance() {
+    assertEquals(TagDefinitionIndex.TAGS.length, TagDefinitionIndex.VERSIONS.length);
+    for (int i = 0; i < TagDefinitionIndex.TAGS.length; i++) {
+      DataFieldDefinition definition = TagDefinitionIndex.getInstance(i);
+      assertNotNull(definition);
+      assertEquals(TagDefinitionIndex.TAGS[i], definition.getTag());
+      assertEquals(TagDefinitionIndex.VERSIONS[i], definition.getMarcVersion());
+      assertSame(definition, TagDefinitionLoader.load(definition.getTag(), definition.getMarcVersion()));
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package de.gwdg.metadataqa.marc.model.validation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+public class ValidationErrorRegistryTest {
+
+  @Test
+  public void register() {
+    ValidationErrorRegistry registry = new ValidationErrorRegistry();
+    ValidationError first = error("123", "a");
+    assertEquals(1, registry.register(first));
+    assertEquals(2, registry.register(error("123", "b")));
+    assertEquals(1, registry.register(error("124", "a")));
+    assertEquals(2, registry.size());
+    assertSame(first, registry.get(1));
+    assertEquals(2, registry.getId(error("125", "b")));
+    assertEquals(0, registry.getId(error("125", "c")));
+  }
+
+  @Test
+  public void collidingHashCodes() {
+    // "Aa" and "BB" have the same String.hashCode()
+    ValidationError error1 = error("123", "Aa");
+    ValidationError error2 = error("123", "BB");
+    assertEquals(error1.hashCode(), error2.hashCode());
+    assertNotEquals(error1, error2);
+
+    ValidationErrorRegistry registry = new ValidationErrorRegistry();
+    assertEquals(1, registry.register(error1));
+    assertEquals(2, registry.register(error2));
+    assertEquals(1, registry.getId(error("124", "Aa")));
+    assertEquals(2, registry.getId(error("124", "BB")));
+  }
+
+  @Test
+  public void growing() {
+    ValidationErrorRegistry registry = new ValidationErrorRegistry();
+    for (int i = 0; i < 10000; i++)
+      assertEquals(i + 1, registry.register(error("123", "message " + i)));
+    for (int i = 0; i < 10000; i++)
+      assertEquals(i + 1, registry.getId(error("124", "message " + i)));
+    assertEquals("message 9999", registry.get(10000).getMessage());
+  }
+
+  @Test
+  public void copy() {
+    ValidationErrorRegistry registry = new ValidationErrorRegistry();
+    registry.register(error("123", "a"));
+    ValidationErrorRegistry copy = new ValidationErrorRegistry(registry);
+    assertEquals(1, copy.getId(error("124", "a")));
+    assertEquals(2, copy.register(error("124", "b")));
+    assertEquals(1, registry.size());
+    assertEquals(2, registry.register(error("124", "c")));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownId() {
+    new ValidationErrorRegistry().get(1);
+  }
+
+  private static ValidationError error(String recordId, String message) {
+    return new ValidationError(recordId, "245$a", ValidationErrorType.SUBFIELD_INVALID_VALUE, message, null);
+  }
+}
@@ -0,0 +1,64 @@
+package de.gwdg.metadataqa.marc.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IntCounterTest {
+
+  IntCounter counter = new IntCounter(2);
+
+  @Test
+  public void testCount() {
+    assertEquals(1, counter.count(5));
+    assertEquals(2, counter.count(5));
+    assertEquals(2, counter.get(5));
+    assertTrue(counter.has(5));
+    assertFalse(counter.has(4));
+    assertEquals(0, counter.get(1000));
+  }
+
+  @Test
+  public void testAdd() {
+    counter.add(100, 3);
+    assertEquals(3, counter.get(100));
+  }
+
+  @Test
+  public void testKeys() {
+    counter.count(7);
+    counter.count(3);
+    counter.count(7);
+    counter.count(0);
+    assertEquals(3, counter.numberOfKeys());
+    assertArrayEquals(new int[]{7, 3, 0}, counter.keys());
+    assertEquals(3, counter.keyAt(1));
+    assertEquals("{7=2, 3=1, 0=1}", counter.toMap().toString());
+  }
+
+  @Test
+  public void testClear() {
+    counter.count(1);
+    counter.count(2);
+    counter.clear();
+    assertEquals(0, counter.numberOfKeys());
+    assertEquals(0, counter.get(1));
+    counter.count(2);
+    assertArrayEquals(new int[]{2}, counter.keys());
+  }
+
+  @Test
+  public void testMerge() {
+    counter.count(1);
+    IntCounter other = new IntCounter();
+    other.add(1, 2);
+    other.add(4, 5);
+    counter.merge(other);
+    assertEquals(3, counter.get(1));
+    assertEquals(5, counter.get(4));
+    assertEquals(8, counter.total());
+  }
+}
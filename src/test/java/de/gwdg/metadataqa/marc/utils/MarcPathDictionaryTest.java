@@ -0,0 +1,35 @@
+package de.gwdg.metadataqa.marc.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class MarcPathDictionaryTest {
+
+  @Test
+  public void testGetId() {
+    MarcPathDictionary dictionary = new MarcPathDictionary();
+    assertEquals(0, dictionary.getId("leader06"));
+    assertEquals(1, dictionary.getId("001"));
+    assertEquals(0, dictionary.getId("leader06"));
+    assertEquals(2, dictionary.size());
+    assertEquals("001", dictionary.getPath(1));
+    assertEquals(-1, dictionary.lookup("245$a"));
+  }
+
+  @Test
+  public void testDataFieldId() {
+    MarcPathDictionary dictionary = new MarcPathDictionary();
+    int id = dictionary.getId("245", "a");
+    assertEquals("245$a", dictionary.getPath(id));
+    assertEquals(id, dictionary.getId("245$a"));
+    assertEquals(id, dictionary.getId("245", "a"));
+    assertEquals(id, dictionary.lookup("245$a"));
+  }
+
+  @Test
+  public void testFormatter() {
+    MarcPathDictionary dictionary = new MarcPathDictionary((tag, code) -> tag + "$|" + code);
+    assertEquals("650$|2", dictionary.getPath(dictionary.getId("650", "2")));
+  }
+}
@@ -0,0 +1,48 @@
+package de.gwdg.metadataqa.marc.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TagProjectionTest {
+
+  @Test
+  public void all() {
+    assertTrue(TagProjection.ALL.isAll());
+    assertTrue(TagProjection.ALL.contains("245"));
+    assertTrue(TagProjection.ALL.contains("STA"));
+    assertSame(TagProjection.ALL, TagProjection.of("245").with(TagProjection.ALL));
+  }
+
+  @Test
+  public void contains() {
+    TagProjection projection = TagProjection.of("008", "245", "6X0", "SID");
+    assertFalse(projection.isAll());
+    assertTrue(projection.contains("001"));
+    assertTrue(projection.contains("008"));
+    assertTrue(projection.contains("245"));
+    assertTrue(projection.contains("600"));
+    assertTrue(projection.contains("650"));
+    assertTrue(projection.contains("SID"));
+    assertFalse(projection.contains("005"));
+    assertFalse(projection.contains("246"));
+    assertFalse(projection.contains("651"));
+    assertFalse(projection.contains("STA"));
+    assertFalse(projection.contains(null));
+    assertEquals("001,008,245,6X0,SID", projection.toString());
+  }
+
+  @Test
+  public void with() {
+    TagProjection projection = TagProjection.of("245").with(Arrays.asList("650", "STA"));
+    assertTrue(projection.contains("245"));
+    assertTrue(projection.contains("650"));
+    assertTrue(projection.contains("STA"));
+    assertFalse(projection.contains("651"));
+  }
+}
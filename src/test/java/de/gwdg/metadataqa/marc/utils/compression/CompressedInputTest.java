@@ -0,0 +1,181 @@
+package de.gwdg.metadataqa.marc.utils.compression;
+
+import com.github.luben.zstd.Zstd;
+import de.gwdg.metadataqa.marc.definition.MarcFormat;
+import de.gwdg.metadataqa.marc.utils.ReadMarc;
+import org.junit.Test;
+import org.marc4j.MarcReader;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CompressedInputTest {
+
+  private static final Path MARC_FILE = Paths.get("src/test/resources/general/BooksAll.2014.part01-0001.mrc");
+
+  @Test
+  public void isCompressed() {
+    assertTrue(CompressedInput.isCompressed(Paths.get("dump/part-001.mrc.gz")));
+    assertTrue(CompressedInput.isCompressed(Paths.get("dump/part-001.mrc.zst")));
+    assertFalse(CompressedInput.isCompressed(Paths.get("dump/part-001.mrc")));
+  }
+
+  @Test
+  public void none() throws IOException {
+    byte[] content = Files.readAllBytes(MARC_FILE);
+    assertEquals(CompressedInput.Compression.NONE, detect(content));
+    assertArrayEquals(content, decompress(content));
+  }
+
+  @Test
+  public void gzip() throws IOException {
+    byte[] content = Files.readAllBytes(MARC_FILE);
+    byte[] compressed = gzip(content);
+    assertEquals(CompressedInput.Compression.GZIP, detect(compressed));
+    assertArrayEquals(content, decompress(compressed));
+  }
+
+  @Test
+  public void multiMemberGzip() throws IOException {
+    byte[] content = Files.readAllBytes(MARC_FILE);
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    compressed.write(gzip(content));
+    compressed.write(gzip(content));
+
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    expected.write(content);
+    expected.write(content);
+    assertArrayEquals(expected.toByteArray(), decompress(compressed.toByteArray()));
+  }
+
+  @Test
+  public void bgzf() throws IOException {
+    byte[] content = Files.readAllBytes(MARC_FILE);
+    byte[] compressed = bgzf(content, 10000);
+    assertEquals(CompressedInput.Compression.BGZF, detect(compressed));
+    assertArrayEquals(content, decompress(compressed));
+  }
+
+  @Test
+  public void bgzf_corrupt() throws IOException {
+    byte[] compressed = bgzf(Files.readAllBytes(MARC_FILE), 10000);
+    compressed[compressed.length / 2] ^= 0xff;
+    try (InputStream stream = CompressedInput.decompress(new ByteArrayInputStream(compressed))) {
+      stream.readAllBytes();
+      throw new AssertionError("Expected IOException");
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void zstd() throws IOException {
+    byte[] content = Files.readAllBytes(MARC_FILE);
+    byte[] compressed = Zstd.compress(content);
+    assertEquals(CompressedInput.Compression.ZSTD, detect(compressed));
+    assertArrayEquals(content, decompress(compressed));
+  }
+
+  @Test
+  public void close_beforeEnd() throws IOException {
+    byte[] content = new byte[ReadAheadInputStream.DEFAULT_CHUNK_SIZE * 10];
+    InputStream stream = CompressedInput.decompress(new ByteArrayInputStream(gzip(content)));
+    assertEquals(0, stream.read());
+    stream.close();
+  }
+
+  @Test
+  public void marcReader() throws Exception {
+    try (InputStream stream = CompressedInput.open(Paths.get("src/test/resources/gzip/test.xml.gz"))) {
+      MarcReader reader = ReadMarc.getStreamReader(MarcFormat.XML, stream);
+      int i = 0;
+      while (reader.hasNext()) {
+        reader.next();
+        i++;
+      }
+      assertEquals(10, i);
+    }
+  }
+
+  private CompressedInput.Compression detect(byte[] content) throws IOException {
+    InputStream stream = new BufferedInputStream(new ByteArrayInputStream(content));
+    return CompressedInput.detect(stream);
+  }
+
+  private byte[] decompress(byte[] content) throws IOException {
+    try (InputStream stream = CompressedInput.decompress(new ByteArrayInputStream(content), 3)) {
+      return stream.readAllBytes();
+    }
+  }
+
+  private byte[] gzip(byte[] content) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(content);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Compresses the content the way bgzip does: in independent gzip members with the BC extra
+   * subfield, closed by an empty member.
+   */
+  private byte[] bgzf(byte[] content, int blockSize) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (int offset = 0; offset < content.length; offset += blockSize)
+      writeBgzfBlock(out, content, offset, Math.min(blockSize, content.length - offset));
+    writeBgzfBlock(out, content, 0, 0);
+    return out.toByteArray();
+  }
+
+  private void writeBgzfBlock(ByteArrayOutputStream out, byte[] content, int offset, int length) {
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    deflater.setInput(content, offset, length);
+    deflater.finish();
+    byte[] buffer = new byte[length + 1024];
+    int compressedLength = deflater.deflate(buffer);
+    deflater.end();
+
+    CRC32 crc = new CRC32();
+    crc.update(content, offset, length);
+
+    int totalLength = 18 + compressedLength + 8;
+    out.write(0x1f);
+    out.write(0x8b);
+    out.write(8);
+    out.write(4);
+    out.writeBytes(new byte[]{0, 0, 0, 0, 0, (byte) 0xff});
+    writeShort(out, 6);
+    out.write('B');
+    out.write('C');
+    writeShort(out, 2);
+    writeShort(out, totalLength - 1);
+    out.write(buffer, 0, compressedLength);
+    writeInt(out, (int) crc.getValue());
+    writeInt(out, length);
+  }
+
+  private void writeShort(ByteArrayOutputStream out, int value) {
+    out.write(value & 0xff);
+    out.write((value >> 8) & 0xff);
+  }
+
+  private void writeInt(ByteArrayOutputStream out, int value) {
+    writeShort(out, value & 0xffff);
+    writeShort(out, (value >> 16) & 0xffff);
+  }
+}
@@ -42,6 +42,37 @@ public class DataFieldKeyGeneratorTest {
     assertEquals("245a_Title_mainTitle", generator.forSubfield(subfield));
   }
 
+  @Test
+  public void getInstance() {
+    DataFieldKeyGenerator generator = DataFieldKeyGenerator.getInstance(
+      definition, SolrFieldType.MIXED, "245", MarcVersion.MARC21);
+    assertSame(generator, DataFieldKeyGenerator.getInstance(
+      definition, SolrFieldType.MIXED, "245", MarcVersion.MARC21));
+    assertNotSame(generator, DataFieldKeyGenerator.getInstance(
+      definition, SolrFieldType.HUMAN, "245", MarcVersion.MARC21));
+
+    DataFieldKeyGenerator fresh = new DataFieldKeyGenerator(definition, SolrFieldType.MIXED, "245");
+    fresh.setMarcVersion(MarcVersion.MARC21);
+    MarcSubfield undefined = new MarcSubfield(null, "@", "test");
+    for (int i = 0; i < 2; i++) {
+      assertEquals(fresh.forInd1(), generator.forInd1());
+      assertEquals(fresh.forInd2(), generator.forInd2());
+      assertEquals(fresh.forSubfield(subfield), generator.forSubfield(subfield));
+      assertEquals(fresh.forSubfield(subfield, "extra"), generator.forSubfield(subfield, "extra"));
+      assertEquals(fresh.forSubfield(undefined), generator.forSubfield(undefined));
+    }
+  }
+
+  @Test
+  public void getInstance_undefinedField() {
+    DataFieldKeyGenerator generator = DataFieldKeyGenerator.getInstance(
+      null, SolrFieldType.MARC, "999", MarcVersion.MARC21);
+    assertSame(generator, DataFieldKeyGenerator.getInstance(null, SolrFieldType.MARC, "999", MarcVersion.MARC21));
+    assertNotSame(generator, DataFieldKeyGenerator.getInstance(null, SolrFieldType.MARC, "998", MarcVersion.MARC21));
+    assertEquals("999ind1", generator.forInd1());
+    assertEquals("999a", generator.forSubfield(new MarcSubfield(null, "a", "test")));
+  }
+
   @Test
   public void testRegex() {
     Pattern nonValidSubfieldCode = Pattern.compile("[^0-9a-zA-Z]");
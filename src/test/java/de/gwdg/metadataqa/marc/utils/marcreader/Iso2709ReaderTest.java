@@ -0,0 +1,162 @@
+package de.gwdg.metadataqa.marc.utils.marcreader;
+
+import de.gwdg.metadataqa.marc.MarcFactory;
+import de.gwdg.metadataqa.marc.dao.MarcRecord;
+import de.gwdg.metadataqa.marc.definition.MarcVersion;
+import org.junit.Test;
+import org.marc4j.MarcException;
+import org.marc4j.MarcReader;
+import org.marc4j.MarcStreamReader;
+import org.marc4j.marc.Record;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class Iso2709ReaderTest {
+
+  private static final String BOOKS = "src/test/resources/general/BooksAll.2014.part01-0001.mrc";
+
+  @Test
+  public void utf8() throws IOException {
+    assertSameAsMarc4j(BOOKS, null);
+  }
+
+  @Test
+  public void latin1() throws IOException {
+    assertSameAsMarc4j("src/test/resources/marc/22561.mrc", null);
+  }
+
+  @Test
+  public void marc8() throws IOException {
+    assertSameAsMarc4j(BOOKS, "MARC-8");
+  }
+
+  @Test
+  public void shortFile() throws IOException {
+    assertSameAsMarc4j("src/test/resources/general/0001-01.mrc", null);
+  }
+
+  @Test
+  public void lineSeparated() throws IOException {
+    String fileName = "src/test/resources/general/000-line-seperated.mrc";
+    List<Record> expected = new ArrayList<>();
+    MarcReader marc4jReader = new LineSeparatedMarcReader(fileName);
+    while (marc4jReader.hasNext())
+      expected.add(marc4jReader.next());
+
+    List<Iso2709Record> actual = readAll(new Iso2709Reader(new FileInputStream(fileName), null, true));
+    assertEquals(20, actual.size());
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++)
+      assertSameRecord(expected.get(i), actual.get(i));
+  }
+
+  @Test
+  public void controlNumber() throws IOException {
+    Iso2709Reader reader = new Iso2709Reader(new FileInputStream(BOOKS));
+    Iso2709Record isoRecord = reader.next();
+    assertEquals("   00000002 ", isoRecord.getControlNumber());
+    assertEquals("UTF8", isoRecord.getEncoding());
+    assertEquals(isoRecord.getControlNumber(), isoRecord.toMarc4jRecord().getControlNumber());
+  }
+
+  @Test
+  public void missingControlNumber() {
+    byte[] content = createRecord("245", "10\u001faTitle\u001e");
+    Iso2709Record isoRecord = new Iso2709Reader(new ByteArrayInputStream(content)).next();
+    assertNull(isoRecord.getControlNumber());
+    assertEquals(1, isoRecord.getNumberOfFields());
+    assertFalse(isoRecord.isControlField(0));
+  }
+
+  @Test
+  public void emptySubfields() {
+    byte[] content = createRecord("245", "10\u001f\u001e");
+    Iso2709Record isoRecord = new Iso2709Reader(new ByteArrayInputStream(content)).next();
+    List<String> subfields = new ArrayList<>();
+    isoRecord.forEachSubfield(0, (code, data) -> subfields.add(code + data));
+    assertTrue(subfields.isEmpty());
+    assertEquals('1', isoRecord.getIndicator1(0));
+    assertEquals('0', isoRecord.getIndicator2(0));
+  }
+
+  @Test(expected = MarcException.class)
+  public void truncated() throws IOException {
+    byte[] content = Files.readAllBytes(Paths.get(BOOKS));
+    readAll(new Iso2709Reader(new ByteArrayInputStream(Arrays.copyOf(content, content.length - 100))));
+  }
+
+  @Test(expected = MarcException.class)
+  public void invalidDirectory() {
+    byte[] content = createRecord("245", "10\u001faTitle\u001e");
+    content[12 + 4] = '6';
+    new Iso2709Reader(new ByteArrayInputStream(content)).next();
+  }
+
+  @Test(expected = MarcException.class)
+  public void missingRecordTerminator() {
+    byte[] content = createRecord("245", "10\u001faTitle\u001e");
+    content[content.length - 1] = ' ';
+    new Iso2709Reader(new ByteArrayInputStream(content)).next();
+  }
+
+  private void assertSameAsMarc4j(String fileName, String encoding) throws IOException {
+    List<Record> expected = new ArrayList<>();
+    try (InputStream stream = new FileInputStream(fileName)) {
+      MarcReader marc4jReader = new MarcStreamReader(stream, encoding);
+      while (marc4jReader.hasNext())
+        expected.add(marc4jReader.next());
+    }
+
+    List<Iso2709Record> actual;
+    try (InputStream stream = new FileInputStream(fileName)) {
+      actual = readAll(new Iso2709Reader(stream, encoding));
+    }
+
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++)
+      assertSameRecord(expected.get(i), actual.get(i));
+  }
+
+  private void assertSameRecord(Record marc4jRecord, Iso2709Record isoRecord) {
+    assertEquals(marc4jRecord.getControlNumber(), isoRecord.getControlNumber());
+    MarcRecord expected = MarcFactory.createFromMarc4j(marc4jRecord, null, MarcVersion.MARC21, null);
+    MarcRecord actual = MarcFactory.createFromIso2709(isoRecord, null, MarcVersion.MARC21, null);
+    assertEquals(expected.getLeader().getLeaderString(), actual.getLeader().getLeaderString());
+    assertEquals(expected.asJson(), actual.asJson());
+    assertEquals(expected.formatAsMarc(), actual.formatAsMarc());
+    assertEquals(expected.getUnhandledTags(), actual.getUnhandledTags());
+    assertEquals(expected.getKeyValuePairs(), actual.getKeyValuePairs());
+  }
+
+  private List<Iso2709Record> readAll(Iso2709Reader reader) {
+    List<Iso2709Record> records = new ArrayList<>();
+    while (reader.hasNext())
+      records.add(reader.next());
+    return records;
+  }
+
+  /**
+   * Creates a record with a single field.
+   */
+  private byte[] createRecord(String tag, String field) {
+    int baseAddress = 24 + 12 + 1;
+    int recordLength = baseAddress + field.length() + 1;
+    String content = String.format("%05dnam a22%05d   4500", recordLength, baseAddress)
+      + String.format("%s%04d%05d", tag, field.length(), 0)
+      + "\u001e" + field + "\u001d";
+    return content.getBytes();
+  }
+}
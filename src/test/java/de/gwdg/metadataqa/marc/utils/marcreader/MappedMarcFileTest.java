@@ -0,0 +1,95 @@
+package de.gwdg.metadataqa.marc.utils.marcreader;
+
+import org.junit.Test;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MappedMarcFileTest {
+
+  private static final Path BOOKS = Paths.get("src/test/resources/general/BooksAll.2014.part01-0001.mrc");
+  private static final Path LINE_SEPARATED = Paths.get("src/test/resources/general/000-line-seperated.mrc");
+
+  @Test
+  public void index() throws IOException {
+    try (MappedMarcFile file = new MappedMarcFile(BOOKS, false)) {
+      assertEquals(100, file.getNumberOfRecords());
+      assertEquals(0, file.getStart(0));
+      assertEquals(readIds(new Iso2709Reader(new FileInputStream(BOOKS.toFile()))),
+        readIds(new Iso2709Reader(file, null)));
+    }
+  }
+
+  @Test
+  public void lineSeparated() throws IOException {
+    try (MappedMarcFile file = new MappedMarcFile(LINE_SEPARATED, true)) {
+      assertEquals(20, file.getNumberOfRecords());
+      assertEquals(readIds(new Iso2709Reader(new FileInputStream(LINE_SEPARATED.toFile()), null, true)),
+        readIds(new Iso2709Reader(file, null)));
+    }
+  }
+
+  @Test
+  public void segments() throws IOException {
+    // small segments, so many records cross the segment boundaries
+    try (MappedMarcFile file = new MappedMarcFile(BOOKS, false, 1000)) {
+      assertEquals(100, file.getNumberOfRecords());
+      assertEquals(readIds(new Iso2709Reader(new FileInputStream(BOOKS.toFile()))),
+        readIds(new Iso2709Reader(file, null)));
+    }
+  }
+
+  @Test
+  public void trailingLineEnd() throws IOException {
+    Path path = Files.createTempFile("mapped", ".mrc");
+    try {
+      byte[] content = Files.readAllBytes(BOOKS);
+      byte[] extended = new byte[content.length + 2];
+      System.arraycopy(content, 0, extended, 0, content.length);
+      extended[content.length] = '\r';
+      extended[content.length + 1] = '\n';
+      Files.write(path, extended);
+      try (MappedMarcFile file = new MappedMarcFile(path, false)) {
+        assertEquals(100, file.getNumberOfRecords());
+      }
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test
+  public void split() throws IOException {
+    try (MappedMarcFile file = new MappedMarcFile(BOOKS, false)) {
+      List<MappedMarcFile.Range> ranges = file.split(3);
+      assertEquals(3, ranges.size());
+      int next = 0;
+      List<String> ids = new ArrayList<>();
+      for (MappedMarcFile.Range range : ranges) {
+        assertEquals(next, range.getFirst());
+        assertTrue(range.getLast() > range.getFirst());
+        next = range.getLast();
+        ids.addAll(readIds(new Iso2709Reader(file, range, null)));
+      }
+      assertEquals(100, next);
+      assertEquals(readIds(new Iso2709Reader(file, null)), ids);
+
+      assertEquals(100, file.split(1000).size());
+    }
+  }
+
+  private List<String> readIds(Iso2709Reader reader) {
+    List<String> ids = new ArrayList<>();
+    while (reader.hasNext())
+      ids.add(reader.next().getControlNumber());
+    return ids;
+  }
+}
@@ -0,0 +1,128 @@
+package de.gwdg.metadataqa.marc.utils.marcreader;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RecordIndexTest {
+
+  private static final Path BOOKS = Paths.get("src/test/resources/general/BooksAll.2014.part01-0001.mrc");
+  private static final Path LINE_SEPARATED = Paths.get("src/test/resources/general/000-line-seperated.mrc");
+
+  private Path directory;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("record-index");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (var files = Files.list(directory)) {
+      for (Path path : (Iterable<Path>) files::iterator)
+        Files.delete(path);
+    }
+    Files.delete(directory);
+  }
+
+  @Test
+  public void lookup() throws IOException {
+    Path path = copy(BOOKS);
+    try (MappedMarcFile file = new MappedMarcFile(path, false)) {
+      assertEquals(100, RecordIndex.build(file, path, null));
+    }
+
+    try (MappedMarcFile file = new MappedMarcFile(path, false);
+         RecordIndex index = RecordIndex.open(path)) {
+      assertNotNull(index);
+      assertEquals(100, index.getNumberOfRecords());
+      assertEquals(100, index.getNumberOfEntries());
+      Iso2709Reader reader = new Iso2709Reader(file, null);
+      for (int i = 0; reader.hasNext(); i++) {
+        String id = reader.next().getControlNumber();
+        List<RecordIndex.Entry> entries = index.lookup(id);
+        assertEquals(1, entries.size());
+        assertEquals(i, entries.get(0).getRecordNumber());
+        assertEquals(file.getStart(i), entries.get(0).getOffset());
+        assertEquals(file.getLength(i), entries.get(0).getLength());
+      }
+
+      assertEquals(50, index.lookup("00000169").get(0).getRecordNumber());
+      assertTrue(index.lookup("0000016").isEmpty());
+      assertTrue(index.lookup("00000169x").isEmpty());
+      assertTrue(index.lookup("").isEmpty());
+    }
+  }
+
+  @Test
+  public void duplicates() throws IOException {
+    byte[] content = Files.readAllBytes(BOOKS);
+    Path path = directory.resolve("double.mrc");
+    Files.write(path, content);
+    Files.write(path, content, StandardOpenOption.APPEND);
+    try (MappedMarcFile file = new MappedMarcFile(path, false)) {
+      assertEquals(200, RecordIndex.build(file, path, null));
+    }
+
+    try (RecordIndex index = RecordIndex.open(path)) {
+      List<RecordIndex.Entry> entries = index.lookup("00000002");
+      assertEquals(2, entries.size());
+      assertEquals(0, entries.get(0).getRecordNumber());
+      assertEquals(0, entries.get(0).getOffset());
+      assertEquals(100, entries.get(1).getRecordNumber());
+      assertEquals(content.length, entries.get(1).getOffset());
+    }
+  }
+
+  @Test
+  public void lineSeparated() throws IOException {
+    Path path = copy(LINE_SEPARATED);
+    try (MappedMarcFile file = new MappedMarcFile(path, true)) {
+      assertEquals(20, RecordIndex.build(file, path, null));
+    }
+
+    try (MappedMarcFile file = new MappedMarcFile(path, true);
+         RecordIndex index = RecordIndex.open(path)) {
+      Iso2709Reader reader = new Iso2709Reader(file, null);
+      Iso2709Record first = reader.next();
+      RecordIndex.Entry entry = index.lookup(first.getControlNumber()).get(0);
+      byte[] bytes = new byte[entry.getLength()];
+      System.arraycopy(Files.readAllBytes(path), (int) entry.getOffset(), bytes, 0, bytes.length);
+      Iso2709Record read = new Iso2709Reader(new ByteArrayInputStream(new byte[0])).read(ByteBuffer.wrap(bytes));
+      assertEquals(first.toString(), read.toString());
+    }
+  }
+
+  @Test
+  public void outOfDate() throws IOException {
+    Path path = copy(BOOKS);
+    assertNull(RecordIndex.open(path));
+    try (MappedMarcFile file = new MappedMarcFile(path, false)) {
+      RecordIndex.build(file, path, null);
+    }
+
+    Files.setLastModifiedTime(path, FileTime.fromMillis(Files.getLastModifiedTime(path).toMillis() + 1000));
+    assertNull(RecordIndex.open(path));
+  }
+
+  private Path copy(Path source) throws IOException {
+    Path path = directory.resolve(source.getFileName());
+    Files.copy(source, path);
+    return path;
+  }
+}
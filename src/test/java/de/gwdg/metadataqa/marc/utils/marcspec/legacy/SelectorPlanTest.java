@@ -0,0 +1,61 @@
+package de.gwdg.metadataqa.marc.utils.marcspec.legacy;
+
+import de.gwdg.metadataqa.api.util.FileUtils;
+import de.gwdg.metadataqa.marc.MarcFactory;
+import de.gwdg.metadataqa.marc.analysis.ShelfReadyFieldsBooks;
+import de.gwdg.metadataqa.marc.dao.MarcRecord;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SelectorPlanTest {
+
+  @Test
+  public void sameAsSelect() throws Exception {
+    MarcRecord marcRecord = MarcFactory.createFromFormattedText(
+      FileUtils.readLinesFromResource("marctxt/010000011.mrctxt"));
+
+    List<MarcSpec> selectors = new ArrayList<>();
+    for (String spec : Arrays.asList("LDR", "LDR~6", "001", "008~7-10", "007", "245$a", "245$ab", "810$atv", "245",
+        "999$a"))
+      selectors.add(new MarcSpec(spec));
+    for (ShelfReadyFieldsBooks field : ShelfReadyFieldsBooks.values())
+      selectors.addAll(field.getSelectors());
+
+    SelectorPlan plan = SelectorPlan.compile(selectors);
+    assertEquals(selectors.size(), plan.getNumberOfSlots());
+    SelectorPlan.Selection selection = plan.newSelection();
+    // the second call reuses the selection
+    for (int i = 0; i < 2; i++) {
+      plan.select(marcRecord, selection);
+      for (int slot = 0; slot < selectors.size(); slot++)
+        assertEquals(selectors.get(slot).encode(), marcRecord.select(selectors.get(slot)), selection.get(slot));
+    }
+    assertEquals(Arrays.asList("1985"), selection.get(3));
+    assertTrue(selection.isEmpty(8));
+    assertTrue(selection.isEmpty(9));
+  }
+
+  @Test
+  public void dataField() throws Exception {
+    MarcRecord marcRecord = MarcFactory.createFromFormattedText(
+      FileUtils.readLinesFromResource("marctxt/010000011.mrctxt"));
+
+    SelectorPlan.Builder builder = SelectorPlan.builder();
+    int fields = builder.addDataField("810", null);
+    int subfields = builder.addDataField("810", "t");
+    int missingSubfield = builder.addDataField("810", "k");
+    int missingField = builder.addDataField("STA", null);
+    SelectorPlan.Selection selection = builder.build().select(marcRecord);
+
+    assertEquals(Arrays.asList("810", "810"), selection.get(fields));
+    assertEquals(2, selection.get(subfields).size());
+    assertTrue(selection.isEmpty(missingSubfield));
+    assertTrue(selection.isEmpty(missingField));
+  }
+}